@@ -28,6 +28,7 @@ import org.b3log.latke.logging.Logger;
 import org.b3log.latke.util.Stopwatchs;
 import org.b3log.latke.util.Strings;
 import org.b3log.symphony.cache.DomainCache;
+import org.b3log.symphony.cache.OptionCache;
 import org.b3log.symphony.cache.TagCache;
 import org.b3log.symphony.event.*;
 import org.b3log.symphony.processor.AfterRequestHandler;
@@ -43,7 +44,7 @@ import org.b3log.symphony.util.Symphonys;
  * Server.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.0.1.0, Dec 1, 2019
+ * @version 2.0.4.0, Oct 19, 2026
  * @since 3.4.8
  */
 public final class Server extends BaseServer {
@@ -218,11 +219,17 @@ public final class Server extends BaseServer {
         eventManager.registerListener(articleAddAudioHandler);
         final ArticleUpdateAudioHandler articleUpdateAudioHandler = beanManager.getReference(ArticleUpdateAudioHandler.class);
         eventManager.registerListener(articleUpdateAudioHandler);
+        final ArticleSitemapAppender articleSitemapAppender = beanManager.getReference(ArticleSitemapAppender.class);
+        eventManager.registerListener(articleSitemapAppender);
+        final ArticleTimelinePusher articleTimelinePusher = beanManager.getReference(ArticleTimelinePusher.class);
+        eventManager.registerListener(articleTimelinePusher);
 
         final TagCache tagCache = beanManager.getReference(TagCache.class);
         tagCache.loadTags();
         final DomainCache domainCache = beanManager.getReference(DomainCache.class);
         domainCache.loadDomains();
+        final OptionCache optionCache = beanManager.getReference(OptionCache.class);
+        optionCache.loadMiscOptions();
         final CronMgmtService cronMgmtService = beanManager.getReference(CronMgmtService.class);
         cronMgmtService.start();
 
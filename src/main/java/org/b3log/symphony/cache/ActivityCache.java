@@ -0,0 +1,142 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-present, b3log.org
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.cache;
+
+import org.apache.commons.lang.time.DateFormatUtils;
+import org.b3log.latke.ioc.Singleton;
+import org.json.JSONObject;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Activity cache.
+ * <p>
+ * Holds per-user daily activity flags (checked in today, participated 1A0001 today, etc). A state belongs to one day
+ * and is discarded once the day has passed. Flags learned from the database are only put if absent, flags set by
+ * activity operations always overwrite, so a concurrent database read can not flip a flag back.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.6.0
+ */
+@Singleton
+public class ActivityCache {
+
+    /**
+     * Flag of checked in today.
+     */
+    public static final String CHECKIN = "checkin";
+
+    /**
+     * Flag of participated 1A0001 today.
+     */
+    public static final String BET_1A0001 = "bet1A0001";
+
+    /**
+     * Flag of collected 1A0001 today.
+     */
+    public static final String COLLECT_1A0001 = "collect1A0001";
+
+    /**
+     * Flag of collected yesterday liveness reward today.
+     */
+    public static final String YESTERDAY_LIVENESS_REWARD = "yesterdayLivenessReward";
+
+    /**
+     * Key of state day.
+     */
+    private static final String DAY = "day";
+
+    /**
+     * Daily states, &lt;userId, {day, flags...}&gt;. States are replaced rather than modified, so readers never see a
+     * state being written.
+     */
+    private static final Map<String, JSONObject> STATES = new ConcurrentHashMap<>();
+
+    /**
+     * Gets a flag of today for the specified user.
+     *
+     * @param userId the specified user id
+     * @param flag   the specified flag, for example {@link #CHECKIN}
+     * @return flag value, returns {@code null} if not cached
+     */
+    public Boolean getFlag(final String userId, final String flag) {
+        final JSONObject state = STATES.get(userId);
+        if (null == state || !today().equals(state.optString(DAY)) || !state.has(flag)) {
+            return null;
+        }
+
+        return state.optBoolean(flag);
+    }
+
+    /**
+     * Puts a flag of today loaded from database for the specified user if the flag is not cached yet.
+     *
+     * @param userId the specified user id
+     * @param flag   the specified flag
+     * @param value  the specified flag value
+     */
+    public void putFlagIfAbsent(final String userId, final String flag, final boolean value) {
+        putFlag(userId, flag, value, false);
+    }
+
+    /**
+     * Sets a flag of today for the specified user.
+     *
+     * @param userId the specified user id
+     * @param flag   the specified flag
+     * @param value  the specified flag value
+     */
+    public void putFlag(final String userId, final String flag, final boolean value) {
+        putFlag(userId, flag, value, true);
+    }
+
+    /**
+     * Removes states of past days.
+     */
+    public void removeExpiredStates() {
+        final String today = today();
+        STATES.values().removeIf(state -> !today.equals(state.optString(DAY)));
+    }
+
+    private void putFlag(final String userId, final String flag, final boolean value, final boolean overwrite) {
+        final String today = today();
+        STATES.compute(userId, (id, state) -> {
+            final JSONObject ret = new JSONObject();
+            ret.put(DAY, today);
+            if (null != state && today.equals(state.optString(DAY))) {
+                for (final String key : state.keySet()) {
+                    ret.put(key, state.opt(key));
+                }
+
+                if (!overwrite && state.has(flag)) {
+                    return ret;
+                }
+            }
+            ret.put(flag, value);
+
+            return ret;
+        });
+    }
+
+    private static String today() {
+        return DateFormatUtils.format(System.currentTimeMillis(), "yyyyMMdd");
+    }
+}
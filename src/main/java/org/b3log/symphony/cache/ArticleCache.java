@@ -17,6 +17,7 @@
  */
 package org.b3log.symphony.cache;
 
+import com.google.common.cache.CacheBuilder;
 import org.apache.commons.lang.time.DateUtils;
 import org.b3log.latke.Keys;
 import org.b3log.latke.cache.Cache;
@@ -41,13 +42,14 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Article cache.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="https://qiankunpingtai.cn">qiankunpingtai</a>
- * @version 1.3.1.3, May 20, 2019
+ * @version 1.5.0.0, Oct 19, 2026
  * @since 1.4.0
  */
 @Singleton
@@ -69,6 +71,29 @@ public class ArticleCache {
     private static final Cache ARTICLE_ABSTRACT_CACHE = CacheFactory.getCache(Article.ARTICLES + "_"
             + Article.ARTICLE_T_PREVIEW_CONTENT);
 
+    /**
+     * Article title cache.
+     */
+    private static final Cache ARTICLE_TITLE_CACHE = CacheFactory.getCache(Article.ARTICLES + "_" + Article.ARTICLE_TITLE);
+
+    /**
+     * Maximum size of rendered article contents in chars, 32M chars (64MB).
+     */
+    private static final long RENDERED_CONTENT_MAX_CHARS = 32 * 1024 * 1024;
+
+    /**
+     * Rendered article content cache, &lt;articleId, {version, articleContent, articleRewardContent, articleToC,
+     * articlePreviewContent}&gt;. Rendered content also depends on linked article titles, so entries expire after a
+     * while.
+     */
+    private static final com.google.common.cache.Cache<String, JSONObject> RENDERED_CONTENT_CACHE = CacheBuilder.newBuilder().
+            maximumWeight(RENDERED_CONTENT_MAX_CHARS).
+            weigher((String id, JSONObject value) -> value.optString(Article.ARTICLE_CONTENT).length()
+                    + value.optString(Article.ARTICLE_REWARD_CONTENT).length() + value.optString(Article.ARTICLE_T_TOC).length()
+                    + value.optString(Article.ARTICLE_T_PREVIEW_CONTENT).length()).
+            expireAfterWrite(1, TimeUnit.HOURS).
+            build();
+
     /**
      * Side hot articles cache.
      */
@@ -240,7 +265,10 @@ public class ArticleCache {
                     Article.ARTICLE_ANONYMOUS,
                     Article.ARTICLE_PERFECT,
                     Article.ARTICLE_QNA_OFFER_POINT,
-                    Article.ARTICLE_SHOW_IN_LIST);
+                    Article.ARTICLE_SHOW_IN_LIST,
+                    Article.ARTICLE_ABSTRACT,
+                    Article.ARTICLE_IMG1_URL,
+                    Article.ARTICLE_IMG_CNT);
             final JSONObject result = articleRepository.get(query);
             final List<JSONObject> articles = CollectionUtils.jsonArrayToList(result.optJSONArray(Keys.RESULTS));
 
@@ -267,6 +295,33 @@ public class ArticleCache {
         ARTICLE_ABSTRACT_CACHE.put(articleId, value);
     }
 
+    /**
+     * Gets an article title by the specified article id.
+     *
+     * @param articleId the specified article id
+     * @return article title, returns {@code null} if not found
+     */
+    public String getArticleTitle(final String articleId) {
+        final JSONObject value = ARTICLE_TITLE_CACHE.get(articleId);
+        if (null == value) {
+            return null;
+        }
+
+        return value.optString(Common.DATA);
+    }
+
+    /**
+     * Puts an article title by the specified article id and article title.
+     *
+     * @param articleId    the specified article id
+     * @param articleTitle the specified article title
+     */
+    public void putArticleTitle(final String articleId, final String articleTitle) {
+        final JSONObject value = new JSONObject();
+        value.put(Common.DATA, articleTitle);
+        ARTICLE_TITLE_CACHE.put(articleId, value);
+    }
+
     /**
      * Gets an article by the specified article id.
      *
@@ -292,6 +347,56 @@ public class ArticleCache {
 
         ARTICLE_CACHE.put(articleId, JSONs.clone(article));
         ARTICLE_ABSTRACT_CACHE.remove(articleId);
+        if (article.has(Article.ARTICLE_TITLE)) {
+            putArticleTitle(articleId, article.optString(Article.ARTICLE_TITLE));
+        } else {
+            ARTICLE_TITLE_CACHE.remove(articleId);
+        }
+    }
+
+    /**
+     * Gets the rendered content of an article by the specified article id and revision version.
+     *
+     * @param articleId the specified article id
+     * @param version   the specified revision version, for example "1550000000000-{content hash}"
+     * @return rendered content, for example <pre>
+     * {
+     *     "articleContent": "",
+     *     "articleRewardContent": "",
+     *     "articleToC": "",
+     *     "articlePreviewContent": ""
+     * }
+     * </pre>, returns {@code null} if not found or the article has been updated, the returned object should not be
+     * modified
+     */
+    public JSONObject getRenderedContent(final String articleId, final String version) {
+        final JSONObject value = RENDERED_CONTENT_CACHE.getIfPresent(articleId);
+        if (null == value || !version.equals(value.optString(Common.VERSION))) {
+            return null;
+        }
+
+        return value;
+    }
+
+    /**
+     * Puts the rendered content of an article.
+     *
+     * @param articleId       the specified article id
+     * @param version         the specified revision version
+     * @param renderedContent the specified rendered content, see {@link #getRenderedContent(String, String)}
+     */
+    public void putRenderedContent(final String articleId, final String version, final JSONObject renderedContent) {
+        renderedContent.put(Common.VERSION, version);
+        RENDERED_CONTENT_CACHE.put(articleId, renderedContent);
+    }
+
+    /**
+     * Removes the rendered content of an article by the specified article id.
+     *
+     * @param articleId the specified article id
+     */
+    public void removeRenderedContent(final String articleId) {
+        RENDERED_CONTENT_CACHE.invalidate(articleId);
     }
 
     /**
@@ -302,5 +407,7 @@ public class ArticleCache {
     public void removeArticle(final String id) {
         ARTICLE_CACHE.remove(id);
         ARTICLE_ABSTRACT_CACHE.remove(id);
+        ARTICLE_TITLE_CACHE.remove(id);
+        RENDERED_CONTENT_CACHE.invalidate(id);
     }
 }
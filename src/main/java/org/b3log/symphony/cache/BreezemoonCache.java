@@ -0,0 +1,92 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-present, b3log.org
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.cache;
+
+import org.b3log.latke.ioc.BeanManager;
+import org.b3log.latke.ioc.Singleton;
+import org.b3log.latke.util.Stopwatchs;
+import org.b3log.symphony.model.UserExt;
+import org.b3log.symphony.service.BreezemoonQueryService;
+import org.b3log.symphony.util.Sessions;
+import org.json.JSONObject;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Breezemoon cache.
+ * <p>
+ * Holds the side breezemoons panel, one immutable list per avatar view mode. The lists are served by reference and
+ * replaced as a whole on {@link #loadSideBreezemoons()}, so callers must not modify them.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.6.0
+ */
+@Singleton
+public class BreezemoonCache {
+
+    /**
+     * Side breezemoons, &lt;avatarViewMode, breezemoons&gt;.
+     */
+    private static volatile Map<Integer, List<JSONObject>> sideBreezemoons;
+
+    /**
+     * Gets side breezemoons with the specified avatar view mode.
+     *
+     * @param avatarViewMode the specified avatar view mode
+     * @return side breezemoons, returns an empty list if not found
+     */
+    public List<JSONObject> getSideBreezemoons(final int avatarViewMode) {
+        if (null == sideBreezemoons) {
+            loadSideBreezemoons();
+        }
+
+        final List<JSONObject> ret = sideBreezemoons.get(avatarViewMode);
+
+        return null == ret ? sideBreezemoons.get(UserExt.USER_AVATAR_VIEW_MODE_C_ORIGINAL) : ret;
+    }
+
+    /**
+     * Loads side breezemoons. Avatar URLs are generated by the avatar view mode of the current thread, so the panel of
+     * each mode is loaded under that mode.
+     */
+    public void loadSideBreezemoons() {
+        final BreezemoonQueryService breezemoonQueryService = BeanManager.getInstance().getReference(BreezemoonQueryService.class);
+
+        Stopwatchs.start("Load side breezemoons");
+        final int avatarViewMode = Sessions.getAvatarViewMode();
+        try {
+            synchronized (BreezemoonCache.class) {
+                final Map<Integer, List<JSONObject>> breezemoons = new HashMap<>();
+                for (final int mode : new int[]{UserExt.USER_AVATAR_VIEW_MODE_C_ORIGINAL, UserExt.USER_AVATAR_VIEW_MODE_C_STATIC}) {
+                    Sessions.setAvatarViewMode(mode);
+                    breezemoons.put(mode, Collections.unmodifiableList(breezemoonQueryService.getSideBreezemoons(mode)));
+                }
+
+                sideBreezemoons = breezemoons;
+            }
+        } finally {
+            Sessions.setAvatarViewMode(avatarViewMode);
+            Stopwatchs.end();
+        }
+    }
+}
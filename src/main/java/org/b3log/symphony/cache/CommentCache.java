@@ -17,6 +17,7 @@
  */
 package org.b3log.symphony.cache;
 
+import com.google.common.cache.CacheBuilder;
 import org.b3log.latke.Keys;
 import org.b3log.latke.cache.Cache;
 import org.b3log.latke.cache.CacheFactory;
@@ -25,11 +26,13 @@ import org.b3log.symphony.model.Comment;
 import org.b3log.symphony.util.JSONs;
 import org.json.JSONObject;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Comment cache.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.0, Sep 1, 2016
+ * @version 1.1.0.0, Oct 19, 2026
  * @since 1.6.0
  */
 @Singleton
@@ -40,6 +43,57 @@ public class CommentCache {
      */
     private static final Cache cache = CacheFactory.getCache(Comment.COMMENTS);
 
+    /**
+     * Maximum size of rendered comment contents in chars, 16M chars (32MB).
+     */
+    private static final long RENDERED_CONTENT_MAX_CHARS = 16 * 1024 * 1024;
+
+    /**
+     * Rendered comment content cache, &lt;commentId, [contentHash, html]&gt;. Rendered content also depends on linked
+     * article titles, so entries expire after a while.
+     */
+    private static final com.google.common.cache.Cache<String, String[]> RENDERED_CONTENT_CACHE = CacheBuilder.newBuilder().
+            maximumWeight(RENDERED_CONTENT_MAX_CHARS).
+            weigher((String id, String[] value) -> value[0].length() + value[1].length()).
+            expireAfterWrite(1, TimeUnit.HOURS).
+            build();
+
+    /**
+     * Gets the rendered content of a comment by the specified comment id and raw content hash.
+     *
+     * @param id          the specified comment id
+     * @param contentHash the specified raw content hash
+     * @return rendered content, returns {@code null} if not found or the raw content has changed
+     */
+    public String getRenderedContent(final String id, final String contentHash) {
+        final String[] value = RENDERED_CONTENT_CACHE.getIfPresent(id);
+        if (null == value || !value[0].equals(contentHash)) {
+            return null;
+        }
+
+        return value[1];
+    }
+
+    /**
+     * Puts the rendered content of a comment.
+     *
+     * @param id              the specified comment id
+     * @param contentHash     the specified raw content hash
+     * @param renderedContent the specified rendered content
+     */
+    public void putRenderedContent(final String id, final String contentHash, final String renderedContent) {
+        RENDERED_CONTENT_CACHE.put(id, new String[]{contentHash, renderedContent});
+    }
+
+    /**
+     * Removes the rendered content of a comment by the specified comment id.
+     *
+     * @param id the specified comment id
+     */
+    public void removeRenderedContent(final String id) {
+        RENDERED_CONTENT_CACHE.invalidate(id);
+    }
+
     /**
      * Gets a comment by the specified comment id.
      *
@@ -71,5 +125,6 @@ public class CommentCache {
      */
     public void removeComment(final String id) {
         cache.remove(id);
+        RENDERED_CONTENT_CACHE.invalidate(id);
     }
 }
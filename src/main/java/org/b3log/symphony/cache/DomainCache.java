@@ -17,24 +17,35 @@
  */
 package org.b3log.symphony.cache;
 
-import org.b3log.latke.ioc.Inject;
+import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.BeanManager;
 import org.b3log.latke.ioc.Singleton;
+import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
-import org.b3log.symphony.service.DomainQueryService;
+import org.b3log.latke.repository.FilterOperator;
+import org.b3log.latke.repository.PropertyFilter;
+import org.b3log.latke.repository.Query;
+import org.b3log.latke.repository.RepositoryException;
+import org.b3log.latke.repository.SortDirection;
+import org.b3log.symphony.model.Domain;
+import org.b3log.symphony.model.Tag;
+import org.b3log.symphony.repository.DomainRepository;
+import org.b3log.symphony.repository.DomainTagRepository;
+import org.b3log.symphony.repository.TagRepository;
 import org.b3log.symphony.util.JSONs;
 import org.json.JSONObject;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.*;
 
 /**
  * Domain cache.
+ * <p>
+ * Holds an immutable index of all domains and the domain-tag relations in both directions, replaced as a whole on
+ * {@link #loadDomains()}. Cached objects are served as clones.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.2.3, Aug 31, 2018
+ * @version 1.1.1.0, Oct 19, 2026
  * @since 1.4.0
  */
 @Singleton
@@ -46,52 +57,207 @@ public class DomainCache {
     private static final Logger LOGGER = Logger.getLogger(DomainCache.class);
 
     /**
-     * Domains.
+     * Index.
      */
-    private static final List<JSONObject> DOMAINS = new ArrayList<>();
+    private static volatile Index index = new Index(Collections.emptyList(), Collections.emptyMap());
 
     /**
-     * Lock.
+     * Gets navigation domains with their tags with the specified fetch size.
+     *
+     * @param fetchSize the specified fetch size
+     * @return domains
      */
-    private static final ReadWriteLock LOCK = new ReentrantReadWriteLock();
+    public List<JSONObject> getDomains(final int fetchSize) {
+        final List<JSONObject> domains = index.naviDomains;
+
+        return JSONs.clone(domains.subList(0, Math.min(fetchSize, domains.size())));
+    }
 
     /**
-     * Domain query service.
+     * Gets all domains with their tags.
+     *
+     * @return domains
      */
-    @Inject
-    private DomainQueryService domainQueryService;
+    public List<JSONObject> getAllDomains() {
+        return JSONs.clone(index.allDomains);
+    }
 
     /**
-     * Gets domains with the specified fetch size.
+     * Gets a domain by the specified domain id.
      *
-     * @param fetchSize the specified fetch size
-     * @return domains
+     * @param domainId the specified domain id
+     * @return domain, returns {@code null} if not found
      */
-    public List<JSONObject> getDomains(final int fetchSize) {
-        LOCK.readLock().lock();
-        try {
-            if (DOMAINS.isEmpty()) {
-                return Collections.emptyList();
-            }
+    public JSONObject getDomain(final String domainId) {
+        final JSONObject ret = index.domainsById.get(domainId);
+
+        return null == ret ? null : JSONs.clone(ret);
+    }
+
+    /**
+     * Gets a domain by the specified domain URI.
+     *
+     * @param domainURI the specified domain URI
+     * @return domain, returns {@code null} if not found
+     */
+    public JSONObject getDomainByURI(final String domainURI) {
+        final JSONObject ret = index.domainsByURI.get(domainURI);
 
-            final int end = fetchSize >= DOMAINS.size() ? DOMAINS.size() : fetchSize;
+        return null == ret ? null : JSONs.clone(ret);
+    }
 
-            return JSONs.clone(DOMAINS.subList(0, end));
-        } finally {
-            LOCK.readLock().unlock();
-        }
+    /**
+     * Gets tags of the specified domain.
+     *
+     * @param domainId the specified domain id
+     * @return tags, returns an empty list if not found
+     */
+    public List<JSONObject> getTags(final String domainId) {
+        return JSONs.clone(index.tagsByDomainId.getOrDefault(domainId, Collections.emptyList()));
+    }
+
+    /**
+     * Gets domains of the specified tag belongs to.
+     *
+     * @param tagTitle the specified tag title
+     * @return domains ordered by id, returns an empty list if not found
+     */
+    public List<JSONObject> getDomainsByTag(final String tagTitle) {
+        return JSONs.clone(index.domainsByTagTitle.getOrDefault(tagTitle, Collections.emptyList()));
+    }
+
+    /**
+     * Whether a tag specified by the given tag id in a domain specified by the given domain id.
+     *
+     * @param tagId    the given tag id
+     * @param domainId the given domain id
+     * @return {@code true} if the tag in the domain, returns {@code false} otherwise
+     */
+    public boolean containTag(final String tagId, final String domainId) {
+        return index.tagIdsByDomainId.getOrDefault(domainId, Collections.emptySet()).contains(tagId);
     }
 
     /**
      * Loads domains.
      */
     public void loadDomains() {
-        LOCK.writeLock().lock();
+        final BeanManager beanManager = BeanManager.getInstance();
+        final DomainRepository domainRepository = beanManager.getReference(DomainRepository.class);
+        final DomainTagRepository domainTagRepository = beanManager.getReference(DomainTagRepository.class);
+        final TagRepository tagRepository = beanManager.getReference(TagRepository.class);
+
         try {
-            DOMAINS.clear();
-            DOMAINS.addAll(domainQueryService.getMostTagNaviDomains(Integer.MAX_VALUE));
-        } finally {
-            LOCK.writeLock().unlock();
+            final List<JSONObject> domains = domainRepository.getList(new Query().
+                    addSort(Domain.DOMAIN_SORT, SortDirection.ASCENDING).
+                    addSort(Domain.DOMAIN_TAG_COUNT, SortDirection.DESCENDING).
+                    addSort(Keys.OBJECT_ID, SortDirection.DESCENDING).
+                    setPageCount(1));
+            final List<JSONObject> relations = domainTagRepository.getList(new Query().
+                    addSort(Keys.OBJECT_ID, SortDirection.ASCENDING).
+                    setPageCount(1));
+
+            final Set<String> tagIds = new HashSet<>();
+            for (final JSONObject relation : relations) {
+                tagIds.add(relation.optString(Tag.TAG + "_" + Keys.OBJECT_ID));
+            }
+            final Map<String, JSONObject> tags = new HashMap<>();
+            if (!tagIds.isEmpty()) {
+                for (final JSONObject tag : tagRepository.getList(new Query().
+                        setFilter(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.IN, tagIds)).setPageCount(1))) {
+                    tags.put(tag.optString(Keys.OBJECT_ID), tag);
+                }
+            }
+
+            final Map<String, List<JSONObject>> domainTags = new HashMap<>();
+            for (final JSONObject relation : relations) {
+                final JSONObject tag = tags.get(relation.optString(Tag.TAG + "_" + Keys.OBJECT_ID));
+                if (null != tag) {
+                    domainTags.computeIfAbsent(relation.optString(Domain.DOMAIN + "_" + Keys.OBJECT_ID), id -> new ArrayList<>()).add(tag);
+                }
+            }
+
+            index = new Index(domains, domainTags);
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Loads domains failed", e);
+        }
+    }
+
+    /**
+     * Immutable domain index.
+     */
+    private static final class Index {
+
+        /**
+         * All domains with their tags.
+         */
+        private final List<JSONObject> allDomains;
+
+        /**
+         * Navigation domains with their tags.
+         */
+        private final List<JSONObject> naviDomains;
+
+        /**
+         * Domains, &lt;domainId, domain&gt;.
+         */
+        private final Map<String, JSONObject> domainsById = new HashMap<>();
+
+        /**
+         * Domains, &lt;domainURI, domain&gt;.
+         */
+        private final Map<String, JSONObject> domainsByURI = new HashMap<>();
+
+        /**
+         * Tags of domains, &lt;domainId, tags&gt;.
+         */
+        private final Map<String, List<JSONObject>> tagsByDomainId = new HashMap<>();
+
+        /**
+         * Tag ids of domains, &lt;domainId, tagIds&gt;.
+         */
+        private final Map<String, Set<String>> tagIdsByDomainId = new HashMap<>();
+
+        /**
+         * Domains of tags ordered by domain id, &lt;tagTitle, domains&gt;.
+         */
+        private final Map<String, List<JSONObject>> domainsByTagTitle = new HashMap<>();
+
+        /**
+         * Builds an index with the specified domains and tags of domains.
+         *
+         * @param domains    the specified domains, in navigation order
+         * @param domainTags the specified tags of domains, &lt;domainId, tags&gt;
+         */
+        private Index(final List<JSONObject> domains, final Map<String, List<JSONObject>> domainTags) {
+            final List<JSONObject> all = new ArrayList<>();
+            final List<JSONObject> navi = new ArrayList<>();
+            for (final JSONObject domain : domains) {
+                final String domainId = domain.optString(Keys.OBJECT_ID);
+                domainsById.put(domainId, domain);
+                domainsByURI.put(domain.optString(Domain.DOMAIN_URI), domain);
+
+                final List<JSONObject> tags = Collections.unmodifiableList(domainTags.getOrDefault(domainId, Collections.emptyList()));
+                tagsByDomainId.put(domainId, tags);
+                final Set<String> tagIds = new HashSet<>();
+                for (final JSONObject tag : tags) {
+                    tagIds.add(tag.optString(Keys.OBJECT_ID));
+                    domainsByTagTitle.computeIfAbsent(tag.optString(Tag.TAG_TITLE), title -> new ArrayList<>()).add(domain);
+                }
+                tagIdsByDomainId.put(domainId, tagIds);
+
+                final JSONObject domainWithTags = JSONs.clone(domain);
+                domainWithTags.put(Domain.DOMAIN_T_TAGS, (Object) tags);
+                all.add(domainWithTags);
+                if (Domain.DOMAIN_NAV_C_ENABLED == domain.optInt(Domain.DOMAIN_NAV)) {
+                    navi.add(domainWithTags);
+                }
+            }
+            for (final List<JSONObject> tagDomains : domainsByTagTitle.values()) {
+                tagDomains.sort(Comparator.comparing(domain -> domain.optString(Keys.OBJECT_ID)));
+            }
+
+            allDomains = Collections.unmodifiableList(all);
+            naviDomains = Collections.unmodifiableList(navi);
         }
     }
 }
@@ -0,0 +1,117 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-present, b3log.org
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.cache;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.b3log.latke.cache.Cache;
+import org.b3log.latke.cache.CacheFactory;
+import org.b3log.latke.ioc.Singleton;
+import org.b3log.symphony.model.Common;
+import org.json.JSONObject;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Feed cache.
+ * <p>
+ * Holds rendered feed XML by feed key, for example {@code recent} or {@code domain-java}. All feeds are invalidated
+ * together when an article is added, updated or removed.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.6.0
+ */
+@Singleton
+public class FeedCache {
+
+    /**
+     * Key of feed ETag.
+     */
+    public static final String ETAG = "etag";
+
+    /**
+     * Key of feed last modified time.
+     */
+    public static final String LAST_MODIFIED = "lastModified";
+
+    /**
+     * Feed cache.
+     */
+    private static final Cache CACHE = CacheFactory.getCache("feeds");
+
+    /**
+     * Cache generation, increased on each invalidation to discard feeds rendered before it.
+     */
+    private static final AtomicLong GENERATION = new AtomicLong();
+
+    /**
+     * Gets the current cache generation. Callers should get it before rendering a feed and pass it to
+     * {@link #putFeed(String, String, long)}.
+     *
+     * @return cache generation
+     */
+    public long getGeneration() {
+        return GENERATION.get();
+    }
+
+    /**
+     * Gets a feed by the specified feed key.
+     *
+     * @param feedKey the specified feed key
+     * @return feed, for example <pre>
+     * {
+     *     "data": "&lt;?xml ...",
+     *     "etag": "\"...\"",
+     *     "lastModified": long
+     * }
+     * </pre>, returns {@code null} if not found
+     */
+    public JSONObject getFeed(final String feedKey) {
+        return CACHE.get(feedKey);
+    }
+
+    /**
+     * Puts a feed with the specified feed key and rendered content.
+     *
+     * @param feedKey    the specified feed key
+     * @param content    the specified rendered content
+     * @param generation the cache generation got before rendering
+     * @return feed, see {@link #getFeed(String)} for details
+     */
+    public synchronized JSONObject putFeed(final String feedKey, final String content, final long generation) {
+        final JSONObject ret = new JSONObject();
+        ret.put(Common.DATA, content);
+        ret.put(ETAG, "\"" + DigestUtils.md5Hex(content) + "\"");
+        ret.put(LAST_MODIFIED, System.currentTimeMillis());
+
+        if (GENERATION.get() == generation) {
+            CACHE.put(feedKey, ret);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Invalidates all feeds.
+     */
+    public synchronized void invalidate() {
+        GENERATION.incrementAndGet();
+        CACHE.clear();
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-present, b3log.org
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.cache;
+
+import com.google.common.cache.CacheBuilder;
+import org.apache.commons.lang.time.DateFormatUtils;
+import org.b3log.latke.ioc.Singleton;
+import org.b3log.symphony.model.Liveness;
+import org.json.JSONObject;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Header cache.
+ * <p>
+ * Caches the personal navigation state of logged-in users (following counts and today's liveness point) and role
+ * names per locale. Follow changes remove the state of the follower, liveness changes update the cached point, role
+ * changes clear the role names. States also expire a while after written, which bounds staleness of a state reloaded
+ * while a follow change was not committed yet.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.6.0
+ */
+@Singleton
+public class HeaderCache {
+
+    /**
+     * Key of state day.
+     */
+    private static final String DAY = "day";
+
+    /**
+     * Personal navigation states, &lt;userId, {day, followingArticleCnt, followingTagCnt, followingUserCnt,
+     * liveness}&gt;. States are replaced rather than modified.
+     */
+    private static final com.google.common.cache.Cache<String, JSONObject> STATES = CacheBuilder.newBuilder().
+            maximumSize(64 * 1024).
+            expireAfterWrite(10, TimeUnit.MINUTES).
+            build();
+
+    /**
+     * Role names, &lt;roleId@locale, roleName&gt;.
+     */
+    private static final Map<String, String> ROLE_NAMES = new ConcurrentHashMap<>();
+
+    /**
+     * Gets today's personal navigation state of the specified user.
+     *
+     * @param userId the specified user id
+     * @return state, returns {@code null} if not cached
+     */
+    public JSONObject getState(final String userId) {
+        final JSONObject ret = STATES.getIfPresent(userId);
+        if (null == ret || !today().equals(ret.optString(DAY))) {
+            return null;
+        }
+
+        return ret;
+    }
+
+    /**
+     * Puts today's personal navigation state of the specified user.
+     *
+     * @param userId the specified user id
+     * @param state  the specified state, should not be modified after put
+     */
+    public void putState(final String userId, final JSONObject state) {
+        state.put(DAY, today());
+        STATES.put(userId, state);
+    }
+
+    /**
+     * Removes the personal navigation state of the specified user.
+     *
+     * @param userId the specified user id
+     */
+    public void removeState(final String userId) {
+        STATES.invalidate(userId);
+    }
+
+    /**
+     * Updates today's liveness point in the cached state of the specified user.
+     *
+     * @param userId        the specified user id
+     * @param livenessPoint the specified liveness point
+     */
+    public void updateLivenessPoint(final String userId, final int livenessPoint) {
+        final String today = today();
+        STATES.asMap().computeIfPresent(userId, (id, state) -> {
+            if (!today.equals(state.optString(DAY))) {
+                return null;
+            }
+
+            final JSONObject ret = new JSONObject();
+            for (final String key : state.keySet()) {
+                ret.put(key, state.opt(key));
+            }
+            ret.put(Liveness.LIVENESS, livenessPoint);
+
+            return ret;
+        });
+    }
+
+    /**
+     * Gets a role name by the specified role id and locale.
+     *
+     * @param roleId the specified role id
+     * @param locale the specified locale
+     * @return role name, returns {@code null} if not cached
+     */
+    public String getRoleName(final String roleId, final Locale locale) {
+        return ROLE_NAMES.get(roleId + "@" + locale);
+    }
+
+    /**
+     * Puts a role name with the specified role id and locale.
+     *
+     * @param roleId   the specified role id
+     * @param locale   the specified locale
+     * @param roleName the specified role name
+     */
+    public void putRoleName(final String roleId, final Locale locale, final String roleName) {
+        ROLE_NAMES.put(roleId + "@" + locale, roleName);
+    }
+
+    /**
+     * Clears all role names.
+     */
+    public void clearRoleNames() {
+        ROLE_NAMES.clear();
+    }
+
+    private static String today() {
+        return DateFormatUtils.format(System.currentTimeMillis(), "yyyyMMdd");
+    }
+}
@@ -17,29 +17,144 @@
  */
 package org.b3log.symphony.cache;
 
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.math.NumberUtils;
 import org.b3log.latke.Keys;
 import org.b3log.latke.cache.Cache;
 import org.b3log.latke.cache.CacheFactory;
+import org.b3log.latke.ioc.BeanManager;
 import org.b3log.latke.ioc.Singleton;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.*;
 import org.b3log.symphony.model.Option;
+import org.b3log.symphony.repository.OptionRepository;
 import org.b3log.symphony.util.JSONs;
+import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Option cache.
+ * <p>
+ * Besides the per option cache, holds an immutable snapshot of misc options which is read on hot paths (request
+ * locale, allow add article/comment, visit count mode, etc.). The snapshot is replaced as a whole on
+ * {@link #loadMiscOptions()}, each load bumps the snapshot version.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.1, Oct 25, 2016
+ * @version 1.1.1.0, Oct 19, 2026
  * @since 1.5.0
  */
 @Singleton
 public class OptionCache {
 
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(OptionCache.class);
+
     /**
      * Option cache.
      */
     private static final Cache CACHE = CacheFactory.getCache(Option.OPTIONS);
 
+    /**
+     * Misc options snapshot.
+     */
+    private static volatile MiscOptions miscOptions;
+
+    /**
+     * Loads misc options snapshot. Loads are serialized, so a load started before an option update can not install its
+     * stale snapshot after the load following the update.
+     */
+    public void loadMiscOptions() {
+        final BeanManager beanManager = BeanManager.getInstance();
+        final OptionRepository optionRepository = beanManager.getReference(OptionRepository.class);
+
+        final Query query = new Query().
+                setFilter(new PropertyFilter(Option.OPTION_CATEGORY, FilterOperator.EQUAL, Option.CATEGORY_C_MISC));
+        synchronized (OptionCache.class) {
+            try {
+                final JSONObject result = optionRepository.get(query);
+                final JSONArray options = result.optJSONArray(Keys.RESULTS);
+                final Map<String, String> values = new HashMap<>();
+                for (int i = 0; i < options.length(); i++) {
+                    final JSONObject option = options.optJSONObject(i);
+                    values.put(option.optString(Keys.OBJECT_ID), option.optString(Option.OPTION_VALUE));
+                }
+
+                final long version = null == miscOptions ? 1 : miscOptions.version + 1;
+                miscOptions = new MiscOptions(version, values);
+            } catch (final RepositoryException e) {
+                LOGGER.log(Level.ERROR, "Loads misc options failed", e);
+            }
+        }
+    }
+
+    /**
+     * Gets the version of the misc options snapshot.
+     *
+     * @return version, returns {@code 0} if not loaded yet
+     */
+    public long getMiscVersion() {
+        final MiscOptions snapshot = miscOptions;
+
+        return null == snapshot ? 0 : snapshot.version;
+    }
+
+    /**
+     * Gets a misc option value by the specified option id.
+     *
+     * @param id the specified option id
+     * @return option value, returns {@code null} if not found
+     */
+    public String getMisc(final String id) {
+        MiscOptions snapshot = miscOptions;
+        if (null == snapshot) {
+            loadMiscOptions();
+            snapshot = miscOptions;
+            if (null == snapshot) {
+                return null;
+            }
+        }
+
+        return snapshot.values.get(id);
+    }
+
+    /**
+     * Gets a misc option value as an integer by the specified option id.
+     *
+     * @param id           the specified option id
+     * @param defaultValue the specified default value
+     * @return option value, returns the specified default value if not found or not a number
+     */
+    public int getMiscInt(final String id, final int defaultValue) {
+        return NumberUtils.toInt(getMisc(id), defaultValue);
+    }
+
+    /**
+     * Checks whether the specified misc switch is on. Misc switches use "0" for on (allow).
+     *
+     * @param id the specified option id
+     * @return {@code true} if it is on, returns {@code false} otherwise
+     */
+    public boolean isMiscAllowed(final String id) {
+        return "0".equals(getMisc(id));
+    }
+
+    /**
+     * Gets the admin specified language.
+     *
+     * @return language, returns "0" if it follows the browser
+     */
+    public String getMiscLanguage() {
+        return StringUtils.defaultIfBlank(getMisc(Option.ID_C_MISC_LANGUAGE), "0");
+    }
+
     /**
      * Gets an option by the specified option id.
      *
@@ -72,4 +187,31 @@ public class OptionCache {
     public void removeOption(final String id) {
         CACHE.remove(id);
     }
+
+    /**
+     * Misc options snapshot.
+     */
+    private static final class MiscOptions {
+
+        /**
+         * Version.
+         */
+        private final long version;
+
+        /**
+         * Values, &lt;optionId, optionValue&gt;.
+         */
+        private final Map<String, String> values;
+
+        /**
+         * Constructs a snapshot with the specified version and values.
+         *
+         * @param version the specified version
+         * @param values  the specified values
+         */
+        private MiscOptions(final long version, final Map<String, String> values) {
+            this.version = version;
+            this.values = Collections.unmodifiableMap(values);
+        }
+    }
 }
@@ -0,0 +1,131 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-present, b3log.org
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.cache;
+
+import com.google.common.cache.CacheBuilder;
+import org.b3log.latke.ioc.Singleton;
+import org.b3log.symphony.model.UserExt;
+import org.b3log.symphony.util.JSONs;
+import org.json.JSONObject;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Profile cache.
+ * <p>
+ * Caches the profile header user of /member pages per avatar view mode, and the following user ids of users for
+ * "is following" checks. User updates remove the profile of the user, follow changes remove the following user ids
+ * of the follower. Entries also expire a while after written, which bounds staleness of an entry reloaded while a
+ * change was not committed yet.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.6.0
+ */
+@Singleton
+public class ProfileCache {
+
+    /**
+     * Profiles, &lt;userId-avatarViewMode, profile&gt;.
+     */
+    private static final com.google.common.cache.Cache<String, JSONObject> PROFILES = CacheBuilder.newBuilder().
+            maximumSize(16 * 1024).
+            expireAfterWrite(10, TimeUnit.MINUTES).
+            build();
+
+    /**
+     * Following user ids, &lt;followerId, followingUserIds&gt;, weighed by count of ids.
+     */
+    private static final com.google.common.cache.Cache<String, Set<String>> FOLLOWING_USER_IDS = CacheBuilder.newBuilder().
+            maximumWeight(512 * 1024).
+            weigher((String followerId, Set<String> followingUserIds) -> 1 + followingUserIds.size()).
+            expireAfterWrite(10, TimeUnit.MINUTES).
+            build();
+
+    /**
+     * Gets the profile of the specified user.
+     *
+     * @param userId         the specified user id
+     * @param avatarViewMode the specified avatar view mode
+     * @return profile, returns {@code null} if not cached
+     */
+    public JSONObject getProfile(final String userId, final int avatarViewMode) {
+        final JSONObject ret = PROFILES.getIfPresent(userId + "-" + avatarViewMode);
+
+        return null == ret ? null : JSONs.clone(ret);
+    }
+
+    /**
+     * Puts the profile of the specified user.
+     *
+     * @param userId         the specified user id
+     * @param avatarViewMode the specified avatar view mode
+     * @param profile        the specified profile
+     */
+    public void putProfile(final String userId, final int avatarViewMode, final JSONObject profile) {
+        PROFILES.put(userId + "-" + avatarViewMode, JSONs.clone(profile));
+    }
+
+    /**
+     * Removes the profiles of the specified user.
+     *
+     * @param userId the specified user id
+     */
+    public void removeProfile(final String userId) {
+        PROFILES.invalidate(userId + "-" + UserExt.USER_AVATAR_VIEW_MODE_C_ORIGINAL);
+        PROFILES.invalidate(userId + "-" + UserExt.USER_AVATAR_VIEW_MODE_C_STATIC);
+    }
+
+    /**
+     * Clears all profiles.
+     */
+    public void clearProfiles() {
+        PROFILES.invalidateAll();
+    }
+
+    /**
+     * Gets the following user ids of the specified follower.
+     *
+     * @param followerId the specified follower id
+     * @return following user ids, returns {@code null} if not cached
+     */
+    public Set<String> getFollowingUserIds(final String followerId) {
+        return FOLLOWING_USER_IDS.getIfPresent(followerId);
+    }
+
+    /**
+     * Puts the following user ids of the specified follower.
+     *
+     * @param followerId       the specified follower id
+     * @param followingUserIds the specified following user ids, should not be modified after put
+     */
+    public void putFollowingUserIds(final String followerId, final Set<String> followingUserIds) {
+        FOLLOWING_USER_IDS.put(followerId, followingUserIds);
+    }
+
+    /**
+     * Removes the following user ids of the specified follower.
+     *
+     * @param followerId the specified follower id
+     */
+    public void removeFollowingUserIds(final String followerId) {
+        FOLLOWING_USER_IDS.invalidate(followerId);
+    }
+}
@@ -28,17 +28,19 @@ import org.b3log.latke.util.CollectionUtils;
 import org.b3log.symphony.model.Tag;
 import org.b3log.symphony.repository.TagRepository;
 import org.b3log.symphony.util.JSONs;
+import org.b3log.symphony.util.PrefixIndex;
 import org.b3log.symphony.util.Symphonys;
 import org.json.JSONObject;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
  * Tag cache.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.5.6.5, Aug 31, 2018
+ * @version 1.7.0.0, Oct 19, 2026
  * @since 1.4.0
  */
 @Singleton
@@ -65,9 +67,20 @@ public class TagCache {
     private static final List<JSONObject> TAGS = new ArrayList<>();
 
     /**
-     * &lt;title, URI&gt;
+     * Count of precomputed top tags per title prefix.
      */
-    private static final Map<String, String> TITLE_URIS = new ConcurrentHashMap<>();
+    private static final int PREFIX_TOP_K = 16;
+
+    /**
+     * Tag title prefix index, rebuilt by {@link #loadAllTags()}.
+     */
+    private static volatile PrefixIndex<JSONObject> titlePrefixIndex = newTitlePrefixIndex(Collections.emptyList());
+
+    /**
+     * Tag objects, &lt;title, tag object&gt;. A tag object holds the id, title, URI and description of a tag, it is
+     * shared by reference across articles and must not be modified, changes of a tag replace its tag object.
+     */
+    private static volatile Map<String, JSONObject> titleTagObjs = new ConcurrentHashMap<>();
 
     /**
      * &lt;id, tag&gt;
@@ -88,7 +101,7 @@ public class TagCache {
 
         final JSONObject ret = JSONs.clone(tag);
 
-        TITLE_URIS.put(ret.optString(Tag.TAG_TITLE), ret.optString(Tag.TAG_URI));
+        titleTagObjs.computeIfAbsent(ret.optString(Tag.TAG_TITLE), title -> newTagObj(ret));
 
         return ret;
     }
@@ -101,7 +114,14 @@ public class TagCache {
     public void putTag(final JSONObject tag) {
         CACHE.put(tag.optString(Keys.OBJECT_ID), JSONs.clone(tag));
 
-        TITLE_URIS.put(tag.optString(Tag.TAG_TITLE), tag.optString(Tag.TAG_URI));
+        final String title = tag.optString(Tag.TAG_TITLE);
+        final JSONObject tagObj = titleTagObjs.get(title);
+        if (null == tagObj
+                || !StringUtils.equals(tagObj.optString(Keys.OBJECT_ID), tag.optString(Keys.OBJECT_ID))
+                || !StringUtils.equals(tagObj.optString(Tag.TAG_URI), tag.optString(Tag.TAG_URI))
+                || !StringUtils.equals(tagObj.optString(Tag.TAG_DESCRIPTION), tag.optString(Tag.TAG_DESCRIPTION))) {
+            titleTagObjs.put(title, newTagObj(tag));
+        }
     }
 
     /**
@@ -117,7 +137,7 @@ public class TagCache {
 
         CACHE.remove(id);
 
-        TITLE_URIS.remove(tag.optString(Tag.TAG_TITLE));
+        titleTagObjs.remove(tag.optString(Tag.TAG_TITLE));
     }
 
     /**
@@ -127,7 +147,19 @@ public class TagCache {
      * @return tag URI, returns {@code null} if not found
      */
     public String getURIByTitle(final String title) {
-        return TITLE_URIS.get(title);
+        final JSONObject tagObj = titleTagObjs.get(title);
+
+        return null == tagObj ? null : tagObj.optString(Tag.TAG_URI);
+    }
+
+    /**
+     * Gets a tag object with the specified tag title.
+     *
+     * @param title the specified tag title
+     * @return tag object, shared and must not be modified, returns {@code null} if not found
+     */
+    public JSONObject getTagObj(final String title) {
+        return titleTagObjs.get(title);
     }
 
     /**
@@ -172,6 +204,17 @@ public class TagCache {
         return JSONs.clone(TAGS);
     }
 
+    /**
+     * Gets tags by the specified title prefix, ordered by reference count.
+     *
+     * @param titlePrefix the specified title prefix
+     * @param fetchSize   the specified fetch size
+     * @return tags
+     */
+    public List<JSONObject> getTagsByPrefix(final String titlePrefix, final int fetchSize) {
+        return JSONs.clone(titlePrefixIndex.get(titlePrefix.toLowerCase(), fetchSize));
+    }
+
     /**
      * Loads all tags.
      */
@@ -258,6 +301,7 @@ public class TagCache {
             final JSONObject result = tagRepository.get(query);
             final List<JSONObject> tags = CollectionUtils.jsonArrayToList(result.optJSONArray(Keys.RESULTS));
 
+            final Map<String, JSONObject> newTitleTagObjs = new ConcurrentHashMap<>();
             final Iterator<JSONObject> iterator = tags.iterator();
             while (iterator.hasNext()) {
                 final JSONObject tag = iterator.next();
@@ -279,6 +323,7 @@ public class TagCache {
                     }
                 }
 
+                newTitleTagObjs.put(title, newTagObj(tag));
                 Tag.fillDescription(tag);
                 tag.put(Tag.TAG_T_TITLE_LOWER_CASE, tag.optString(Tag.TAG_TITLE).toLowerCase());
             }
@@ -293,12 +338,49 @@ public class TagCache {
             TAGS.clear();
             TAGS.addAll(tags);
 
-            TITLE_URIS.clear();
-            for (final JSONObject tag : tags) {
-                TITLE_URIS.put(tag.optString(Tag.TAG_TITLE), tag.optString(Tag.TAG_URI));
+            List<JSONObject> autocompleteTags = tags;
+            if (64 <= tags.size()) {
+                // 标签自动完成进行过滤 https://github.com/b3log/symphony/issues/778
+                autocompleteTags = tags.stream().filter(tag -> tag.optInt(Tag.TAG_REFERENCE_CNT) > 3).collect(Collectors.toList());
             }
+            titlePrefixIndex = newTitlePrefixIndex(autocompleteTags);
+
+            titleTagObjs = newTitleTagObjs;
         } catch (final RepositoryException e) {
             LOGGER.log(Level.ERROR, "Load all tags failed", e);
         }
     }
+
+    /**
+     * Builds a tag object with the specified tag.
+     *
+     * @param tag the specified tag, the description of it should be the markdown source
+     * @return tag object
+     */
+    private static JSONObject newTagObj(final JSONObject tag) {
+        final JSONObject ret = new JSONObject();
+        ret.put(Keys.OBJECT_ID, tag.optString(Keys.OBJECT_ID));
+        ret.put(Tag.TAG_TITLE, tag.optString(Tag.TAG_TITLE));
+        ret.put(Tag.TAG_URI, tag.optString(Tag.TAG_URI));
+        ret.put(Tag.TAG_DESCRIPTION, tag.optString(Tag.TAG_DESCRIPTION));
+
+        final JSONObject description = new JSONObject();
+        description.put(Tag.TAG_TITLE, ret.optString(Tag.TAG_TITLE));
+        description.put(Tag.TAG_DESCRIPTION, ret.optString(Tag.TAG_DESCRIPTION));
+        Tag.fillDescription(description);
+        ret.put(Tag.TAG_T_DESCRIPTION_TEXT, description.optString(Tag.TAG_T_DESCRIPTION_TEXT));
+
+        return ret;
+    }
+
+    /**
+     * Builds a tag title prefix index with the specified tags.
+     *
+     * @param tags the specified tags, each tag should hold its lower case title
+     * @return tag title prefix index
+     */
+    private static PrefixIndex<JSONObject> newTitlePrefixIndex(final List<JSONObject> tags) {
+        return new PrefixIndex<>(tags, tag -> tag.optString(Tag.TAG_T_TITLE_LOWER_CASE),
+                tag -> tag.optInt(Tag.TAG_REFERENCE_CNT), PREFIX_TOP_K);
+    }
 }
@@ -0,0 +1,243 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-present, b3log.org
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.cache;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.BeanManager;
+import org.b3log.latke.ioc.Singleton;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.FilterOperator;
+import org.b3log.latke.repository.PropertyFilter;
+import org.b3log.latke.repository.Query;
+import org.b3log.latke.repository.RepositoryException;
+import org.b3log.latke.repository.SortDirection;
+import org.b3log.latke.util.Stopwatchs;
+import org.b3log.symphony.model.Article;
+import org.b3log.symphony.model.Common;
+import org.b3log.symphony.model.Tag;
+import org.b3log.symphony.repository.TagArticleRepository;
+import org.b3log.symphony.repository.TagTagRepository;
+import org.b3log.symphony.util.IdRing;
+import org.b3log.symphony.util.Symphonys;
+import org.json.JSONObject;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tag graph cache.
+ * <p>
+ * Holds the tag co-occurrence weights reaching {@link Symphonys#TAG_RELATED_WEIGHT} with the related tag ids of each
+ * tag sorted by weight, and a ring of the latest article ids of each tag. Weights are updated as tags are related and
+ * article ids are pushed as articles are tagged, rings are loaded lazily per tag. {@link #loadTagGraph()} rebuilds the
+ * weights and drops the rings, which also drops article ids of tags removed from articles.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.6.0
+ */
+@Singleton
+public class TagGraphCache {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(TagGraphCache.class);
+
+    /**
+     * Size of the article ring of a tag.
+     */
+    public static final int ARTICLES_SIZE = 32;
+
+    /**
+     * Weights, &lt;tagId, &lt;relatedTagId, weight&gt;&gt;.
+     */
+    private static volatile Map<String, Map<String, Integer>> weights;
+
+    /**
+     * Related tag ids sorted by weight descending, &lt;tagId, relatedTagIds&gt;. Lists are replaced rather than
+     * modified.
+     */
+    private static volatile Map<String, List<String>> relatedTagIds;
+
+    /**
+     * Article rings, &lt;tagId, articleIds&gt;.
+     */
+    private static volatile Map<String, IdRing> articleIds = new ConcurrentHashMap<>();
+
+    /**
+     * Gets related tag ids of the specified tag.
+     *
+     * @param tagId     the specified tag id
+     * @param fetchSize the specified fetch size
+     * @return related tag ids sorted by weight descending, returns an empty list if not found
+     */
+    public List<String> getRelatedTagIds(final String tagId, final int fetchSize) {
+        if (null == relatedTagIds) {
+            loadTagGraph();
+        }
+
+        final List<String> ret = relatedTagIds.getOrDefault(tagId, Collections.emptyList());
+
+        return ret.subList(0, Math.min(fetchSize, ret.size()));
+    }
+
+    /**
+     * Updates the co-occurrence weight of the specified tags.
+     *
+     * @param tag1Id the specified tag1 id
+     * @param tag2Id the specified tag2 id
+     * @param weight the specified weight
+     */
+    public void relate(final String tag1Id, final String tag2Id, final int weight) {
+        if (null == weights || Symphonys.TAG_RELATED_WEIGHT > weight) {
+            return;
+        }
+
+        synchronized (TagGraphCache.class) {
+            put(weights, tag1Id, tag2Id, weight);
+            put(weights, tag2Id, tag1Id, weight);
+            relatedTagIds.put(tag1Id, sort(weights.get(tag1Id)));
+            relatedTagIds.put(tag2Id, sort(weights.get(tag2Id)));
+        }
+    }
+
+    /**
+     * Gets the latest article ids of the specified tag.
+     *
+     * @param tagId     the specified tag id
+     * @param fetchSize the specified fetch size
+     * @return article ids, newest first
+     */
+    public List<String> getArticleIds(final String tagId, final int fetchSize) {
+        IdRing ring = articleIds.get(tagId);
+        if (null == ring) {
+            ring = loadArticleIds(tagId);
+        }
+
+        final List<String> ret = new ArrayList<>();
+        for (final Long articleId : ring.latest(fetchSize)) {
+            ret.add(String.valueOf(articleId));
+        }
+
+        return ret;
+    }
+
+    /**
+     * Pushes the specified article into the ring of the specified tag if loaded.
+     *
+     * @param tagId     the specified tag id
+     * @param articleId the specified article id
+     */
+    public void pushArticle(final String tagId, final String articleId) {
+        final IdRing ring = articleIds.get(tagId);
+        if (null != ring) {
+            ring.push(Long.parseLong(articleId));
+        }
+    }
+
+    /**
+     * Loads tag graph.
+     */
+    public void loadTagGraph() {
+        final TagTagRepository tagTagRepository = BeanManager.getInstance().getReference(TagTagRepository.class);
+
+        Stopwatchs.start("Load tag graph");
+        try {
+            final Query query = new Query().
+                    setFilter(new PropertyFilter(Common.WEIGHT, FilterOperator.GREATER_THAN_OR_EQUAL, Symphonys.TAG_RELATED_WEIGHT)).
+                    select(Tag.TAG + "1_" + Keys.OBJECT_ID, Tag.TAG + "2_" + Keys.OBJECT_ID, Common.WEIGHT).
+                    setPageCount(1);
+            final List<JSONObject> relations = tagTagRepository.getList(query);
+
+            final Map<String, Map<String, Integer>> newWeights = new ConcurrentHashMap<>();
+            for (final JSONObject relation : relations) {
+                final String tag1Id = relation.optString(Tag.TAG + "1_" + Keys.OBJECT_ID);
+                final String tag2Id = relation.optString(Tag.TAG + "2_" + Keys.OBJECT_ID);
+                final int weight = relation.optInt(Common.WEIGHT);
+                put(newWeights, tag1Id, tag2Id, weight);
+                put(newWeights, tag2Id, tag1Id, weight);
+            }
+
+            final Map<String, List<String>> newRelatedTagIds = new ConcurrentHashMap<>();
+            for (final Map.Entry<String, Map<String, Integer>> entry : newWeights.entrySet()) {
+                newRelatedTagIds.put(entry.getKey(), sort(entry.getValue()));
+            }
+
+            synchronized (TagGraphCache.class) {
+                weights = newWeights;
+                relatedTagIds = newRelatedTagIds;
+                articleIds = new ConcurrentHashMap<>();
+            }
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Loads tag graph failed", e);
+
+            if (null == relatedTagIds) {
+                synchronized (TagGraphCache.class) {
+                    weights = new ConcurrentHashMap<>();
+                    relatedTagIds = new ConcurrentHashMap<>();
+                }
+            }
+        } finally {
+            Stopwatchs.end();
+        }
+    }
+
+    /**
+     * Loads the article ring of the specified tag.
+     *
+     * @param tagId the specified tag id
+     * @return article ring
+     */
+    private IdRing loadArticleIds(final String tagId) {
+        final TagArticleRepository tagArticleRepository = BeanManager.getInstance().getReference(TagArticleRepository.class);
+
+        final IdRing ret = new IdRing(ARTICLES_SIZE);
+        try {
+            final List<JSONObject> relations = tagArticleRepository.getList(new Query().
+                    setFilter(new PropertyFilter(Tag.TAG + "_" + Keys.OBJECT_ID, FilterOperator.EQUAL, tagId)).
+                    select(Article.ARTICLE + "_" + Keys.OBJECT_ID).
+                    addSort(Article.ARTICLE + "_" + Keys.OBJECT_ID, SortDirection.DESCENDING).
+                    setPage(1, ARTICLES_SIZE).setPageCount(1));
+            for (int i = relations.size() - 1; i >= 0; i--) {
+                ret.push(Long.parseLong(relations.get(i).optString(Article.ARTICLE + "_" + Keys.OBJECT_ID)));
+            }
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Loads articles of tag [id=" + tagId + "] failed", e);
+
+            return ret;
+        }
+
+        final IdRing existing = articleIds.putIfAbsent(tagId, ret);
+
+        return null == existing ? ret : existing;
+    }
+
+    private static void put(final Map<String, Map<String, Integer>> weights, final String tagId, final String relatedTagId, final int weight) {
+        weights.computeIfAbsent(tagId, id -> new HashMap<>()).put(relatedTagId, weight);
+    }
+
+    private static List<String> sort(final Map<String, Integer> tagWeights) {
+        final List<String> ret = new ArrayList<>(tagWeights.keySet());
+        ret.sort((id1, id2) -> Integer.compare(tagWeights.get(id2), tagWeights.get(id1)));
+
+        return Collections.unmodifiableList(ret);
+    }
+}
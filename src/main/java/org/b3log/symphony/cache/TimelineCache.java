@@ -0,0 +1,195 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-present, b3log.org
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.cache;
+
+import com.google.common.cache.CacheBuilder;
+import org.b3log.latke.ioc.Singleton;
+import org.b3log.symphony.util.IdRing;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timeline cache.
+ * <p>
+ * Holds the latest article ids of the following user and following tag feeds of recently active users (fan-out on
+ * write). A published article is pushed into the timelines of the followers of its author and tags. Sources followed
+ * by more than {@link #FAN_OUT_MAX} followers are hot, their articles are pushed into one ring of the source and merged
+ * into the timelines of their followers on read (fan-out on read).
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.2.0, Oct 19, 2026
+ * @since 3.6.0
+ */
+@Singleton
+public class TimelineCache {
+
+    /**
+     * Timeline size, covers the max list page size.
+     */
+    public static final int TIMELINE_SIZE = 128;
+
+    /**
+     * Max count of followers a publish fans out to.
+     */
+    public static final int FAN_OUT_MAX = 1024;
+
+    /**
+     * Timelines, &lt;userId-followingType, timeline&gt;.
+     */
+    private static final com.google.common.cache.Cache<String, Timeline> TIMELINES = CacheBuilder.newBuilder().
+            maximumSize(16 * 1024).
+            expireAfterAccess(1, TimeUnit.HOURS).
+            build();
+
+    /**
+     * Rings of hot sources, &lt;followingType-sourceId, ring&gt;.
+     */
+    private static final Map<String, IdRing> HOT_SOURCES = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the latest article ids of the specified user's timeline.
+     *
+     * @param userId        the specified user id
+     * @param followingType the specified following type
+     * @param fetchSize     the specified fetch size
+     * @return article ids, newest first, returns {@code null} if not cached
+     */
+    public List<String> getArticleIds(final String userId, final int followingType, final int fetchSize) {
+        final Timeline timeline = TIMELINES.getIfPresent(key(followingType, userId));
+        if (null == timeline) {
+            return null;
+        }
+
+        final List<IdRing> rings = new ArrayList<>();
+        rings.add(timeline.articleIds);
+        for (final String sourceKey : timeline.sourceKeys) {
+            final IdRing hotSource = HOT_SOURCES.get(sourceKey);
+            if (null != hotSource) {
+                rings.add(hotSource);
+            }
+        }
+
+        final List<String> ret = new ArrayList<>();
+        for (final Long articleId : IdRing.merge(rings, fetchSize)) {
+            ret.add(String.valueOf(articleId));
+        }
+
+        return ret;
+    }
+
+    /**
+     * Puts a timeline of the specified user.
+     *
+     * @param userId        the specified user id
+     * @param followingType the specified following type
+     * @param followingIds  the specified ids of following entities of the user
+     * @param articleIds    the specified latest article ids of the timeline, newest first
+     */
+    public void putTimeline(final String userId, final int followingType, final Collection<String> followingIds,
+                            final List<String> articleIds) {
+        final Set<String> sourceKeys = new HashSet<>();
+        for (final String followingId : followingIds) {
+            sourceKeys.add(key(followingType, followingId));
+        }
+
+        final Timeline timeline = new Timeline(sourceKeys);
+        for (int i = articleIds.size() - 1; i >= 0; i--) { // Oldest first, so later pushes overwrite the oldest ids
+            timeline.articleIds.push(Long.parseLong(articleIds.get(i)));
+        }
+
+        TIMELINES.put(key(followingType, userId), timeline);
+    }
+
+    /**
+     * Removes the timeline of the specified user.
+     *
+     * @param userId        the specified user id
+     * @param followingType the specified following type
+     */
+    public void removeTimeline(final String userId, final int followingType) {
+        TIMELINES.invalidate(key(followingType, userId));
+    }
+
+    /**
+     * Pushes the specified article into the timeline of the specified user if cached.
+     *
+     * @param userId        the specified user id
+     * @param followingType the specified following type
+     * @param articleId     the specified article id
+     */
+    public void push(final String userId, final int followingType, final String articleId) {
+        final Timeline timeline = TIMELINES.getIfPresent(key(followingType, userId));
+        if (null != timeline) {
+            timeline.articleIds.push(Long.parseLong(articleId));
+        }
+    }
+
+    /**
+     * Checks whether the specified source is hot.
+     *
+     * @param followingType the specified following type
+     * @param sourceId      the specified source id
+     * @return {@code true} if hot, returns {@code false} otherwise
+     */
+    public boolean isHotSource(final int followingType, final String sourceId) {
+        return HOT_SOURCES.containsKey(key(followingType, sourceId));
+    }
+
+    /**
+     * Pushes the specified article into the ring of the specified source and marks the source hot.
+     *
+     * @param followingType the specified following type
+     * @param sourceId      the specified source id
+     * @param articleId     the specified article id
+     */
+    public void pushHotSource(final int followingType, final String sourceId, final String articleId) {
+        HOT_SOURCES.computeIfAbsent(key(followingType, sourceId), k -> new IdRing(TIMELINE_SIZE)).push(Long.parseLong(articleId));
+    }
+
+    private static String key(final int followingType, final String id) {
+        return followingType + "-" + id;
+    }
+
+    /**
+     * Timeline.
+     */
+    private static final class Timeline {
+
+        /**
+         * Latest article ids.
+         */
+        private final IdRing articleIds = new IdRing(TIMELINE_SIZE);
+
+        /**
+         * Keys of following entities.
+         */
+        private final Set<String> sourceKeys;
+
+        /**
+         * Constructs a timeline with the specified keys of following entities.
+         *
+         * @param sourceKeys the specified keys of following entities
+         */
+        private Timeline(final Set<String> sourceKeys) {
+            this.sourceKeys = sourceKeys;
+        }
+    }
+}
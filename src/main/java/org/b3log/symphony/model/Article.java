@@ -25,7 +25,7 @@ import org.json.JSONObject;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="https://qiankunpingtai.cn">qiankunpingtai</a>
- * @version 1.34.0.3, May 20, 2019
+ * @version 1.35.0.0, Oct 19, 2026
  * @since 0.2.0
  */
 public final class Article {
@@ -230,6 +230,16 @@ public final class Article {
      */
     public static final String ARTICLE_IMG1_URL = "articleImg1URL";
 
+    /**
+     * Key of article abstract, generated from content when adding or updating the article.
+     */
+    public static final String ARTICLE_ABSTRACT = "articleAbstract";
+
+    /**
+     * Key of article image count, generated from content when adding or updating the article.
+     */
+    public static final String ARTICLE_IMG_CNT = "articleImgCnt";
+
     //// Transient ////
     /**
      * Key of article revision count.
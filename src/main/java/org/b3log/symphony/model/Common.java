@@ -21,7 +21,7 @@ package org.b3log.symphony.model;
  * This class defines all common model relevant keys.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.73.0.11, Sep 16, 2019
+ * @version 1.75.0.0, Oct 19, 2026
  * @since 0.2.0
  */
 public final class Common {
@@ -141,6 +141,11 @@ public final class Common {
      */
     public static final String LANGUAGES = "languages";
 
+    /**
+     * Key of shared language labels of the current locale.
+     */
+    public static final String LANGS = "langs";
+
     /**
      * Key of timezones.
      */
@@ -761,6 +766,11 @@ public final class Common {
      */
     public static final String DB_CONN_CNT = "dbConnCnt";
 
+    /**
+     * Key of session cookie decrypt count.
+     */
+    public static final String COOKIE_DECRYPT_CNT = "cookieDecryptCnt";
+
     /**
      * Key of article comments page size.
      */
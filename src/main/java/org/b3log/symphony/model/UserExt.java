@@ -28,7 +28,7 @@ import org.json.JSONObject;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author Bill Ho
- * @version 2.16.0.1, Jan 10, 2019
+ * @version 2.17.0.0, Oct 19, 2026
  * @see org.b3log.latke.model.User
  * @since 0.2.0
  */
@@ -244,6 +244,31 @@ public final class UserExt {
      */
     public static final String USER_COMMENT_COUNT = "userCommentCount";
 
+    /**
+     * Key of user follower count.
+     */
+    public static final String USER_FOLLOWER_COUNT = "userFollowerCount";
+
+    /**
+     * Key of user following user count.
+     */
+    public static final String USER_FOLLOWING_USER_COUNT = "userFollowingUserCount";
+
+    /**
+     * Key of user following tag count.
+     */
+    public static final String USER_FOLLOWING_TAG_COUNT = "userFollowingTagCount";
+
+    /**
+     * Key of user following article count.
+     */
+    public static final String USER_FOLLOWING_ARTICLE_COUNT = "userFollowingArticleCount";
+
+    /**
+     * Key of user watching article count.
+     */
+    public static final String USER_WATCHING_ARTICLE_COUNT = "userWatchingArticleCount";
+
     /**
      * Key of new tag count.
      */
@@ -570,6 +595,27 @@ public final class UserExt {
     private UserExt() {
     }
 
+    /**
+     * Gets the user follow count key of the specified following type.
+     *
+     * @param followingType the specified following type
+     * @return follow count key
+     */
+    public static String getFollowingCountKey(final int followingType) {
+        switch (followingType) {
+            case Follow.FOLLOWING_TYPE_C_USER:
+                return USER_FOLLOWING_USER_COUNT;
+            case Follow.FOLLOWING_TYPE_C_TAG:
+                return USER_FOLLOWING_TAG_COUNT;
+            case Follow.FOLLOWING_TYPE_C_ARTICLE:
+                return USER_FOLLOWING_ARTICLE_COUNT;
+            case Follow.FOLLOWING_TYPE_C_ARTICLE_WATCH:
+                return USER_WATCHING_ARTICLE_COUNT;
+            default:
+                throw new IllegalArgumentException("Unknown following type [" + followingType + "]");
+        }
+    }
+
     /**
      * Gets color code of the specified point.
      *
@@ -19,6 +19,8 @@ package org.b3log.symphony.model.sitemap;
 
 import org.apache.commons.lang.StringUtils;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -31,11 +33,16 @@ import java.util.List;
  * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.1.0, Nov 15, 2016
+ * @version 1.1.0.0, Oct 19, 2026
  * @since 1.6.0
  */
 public final class Sitemap {
 
+    /**
+     * Maximum number of URLs a sitemap file may contain.
+     */
+    public static final int MAX_URLS = 50000;
+
     /**
      * Start document.
      */
@@ -65,6 +72,32 @@ public final class Sitemap {
         urls.add(url);
     }
 
+    /**
+     * Gets the number of URLs.
+     *
+     * @return number of URLs
+     */
+    public int size() {
+        return urls.size();
+    }
+
+    /**
+     * Writes this sitemap to the specified writer URL by URL, without building the whole document in memory.
+     *
+     * @param writer the specified writer
+     * @throws IOException io exception
+     */
+    public void write(final Writer writer) throws IOException {
+        writer.write(START_DOCUMENT);
+        writer.write(START_URL_SET_ELEMENT);
+
+        for (final URL url : urls) {
+            writer.write(url.toString());
+        }
+
+        writer.write(END_URL_SET_ELEMENT);
+    }
+
     @Override
     public String toString() {
         final StringBuilder stringBuilder = new StringBuilder();
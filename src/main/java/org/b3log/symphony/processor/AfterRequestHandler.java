@@ -36,7 +36,7 @@ import java.util.Map;
  * After request handler.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.0, Nov 3, 2019
+ * @version 1.1.0.0, Oct 19, 2026
  * @since 3.6.0
  */
 public class AfterRequestHandler implements Handler {
@@ -48,6 +48,11 @@ public class AfterRequestHandler implements Handler {
 
     @Override
     public void handle(final RequestContext context) {
+        final int cookieDecrypts = Sessions.getCookieDecrypts();
+        if (1 < cookieDecrypts) {
+            LOGGER.log(Level.WARN, "Session cookie decrypted [" + cookieDecrypts + "] times in request [" + context.requestURI() + "]");
+        }
+
         Locales.setLocale(null);
         Sessions.clearThreadLocalData();
         JdbcRepository.dispose();
@@ -32,10 +32,9 @@ import org.b3log.latke.logging.Logger;
 import org.b3log.latke.util.Locales;
 import org.b3log.latke.util.Requests;
 import org.b3log.latke.util.Stopwatchs;
+import org.b3log.symphony.cache.OptionCache;
 import org.b3log.symphony.model.Common;
-import org.b3log.symphony.model.Option;
 import org.b3log.symphony.model.UserExt;
-import org.b3log.symphony.repository.OptionRepository;
 import org.b3log.symphony.service.UserQueryService;
 import org.b3log.symphony.util.Sessions;
 import org.b3log.symphony.util.Symphonys;
@@ -47,7 +46,7 @@ import java.util.Locale;
  * Before request handler.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.1, Nov 11, 2019
+ * @version 1.1.1.0, Oct 19, 2026
  * @since 3.6.0
  */
 public class BeforeRequestHandler implements Handler {
@@ -63,6 +62,7 @@ public class BeforeRequestHandler implements Handler {
 
         Locales.setLocale(Latkes.getLocale());
 
+        Sessions.clearThreadLocalData(); // Drops data leaked by a previous request of this thread which failed to clean up
         Sessions.setTemplateDir(Symphonys.SKIN_DIR_NAME);
         Sessions.setMobile(false);
         Sessions.setAvatarViewMode(UserExt.USER_AVATAR_VIEW_MODE_C_ORIGINAL);
@@ -93,18 +93,19 @@ public class BeforeRequestHandler implements Handler {
         try {
             final BeanManager beanManager = BeanManager.getInstance();
             final UserQueryService userQueryService = beanManager.getReference(UserQueryService.class);
-            final OptionRepository optionRepository = beanManager.getReference(OptionRepository.class);
+            final OptionCache optionCache = beanManager.getReference(OptionCache.class);
 
-            final JSONObject optionLang = optionRepository.get(Option.ID_C_MISC_LANGUAGE);
-            final String optionLangValue = optionLang.optString(Option.OPTION_VALUE);
+            final String optionLangValue = optionCache.getMiscLanguage();
             if ("0".equals(optionLangValue)) {
                 Locales.setLocale(Locales.getLocale(request));
             } else {
                 Locales.setLocale(Locales.getLocale(optionLangValue));
             }
 
-            JSONObject user = userQueryService.getCurrentUser(request);
+            final JSONObject user = userQueryService.getCurrentUser(request);
             if (null == user) {
+                Sessions.setUserResolved();
+
                 return;
             }
 
@@ -114,6 +115,7 @@ public class BeforeRequestHandler implements Handler {
             Sessions.setAvatarViewMode(user.optInt(UserExt.USER_AVATAR_VIEW_MODE));
             Sessions.setUser(user);
             Sessions.setLoggedIn(true);
+            Sessions.setUserResolved(); // Handlers, advices and processors share the resolved user of this request
 
             final Locale locale = Locales.getLocale(user.optString(UserExt.USER_LANGUAGE));
             Locales.setLocale(locale);
@@ -21,85 +21,53 @@ import org.apache.commons.lang.StringUtils;
 import org.b3log.latke.http.HttpMethod;
 import org.b3log.latke.http.RequestContext;
 import org.b3log.latke.http.Response;
+import org.b3log.latke.http.Session;
 import org.b3log.latke.http.annotation.RequestProcessing;
 import org.b3log.latke.http.annotation.RequestProcessor;
 import org.b3log.latke.http.renderer.PngRenderer;
-import org.b3log.latke.logging.Level;
-import org.b3log.latke.logging.Logger;
-import org.b3log.latke.util.Strings;
+import org.b3log.latke.ioc.BeanManager;
+import org.b3log.latke.ioc.Inject;
+import org.b3log.latke.util.Requests;
 import org.b3log.symphony.model.Common;
+import org.b3log.symphony.service.CaptchaMgmtService;
 import org.json.JSONObject;
-import org.patchca.color.GradientColorFactory;
-import org.patchca.color.RandomColorFactory;
-import org.patchca.filter.predefined.CurvesRippleFilterFactory;
-import org.patchca.font.RandomFontFactory;
-import org.patchca.service.Captcha;
-import org.patchca.service.ConfigurableCaptchaService;
-import org.patchca.word.RandomWordFactory;
-
-import javax.imageio.ImageIO;
-import javax.swing.*;
-import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
 
 /**
  * Captcha processor.
+ * <p>
+ * Captchas are popped from the pre-rendered pool of {@link CaptchaMgmtService}, and the challenge is bound to the
+ * requesting session.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.3.0.6, Nov 2, 2018
+ * @version 2.4.1.0, Oct 19, 2026
  * @since 0.2.2
  */
 @RequestProcessor
 public class CaptchaProcessor {
 
-    /**
-     * Logger.
-     */
-    private static final Logger LOGGER = Logger.getLogger(CaptchaProcessor.class);
-
     /**
      * Key of captcha.
      */
     public static final String CAPTCHA = "captcha";
 
     /**
-     * Captchas.
-     */
-    public static final Set<String> CAPTCHAS = new HashSet<>();
-
-    /**
-     * Captcha length.
+     * Captcha management service.
      */
-    private static final int CAPTCHA_LENGTH = 4;
+    @Inject
+    private CaptchaMgmtService captchaMgmtService;
 
     /**
-     * Captcha chars.
-     */
-    private static final String CHARS = "acdefhijklmnprstuvwxy234578";
-
-    /**
-     * Checks whether the specified captcha is invalid.
+     * Checks whether the specified captcha is invalid for the session of the specified context.
      *
+     * @param context the specified context
      * @param captcha the specified captcha
      * @return {@code true} if it is invalid, returns {@code false} otherwise
      */
-    public static boolean invalidCaptcha(final String captcha) {
-        if (StringUtils.isBlank(captcha) || captcha.length() != CAPTCHA_LENGTH) {
-            return true;
-        }
-
-        boolean ret = !CaptchaProcessor.CAPTCHAS.contains(captcha);
-        if (!ret) {
-            CaptchaProcessor.CAPTCHAS.remove(captcha);
-        }
+    public static boolean invalidCaptcha(final RequestContext context, final String captcha) {
+        final CaptchaMgmtService captchaMgmtService = BeanManager.getInstance().getReference(CaptchaMgmtService.class);
 
-        return ret;
+        return !captchaMgmtService.checkChallenge(getSessionId(context), captcha);
     }
 
     /**
@@ -109,43 +77,16 @@ public class CaptchaProcessor {
      */
     @RequestProcessing(value = "/captcha", method = HttpMethod.GET)
     public void get(final RequestContext context) {
-        final PngRenderer renderer = new PngRenderer();
-        context.setRenderer(renderer);
+        final JSONObject captcha = captchaMgmtService.popCaptcha();
+        if (null == captcha) {
+            context.sendError(500);
 
-        try {
-            final ConfigurableCaptchaService cs = new ConfigurableCaptchaService();
-            if (0.5 < Math.random()) {
-                cs.setColorFactory(new GradientColorFactory());
-            } else {
-                cs.setColorFactory(new RandomColorFactory());
-            }
-            cs.setFilterFactory(new CurvesRippleFilterFactory(cs.getColorFactory()));
-            final RandomWordFactory randomWordFactory = new RandomWordFactory();
-            randomWordFactory.setCharacters(CHARS);
-            randomWordFactory.setMinLength(CAPTCHA_LENGTH);
-            randomWordFactory.setMaxLength(CAPTCHA_LENGTH);
-            cs.setWordFactory(randomWordFactory);
-            cs.setFontFactory(new RandomFontFactory(getAvaialbeFonts()));
-
-            final Captcha captcha = cs.getCaptcha();
-            final String challenge = captcha.getChallenge();
-            final BufferedImage bufferedImage = captcha.getImage();
-
-            if (CAPTCHAS.size() > 64) {
-                CAPTCHAS.clear();
-            }
-
-            CAPTCHAS.add(challenge);
-
-            final Response response = context.getResponse();
-            response.setHeader("Pragma", "no-cache");
-            response.setHeader("Cache-Control", "no-cache");
-            response.setHeader("Expires", "0");
-
-            renderImg(renderer, bufferedImage);
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, e.getMessage(), e);
+            return;
         }
+
+        captchaMgmtService.putChallenge(getSessionId(context), Requests.getRemoteAddr(context.getRequest()), captcha.optString(CAPTCHA));
+
+        renderImg(context, captcha);
     }
 
     /**
@@ -155,76 +96,61 @@ public class CaptchaProcessor {
      */
     @RequestProcessing(value = "/captcha/login", method = HttpMethod.GET)
     public void getLoginCaptcha(final RequestContext context) {
-        try {
-            final Response response = context.getResponse();
-
-            final String userId = context.param(Common.NEED_CAPTCHA);
-            if (StringUtils.isBlank(userId)) {
-                return;
-            }
-
-            final JSONObject wrong = LoginProcessor.WRONG_PWD_TRIES.get(userId);
-            if (null == wrong) {
-                return;
-            }
-
-            if (wrong.optInt(Common.WRON_COUNT) < 3) {
-                return;
-            }
-
-            final PngRenderer renderer = new PngRenderer();
-            context.setRenderer(renderer);
-
-            final ConfigurableCaptchaService cs = new ConfigurableCaptchaService();
-            if (0.5 < Math.random()) {
-                cs.setColorFactory(new GradientColorFactory());
-            } else {
-                cs.setColorFactory(new RandomColorFactory());
-            }
-            cs.setFilterFactory(new CurvesRippleFilterFactory(cs.getColorFactory()));
-            final RandomWordFactory randomWordFactory = new RandomWordFactory();
-            randomWordFactory.setCharacters(CHARS);
-            randomWordFactory.setMinLength(CAPTCHA_LENGTH);
-            randomWordFactory.setMaxLength(CAPTCHA_LENGTH);
-            cs.setWordFactory(randomWordFactory);
-            final Captcha captcha = cs.getCaptcha();
-            final String challenge = captcha.getChallenge();
-            final BufferedImage bufferedImage = captcha.getImage();
-
-            wrong.put(CAPTCHA, challenge);
-
-            response.setHeader("Pragma", "no-cache");
-            response.setHeader("Cache-Control", "no-cache");
-            response.setHeader("Expires", "0");
-
-            renderImg(renderer, bufferedImage);
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, e.getMessage(), e);
+        final String userId = context.param(Common.NEED_CAPTCHA);
+        if (StringUtils.isBlank(userId)) {
+            return;
         }
-    }
 
-    private void renderImg(final PngRenderer renderer, final BufferedImage bufferedImage) throws IOException {
-        try (final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            ImageIO.write(bufferedImage, "png", baos);
-            final byte[] data = baos.toByteArray();
-            renderer.setData(data);
+        final JSONObject wrong = LoginProcessor.WRONG_PWD_TRIES.get(userId);
+        if (null == wrong) {
+            return;
         }
-    }
 
-    private static List<String> getAvaialbeFonts() {
-        final List<String> ret = new ArrayList<>();
+        if (wrong.optInt(Common.WRON_COUNT) < 3) {
+            return;
+        }
 
-        final GraphicsEnvironment e = GraphicsEnvironment.getLocalGraphicsEnvironment();
-        final Font[] fonts = e.getAllFonts();
-        for (final Font f : fonts) {
-            if (Strings.contains(f.getFontName(), new String[]{"Verdana", "DejaVu Sans Mono", "Tahoma"})) {
-                ret.add(f.getFontName());
-            }
+        final JSONObject captcha = captchaMgmtService.popCaptcha();
+        if (null == captcha) {
+            context.sendError(500);
+
+            return;
         }
 
-        final String defaultFontName = new JLabel().getFont().getFontName();
-        ret.add(defaultFontName);
+        wrong.put(CAPTCHA, captcha.optString(CAPTCHA));
+
+        renderImg(context, captcha);
+    }
+
+    /**
+     * Renders the specified captcha image.
+     *
+     * @param context the specified context
+     * @param captcha the specified captcha
+     */
+    private void renderImg(final RequestContext context, final JSONObject captcha) {
+        final Response response = context.getResponse();
+        response.setHeader("Pragma", "no-cache");
+        response.setHeader("Cache-Control", "no-cache");
+        response.setHeader("Expires", "0");
+
+        final PngRenderer renderer = new PngRenderer();
+        context.setRenderer(renderer);
+        renderer.setData((byte[]) captcha.opt(Common.DATA));
+    }
+
+    /**
+     * Gets the session id of the specified context, uses remote address if session is unavailable.
+     *
+     * @param context the specified context
+     * @return session id
+     */
+    private static String getSessionId(final RequestContext context) {
+        final Session session = context.getRequest().getSession();
+        if (null == session) {
+            return context.remoteAddr();
+        }
 
-        return ret;
+        return session.getId();
     }
 }
@@ -30,16 +30,18 @@ import org.b3log.latke.logging.Logger;
 import org.b3log.latke.service.LangPropsService;
 import org.b3log.latke.util.Locales;
 import org.b3log.symphony.Server;
+import org.b3log.symphony.cache.FeedCache;
+import org.b3log.symphony.cache.OptionCache;
 import org.b3log.symphony.model.Article;
-import org.b3log.symphony.model.Option;
+import org.b3log.symphony.model.Common;
 import org.b3log.symphony.model.feed.RSSCategory;
 import org.b3log.symphony.model.feed.RSSChannel;
 import org.b3log.symphony.model.feed.RSSItem;
 import org.b3log.symphony.service.ArticleQueryService;
 import org.b3log.symphony.service.DomainQueryService;
-import org.b3log.symphony.service.OptionQueryService;
 import org.b3log.symphony.service.ShortLinkQueryService;
 import org.b3log.symphony.util.Emotions;
+import org.b3log.symphony.util.Headers;
 import org.b3log.symphony.util.Markdowns;
 import org.b3log.symphony.util.Symphonys;
 import org.json.JSONObject;
@@ -54,9 +56,12 @@ import java.util.List;
  * <li>Generates recent articles' RSS (/rss/recent.xml), GET/HEAD</li>
  * <li>Generates domain articles' RSS (/rss/domain/{domainURL}.xml), GET/HEAD</li>
  * </ul>
+ * <p>
+ * Rendered feeds are cached by {@link FeedCache} until articles change, conditional GETs are answered with 304.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.1, Aug 20, 2018
+ * @version 1.1.1.0, Oct 19, 2026
  * @since 3.1.0
  */
 @RequestProcessor
@@ -80,10 +85,10 @@ public class FeedProcessor {
     private LangPropsService langPropsService;
 
     /**
-     * Option query service.
+     * Option cache.
      */
     @Inject
-    private OptionQueryService optionQueryService;
+    private OptionCache optionCache;
 
     /**
      * Domain query service.
@@ -97,6 +102,12 @@ public class FeedProcessor {
     @Inject
     private ShortLinkQueryService shortLinkQueryService;
 
+    /**
+     * Feed cache.
+     */
+    @Inject
+    private FeedCache feedCache;
+
     /**
      * Generates recent articles' RSS.
      *
@@ -104,29 +115,18 @@ public class FeedProcessor {
      */
     @RequestProcessing(value = "/rss/recent.xml", method = {HttpMethod.GET, HttpMethod.HEAD})
     public void genRecentRSS(final RequestContext context) {
-        final RssRenderer renderer = new RssRenderer();
-        context.setRenderer(renderer);
-
         try {
-            final RSSChannel channel = new RSSChannel();
-            final JSONObject result = articleQueryService.getRecentArticles(0, 1, Symphonys.ARTICLE_LIST_CNT);
-            final List<JSONObject> articles = (List<JSONObject>) result.get(Article.ARTICLES);
-            for (int i = 0; i < articles.size(); i++) {
-                RSSItem item = getItem(articles, i);
-                channel.addItem(item);
+            final String feedKey = "recent";
+            JSONObject feed = feedCache.getFeed(feedKey);
+            if (null == feed) {
+                final long generation = feedCache.getGeneration();
+                final JSONObject result = articleQueryService.getRecentArticles(0, 1, Symphonys.ARTICLE_LIST_CNT);
+                final List<JSONObject> articles = (List<JSONObject>) result.get(Article.ARTICLES);
+                final String content = genChannel(articles, Latkes.getServePath() + "/rss/recent.xml");
+                feed = feedCache.putFeed(feedKey, content, generation);
             }
-            channel.setTitle(langPropsService.get("symphonyLabel"));
-            channel.setLastBuildDate(new Date());
-            channel.setLink(Latkes.getServePath());
-            channel.setAtomLink(Latkes.getServePath() + "/rss/recent.xml");
-            channel.setGenerator("Symphony v" + Server.VERSION + ", https://sym.b3log.org");
-            final String localeString = optionQueryService.getOption("miscLanguage").optString(Option.OPTION_VALUE);
-            final String country = Locales.getCountry(localeString).toLowerCase();
-            final String language = Locales.getLanguage(localeString).toLowerCase();
-            channel.setLanguage(language + '-' + country);
-            channel.setDescription(langPropsService.get("symDescriptionLabel"));
-
-            renderer.setContent(channel.toString());
+
+            sendFeed(context, feed);
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "Generates recent articles' RSS failed", e);
             context.getResponse().sendError(500);
@@ -141,37 +141,27 @@ public class FeedProcessor {
     @RequestProcessing(value = "/rss/domain/{domainURI}.xml", method = {HttpMethod.GET, HttpMethod.HEAD})
     public void genDomainRSS(final RequestContext context) {
         final String domainURI = context.pathVar("domainURI");
-        final RssRenderer renderer = new RssRenderer();
-        context.setRenderer(renderer);
 
         try {
-            final JSONObject domain = domainQueryService.getByURI(domainURI);
-            if (null == domain) {
-                context.getResponse().sendError(404);
-
-                return;
+            final String feedKey = "domain-" + domainURI;
+            JSONObject feed = feedCache.getFeed(feedKey);
+            if (null == feed) {
+                final long generation = feedCache.getGeneration();
+                final JSONObject domain = domainQueryService.getByURI(domainURI);
+                if (null == domain) {
+                    context.getResponse().sendError(404);
+
+                    return;
+                }
+
+                final String domainId = domain.optString(Keys.OBJECT_ID);
+                final JSONObject result = articleQueryService.getDomainArticles(domainId, 1, Symphonys.ARTICLE_LIST_CNT);
+                final List<JSONObject> articles = (List<JSONObject>) result.get(Article.ARTICLES);
+                final String content = genChannel(articles, Latkes.getServePath() + "/rss/" + domainURI + ".xml");
+                feed = feedCache.putFeed(feedKey, content, generation);
             }
 
-            final RSSChannel channel = new RSSChannel();
-            final String domainId = domain.optString(Keys.OBJECT_ID);
-            final JSONObject result = articleQueryService.getDomainArticles(domainId, 1, Symphonys.ARTICLE_LIST_CNT);
-            final List<JSONObject> articles = (List<JSONObject>) result.get(Article.ARTICLES);
-            for (int i = 0; i < articles.size(); i++) {
-                RSSItem item = getItem(articles, i);
-                channel.addItem(item);
-            }
-            channel.setTitle(langPropsService.get("symphonyLabel"));
-            channel.setLastBuildDate(new Date());
-            channel.setLink(Latkes.getServePath());
-            channel.setAtomLink(Latkes.getServePath() + "/rss/" + domainURI + ".xml");
-            channel.setGenerator("Symphony v" + Server.VERSION + ", https://sym.b3log.org");
-            final String localeString = optionQueryService.getOption("miscLanguage").optString(Option.OPTION_VALUE);
-            final String country = Locales.getCountry(localeString).toLowerCase();
-            final String language = Locales.getLanguage(localeString).toLowerCase();
-            channel.setLanguage(language + '-' + country);
-            channel.setDescription(langPropsService.get("symDescriptionLabel"));
-
-            renderer.setContent(channel.toString());
+            sendFeed(context, feed);
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "Generates recent articles' RSS failed", e);
 
@@ -179,6 +169,59 @@ public class FeedProcessor {
         }
     }
 
+    /**
+     * Sends the specified feed. Responds 304 if the client cached copy is still fresh and skips the body for HEAD
+     * requests.
+     *
+     * @param context the specified context
+     * @param feed    the specified feed
+     */
+    private void sendFeed(final RequestContext context, final JSONObject feed) {
+        if (Headers.isNotModified(context, feed.optString(FeedCache.ETAG), feed.optLong(FeedCache.LAST_MODIFIED))) {
+            context.sendStatus(304);
+
+            return;
+        }
+
+        if (HttpMethod.HEAD.name().equals(context.method())) {
+            context.getResponse().setContentType("application/rss+xml; charset=utf-8");
+            context.sendStatus(200);
+
+            return;
+        }
+
+        final RssRenderer renderer = new RssRenderer();
+        context.setRenderer(renderer);
+        renderer.setContent(feed.optString(Common.DATA));
+    }
+
+    /**
+     * Generates a RSS channel with the specified articles.
+     *
+     * @param articles the specified articles
+     * @param atomLink the specified atom link
+     * @return RSS channel XML
+     */
+    private String genChannel(final List<JSONObject> articles, final String atomLink) {
+        final RSSChannel channel = new RSSChannel();
+        for (int i = 0; i < articles.size(); i++) {
+            RSSItem item = getItem(articles, i);
+            channel.addItem(item);
+        }
+        channel.setTitle(langPropsService.get("symphonyLabel"));
+        channel.setLastBuildDate(new Date());
+        channel.setLink(Latkes.getServePath());
+        channel.setAtomLink(atomLink);
+        channel.setGenerator("Symphony v" + Server.VERSION + ", https://sym.b3log.org");
+        final String localeString = optionCache.getMiscLanguage();
+        final String country = Locales.getCountry(localeString).toLowerCase();
+        final String language = Locales.getLanguage(localeString).toLowerCase();
+        channel.setLanguage(language + '-' + country);
+        channel.setDescription(langPropsService.get("symDescriptionLabel"));
+
+        return channel.toString();
+    }
+
     private RSSItem getItem(final List<JSONObject> articles, int i) throws org.json.JSONException {
         final JSONObject article = articles.get(i);
         final RSSItem ret = new RSSItem();
@@ -80,7 +80,7 @@ import java.util.*;
  * </ul>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.3.2.4, Sep 6, 2019
+ * @version 1.3.2.5, Oct 19, 2026
  * @since 2.4.0
  */
 @RequestProcessor
@@ -265,7 +265,7 @@ public class SettingsProcessor {
         }
 
         final String captcha = requestJSONObject.optString(CaptchaProcessor.CAPTCHA);
-        if (CaptchaProcessor.invalidCaptcha(captcha)) {
+        if (CaptchaProcessor.invalidCaptcha(context, captcha)) {
             final String msg = langPropsService.get("sendFailedLabel") + " - " + langPropsService.get("captchaErrorLabel");
             context.renderMsg(msg);
 
@@ -435,15 +435,15 @@ public class SettingsProcessor {
 
         dataModelService.fillHeaderAndFooter(context, dataModel);
 
-        String inviteTipLabel = (String) dataModel.get("inviteTipLabel");
+        String inviteTipLabel = langPropsService.get("inviteTipLabel");
         inviteTipLabel = inviteTipLabel.replace("{point}", String.valueOf(Pointtransfer.TRANSFER_SUM_C_INVITE_REGISTER));
         dataModel.put("inviteTipLabel", inviteTipLabel);
 
-        String pointTransferTipLabel = (String) dataModel.get("pointTransferTipLabel");
+        String pointTransferTipLabel = langPropsService.get("pointTransferTipLabel");
         pointTransferTipLabel = pointTransferTipLabel.replace("{point}", Symphonys.POINT_TRANSER_MIN + "");
         dataModel.put("pointTransferTipLabel", pointTransferTipLabel);
 
-        String dataExportTipLabel = (String) dataModel.get("dataExportTipLabel");
+        String dataExportTipLabel = langPropsService.get("dataExportTipLabel");
         dataExportTipLabel = dataExportTipLabel.replace("{point}",
                 String.valueOf(Pointtransfer.TRANSFER_SUM_C_DATA_EXPORT));
         dataModel.put("dataExportTipLabel", dataExportTipLabel);
@@ -458,7 +458,7 @@ public class SettingsProcessor {
                 String.valueOf(Pointtransfer.TRANSFER_SUM_C_INVITECODE_USED));
         dataModel.put("buyInvitecodeLabel", buyInvitecodeLabel);
 
-        String updateNameTipLabel = (String) dataModel.get("updateNameTipLabel");
+        String updateNameTipLabel = langPropsService.get("updateNameTipLabel");
         updateNameTipLabel = updateNameTipLabel.replace("{point}", Symphonys.POINT_CHANGE_USERNAME + "");
         dataModel.put("updateNameTipLabel", updateNameTipLabel);
 
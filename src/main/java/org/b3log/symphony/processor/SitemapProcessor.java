@@ -19,20 +19,26 @@ package org.b3log.symphony.processor;
 
 import org.b3log.latke.http.HttpMethod;
 import org.b3log.latke.http.RequestContext;
+import org.b3log.latke.http.Response;
 import org.b3log.latke.http.annotation.RequestProcessing;
 import org.b3log.latke.http.annotation.RequestProcessor;
-import org.b3log.latke.http.renderer.TextXmlRenderer;
 import org.b3log.latke.ioc.Inject;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
-import org.b3log.symphony.model.sitemap.Sitemap;
-import org.b3log.symphony.service.SitemapQueryService;
+import org.b3log.symphony.service.SitemapMgmtService;
+import org.b3log.symphony.util.Headers;
+
+import java.io.File;
+import java.nio.file.Files;
 
 /**
  * Sitemap processor.
+ * <p>
+ * Serves the sitemap index and gzipped shards precomputed by {@link SitemapMgmtService} as static files.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.0, Sep 24, 2016
+ * @version 2.0.1.0, Oct 19, 2026
  * @since 1.6.0
  */
 @RequestProcessor
@@ -44,40 +50,78 @@ public class SitemapProcessor {
     private static final Logger LOGGER = Logger.getLogger(SitemapProcessor.class);
 
     /**
-     * Sitemap query service.
+     * Sitemap management service.
      */
     @Inject
-    private SitemapQueryService sitemapQueryService;
+    private SitemapMgmtService sitemapMgmtService;
 
     /**
-     * Returns the sitemap.
+     * Returns the sitemap index.
      *
      * @param context the specified context
      */
-    @RequestProcessing(value = "/sitemap.xml", method = HttpMethod.GET)
+    @RequestProcessing(value = "/sitemap.xml", method = {HttpMethod.GET, HttpMethod.HEAD})
     public void sitemap(final RequestContext context) {
-        final TextXmlRenderer renderer = new TextXmlRenderer();
+        if (!sitemapMgmtService.isGenerated()) {
+            context.setHeader("Retry-After", "600");
+            context.sendError(503);
+
+            return;
+        }
+
+        sendFile(context, SitemapMgmtService.INDEX_FILE, "text/xml;charset=UTF-8");
+    }
+
+    /**
+     * Returns a sitemap shard, shards are served from the root path as they list URLs of the whole site.
+     *
+     * @param context the specified context
+     */
+    @RequestProcessing(value = "/sitemap-{file}", method = {HttpMethod.GET, HttpMethod.HEAD})
+    public void sitemapShard(final RequestContext context) {
+        sendFile(context, "sitemap-" + context.pathVar("file"), "application/x-gzip");
+    }
 
-        context.setRenderer(renderer);
+    /**
+     * Sends a sitemap file specified by the given file name with the specified content type.
+     *
+     * @param context     the specified context
+     * @param fileName    the given file name
+     * @param contentType the specified content type
+     */
+    private void sendFile(final RequestContext context, final String fileName, final String contentType) {
+        final File file = sitemapMgmtService.getFile(fileName);
+        if (null == file || !file.isFile()) {
+            context.sendError(404);
 
-        final Sitemap sitemap = new Sitemap();
+            return;
+        }
 
         try {
-            LOGGER.log(Level.INFO, "Generating sitemap....");
+            final byte[] data = Files.readAllBytes(file.toPath());
+            final long lastModified = file.lastModified();
+            final String etag = "\"" + Long.toHexString(lastModified) + "-" + Integer.toHexString(data.length) + "\"";
+
+            context.setHeader("Cache-Control", "public, max-age=600");
+            if (Headers.isNotModified(context, etag, lastModified)) {
+                context.sendStatus(304);
 
-            sitemapQueryService.genIndex(sitemap);
-            sitemapQueryService.genDomains(sitemap);
-            sitemapQueryService.genArticles(sitemap);
+                return;
+            }
 
-            final String content = sitemap.toString();
+            final Response response = context.getResponse();
+            response.setContentType(contentType);
+            if (HttpMethod.HEAD.name().equals(context.method())) {
+                context.sendStatus(200);
 
-            LOGGER.log(Level.INFO, "Generated sitemap");
+                return;
+            }
 
-            renderer.setContent(content);
+            response.sendBytes(data);
         } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Get blog article feed error", e);
+            LOGGER.log(Level.ERROR, "Gets sitemap file [" + fileName + "] failed", e);
 
-            context.getResponse().sendError(500);
+            context.sendError(500);
         }
     }
 }
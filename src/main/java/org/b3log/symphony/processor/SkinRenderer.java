@@ -27,6 +27,7 @@ import org.b3log.latke.http.renderer.AbstractFreeMarkerRenderer;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.util.Locales;
+import org.b3log.symphony.model.Common;
 import org.b3log.symphony.model.UserExt;
 import org.b3log.symphony.util.Sessions;
 import org.b3log.symphony.util.Symphonys;
@@ -34,14 +35,17 @@ import org.b3log.symphony.util.Templates;
 import org.json.JSONObject;
 
 import java.io.StringWriter;
+import java.util.AbstractMap;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.TimeZone;
 
 /**
  * Skin user-switchable FreeMarker Renderer.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.3.0.6, Jan 5, 2019
+ * @version 1.4.0.0, Oct 19, 2026
  * @since 1.3.0
  */
 public final class SkinRenderer extends AbstractFreeMarkerRenderer {
@@ -133,13 +137,14 @@ public final class SkinRenderer extends AbstractFreeMarkerRenderer {
             throws Exception {
         final boolean isPJAX = isPJAX(context);
         dataModel.put("pjax", isPJAX);
+        final Map<String, Object> model = LangsFallbackModel.wrap(dataModel);
         if (!isPJAX) {
-            return super.genHTML(request, dataModel, template);
+            return super.genHTML(request, model, template);
         }
 
         final StringWriter stringWriter = new StringWriter();
         template.setOutputEncoding("UTF-8");
-        template.process(dataModel, stringWriter);
+        template.process(model, stringWriter);
         final long endTimeMillis = System.currentTimeMillis();
         final String dateString = DateFormatUtils.format(endTimeMillis, "yyyy/MM/dd HH:mm:ss");
         final long startTimeMillis = (Long) context.attr(Keys.HttpRequest.START_TIME_MILLIS);
@@ -171,4 +176,76 @@ public final class SkinRenderer extends AbstractFreeMarkerRenderer {
 
         return pjax && StringUtils.isNotBlank(pjaxContainer);
     }
+
+    /**
+     * Data model view which resolves keys missing in the data model from the shared language labels filled by
+     * {@link org.b3log.symphony.service.DataModelService}, so the labels need not be copied into each data model.
+     */
+    private static final class LangsFallbackModel extends AbstractMap<String, Object> {
+
+        /**
+         * Data model.
+         */
+        private final Map<String, Object> dataModel;
+
+        /**
+         * Language labels.
+         */
+        private final Map<String, String> langs;
+
+        /**
+         * Constructs a view with the specified data model and language labels.
+         *
+         * @param dataModel the specified data model
+         * @param langs     the specified language labels
+         */
+        private LangsFallbackModel(final Map<String, Object> dataModel, final Map<String, String> langs) {
+            this.dataModel = dataModel;
+            this.langs = langs;
+        }
+
+        /**
+         * Wraps the specified data model if it holds shared language labels.
+         *
+         * @param dataModel the specified data model
+         * @return wrapped data model, returns the specified data model if it holds no shared language labels
+         */
+        @SuppressWarnings("unchecked")
+        private static Map<String, Object> wrap(final Map<String, Object> dataModel) {
+            final Object langs = dataModel.get(Common.LANGS);
+            if (!(langs instanceof Map)) {
+                return dataModel;
+            }
+
+            return new LangsFallbackModel(dataModel, (Map<String, String>) langs);
+        }
+
+        @Override
+        public Object get(final Object key) {
+            final Object ret = dataModel.get(key);
+            if (null != ret || dataModel.containsKey(key)) {
+                return ret;
+            }
+
+            return langs.get(key);
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return dataModel.containsKey(key) || langs.containsKey(key);
+        }
+
+        @Override
+        public Object put(final String key, final Object value) {
+            return dataModel.put(key, value);
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            final Map<String, Object> ret = new HashMap<>(langs);
+            ret.putAll(dataModel);
+
+            return ret.entrySet();
+        }
+    }
 }
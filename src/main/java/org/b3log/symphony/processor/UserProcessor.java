@@ -35,6 +35,7 @@ import org.b3log.latke.model.User;
 import org.b3log.latke.service.LangPropsService;
 import org.b3log.latke.util.CollectionUtils;
 import org.b3log.latke.util.Paginator;
+import org.b3log.symphony.cache.ProfileCache;
 import org.b3log.symphony.model.*;
 import org.b3log.symphony.processor.advice.AnonymousViewCheck;
 import org.b3log.symphony.processor.advice.CSRFToken;
@@ -68,7 +69,7 @@ import java.util.*;
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="https://hacpai.com/member/ZephyrJung">Zephyr</a>
  * @author <a href="http://vanessa.b3log.org">Liyuan Li</a>
- * @version 1.27.1.0, Jul 7, 2019
+ * @version 1.28.0.0, Oct 19, 2026
  * @since 0.2.0
  */
 @RequestProcessor
@@ -139,6 +140,12 @@ public class UserProcessor {
     @Inject
     private AvatarQueryService avatarQueryService;
 
+    /**
+     * Profile cache.
+     */
+    @Inject
+    private ProfileCache profileCache;
+
     /**
      * Pointtransfer query service.
      */
@@ -196,9 +203,7 @@ public class UserProcessor {
         final int pageSize = Symphonys.USER_HOME_LIST_CNT;
         final int windowSize = Symphonys.USER_HOME_LIST_WIN_SIZE;
 
-        fillHomeUser(dataModel, user, roleQueryService);
-
-        avatarQueryService.fillUserAvatarURL(user);
+        fillHomeProfile(dataModel, user);
 
         final String followingId = user.optString(Keys.OBJECT_ID);
         dataModel.put(Follow.FOLLOWING_ID, followingId);
@@ -284,9 +289,7 @@ public class UserProcessor {
         final int pageSize = Symphonys.USER_HOME_LIST_CNT;
         final int windowSize = Symphonys.USER_HOME_LIST_WIN_SIZE;
 
-        fillHomeUser(dataModel, user, roleQueryService);
-
-        avatarQueryService.fillUserAvatarURL(user);
+        fillHomeProfile(dataModel, user);
 
         final String followingId = user.optString(Keys.OBJECT_ID);
         dataModel.put(Follow.FOLLOWING_ID, followingId);
@@ -359,9 +362,7 @@ public class UserProcessor {
         final String followingId = user.optString(Keys.OBJECT_ID);
         dataModel.put(Follow.FOLLOWING_ID, followingId);
 
-        fillHomeUser(dataModel, user, roleQueryService);
-
-        avatarQueryService.fillUserAvatarURL(user);
+        fillHomeProfile(dataModel, user);
 
         if (isLoggedIn) {
             final String followerId = currentUser.optString(Keys.OBJECT_ID);
@@ -421,9 +422,7 @@ public class UserProcessor {
         final String followingId = user.optString(Keys.OBJECT_ID);
         dataModel.put(Follow.FOLLOWING_ID, followingId);
 
-        fillHomeUser(dataModel, user, roleQueryService);
-
-        avatarQueryService.fillUserAvatarURL(user);
+        fillHomeProfile(dataModel, user);
 
         final boolean isLoggedIn = (Boolean) dataModel.get(Common.IS_LOGGED_IN);
         if (isLoggedIn) {
@@ -489,9 +488,7 @@ public class UserProcessor {
         final int pageSize = Symphonys.USER_HOME_LIST_CNT;
         final int windowSize = Symphonys.USER_HOME_LIST_WIN_SIZE;
 
-        fillHomeUser(dataModel, user, roleQueryService);
-
-        avatarQueryService.fillUserAvatarURL(user);
+        fillHomeProfile(dataModel, user);
 
         final String followingId = user.optString(Keys.OBJECT_ID);
         dataModel.put(Follow.FOLLOWING_ID, followingId);
@@ -551,13 +548,11 @@ public class UserProcessor {
         final int pageSize = Symphonys.USER_HOME_LIST_CNT;
         final int windowSize = Symphonys.USER_HOME_LIST_WIN_SIZE;
 
-        fillHomeUser(dataModel, user, roleQueryService);
+        fillHomeProfile(dataModel, user);
 
         final String followingId = user.optString(Keys.OBJECT_ID);
         dataModel.put(Follow.FOLLOWING_ID, followingId);
 
-        avatarQueryService.fillUserAvatarURL(user);
-
         final JSONObject followingUsersResult = followQueryService.getFollowingUsers(followingId, pageNum, pageSize);
         final List<JSONObject> followingUsers = (List<JSONObject>) followingUsersResult.opt(Keys.RESULTS);
         dataModel.put(Common.USER_HOME_FOLLOWING_USERS, followingUsers);
@@ -614,13 +609,11 @@ public class UserProcessor {
         final int pageSize = Symphonys.USER_HOME_LIST_CNT;
         final int windowSize = Symphonys.USER_HOME_LIST_WIN_SIZE;
 
-        fillHomeUser(dataModel, user, roleQueryService);
+        fillHomeProfile(dataModel, user);
 
         final String followingId = user.optString(Keys.OBJECT_ID);
         dataModel.put(Follow.FOLLOWING_ID, followingId);
 
-        avatarQueryService.fillUserAvatarURL(user);
-
         final JSONObject followingTagsResult = followQueryService.getFollowingTags(followingId, pageNum, pageSize);
         final List<JSONObject> followingTags = (List<JSONObject>) followingTagsResult.opt(Keys.RESULTS);
         dataModel.put(Common.USER_HOME_FOLLOWING_TAGS, followingTags);
@@ -677,13 +670,11 @@ public class UserProcessor {
         final int pageSize = Symphonys.USER_HOME_LIST_CNT;
         final int windowSize = Symphonys.USER_HOME_LIST_WIN_SIZE;
 
-        fillHomeUser(dataModel, user, roleQueryService);
+        fillHomeProfile(dataModel, user);
 
         final String followingId = user.optString(Keys.OBJECT_ID);
         dataModel.put(Follow.FOLLOWING_ID, followingId);
 
-        avatarQueryService.fillUserAvatarURL(user);
-
         final JSONObject followingArticlesResult = followQueryService.getFollowingArticles(followingId, pageNum, pageSize);
         final List<JSONObject> followingArticles = (List<JSONObject>) followingArticlesResult.opt(Keys.RESULTS);
         dataModel.put(Common.USER_HOME_FOLLOWING_ARTICLES, followingArticles);
@@ -740,13 +731,11 @@ public class UserProcessor {
         final int pageSize = Symphonys.USER_HOME_LIST_CNT;
         final int windowSize = Symphonys.USER_HOME_LIST_WIN_SIZE;
 
-        fillHomeUser(dataModel, user, roleQueryService);
+        fillHomeProfile(dataModel, user);
 
         final String followingId = user.optString(Keys.OBJECT_ID);
         dataModel.put(Follow.FOLLOWING_ID, followingId);
 
-        avatarQueryService.fillUserAvatarURL(user);
-
         final JSONObject followingArticlesResult = followQueryService.getWatchingArticles(followingId, pageNum, pageSize);
         final List<JSONObject> followingArticles = (List<JSONObject>) followingArticlesResult.opt(Keys.RESULTS);
         dataModel.put(Common.USER_HOME_FOLLOWING_ARTICLES, followingArticles);
@@ -803,7 +792,7 @@ public class UserProcessor {
         final int pageSize = Symphonys.USER_HOME_LIST_CNT;
         final int windowSize = Symphonys.USER_HOME_LIST_WIN_SIZE;
 
-        fillHomeUser(dataModel, user, roleQueryService);
+        fillHomeProfile(dataModel, user);
 
         final String followingId = user.optString(Keys.OBJECT_ID);
         dataModel.put(Follow.FOLLOWING_ID, followingId);
@@ -812,8 +801,6 @@ public class UserProcessor {
         final List<JSONObject> followerUsers = (List) followerUsersResult.opt(Keys.RESULTS);
         dataModel.put(Common.USER_HOME_FOLLOWER_USERS, followerUsers);
 
-        avatarQueryService.fillUserAvatarURL(user);
-
         final boolean isLoggedIn = (Boolean) dataModel.get(Common.IS_LOGGED_IN);
         if (isLoggedIn) {
             final JSONObject currentUser = Sessions.getUser();
@@ -872,9 +859,7 @@ public class UserProcessor {
         final int pageSize = Symphonys.USER_HOME_LIST_CNT;
         final int windowSize = Symphonys.USER_HOME_LIST_WIN_SIZE;
 
-        fillHomeUser(dataModel, user, roleQueryService);
-
-        avatarQueryService.fillUserAvatarURL(user);
+        fillHomeProfile(dataModel, user);
 
         final String followingId = user.optString(Keys.OBJECT_ID);
         dataModel.put(Follow.FOLLOWING_ID, followingId);
@@ -976,6 +961,26 @@ public class UserProcessor {
         result.put(Common.DATA, data);
     }
 
+    /**
+     * Fills the profile header user of /member pages, the profile is cached per user and avatar view mode.
+     *
+     * @param dataModel the specified data model
+     * @param user      the specified user
+     */
+    private void fillHomeProfile(final Map<String, Object> dataModel, final JSONObject user) {
+        final String userId = user.optString(Keys.OBJECT_ID);
+        final int avatarViewMode = Sessions.getAvatarViewMode();
+        JSONObject profile = profileCache.getProfile(userId, avatarViewMode);
+        if (null == profile) {
+            profile = JSONs.clone(user);
+            fillHomeUser(dataModel, profile, roleQueryService);
+            avatarQueryService.fillUserAvatarURL(profile);
+            profileCache.putProfile(userId, avatarViewMode, profile);
+        }
+
+        dataModel.put(User.USER, profile);
+    }
+
     /**
      * Fills home user.
      *
@@ -33,10 +33,10 @@ import org.b3log.latke.logging.Logger;
 import org.b3log.latke.repository.RepositoryException;
 import org.b3log.latke.util.AntPathMatcher;
 import org.b3log.latke.util.URLs;
+import org.b3log.symphony.cache.OptionCache;
 import org.b3log.symphony.model.Article;
 import org.b3log.symphony.model.Option;
 import org.b3log.symphony.repository.ArticleRepository;
-import org.b3log.symphony.service.OptionQueryService;
 import org.b3log.symphony.service.UserMgmtService;
 import org.b3log.symphony.service.UserQueryService;
 import org.b3log.symphony.util.Sessions;
@@ -50,7 +50,7 @@ import java.util.Set;
  * Anonymous view check.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.3.2.1, Oct 21, 2018
+ * @version 1.3.3.0, Oct 19, 2026
  * @since 1.6.0
  */
 @Singleton
@@ -80,10 +80,10 @@ public class AnonymousViewCheck extends ProcessAdvice {
     private UserMgmtService userMgmtService;
 
     /**
-     * Option query service.
+     * Option cache.
      */
     @Inject
-    private OptionQueryService optionQueryService;
+    private OptionCache optionCache;
 
     private static Cookie getCookie(final Request request, final String name) {
         final Set<Cookie> cookies = request.getCookies();
@@ -154,8 +154,7 @@ public class AnonymousViewCheck extends ProcessAdvice {
 
         try {
             // Check if admin allow to anonymous view
-            final JSONObject option = optionQueryService.getOption(Option.ID_C_MISC_ALLOW_ANONYMOUS_VIEW);
-            if (!"0".equals(option.optString(Option.OPTION_VALUE))) {
+            if (!optionCache.isMiscAllowed(Option.ID_C_MISC_ALLOW_ANONYMOUS_VIEW)) {
                 final JSONObject currentUser = Sessions.getUser();
 
                 // https://github.com/b3log/symphony/issues/373
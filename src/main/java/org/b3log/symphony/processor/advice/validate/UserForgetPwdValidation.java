@@ -61,7 +61,7 @@ public class UserForgetPwdValidation extends ProcessAdvice {
         final String email = requestJSONObject.optString(User.USER_EMAIL);
         final String captcha = requestJSONObject.optString(CaptchaProcessor.CAPTCHA);
 
-        checkField(CaptchaProcessor.invalidCaptcha(captcha), "submitFailedLabel", "captchaErrorLabel");
+        checkField(CaptchaProcessor.invalidCaptcha(context, captcha), "submitFailedLabel", "captchaErrorLabel");
         checkField(!Strings.isEmail(email), "submitFailedLabel", "invalidEmailLabel");
     }
 
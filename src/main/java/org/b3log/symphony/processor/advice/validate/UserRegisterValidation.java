@@ -217,7 +217,7 @@ public class UserRegisterValidation extends ProcessAdvice {
         // open register
         if (useInvitationLink || "0".equals(option.optString(Option.OPTION_VALUE))) {
             final String captcha = requestJSONObject.optString(CaptchaProcessor.CAPTCHA);
-            checkField(CaptchaProcessor.invalidCaptcha(captcha), "registerFailLabel", "captchaErrorLabel");
+            checkField(CaptchaProcessor.invalidCaptcha(context, captcha), "registerFailLabel", "captchaErrorLabel");
         }
 
         final String name = requestJSONObject.optString(User.USER_NAME);
@@ -28,14 +28,13 @@ import org.b3log.symphony.model.Tag;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 /**
  * Tag repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.2.0.3, Jun 6, 2018
+ * @version 1.3.0.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Repository
@@ -159,6 +158,27 @@ public class TagRepository extends AbstractRepository {
         return array.optJSONObject(0);
     }
 
+    /**
+     * Gets tags by the specified tag titles with one query.
+     *
+     * @param tagTitles the specified tag titles
+     * @return tags, &lt;lower case tag title, tag&gt;, returns an empty map if not found
+     * @throws RepositoryException repository exception
+     */
+    public Map<String, JSONObject> getByTitles(final Collection<String> tagTitles) throws RepositoryException {
+        final Map<String, JSONObject> ret = new HashMap<>();
+        if (tagTitles.isEmpty()) {
+            return ret;
+        }
+
+        final Query query = new Query().setFilter(new PropertyFilter(Tag.TAG_TITLE, FilterOperator.IN, tagTitles)).setPageCount(1);
+        for (final JSONObject tag : getList(query)) {
+            ret.putIfAbsent(tag.optString(Tag.TAG_TITLE).toLowerCase(), tag);
+        }
+
+        return ret;
+    }
+
     /**
      * Gets most used tags with the specified number.
      *
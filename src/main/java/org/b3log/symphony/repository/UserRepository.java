@@ -22,29 +22,44 @@ import org.b3log.latke.ioc.Inject;
 import org.b3log.latke.model.User;
 import org.b3log.latke.repository.*;
 import org.b3log.latke.repository.annotation.Repository;
+import org.b3log.symphony.cache.ProfileCache;
 import org.b3log.symphony.cache.UserCache;
 import org.b3log.symphony.model.Role;
+import org.b3log.symphony.model.UserExt;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
-import java.util.List;
+import java.util.*;
 
 /**
  * User repository.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.1.2.3, Jun 6, 2019
+ * @version 2.3.0.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Repository
 public class UserRepository extends AbstractRepository {
 
+    /**
+     * Keys of follow counts, written only by updates scoped to them.
+     */
+    private static final Set<String> FOLLOW_COUNT_KEYS = new HashSet<>(Arrays.asList(UserExt.USER_FOLLOWER_COUNT,
+            UserExt.USER_FOLLOWING_USER_COUNT, UserExt.USER_FOLLOWING_TAG_COUNT, UserExt.USER_FOLLOWING_ARTICLE_COUNT,
+            UserExt.USER_WATCHING_ARTICLE_COUNT));
+
     /**
      * User cache.
      */
     @Inject
     private UserCache userCache;
 
+    /**
+     * Profile cache.
+     */
+    @Inject
+    private ProfileCache profileCache;
+
     /**
      * Public constructor.
      */
@@ -70,6 +85,20 @@ public class UserRepository extends AbstractRepository {
         return ret;
     }
 
+    /**
+     * Updates the specified user.
+     * <p>
+     * Only the specified properties are written if specified. Otherwise all properties of the specified user are
+     * written except follow counts, which are maintained by follow and unfollow with updates scoped to them, a full row
+     * write would carry back follow counts read before a concurrent follow. The cached user is the previous one with
+     * the written properties.
+     * </p>
+     *
+     * @param id            the specified user id
+     * @param user          the specified user
+     * @param propertyNames the specified property names, optional
+     * @throws RepositoryException repository exception
+     */
     @Override
     public void update(final String id, final JSONObject user, final String... propertyNames) throws RepositoryException {
         final JSONObject old = get(id);
@@ -77,10 +106,22 @@ public class UserRepository extends AbstractRepository {
             return;
         }
 
+        String[] names = propertyNames;
+        if (0 == names.length) {
+            final Set<String> keys = new HashSet<>(user.keySet());
+            keys.removeAll(FOLLOW_COUNT_KEYS);
+            names = keys.toArray(new String[0]);
+        }
+
         userCache.removeUser(old);
-        super.update(id, user, propertyNames);
+        super.update(id, user, names);
         user.put(Keys.OBJECT_ID, id);
-        userCache.putUser(user);
+
+        for (final String name : names) {
+            old.put(name, user.opt(name));
+        }
+        userCache.putUser(old);
+        profileCache.removeProfile(id);
     }
 
     /**
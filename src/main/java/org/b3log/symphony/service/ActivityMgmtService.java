@@ -17,6 +17,7 @@
  */
 package org.b3log.symphony.service;
 
+import com.google.common.util.concurrent.Striped;
 import jodd.util.Base64;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.time.DateFormatUtils;
@@ -28,6 +29,7 @@ import org.b3log.latke.logging.Logger;
 import org.b3log.latke.repository.*;
 import org.b3log.latke.service.LangPropsService;
 import org.b3log.latke.service.annotation.Service;
+import org.b3log.symphony.cache.ActivityCache;
 import org.b3log.symphony.model.Liveness;
 import org.b3log.symphony.model.Pointtransfer;
 import org.b3log.symphony.model.UserExt;
@@ -46,13 +48,14 @@ import java.net.URL;
 import java.util.Date;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.locks.Lock;
 
 /**
  * Activity management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="https://hacpai.com/member/ZephyrJung">Zephyr</a>
- * @version 1.6.10.2, Jun 8, 2019
+ * @version 1.7.0.0, Oct 19, 2026
  * @since 1.3.0
  */
 @Service
@@ -63,6 +66,11 @@ public class ActivityMgmtService {
      */
     private static final Logger LOGGER = Logger.getLogger(ActivityMgmtService.class);
 
+    /**
+     * Per-user locks of daily activities (checkin, 1A0001, yesterday liveness reward).
+     */
+    private static final Striped<Lock> USER_LOCKS = Striped.lock(256);
+
     /**
      * Character repository.
      */
@@ -123,6 +131,12 @@ public class ActivityMgmtService {
     @Inject
     private LivenessQueryService livenessQueryService;
 
+    /**
+     * Activity cache.
+     */
+    @Inject
+    private ActivityCache activityCache;
+
     /**
      * Starts eating snake.
      *
@@ -288,92 +302,99 @@ public class ActivityMgmtService {
      * @param userId the specified user id
      * @return {@code Random int} if checkin succeeded, returns {@code Integer.MIN_VALUE} otherwise
      */
-    public synchronized int dailyCheckin(final String userId) {
-        if (activityQueryService.isCheckedinToday(userId)) {
-            return Integer.MIN_VALUE;
-        }
+    public int dailyCheckin(final String userId) {
+        final Lock lock = USER_LOCKS.get(userId);
+        lock.lock();
+        try {
+            if (activityQueryService.isCheckedinToday(userId)) {
+                return Integer.MIN_VALUE;
+            }
 
-        final Random random = new Random();
-        final int sum = random.nextInt(Pointtransfer.TRANSFER_SUM_C_ACTIVITY_CHECKIN_MAX)
-                % (Pointtransfer.TRANSFER_SUM_C_ACTIVITY_CHECKIN_MAX - Pointtransfer.TRANSFER_SUM_C_ACTIVITY_CHECKIN_MIN + 1)
-                + Pointtransfer.TRANSFER_SUM_C_ACTIVITY_CHECKIN_MIN;
-        final boolean succ = null != pointtransferMgmtService.transfer(Pointtransfer.ID_C_SYS, userId,
-                Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_CHECKIN, sum, userId, System.currentTimeMillis(), "");
-        if (!succ) {
-            return Integer.MIN_VALUE;
-        }
+            final Random random = new Random();
+            final int sum = random.nextInt(Pointtransfer.TRANSFER_SUM_C_ACTIVITY_CHECKIN_MAX)
+                    % (Pointtransfer.TRANSFER_SUM_C_ACTIVITY_CHECKIN_MAX - Pointtransfer.TRANSFER_SUM_C_ACTIVITY_CHECKIN_MIN + 1)
+                    + Pointtransfer.TRANSFER_SUM_C_ACTIVITY_CHECKIN_MIN;
+            final boolean succ = null != pointtransferMgmtService.transfer(Pointtransfer.ID_C_SYS, userId,
+                    Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_CHECKIN, sum, userId, System.currentTimeMillis(), "");
+            if (!succ) {
+                return Integer.MIN_VALUE;
+            }
+            activityCache.putFlag(userId, ActivityCache.CHECKIN, true);
 
-        try {
-            final JSONObject user = userQueryService.getUser(userId);
+            try {
+                final JSONObject user = userQueryService.getUser(userId);
 
-            int currentStreakStart = user.optInt(UserExt.USER_CURRENT_CHECKIN_STREAK_START);
-            int currentStreakEnd = user.optInt(UserExt.USER_CURRENT_CHECKIN_STREAK_END);
+                int currentStreakStart = user.optInt(UserExt.USER_CURRENT_CHECKIN_STREAK_START);
+                int currentStreakEnd = user.optInt(UserExt.USER_CURRENT_CHECKIN_STREAK_END);
 
-            final Date today = new Date();
-            user.put(UserExt.USER_CHECKIN_TIME, today.getTime());
+                final Date today = new Date();
+                user.put(UserExt.USER_CHECKIN_TIME, today.getTime());
 
-            final String datePattern = "yyyyMMdd";
-            final String todayStr = DateFormatUtils.format(today, datePattern);
-            final int todayInt = Integer.valueOf(todayStr);
+                final String datePattern = "yyyyMMdd";
+                final String todayStr = DateFormatUtils.format(today, datePattern);
+                final int todayInt = Integer.valueOf(todayStr);
 
-            if (0 == currentStreakStart) {
-                user.put(UserExt.USER_CURRENT_CHECKIN_STREAK_START, todayInt);
-                user.put(UserExt.USER_CURRENT_CHECKIN_STREAK_END, todayInt);
-                user.put(UserExt.USER_LONGEST_CHECKIN_STREAK_START, todayInt);
-                user.put(UserExt.USER_LONGEST_CHECKIN_STREAK_END, todayInt);
-                user.put(UserExt.USER_CURRENT_CHECKIN_STREAK, 1);
-                user.put(UserExt.USER_LONGEST_CHECKIN_STREAK, 1);
+                if (0 == currentStreakStart) {
+                    user.put(UserExt.USER_CURRENT_CHECKIN_STREAK_START, todayInt);
+                    user.put(UserExt.USER_CURRENT_CHECKIN_STREAK_END, todayInt);
+                    user.put(UserExt.USER_LONGEST_CHECKIN_STREAK_START, todayInt);
+                    user.put(UserExt.USER_LONGEST_CHECKIN_STREAK_END, todayInt);
+                    user.put(UserExt.USER_CURRENT_CHECKIN_STREAK, 1);
+                    user.put(UserExt.USER_LONGEST_CHECKIN_STREAK, 1);
 
-                userMgmtService.updateUser(userId, user);
+                    userMgmtService.updateUser(userId, user);
 
-                return sum;
-            }
+                    return sum;
+                }
 
-            final Date endDate = DateUtils.parseDate(String.valueOf(currentStreakEnd), new String[]{datePattern});
-            final Date nextDate = DateUtils.addDays(endDate, 1);
-            if (!DateUtils.isSameDay(nextDate, today)) {
-                user.put(UserExt.USER_CURRENT_CHECKIN_STREAK_START, todayInt);
-            }
-            user.put(UserExt.USER_CURRENT_CHECKIN_STREAK_END, todayInt);
+                final Date endDate = DateUtils.parseDate(String.valueOf(currentStreakEnd), new String[]{datePattern});
+                final Date nextDate = DateUtils.addDays(endDate, 1);
+                if (!DateUtils.isSameDay(nextDate, today)) {
+                    user.put(UserExt.USER_CURRENT_CHECKIN_STREAK_START, todayInt);
+                }
+                user.put(UserExt.USER_CURRENT_CHECKIN_STREAK_END, todayInt);
 
-            currentStreakStart = user.optInt(UserExt.USER_CURRENT_CHECKIN_STREAK_START);
-            currentStreakEnd = user.optInt(UserExt.USER_CURRENT_CHECKIN_STREAK_END);
+                currentStreakStart = user.optInt(UserExt.USER_CURRENT_CHECKIN_STREAK_START);
+                currentStreakEnd = user.optInt(UserExt.USER_CURRENT_CHECKIN_STREAK_END);
 
-            final Date currentStreakStartDate = DateUtils.parseDate(String.valueOf(currentStreakStart), new String[]{datePattern});
-            final Date currentStreakEndDate = DateUtils.parseDate(String.valueOf(currentStreakEnd), new String[]{datePattern});
-            final int currentStreakDays = (int) ((currentStreakEndDate.getTime() - currentStreakStartDate.getTime()) / 86400000) + 1;
-            user.put(UserExt.USER_CURRENT_CHECKIN_STREAK, currentStreakDays);
+                final Date currentStreakStartDate = DateUtils.parseDate(String.valueOf(currentStreakStart), new String[]{datePattern});
+                final Date currentStreakEndDate = DateUtils.parseDate(String.valueOf(currentStreakEnd), new String[]{datePattern});
+                final int currentStreakDays = (int) ((currentStreakEndDate.getTime() - currentStreakStartDate.getTime()) / 86400000) + 1;
+                user.put(UserExt.USER_CURRENT_CHECKIN_STREAK, currentStreakDays);
 
-            final int longestStreakStart = user.optInt(UserExt.USER_LONGEST_CHECKIN_STREAK_START);
-            final int longestStreakEnd = user.optInt(UserExt.USER_LONGEST_CHECKIN_STREAK_END);
-            final Date longestStreakStartDate = DateUtils.parseDate(String.valueOf(longestStreakStart), new String[]{datePattern});
-            final Date longestStreakEndDate = DateUtils.parseDate(String.valueOf(longestStreakEnd), new String[]{datePattern});
-            final int longestStreakDays = (int) ((longestStreakEndDate.getTime() - longestStreakStartDate.getTime()) / 86400000) + 1;
-            user.put(UserExt.USER_LONGEST_CHECKIN_STREAK, longestStreakDays);
+                final int longestStreakStart = user.optInt(UserExt.USER_LONGEST_CHECKIN_STREAK_START);
+                final int longestStreakEnd = user.optInt(UserExt.USER_LONGEST_CHECKIN_STREAK_END);
+                final Date longestStreakStartDate = DateUtils.parseDate(String.valueOf(longestStreakStart), new String[]{datePattern});
+                final Date longestStreakEndDate = DateUtils.parseDate(String.valueOf(longestStreakEnd), new String[]{datePattern});
+                final int longestStreakDays = (int) ((longestStreakEndDate.getTime() - longestStreakStartDate.getTime()) / 86400000) + 1;
+                user.put(UserExt.USER_LONGEST_CHECKIN_STREAK, longestStreakDays);
 
-            if (longestStreakDays < currentStreakDays) {
-                user.put(UserExt.USER_LONGEST_CHECKIN_STREAK_START, currentStreakStart);
-                user.put(UserExt.USER_LONGEST_CHECKIN_STREAK_END, currentStreakEnd);
+                if (longestStreakDays < currentStreakDays) {
+                    user.put(UserExt.USER_LONGEST_CHECKIN_STREAK_START, currentStreakStart);
+                    user.put(UserExt.USER_LONGEST_CHECKIN_STREAK_END, currentStreakEnd);
 
-                user.put(UserExt.USER_LONGEST_CHECKIN_STREAK, currentStreakDays);
-            }
+                    user.put(UserExt.USER_LONGEST_CHECKIN_STREAK, currentStreakDays);
+                }
 
-            userMgmtService.updateUser(userId, user);
+                userMgmtService.updateUser(userId, user);
 
-            if (currentStreakDays > 0 && 0 == currentStreakDays % 10) {
-                // Additional Point
-                pointtransferMgmtService.transfer(Pointtransfer.ID_C_SYS, userId,
-                        Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_CHECKIN_STREAK,
-                        Pointtransfer.TRANSFER_SUM_C_ACTIVITY_CHECKINT_STREAK, userId, System.currentTimeMillis(), "");
-            }
+                if (currentStreakDays > 0 && 0 == currentStreakDays % 10) {
+                    // Additional Point
+                    pointtransferMgmtService.transfer(Pointtransfer.ID_C_SYS, userId,
+                            Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_CHECKIN_STREAK,
+                            Pointtransfer.TRANSFER_SUM_C_ACTIVITY_CHECKINT_STREAK, userId, System.currentTimeMillis(), "");
+                }
 
-            livenessMgmtService.incLiveness(userId, Liveness.LIVENESS_ACTIVITY);
+                livenessMgmtService.incLiveness(userId, Liveness.LIVENESS_ACTIVITY);
 
-            return sum;
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Checkin streak error", e);
+                return sum;
+            } catch (final Exception e) {
+                LOGGER.log(Level.ERROR, "Checkin streak error", e);
 
-            return Integer.MIN_VALUE;
+                return Integer.MIN_VALUE;
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -385,29 +406,38 @@ public class ActivityMgmtService {
      * @param smallOrLarge the specified small or large
      * @return result
      */
-    public synchronized JSONObject bet1A0001(final String userId, final int amount, final int smallOrLarge) {
-        final JSONObject ret = new JSONObject().put(Keys.STATUS_CODE, false);
+    public JSONObject bet1A0001(final String userId, final int amount, final int smallOrLarge) {
+        final Lock lock = USER_LOCKS.get(userId);
+        lock.lock();
+        try {
+            final JSONObject ret = new JSONObject().put(Keys.STATUS_CODE, false);
 
-        if (activityQueryService.is1A0001Today(userId)) {
-            ret.put(Keys.MSG, langPropsService.get("activityParticipatedLabel"));
+            if (activityQueryService.is1A0001Today(userId)) {
+                ret.put(Keys.MSG, langPropsService.get("activityParticipatedLabel"));
 
-            return ret;
-        }
+                return ret;
+            }
 
-        final String date = DateFormatUtils.format(new Date(), "yyyyMMdd");
+            final String date = DateFormatUtils.format(new Date(), "yyyyMMdd");
 
-        final boolean succ = null != pointtransferMgmtService.transfer(userId, Pointtransfer.ID_C_SYS,
-                Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_1A0001, amount, date + "-" + smallOrLarge, System.currentTimeMillis(), "");
+            final boolean succ = null != pointtransferMgmtService.transfer(userId, Pointtransfer.ID_C_SYS,
+                    Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_1A0001, amount, date + "-" + smallOrLarge, System.currentTimeMillis(), "");
+            if (succ) {
+                activityCache.putFlag(userId, ActivityCache.BET_1A0001, true);
+            }
 
-        ret.put(Keys.STATUS_CODE, succ);
+            ret.put(Keys.STATUS_CODE, succ);
 
-        final String msg = succ
-                ? langPropsService.get("activityBetSuccLabel") : langPropsService.get("activityBetFailLabel");
-        ret.put(Keys.MSG, msg);
+            final String msg = succ
+                    ? langPropsService.get("activityBetSuccLabel") : langPropsService.get("activityBetFailLabel");
+            ret.put(Keys.MSG, msg);
 
-        livenessMgmtService.incLiveness(userId, Liveness.LIVENESS_ACTIVITY);
+            livenessMgmtService.incLiveness(userId, Liveness.LIVENESS_ACTIVITY);
 
-        return ret;
+            return ret;
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -416,86 +446,94 @@ public class ActivityMgmtService {
      * @param userId the specified user id
      * @return result
      */
-    public synchronized JSONObject collect1A0001(final String userId) {
-        final JSONObject ret = new JSONObject().put(Keys.STATUS_CODE, false);
+    public JSONObject collect1A0001(final String userId) {
+        final Lock lock = USER_LOCKS.get(userId);
+        lock.lock();
+        try {
+            final JSONObject ret = new JSONObject().put(Keys.STATUS_CODE, false);
 
-        if (!activityQueryService.is1A0001Today(userId)) {
-            ret.put(Keys.MSG, langPropsService.get("activityNotParticipatedLabel"));
+            if (!activityQueryService.is1A0001Today(userId)) {
+                ret.put(Keys.MSG, langPropsService.get("activityNotParticipatedLabel"));
 
-            return ret;
-        }
+                return ret;
+            }
 
-        if (activityQueryService.isCollected1A0001Today(userId)) {
-            ret.put(Keys.MSG, langPropsService.get("activityParticipatedLabel"));
+            if (activityQueryService.isCollected1A0001Today(userId)) {
+                ret.put(Keys.MSG, langPropsService.get("activityParticipatedLabel"));
 
-            return ret;
-        }
-
-        final List<JSONObject> records = pointtransferQueryService.getLatestPointtransfers(userId,
-                Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_1A0001, 1);
-        final JSONObject pointtransfer = records.get(0);
-        final String data = pointtransfer.optString(Pointtransfer.DATA_ID);
-        final String smallOrLarge = data.split("-")[1];
-        final int sum = pointtransfer.optInt(Pointtransfer.SUM);
+                return ret;
+            }
 
-        String smallOrLargeResult = null;
-        try {
-            final Document doc = Jsoup.parse(new URL("http://stockpage.10jqka.com.cn/1A0001/quote/header/"), 5000);
-            final JSONObject result = new JSONObject(doc.text());
-            final String price = result.optJSONObject("data").optJSONObject("1A0001").optString("10");
+            final List<JSONObject> records = pointtransferQueryService.getLatestPointtransfers(userId,
+                    Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_1A0001, 1);
+            final JSONObject pointtransfer = records.get(0);
+            final String data = pointtransfer.optString(Pointtransfer.DATA_ID);
+            final String smallOrLarge = data.split("-")[1];
+            final int sum = pointtransfer.optInt(Pointtransfer.SUM);
 
-            if (!price.contains(".")) {
-                smallOrLargeResult = "0";
-            } else {
-                int endInt = 0;
-                if (price.split("\\.")[1].length() > 1) {
-                    final String end = price.substring(price.length() - 1);
-                    endInt = Integer.valueOf(end);
-                }
+            String smallOrLargeResult = null;
+            try {
+                final Document doc = Jsoup.parse(new URL("http://stockpage.10jqka.com.cn/1A0001/quote/header/"), 5000);
+                final JSONObject result = new JSONObject(doc.text());
+                final String price = result.optJSONObject("data").optJSONObject("1A0001").optString("10");
 
-                if (0 <= endInt && endInt <= 4) {
+                if (!price.contains(".")) {
                     smallOrLargeResult = "0";
-                } else if (5 <= endInt && endInt <= 9) {
-                    smallOrLargeResult = "1";
                 } else {
-                    LOGGER.error("Activity 1A0001 collect result [" + endInt + "]");
+                    int endInt = 0;
+                    if (price.split("\\.")[1].length() > 1) {
+                        final String end = price.substring(price.length() - 1);
+                        endInt = Integer.valueOf(end);
+                    }
+
+                    if (0 <= endInt && endInt <= 4) {
+                        smallOrLargeResult = "0";
+                    } else if (5 <= endInt && endInt <= 9) {
+                        smallOrLargeResult = "1";
+                    } else {
+                        LOGGER.error("Activity 1A0001 collect result [" + endInt + "]");
+                    }
                 }
-            }
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Collect 1A0001 failed", e);
+            } catch (final Exception e) {
+                LOGGER.log(Level.ERROR, "Collect 1A0001 failed", e);
 
-            ret.put(Keys.MSG, langPropsService.get("activity1A0001CollectFailLabel"));
+                ret.put(Keys.MSG, langPropsService.get("activity1A0001CollectFailLabel"));
 
-            return ret;
-        }
+                return ret;
+            }
 
-        if (StringUtils.isBlank(smallOrLarge)) {
-            ret.put(Keys.MSG, langPropsService.get("activity1A0001CollectFailLabel"));
+            if (StringUtils.isBlank(smallOrLarge)) {
+                ret.put(Keys.MSG, langPropsService.get("activity1A0001CollectFailLabel"));
 
-            return ret;
-        }
+                return ret;
+            }
+
+            ret.put(Keys.STATUS_CODE, true);
+            if (StringUtils.equals(smallOrLarge, smallOrLargeResult)) {
+                final int amount = sum * 2;
 
-        ret.put(Keys.STATUS_CODE, true);
-        if (StringUtils.equals(smallOrLarge, smallOrLargeResult)) {
-            final int amount = sum * 2;
+                final boolean succ = null != pointtransferMgmtService.transfer(Pointtransfer.ID_C_SYS, userId,
+                        Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_1A0001_COLLECT, amount,
+                        DateFormatUtils.format(new Date(), "yyyyMMdd") + "-" + smallOrLargeResult, System.currentTimeMillis(), "");
 
-            final boolean succ = null != pointtransferMgmtService.transfer(Pointtransfer.ID_C_SYS, userId,
-                    Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_1A0001_COLLECT, amount,
-                    DateFormatUtils.format(new Date(), "yyyyMMdd") + "-" + smallOrLargeResult, System.currentTimeMillis(), "");
+                if (succ) {
+                    activityCache.putFlag(userId, ActivityCache.COLLECT_1A0001, true);
 
-            if (succ) {
-                String msg = langPropsService.get("activity1A0001CollectSucc1Label");
-                msg = msg.replace("{point}", String.valueOf(amount));
+                    String msg = langPropsService.get("activity1A0001CollectSucc1Label");
+                    msg = msg.replace("{point}", String.valueOf(amount));
 
-                ret.put(Keys.MSG, msg);
+                    ret.put(Keys.MSG, msg);
+                } else {
+                    ret.put(Keys.MSG, langPropsService.get("activity1A0001CollectFailLabel"));
+                }
             } else {
-                ret.put(Keys.MSG, langPropsService.get("activity1A0001CollectFailLabel"));
+                ret.put(Keys.MSG, langPropsService.get("activity1A0001CollectSucc0Label"));
             }
-        } else {
-            ret.put(Keys.MSG, langPropsService.get("activity1A0001CollectSucc0Label"));
-        }
 
-        return ret;
+            return ret;
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -503,30 +541,37 @@ public class ActivityMgmtService {
      *
      * @param userId the specified user id
      */
-    public synchronized void yesterdayLivenessReward(final String userId) {
-        if (activityQueryService.isCollectedYesterdayLivenessReward(userId)) {
-            return;
-        }
+    public void yesterdayLivenessReward(final String userId) {
+        final Lock lock = USER_LOCKS.get(userId);
+        lock.lock();
+        try {
+            if (activityQueryService.isCollectedYesterdayLivenessReward(userId)) {
+                return;
+            }
 
-        final JSONObject yesterdayLiveness = livenessQueryService.getYesterdayLiveness(userId);
-        if (null == yesterdayLiveness) {
-            return;
-        }
+            final JSONObject yesterdayLiveness = livenessQueryService.getYesterdayLiveness(userId);
+            if (null == yesterdayLiveness) {
+                return;
+            }
 
-        final int sum = Liveness.calcPoint(yesterdayLiveness);
+            final int sum = Liveness.calcPoint(yesterdayLiveness);
 
-        if (0 == sum) {
-            return;
-        }
+            if (0 == sum) {
+                return;
+            }
 
-        boolean succ = null != pointtransferMgmtService.transfer(Pointtransfer.ID_C_SYS, userId,
-                Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_YESTERDAY_LIVENESS_REWARD, sum, userId, System.currentTimeMillis(), "");
-        if (!succ) {
-            return;
-        }
+            boolean succ = null != pointtransferMgmtService.transfer(Pointtransfer.ID_C_SYS, userId,
+                    Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_YESTERDAY_LIVENESS_REWARD, sum, userId, System.currentTimeMillis(), "");
+            if (!succ) {
+                return;
+            }
+            activityCache.putFlag(userId, ActivityCache.YESTERDAY_LIVENESS_REWARD, true);
 
-        // Today liveness (activity)
-        livenessMgmtService.incLiveness(userId, Liveness.LIVENESS_ACTIVITY);
+            // Today liveness (activity)
+            livenessMgmtService.incLiveness(userId, Liveness.LIVENESS_ACTIVITY);
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
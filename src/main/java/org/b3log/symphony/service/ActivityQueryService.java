@@ -28,6 +28,7 @@ import org.b3log.latke.repository.SortDirection;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.latke.util.CollectionUtils;
 import org.b3log.latke.util.Stopwatchs;
+import org.b3log.symphony.cache.ActivityCache;
 import org.b3log.symphony.model.Pointtransfer;
 import org.b3log.symphony.model.UserExt;
 import org.b3log.symphony.repository.PointtransferRepository;
@@ -42,7 +43,7 @@ import java.util.List;
  * Activity query service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.5.2.0, May 9, 2018
+ * @version 1.6.0.0, Oct 19, 2026
  * @since 1.3.0
  */
 @Service
@@ -77,6 +78,12 @@ public class ActivityQueryService {
     @Inject
     private AvatarQueryService avatarQueryService;
 
+    /**
+     * Activity cache.
+     */
+    @Inject
+    private ActivityCache activityCache;
+
     /**
      * Gets average point of activity eating snake of a user specified by the given user id.
      *
@@ -201,25 +208,24 @@ public class ActivityQueryService {
      * @param userId the specified user id
      * @return {@code true} if checkin succeeded, returns {@code false} otherwise
      */
-    public synchronized boolean isCheckedinToday(final String userId) {
+    public boolean isCheckedinToday(final String userId) {
+        final Boolean cached = activityCache.getFlag(userId, ActivityCache.CHECKIN);
+        if (null != cached) {
+            return cached;
+        }
+
         Stopwatchs.start("Checks checkin");
         try {
             final JSONObject user = userRepository.get(userId);
             final long time = user.optLong(UserExt.USER_CHECKIN_TIME);
-            if (DateUtils.isSameDay(new Date(), new Date(time))) {
-                return true;
-            }
-
-            // 使用缓存检查在某个竞态条件下会有问题。如果缓存检查没有签到，则再查库判断
-            final List<JSONObject> latestPointtransfers = pointtransferQueryService.getLatestPointtransfers(userId, Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_CHECKIN, 1);
-            if (latestPointtransfers.isEmpty()) {
-                return false;
+            boolean ret = DateUtils.isSameDay(new Date(), new Date(time));
+            if (!ret) {
+                // 使用缓存检查在某个竞态条件下会有问题。如果缓存检查没有签到，则再查库判断
+                ret = isTransferredToday(userId, Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_CHECKIN);
             }
+            activityCache.putFlagIfAbsent(userId, ActivityCache.CHECKIN, ret);
 
-            final JSONObject latestPointtransfer = latestPointtransfers.get(0);
-            final long checkinTime = latestPointtransfer.optLong(Pointtransfer.TIME);
-
-            return DateUtils.isSameDay(new Date(), new Date(checkinTime));
+            return ret;
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "Checks checkin failed", e);
 
@@ -235,19 +241,8 @@ public class ActivityQueryService {
      * @param userId the specified user id
      * @return {@code true} if participated, returns {@code false} otherwise
      */
-    public synchronized boolean is1A0001Today(final String userId) {
-        final Date now = new Date();
-
-        final List<JSONObject> records = pointtransferQueryService.getLatestPointtransfers(userId,
-                Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_1A0001, 1);
-        if (records.isEmpty()) {
-            return false;
-        }
-
-        final JSONObject maybeToday = records.get(0);
-        final long time = maybeToday.optLong(Pointtransfer.TIME);
-
-        return DateUtils.isSameDay(now, new Date(time));
+    public boolean is1A0001Today(final String userId) {
+        return isActivityToday(userId, ActivityCache.BET_1A0001, Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_1A0001);
     }
 
     /**
@@ -256,19 +251,8 @@ public class ActivityQueryService {
      * @param userId the specified user id
      * @return {@code true} if collected, returns {@code false} otherwise
      */
-    public synchronized boolean isCollected1A0001Today(final String userId) {
-        final Date now = new Date();
-
-        final List<JSONObject> records = pointtransferQueryService.getLatestPointtransfers(userId,
-                Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_1A0001_COLLECT, 1);
-        if (records.isEmpty()) {
-            return false;
-        }
-
-        final JSONObject maybeToday = records.get(0);
-        final long time = maybeToday.optLong(Pointtransfer.TIME);
-
-        return DateUtils.isSameDay(now, new Date(time));
+    public boolean isCollected1A0001Today(final String userId) {
+        return isActivityToday(userId, ActivityCache.COLLECT_1A0001, Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_1A0001_COLLECT);
     }
 
     /**
@@ -277,11 +261,40 @@ public class ActivityQueryService {
      * @param userId the specified user id
      * @return {@code true} if collected, returns {@code false} otherwise
      */
-    public synchronized boolean isCollectedYesterdayLivenessReward(final String userId) {
-        final Date now = new Date();
+    public boolean isCollectedYesterdayLivenessReward(final String userId) {
+        return isActivityToday(userId, ActivityCache.YESTERDAY_LIVENESS_REWARD, Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_YESTERDAY_LIVENESS_REWARD);
+    }
 
-        final List<JSONObject> records = pointtransferQueryService.getLatestPointtransfers(userId,
-                Pointtransfer.TRANSFER_TYPE_C_ACTIVITY_YESTERDAY_LIVENESS_REWARD, 1);
+    /**
+     * Checks whether the specified activity flag is set today for the specified user, the cache is checked first and
+     * the database is queried on a miss only.
+     *
+     * @param userId       the specified user id
+     * @param flag         the specified activity flag, see {@link ActivityCache}
+     * @param transferType the specified pointtransfer type of the activity
+     * @return {@code true} if set, returns {@code false} otherwise
+     */
+    private boolean isActivityToday(final String userId, final String flag, final int transferType) {
+        final Boolean cached = activityCache.getFlag(userId, flag);
+        if (null != cached) {
+            return cached;
+        }
+
+        final boolean ret = isTransferredToday(userId, transferType);
+        activityCache.putFlagIfAbsent(userId, flag, ret);
+
+        return ret;
+    }
+
+    /**
+     * Checks whether the latest pointtransfer of the specified type of the specified user happened today.
+     *
+     * @param userId       the specified user id
+     * @param transferType the specified pointtransfer type
+     * @return {@code true} if happened today, returns {@code false} otherwise
+     */
+    private boolean isTransferredToday(final String userId, final int transferType) {
+        final List<JSONObject> records = pointtransferQueryService.getLatestPointtransfers(userId, transferType, 1);
         if (records.isEmpty()) {
             return false;
         }
@@ -289,6 +302,6 @@ public class ActivityQueryService {
         final JSONObject maybeToday = records.get(0);
         final long time = maybeToday.optLong(Pointtransfer.TIME);
 
-        return DateUtils.isSameDay(now, new Date(time));
+        return DateUtils.isSameDay(new Date(), new Date(time));
     }
 }
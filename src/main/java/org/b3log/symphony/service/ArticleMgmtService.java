@@ -17,6 +17,7 @@
  */
 package org.b3log.symphony.service;
 
+import com.google.common.util.concurrent.Striped;
 import org.apache.commons.lang.ArrayUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.time.DateFormatUtils;
@@ -33,7 +34,12 @@ import org.b3log.latke.service.LangPropsService;
 import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.latke.util.Ids;
+import org.b3log.latke.util.Strings;
 import org.b3log.latke.util.URLs;
+import org.b3log.symphony.cache.ArticleCache;
+import org.b3log.symphony.cache.FeedCache;
+import org.b3log.symphony.cache.OptionCache;
+import org.b3log.symphony.cache.TagGraphCache;
 import org.b3log.symphony.event.EventTypes;
 import org.b3log.symphony.model.*;
 import org.b3log.symphony.repository.*;
@@ -47,6 +53,7 @@ import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 
 import java.util.*;
+import java.util.concurrent.locks.Lock;
 
 /**
  * Article management service.
@@ -54,7 +61,7 @@ import java.util.*;
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="https://hacpai.com/member/ZephyrJung">Zephyr</a>
  * @author <a href="https://qiankunpingtai.cn">qiankunpingtai</a>
- * @version 2.18.5.11, Jun 6, 2019
+ * @version 2.22.1.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Service
@@ -65,6 +72,12 @@ public class ArticleMgmtService {
      */
     private static final Logger LOGGER = Logger.getLogger(ArticleMgmtService.class);
 
+    /**
+     * Author locks, articles of the same author are added, updated and sticked one by one. Tags touched by the
+     * writes are locked by {@link Locks#lockTags(Collection)}.
+     */
+    private static final Striped<Lock> AUTHOR_LOCKS = Striped.lock(256);
+
     /**
      * Tag max count.
      */
@@ -112,6 +125,12 @@ public class ArticleMgmtService {
     @Inject
     private OptionRepository optionRepository;
 
+    /**
+     * Option cache.
+     */
+    @Inject
+    private OptionCache optionCache;
+
     /**
      * Notification repository.
      */
@@ -213,6 +232,46 @@ public class ArticleMgmtService {
     @Inject
     private VisitMgmtService visitMgmtService;
 
+    /**
+     * Feed cache.
+     */
+    @Inject
+    private FeedCache feedCache;
+
+    /**
+     * Article cache.
+     */
+    @Inject
+    private ArticleCache articleCache;
+
+    /**
+     * Tag graph cache.
+     */
+    @Inject
+    private TagGraphCache tagGraphCache;
+
+    /**
+     * Article query service.
+     */
+    @Inject
+    private ArticleQueryService articleQueryService;
+
+    /**
+     * Counter management service.
+     */
+    @Inject
+    private CounterMgmtService counterMgmtService;
+
+    /**
+     * Id of the last article processed by {@link #genArticleDigests()}.
+     */
+    private volatile String digestCursor = "0";
+
+    /**
+     * Whether all articles have got digests.
+     */
+    private volatile boolean digestsGenerated;
+
     /**
      * Determines whether the specified tag title exists in the specified tags.
      *
@@ -289,6 +348,60 @@ public class ArticleMgmtService {
         removeArticleByAdmin(articleId);
     }
 
+    /**
+     * Generates list digests for a batch of articles which have not got one yet, that is, articles added before digest
+     * generation was introduced. New articles get digests when they are added or updated.
+     *
+     * @return {@code true} if there are articles remaining, returns {@code false} otherwise
+     */
+    public boolean genArticleDigests() {
+        if (digestsGenerated) {
+            return false;
+        }
+
+        final int batchSize = 64;
+        try {
+            final List<JSONObject> articles = articleRepository.select("SELECT\n"
+                    + "	*\n"
+                    + "FROM\n"
+                    + "	" + articleRepository.getName() + "\n"
+                    + "WHERE\n"
+                    + "	oId > ?\n"
+                    + "AND (" + Article.ARTICLE_IMG_CNT + " IS NULL OR " + Article.ARTICLE_IMG_CNT + " < 0)\n"
+                    + "ORDER BY\n"
+                    + "	oId\n"
+                    + "LIMIT ?", digestCursor, batchSize);
+            for (final JSONObject article : articles) {
+                final String articleId = article.optString(Keys.OBJECT_ID);
+                digestCursor = articleId;
+                articleQueryService.genArticleDigest(article);
+
+                final Transaction transaction = articleRepository.beginTransaction();
+                try {
+                    articleRepository.update(articleId, article, Article.ARTICLE_ABSTRACT, Article.ARTICLE_IMG1_URL, Article.ARTICLE_IMG_CNT);
+                    transaction.commit();
+                } catch (final RepositoryException e) {
+                    if (transaction.isActive()) {
+                        transaction.rollback();
+                    }
+
+                    LOGGER.log(Level.ERROR, "Generates digest of article [id=" + articleId + "] failed", e);
+                }
+            }
+
+            if (articles.size() < batchSize) {
+                digestsGenerated = true;
+                LOGGER.info("Generated digests of all articles");
+            }
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Generates article digests failed, will retry after restart", e);
+
+            digestsGenerated = true; // Stops retrying, for example the digest columns have not been added to the table
+        }
+
+        return !digestsGenerated;
+    }
+
     /**
      * Generates article's audio.
      *
@@ -350,11 +463,15 @@ public class ArticleMgmtService {
      *
      * @param articleId the given article id
      */
-    @Transactional
     public void removeArticleByAdmin(final String articleId) {
+        final Transaction transaction = articleRepository.beginTransaction();
         try {
             final JSONObject article = articleRepository.get(articleId);
             if (null == article) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
+
                 return;
             }
 
@@ -419,6 +536,10 @@ public class ArticleMgmtService {
             rewardRepository.removeByDataId(articleId);
             voteRepository.removeByDataId(articleId);
 
+            transaction.commit();
+
+            feedCache.invalidate();
+
             if (Symphonys.ALGOLIA_ENABLED) {
                 searchMgmtService.removeAlgoliaDocument(article);
             }
@@ -432,6 +553,10 @@ public class ArticleMgmtService {
                 audioMgmtService.removeAudioFile(audioURL);
             }
         } catch (final RepositoryException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+
             LOGGER.log(Level.ERROR, "Removes an article error [id=" + articleId + "]", e);
         }
     }
@@ -447,7 +572,7 @@ public class ArticleMgmtService {
             final String articleId = StringUtils.substringAfter(visitURL, "/article/");
             boolean visitedB4 = false;
             try {
-                if ("1".equals(optionRepository.get(Option.ID_C_MISC_ARTICLE_VISIT_COUNT_MODE).optString(Option.OPTION_VALUE))) {
+                if (1 == optionCache.getMiscInt(Option.ID_C_MISC_ARTICLE_VISIT_COUNT_MODE, 0)) {
                     visitedB4 = visitMgmtService.add(visit);
                 }
             } catch (final Exception e) {
@@ -508,7 +633,7 @@ public class ArticleMgmtService {
      * @return generated article id
      * @throws ServiceException service exception
      */
-    public synchronized String addArticle(final JSONObject requestJSONObject) throws ServiceException {
+    public String addArticle(final JSONObject requestJSONObject) throws ServiceException {
         final long currentTimeMillis = System.currentTimeMillis();
         final String authorId = requestJSONObject.optString(Article.ARTICLE_AUTHOR_ID);
         JSONObject author;
@@ -532,260 +657,248 @@ public class ArticleMgmtService {
             throw new ServiceException(langPropsService.get("invalidQnAOfferPointLabel"));
         }
 
-        try {
-            // check if admin allow to add article
-            final JSONObject option = optionRepository.get(Option.ID_C_MISC_ALLOW_ADD_ARTICLE);
-
-            if (!"0".equals(option.optString(Option.OPTION_VALUE))) {
-                throw new ServiceException(langPropsService.get("notAllowAddArticleLabel"));
-            }
-
-            author = userRepository.get(authorId);
-            if (UserExt.USER_STATUS_C_VALID != author.optInt(UserExt.USER_STATUS)) {
-                throw new ServiceException(langPropsService.get("userStatusInvalidLabel"));
-            }
+        String articleContent = requestJSONObject.optString(Article.ARTICLE_CONTENT);
+        articleContent = Emotions.toAliases(articleContent);
+        //articleContent = StringUtils.trim(articleContent) + " "; https://github.com/b3log/symphony/issues/389
+        articleContent = StringUtils.replace(articleContent, langPropsService.get("uploadingLabel", Locale.SIMPLIFIED_CHINESE), "");
+        articleContent = StringUtils.replace(articleContent, langPropsService.get("uploadingLabel", Locale.US), "");
+        if (Article.ARTICLE_TYPE_C_THOUGHT != articleType) {
+            articleContent = Runes.removeControlChars(articleContent);
+        }
 
-            if (currentTimeMillis - author.optLong(Keys.OBJECT_ID) < Symphonys.NEWBIE_FIRST_ARTICLE) {
-                String tip = langPropsService.get("newbieFirstArticleLabel");
-                final long time = author.optLong(Keys.OBJECT_ID) + Symphonys.NEWBIE_FIRST_ARTICLE;
-                final String timeStr = DateFormatUtils.format(time, "yyyy-MM-dd HH:mm:ss");
-                tip = tip.replace("${time}", timeStr);
+        String rewardContent = requestJSONObject.optString(Article.ARTICLE_REWARD_CONTENT);
+        rewardContent = Emotions.toAliases(rewardContent);
+        rewardContent = Runes.removeControlChars(rewardContent);
 
-                throw new ServiceException(tip);
-            }
+        final String articleTags = formatArticleTags(requestJSONObject.optString(Article.ARTICLE_TAGS), articleType);
+        final String[] tagTitles = articleTags.split(",");
+        final JSONObject digest = genArticleDigest(articleType, articleContent);
 
-            if (currentTimeMillis - author.optLong(UserExt.USER_LATEST_ARTICLE_TIME) < Symphonys.MIN_STEP_ARTICLE_TIME
-                    && !Role.ROLE_ID_C_ADMIN.equals(author.optString(User.USER_ROLE))) {
-                LOGGER.log(Level.WARN, "Adds article too frequent [userName={0}]", author.optString(User.USER_NAME));
-                throw new ServiceException(langPropsService.get("tooFrequentArticleLabel"));
-            }
+        // Only the author's own writes and writes of the same title are serialized, content processing above runs
+        // without any lock
+        final Lock authorLock = AUTHOR_LOCKS.get(authorId);
+        authorLock.lock();
+        final List<Lock> titleLocks = Locks.lockTitle(articleTitle);
+        try {
+            try {
+                // check if admin allow to add article
+                if (!optionCache.isMiscAllowed(Option.ID_C_MISC_ALLOW_ADD_ARTICLE)) {
+                    throw new ServiceException(langPropsService.get("notAllowAddArticleLabel"));
+                }
 
-            final int balance = author.optInt(UserExt.USER_POINT);
-            if (Article.ARTICLE_ANONYMOUS_C_ANONYMOUS == articleAnonymous) {
-                final int anonymousPoint = Symphonys.ANONYMOUS_POST_POINT;
-                if (balance < anonymousPoint) {
-                    String anonymousEnabelPointLabel = langPropsService.get("anonymousEnabelPointLabel");
-                    anonymousEnabelPointLabel
-                            = anonymousEnabelPointLabel.replace("${point}", String.valueOf(anonymousPoint));
-                    throw new ServiceException(anonymousEnabelPointLabel);
+                author = userRepository.get(authorId);
+                if (UserExt.USER_STATUS_C_VALID != author.optInt(UserExt.USER_STATUS)) {
+                    throw new ServiceException(langPropsService.get("userStatusInvalidLabel"));
                 }
-            }
 
-            if (Article.ARTICLE_ANONYMOUS_C_PUBLIC == articleAnonymous) {
-                final long followerCnt = followQueryService.getFollowerCount(authorId, Follow.FOLLOWING_TYPE_C_USER);
-                final int addition = (int) Math.round(Math.sqrt(followerCnt));
-                final int broadcast = Article.ARTICLE_TYPE_C_CITY_BROADCAST == articleType ?
-                        Pointtransfer.TRANSFER_SUM_C_ADD_ARTICLE_BROADCAST : 0;
+                if (currentTimeMillis - author.optLong(Keys.OBJECT_ID) < Symphonys.NEWBIE_FIRST_ARTICLE) {
+                    String tip = langPropsService.get("newbieFirstArticleLabel");
+                    final long time = author.optLong(Keys.OBJECT_ID) + Symphonys.NEWBIE_FIRST_ARTICLE;
+                    final String timeStr = DateFormatUtils.format(time, "yyyy-MM-dd HH:mm:ss");
+                    tip = tip.replace("${time}", timeStr);
 
-                final int sum = Pointtransfer.TRANSFER_SUM_C_ADD_ARTICLE + addition + rewardPoint + qnaOfferPoint + broadcast;
+                    throw new ServiceException(tip);
+                }
 
-                if (balance - sum < 0) {
-                    throw new ServiceException(langPropsService.get("insufficientBalanceLabel"));
+                if (currentTimeMillis - author.optLong(UserExt.USER_LATEST_ARTICLE_TIME) < Symphonys.MIN_STEP_ARTICLE_TIME
+                        && !Role.ROLE_ID_C_ADMIN.equals(author.optString(User.USER_ROLE))) {
+                    LOGGER.log(Level.WARN, "Adds article too frequent [userName={0}]", author.optString(User.USER_NAME));
+                    throw new ServiceException(langPropsService.get("tooFrequentArticleLabel"));
                 }
-            }
 
-            if (Article.ARTICLE_TYPE_C_DISCUSSION != articleType) {
-                final JSONObject maybeExist = articleRepository.getByTitle(articleTitle);
-                if (null != maybeExist) {
-                    final String existArticleAuthorId = maybeExist.optString(Article.ARTICLE_AUTHOR_ID);
-                    String msg;
-                    if (existArticleAuthorId.equals(authorId)) {
-                        msg = langPropsService.get("duplicatedArticleTitleSelfLabel");
-                        msg = msg.replace("{article}", "<a target='_blank' href='/article/" + maybeExist.optString(Keys.OBJECT_ID)
-                                + "'>" + articleTitle + "</a>");
-                    } else {
-                        final JSONObject existArticleAuthor = userRepository.get(existArticleAuthorId);
-                        final String userName = existArticleAuthor.optString(User.USER_NAME);
-                        msg = langPropsService.get("duplicatedArticleTitleLabel");
-                        msg = msg.replace("{user}", "<a target='_blank' href='/member/" + userName + "'>" + userName + "</a>");
-                        msg = msg.replace("{article}", "<a target='_blank' href='/article/" + maybeExist.optString(Keys.OBJECT_ID)
-                                + "'>" + articleTitle + "</a>");
+                final int balance = author.optInt(UserExt.USER_POINT);
+                if (Article.ARTICLE_ANONYMOUS_C_ANONYMOUS == articleAnonymous) {
+                    final int anonymousPoint = Symphonys.ANONYMOUS_POST_POINT;
+                    if (balance < anonymousPoint) {
+                        String anonymousEnabelPointLabel = langPropsService.get("anonymousEnabelPointLabel");
+                        anonymousEnabelPointLabel
+                                = anonymousEnabelPointLabel.replace("${point}", String.valueOf(anonymousPoint));
+                        throw new ServiceException(anonymousEnabelPointLabel);
                     }
-
-                    throw new ServiceException(msg);
                 }
-            }
-        } catch (final RepositoryException e) {
-            throw new ServiceException(e);
-        }
-
-        final Transaction transaction = articleRepository.beginTransaction();
-
-        try {
-            final String ret = Ids.genTimeMillisId();
-            final JSONObject article = new JSONObject();
-            article.put(Keys.OBJECT_ID, ret);
 
-            article.put(Article.ARTICLE_TITLE, articleTitle);
-            article.put(Article.ARTICLE_TAGS, requestJSONObject.optString(Article.ARTICLE_TAGS));
+                if (Article.ARTICLE_ANONYMOUS_C_PUBLIC == articleAnonymous) {
+                    final long followerCnt = followQueryService.getFollowerCount(authorId, Follow.FOLLOWING_TYPE_C_USER);
+                    final int addition = (int) Math.round(Math.sqrt(followerCnt));
+                    final int broadcast = Article.ARTICLE_TYPE_C_CITY_BROADCAST == articleType ?
+                            Pointtransfer.TRANSFER_SUM_C_ADD_ARTICLE_BROADCAST : 0;
 
-            String articleContent = requestJSONObject.optString(Article.ARTICLE_CONTENT);
-            articleContent = Emotions.toAliases(articleContent);
-            //articleContent = StringUtils.trim(articleContent) + " "; https://github.com/b3log/symphony/issues/389
-            articleContent = StringUtils.replace(articleContent, langPropsService.get("uploadingLabel", Locale.SIMPLIFIED_CHINESE), "");
-            articleContent = StringUtils.replace(articleContent, langPropsService.get("uploadingLabel", Locale.US), "");
-            if (Article.ARTICLE_TYPE_C_THOUGHT != articleType) {
-                articleContent = Runes.removeControlChars(articleContent);
-            }
-            article.put(Article.ARTICLE_CONTENT, articleContent);
+                    final int sum = Pointtransfer.TRANSFER_SUM_C_ADD_ARTICLE + addition + rewardPoint + qnaOfferPoint + broadcast;
 
-            String rewardContent = requestJSONObject.optString(Article.ARTICLE_REWARD_CONTENT);
-            rewardContent = Emotions.toAliases(rewardContent);
-            rewardContent = Runes.removeControlChars(rewardContent);
-            article.put(Article.ARTICLE_REWARD_CONTENT, rewardContent);
-
-            article.put(Article.ARTICLE_EDITOR_TYPE, requestJSONObject.optInt(Article.ARTICLE_EDITOR_TYPE));
-            article.put(Article.ARTICLE_AUTHOR_ID, authorId);
-            article.put(Article.ARTICLE_COMMENT_CNT, 0);
-            article.put(Article.ARTICLE_VIEW_CNT, 0);
-            article.put(Article.ARTICLE_THANK_CNT, 0);
-            article.put(Article.ARTICLE_GOOD_CNT, 0);
-            article.put(Article.ARTICLE_BAD_CNT, 0);
-            article.put(Article.ARTICLE_COLLECT_CNT, 0);
-            article.put(Article.ARTICLE_WATCH_CNT, 0);
-            article.put(Article.ARTICLE_COMMENTABLE, requestJSONObject.optBoolean(Article.ARTICLE_COMMENTABLE, true));
-            article.put(Article.ARTICLE_CREATE_TIME, currentTimeMillis);
-            article.put(Article.ARTICLE_UPDATE_TIME, currentTimeMillis);
-            article.put(Article.ARTICLE_LATEST_CMT_TIME, ret);
-            article.put(Article.ARTICLE_LATEST_CMTER_NAME, "");
-            article.put(Article.ARTICLE_PERMALINK, "/article/" + ret);
-            article.put(Article.ARTICLE_RANDOM_DOUBLE, Math.random());
-            article.put(Article.REDDIT_SCORE, 0);
-            article.put(Article.ARTICLE_STATUS, Article.ARTICLE_STATUS_C_VALID);
-            article.put(Article.ARTICLE_TYPE, articleType);
-            article.put(Article.ARTICLE_REWARD_POINT, rewardPoint);
-            article.put(Article.ARTICLE_QNA_OFFER_POINT, qnaOfferPoint);
-            article.put(Article.ARTICLE_PUSH_ORDER, 0);
-            article.put(Article.ARTICLE_IMG1_URL, "");
-            String city = "";
-            if (UserExt.USER_GEO_STATUS_C_PUBLIC == author.optInt(UserExt.USER_GEO_STATUS)) {
-                city = author.optString(UserExt.USER_CITY);
-            }
-            article.put(Article.ARTICLE_CITY, city);
-            article.put(Article.ARTICLE_ANONYMOUS, articleAnonymous);
-            article.put(Article.ARTICLE_PERFECT, Article.ARTICLE_PERFECT_C_NOT_PERFECT);
-            article.put(Article.ARTICLE_ANONYMOUS_VIEW,
-                    requestJSONObject.optInt(Article.ARTICLE_ANONYMOUS_VIEW, Article.ARTICLE_ANONYMOUS_VIEW_C_USE_GLOBAL));
-            article.put(Article.ARTICLE_AUDIO_URL, "");
+                    if (balance - sum < 0) {
+                        throw new ServiceException(langPropsService.get("insufficientBalanceLabel"));
+                    }
+                }
 
-            String articleTags = article.optString(Article.ARTICLE_TAGS);
-            articleTags = Tag.formatTags(articleTags);
-            if (StringUtils.containsIgnoreCase(articleTags, Tag.TAG_TITLE_C_SANDBOX)) {
-                articleTags = Tag.TAG_TITLE_C_SANDBOX;
-            }
-            if (StringUtils.isBlank(articleTags)) {
-                articleTags = "待分类";
-            }
-            articleTags = Tag.formatTags(articleTags);
-            if (Article.ARTICLE_TYPE_C_QNA == articleType && !StringUtils.contains(articleTags, "Q&A")) {
-                articleTags += ",Q&A";
+                if (Article.ARTICLE_TYPE_C_DISCUSSION != articleType) {
+                    final JSONObject maybeExist = articleRepository.getByTitle(articleTitle);
+                    if (null != maybeExist) {
+                        final String existArticleAuthorId = maybeExist.optString(Article.ARTICLE_AUTHOR_ID);
+                        String msg;
+                        if (existArticleAuthorId.equals(authorId)) {
+                            msg = langPropsService.get("duplicatedArticleTitleSelfLabel");
+                            msg = msg.replace("{article}", "<a target='_blank' href='/article/" + maybeExist.optString(Keys.OBJECT_ID)
+                                    + "'>" + articleTitle + "</a>");
+                        } else {
+                            final JSONObject existArticleAuthor = userRepository.get(existArticleAuthorId);
+                            final String userName = existArticleAuthor.optString(User.USER_NAME);
+                            msg = langPropsService.get("duplicatedArticleTitleLabel");
+                            msg = msg.replace("{user}", "<a target='_blank' href='/member/" + userName + "'>" + userName + "</a>");
+                            msg = msg.replace("{article}", "<a target='_blank' href='/article/" + maybeExist.optString(Keys.OBJECT_ID)
+                                    + "'>" + articleTitle + "</a>");
+                        }
+
+                        throw new ServiceException(msg);
+                    }
+                }
+            } catch (final RepositoryException e) {
+                throw new ServiceException(e);
             }
-            article.put(Article.ARTICLE_TAGS, articleTags);
-            final String[] tagTitles = articleTags.split(",");
 
-            tag(tagTitles, article, author);
+            final List<Lock> tagLocks = Locks.lockTags(Arrays.asList(tagTitles));
+            final Transaction transaction = articleRepository.beginTransaction();
 
-            final String ip = requestJSONObject.optString(Article.ARTICLE_IP);
-            article.put(Article.ARTICLE_IP, ip);
+            try {
+                final String ret = Ids.genTimeMillisId();
+                final JSONObject article = new JSONObject();
+                article.put(Keys.OBJECT_ID, ret);
 
-            String ua = requestJSONObject.optString(Article.ARTICLE_UA);
-            if (StringUtils.length(ua) > Common.MAX_LENGTH_UA) {
-                ua = StringUtils.substring(ua, 0, Common.MAX_LENGTH_UA);
-            }
-            article.put(Article.ARTICLE_UA, ua);
+                article.put(Article.ARTICLE_TITLE, articleTitle);
 
-            article.put(Article.ARTICLE_STICK, 0L);
-            article.put(Article.ARTICLE_SHOW_IN_LIST, requestJSONObject.optInt(Article.ARTICLE_SHOW_IN_LIST, Article.ARTICLE_SHOW_IN_LIST_C_YES));
-            final JSONObject articleCntOption = optionRepository.get(Option.ID_C_STATISTIC_ARTICLE_COUNT);
-            final int articleCnt = articleCntOption.optInt(Option.OPTION_VALUE);
-            articleCntOption.put(Option.OPTION_VALUE, articleCnt + 1);
-            optionRepository.update(Option.ID_C_STATISTIC_ARTICLE_COUNT, articleCntOption);
+                article.put(Article.ARTICLE_CONTENT, articleContent);
+                article.put(Article.ARTICLE_REWARD_CONTENT, rewardContent);
+
+                article.put(Article.ARTICLE_EDITOR_TYPE, requestJSONObject.optInt(Article.ARTICLE_EDITOR_TYPE));
+                article.put(Article.ARTICLE_AUTHOR_ID, authorId);
+                article.put(Article.ARTICLE_COMMENT_CNT, 0);
+                article.put(Article.ARTICLE_VIEW_CNT, 0);
+                article.put(Article.ARTICLE_THANK_CNT, 0);
+                article.put(Article.ARTICLE_GOOD_CNT, 0);
+                article.put(Article.ARTICLE_BAD_CNT, 0);
+                article.put(Article.ARTICLE_COLLECT_CNT, 0);
+                article.put(Article.ARTICLE_WATCH_CNT, 0);
+                article.put(Article.ARTICLE_COMMENTABLE, requestJSONObject.optBoolean(Article.ARTICLE_COMMENTABLE, true));
+                article.put(Article.ARTICLE_CREATE_TIME, currentTimeMillis);
+                article.put(Article.ARTICLE_UPDATE_TIME, currentTimeMillis);
+                article.put(Article.ARTICLE_LATEST_CMT_TIME, ret);
+                article.put(Article.ARTICLE_LATEST_CMTER_NAME, "");
+                article.put(Article.ARTICLE_PERMALINK, "/article/" + ret);
+                article.put(Article.ARTICLE_RANDOM_DOUBLE, Math.random());
+                article.put(Article.REDDIT_SCORE, 0);
+                article.put(Article.ARTICLE_STATUS, Article.ARTICLE_STATUS_C_VALID);
+                article.put(Article.ARTICLE_TYPE, articleType);
+                article.put(Article.ARTICLE_REWARD_POINT, rewardPoint);
+                article.put(Article.ARTICLE_QNA_OFFER_POINT, qnaOfferPoint);
+                article.put(Article.ARTICLE_PUSH_ORDER, 0);
+                article.put(Article.ARTICLE_IMG1_URL, "");
+                String city = "";
+                if (UserExt.USER_GEO_STATUS_C_PUBLIC == author.optInt(UserExt.USER_GEO_STATUS)) {
+                    city = author.optString(UserExt.USER_CITY);
+                }
+                article.put(Article.ARTICLE_CITY, city);
+                article.put(Article.ARTICLE_ANONYMOUS, articleAnonymous);
+                article.put(Article.ARTICLE_PERFECT, Article.ARTICLE_PERFECT_C_NOT_PERFECT);
+                article.put(Article.ARTICLE_ANONYMOUS_VIEW,
+                        requestJSONObject.optInt(Article.ARTICLE_ANONYMOUS_VIEW, Article.ARTICLE_ANONYMOUS_VIEW_C_USE_GLOBAL));
+                article.put(Article.ARTICLE_AUDIO_URL, "");
+
+                article.put(Article.ARTICLE_TAGS, articleTags);
+                final List<String> tagIds = tag(tagTitles, article, author);
+
+                final String ip = requestJSONObject.optString(Article.ARTICLE_IP);
+                article.put(Article.ARTICLE_IP, ip);
+
+                String ua = requestJSONObject.optString(Article.ARTICLE_UA);
+                if (StringUtils.length(ua) > Common.MAX_LENGTH_UA) {
+                    ua = StringUtils.substring(ua, 0, Common.MAX_LENGTH_UA);
+                }
+                article.put(Article.ARTICLE_UA, ua);
+
+                article.put(Article.ARTICLE_STICK, 0L);
+                article.put(Article.ARTICLE_SHOW_IN_LIST, requestJSONObject.optInt(Article.ARTICLE_SHOW_IN_LIST, Article.ARTICLE_SHOW_IN_LIST_C_YES));
+                author.put(UserExt.USER_ARTICLE_COUNT, author.optInt(UserExt.USER_ARTICLE_COUNT) + 1);
+                author.put(UserExt.USER_LATEST_ARTICLE_TIME, currentTimeMillis);
+                // Updates user article count (and new tag count), latest article time
+                userRepository.update(author.optString(Keys.OBJECT_ID), author,
+                        UserExt.USER_ARTICLE_COUNT, UserExt.USER_LATEST_ARTICLE_TIME, UserExt.USER_TAG_COUNT);
+
+                putArticleDigest(article, digest);
+                final String articleId = articleRepository.add(article);
+
+                if (Article.ARTICLE_TYPE_C_THOUGHT != articleType) {
+                    final JSONObject revision = new JSONObject();
+                    revision.put(Revision.REVISION_AUTHOR_ID, authorId);
+                    final JSONObject revisionData = new JSONObject();
+                    revisionData.put(Article.ARTICLE_TITLE, articleTitle);
+                    revisionData.put(Article.ARTICLE_CONTENT, articleContent);
+                    revision.put(Revision.REVISION_DATA, revisionData.toString());
+                    revision.put(Revision.REVISION_DATA_ID, articleId);
+                    revision.put(Revision.REVISION_DATA_TYPE, Revision.DATA_TYPE_C_ARTICLE);
+                    revisionRepository.add(revision);
+                }
 
-            if (!StringUtils.isBlank(city)) {
-                final String cityStatId = city + "-ArticleCount";
-                JSONObject cityArticleCntOption = optionRepository.get(cityStatId);
+                transaction.commit();
+                Locks.unlock(tagLocks);
+                Locks.unlock(titleLocks);
 
-                if (null == cityArticleCntOption) {
-                    cityArticleCntOption = new JSONObject();
-                    cityArticleCntOption.put(Keys.OBJECT_ID, cityStatId);
-                    cityArticleCntOption.put(Option.OPTION_VALUE, 1);
-                    cityArticleCntOption.put(Option.OPTION_CATEGORY, city + "-statistic");
+                pushTagGraphArticle(tagIds, articleId);
 
-                    optionRepository.add(cityArticleCntOption);
-                } else {
-                    final int cityArticleCnt = cityArticleCntOption.optInt(Option.OPTION_VALUE);
-                    cityArticleCntOption.put(Option.OPTION_VALUE, cityArticleCnt + 1);
+                // Article count and city article count are written behind
+                counterMgmtService.incArticleCount(city);
 
-                    optionRepository.update(cityStatId, cityArticleCntOption);
+                try {
+                    Thread.sleep(50); // wait for db write to avoid article duplication
+                } catch (final Exception e) {
                 }
-            }
-
-            author.put(UserExt.USER_ARTICLE_COUNT, author.optInt(UserExt.USER_ARTICLE_COUNT) + 1);
-            author.put(UserExt.USER_LATEST_ARTICLE_TIME, currentTimeMillis);
-            // Updates user article count (and new tag count), latest article time
-            userRepository.update(author.optString(Keys.OBJECT_ID), author);
 
-            final String articleId = articleRepository.add(article);
+                // Grows the tag graph
+                tagMgmtService.relateTags(article.optString(Article.ARTICLE_TAGS));
 
-            if (Article.ARTICLE_TYPE_C_THOUGHT != articleType) {
-                final JSONObject revision = new JSONObject();
-                revision.put(Revision.REVISION_AUTHOR_ID, authorId);
-                final JSONObject revisionData = new JSONObject();
-                revisionData.put(Article.ARTICLE_TITLE, articleTitle);
-                revisionData.put(Article.ARTICLE_CONTENT, articleContent);
-                revision.put(Revision.REVISION_DATA, revisionData.toString());
-                revision.put(Revision.REVISION_DATA_ID, articleId);
-                revision.put(Revision.REVISION_DATA_TYPE, Revision.DATA_TYPE_C_ARTICLE);
-                revisionRepository.add(revision);
-            }
+                if (Article.ARTICLE_ANONYMOUS_C_PUBLIC == articleAnonymous) {
+                    final long followerCnt = followQueryService.getFollowerCount(authorId, Follow.FOLLOWING_TYPE_C_USER);
+                    final int addition = (int) Math.round(Math.sqrt(followerCnt));
 
-            transaction.commit();
-
-            try {
-                Thread.sleep(50); // wait for db write to avoid article duplication
-            } catch (final Exception e) {
-            }
-
-            // Grows the tag graph
-            tagMgmtService.relateTags(article.optString(Article.ARTICLE_TAGS));
+                    pointtransferMgmtService.transfer(authorId, Pointtransfer.ID_C_SYS,
+                            Pointtransfer.TRANSFER_TYPE_C_ADD_ARTICLE,
+                            Pointtransfer.TRANSFER_SUM_C_ADD_ARTICLE + addition, articleId, System.currentTimeMillis(), "");
 
-            if (Article.ARTICLE_ANONYMOUS_C_PUBLIC == articleAnonymous) {
-                final long followerCnt = followQueryService.getFollowerCount(authorId, Follow.FOLLOWING_TYPE_C_USER);
-                final int addition = (int) Math.round(Math.sqrt(followerCnt));
+                    if (rewardPoint > 0) { // Enable reward
+                        pointtransferMgmtService.transfer(authorId, Pointtransfer.ID_C_SYS,
+                                Pointtransfer.TRANSFER_TYPE_C_ADD_ARTICLE_REWARD,
+                                Pointtransfer.TRANSFER_SUM_C_ADD_ARTICLE_REWARD, articleId, System.currentTimeMillis(), "");
+                    }
 
-                pointtransferMgmtService.transfer(authorId, Pointtransfer.ID_C_SYS,
-                        Pointtransfer.TRANSFER_TYPE_C_ADD_ARTICLE,
-                        Pointtransfer.TRANSFER_SUM_C_ADD_ARTICLE + addition, articleId, System.currentTimeMillis(), "");
+                    if (Article.ARTICLE_TYPE_C_CITY_BROADCAST == articleType) {
+                        pointtransferMgmtService.transfer(authorId, Pointtransfer.ID_C_SYS,
+                                Pointtransfer.TRANSFER_TYPE_C_ADD_ARTICLE_BROADCAST,
+                                Pointtransfer.TRANSFER_SUM_C_ADD_ARTICLE_BROADCAST, articleId, System.currentTimeMillis(), "");
+                    }
 
-                if (rewardPoint > 0) { // Enable reward
-                    pointtransferMgmtService.transfer(authorId, Pointtransfer.ID_C_SYS,
-                            Pointtransfer.TRANSFER_TYPE_C_ADD_ARTICLE_REWARD,
-                            Pointtransfer.TRANSFER_SUM_C_ADD_ARTICLE_REWARD, articleId, System.currentTimeMillis(), "");
+                    // Liveness
+                    livenessMgmtService.incLiveness(authorId, Liveness.LIVENESS_ARTICLE);
                 }
 
-                if (Article.ARTICLE_TYPE_C_CITY_BROADCAST == articleType) {
-                    pointtransferMgmtService.transfer(authorId, Pointtransfer.ID_C_SYS,
-                            Pointtransfer.TRANSFER_TYPE_C_ADD_ARTICLE_BROADCAST,
-                            Pointtransfer.TRANSFER_SUM_C_ADD_ARTICLE_BROADCAST, articleId, System.currentTimeMillis(), "");
-                }
+                feedCache.invalidate();
 
-                // Liveness
-                livenessMgmtService.incLiveness(authorId, Liveness.LIVENESS_ARTICLE);
-            }
+                final JSONObject eventData = new JSONObject();
+                eventData.put(Article.ARTICLE, article);
+                eventData.put(Article.ARTICLE_T_NOTIFY_FOLLOWERS, requestJSONObject.optBoolean(Article.ARTICLE_T_NOTIFY_FOLLOWERS));
+                eventManager.fireEventAsynchronously(new Event<>(EventTypes.ADD_ARTICLE, eventData));
 
-            final JSONObject eventData = new JSONObject();
-            eventData.put(Article.ARTICLE, article);
-            eventData.put(Article.ARTICLE_T_NOTIFY_FOLLOWERS, requestJSONObject.optBoolean(Article.ARTICLE_T_NOTIFY_FOLLOWERS));
-            eventManager.fireEventAsynchronously(new Event<>(EventTypes.ADD_ARTICLE, eventData));
+                return ret;
+            } catch (final RepositoryException e) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
+                }
 
-            return ret;
-        } catch (final RepositoryException e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
+                LOGGER.log(Level.ERROR, "Adds an article failed", e);
+                throw new ServiceException(e);
+            } finally {
+                Locks.unlock(tagLocks);
             }
-
-            LOGGER.log(Level.ERROR, "Adds an article failed", e);
-            throw new ServiceException(e);
+        } finally {
+            Locks.unlock(titleLocks);
+            authorLock.unlock();
         }
     }
 
@@ -808,192 +921,223 @@ public class ArticleMgmtService {
      *                          "articleNotifyFollowers": boolean
      * @throws ServiceException service exception
      */
-    public synchronized void updateArticle(final JSONObject requestJSONObject) throws ServiceException {
+    public void updateArticle(final JSONObject requestJSONObject) throws ServiceException {
         String articleTitle = requestJSONObject.optString(Article.ARTICLE_TITLE);
+        final String articleId = requestJSONObject.optString(Keys.OBJECT_ID);
+        final int articleType = requestJSONObject.optInt(Article.ARTICLE_TYPE, Article.ARTICLE_TYPE_C_NORMAL);
 
-        String articleId;
-        JSONObject articleToUpdate;
-        JSONObject oldArticle;
-        String authorId;
-        JSONObject author;
-        int updatePointSum;
-        int articleAnonymous;
+        String articleContent = requestJSONObject.optString(Article.ARTICLE_CONTENT);
+        articleContent = Emotions.toAliases(articleContent);
+        //articleContent = StringUtils.trim(articleContent) + " "; https://github.com/b3log/symphony/issues/389
+        articleContent = articleContent.replace(langPropsService.get("uploadingLabel", Locale.SIMPLIFIED_CHINESE), "");
+        articleContent = articleContent.replace(langPropsService.get("uploadingLabel", Locale.US), "");
+        if (Article.ARTICLE_TYPE_C_THOUGHT != articleType) {
+            articleContent = Runes.removeControlChars(articleContent);
+        }
 
-        try {
-            // check if admin allow to add article
-            final JSONObject option = optionRepository.get(Option.ID_C_MISC_ALLOW_ADD_ARTICLE);
+        final String articleTags = formatArticleTags(requestJSONObject.optString(Article.ARTICLE_TAGS), articleType);
+        final JSONObject digest = genArticleDigest(articleType, articleContent);
 
-            if (!"0".equals(option.optString(Option.OPTION_VALUE))) {
-                throw new ServiceException(langPropsService.get("notAllowAddArticleLabel"));
+        final String authorId;
+        try {
+            final JSONObject article = articleRepository.get(articleId);
+            if (null == article) {
+                throw new ServiceException(langPropsService.get("systemErrLabel"));
             }
 
-            articleId = requestJSONObject.optString(Keys.OBJECT_ID);
-            articleToUpdate = articleRepository.get(articleId);
-            oldArticle = JSONs.clone(articleToUpdate);
-            authorId = articleToUpdate.optString(Article.ARTICLE_AUTHOR_ID);
-            author = userRepository.get(authorId);
-            if (UserExt.USER_STATUS_C_VALID != author.optInt(UserExt.USER_STATUS)) {
-                throw new ServiceException(langPropsService.get("userStatusInvalidLabel"));
-            }
+            authorId = article.optString(Article.ARTICLE_AUTHOR_ID);
+        } catch (final RepositoryException e) {
+            throw new ServiceException(e);
+        }
 
-            final long followerCnt = followQueryService.getFollowerCount(authorId, Follow.FOLLOWING_TYPE_C_USER);
-            int addition = (int) Math.round(Math.sqrt(followerCnt));
-            final long collectCnt = followQueryService.getFollowerCount(articleId, Follow.FOLLOWING_TYPE_C_ARTICLE);
-            final long watchCnt = followQueryService.getFollowerCount(articleId, Follow.FOLLOWING_TYPE_C_ARTICLE_WATCH);
-            addition += (collectCnt + watchCnt) * 2;
-            updatePointSum = Pointtransfer.TRANSFER_SUM_C_UPDATE_ARTICLE + addition;
+        final Lock authorLock = AUTHOR_LOCKS.get(authorId);
+        authorLock.lock();
+        final List<Lock> titleLocks = Locks.lockTitle(Pangu.spacingText(Emotions.toAliases(articleTitle)));
+        try {
+            JSONObject articleToUpdate;
+            JSONObject oldArticle;
+            JSONObject author;
+            int updatePointSum;
+            int articleAnonymous;
 
-            articleAnonymous = articleToUpdate.optInt(Article.ARTICLE_ANONYMOUS);
+            try {
+                // check if admin allow to add article
+                if (!optionCache.isMiscAllowed(Option.ID_C_MISC_ALLOW_ADD_ARTICLE)) {
+                    throw new ServiceException(langPropsService.get("notAllowAddArticleLabel"));
+                }
 
-            if (Article.ARTICLE_ANONYMOUS_C_PUBLIC == articleAnonymous) {
-                final int balance = author.optInt(UserExt.USER_POINT);
-                if (balance - updatePointSum < 0) {
-                    throw new ServiceException(langPropsService.get("insufficientBalanceLabel"));
+                articleToUpdate = articleRepository.get(articleId);
+                oldArticle = JSONs.clone(articleToUpdate);
+                author = userRepository.get(authorId);
+                if (UserExt.USER_STATUS_C_VALID != author.optInt(UserExt.USER_STATUS)) {
+                    throw new ServiceException(langPropsService.get("userStatusInvalidLabel"));
                 }
-            }
 
-            final JSONObject maybeExist = articleRepository.getByTitle(articleTitle);
-            if (null != maybeExist) {
-                if (!articleToUpdate.optString(Article.ARTICLE_TITLE).equals(articleTitle)) {
-                    final String existArticleAuthorId = maybeExist.optString(Article.ARTICLE_AUTHOR_ID);
-                    String msg;
-                    if (existArticleAuthorId.equals(authorId)) {
-                        msg = langPropsService.get("duplicatedArticleTitleSelfLabel");
-                        msg = msg.replace("{article}", "<a target='_blank' href='/article/" + maybeExist.optString(Keys.OBJECT_ID)
-                                + "'>" + articleTitle + "</a>");
-                    } else {
-                        final JSONObject existArticleAuthor = userRepository.get(existArticleAuthorId);
-                        final String userName = existArticleAuthor.optString(User.USER_NAME);
-                        msg = langPropsService.get("duplicatedArticleTitleLabel");
-                        msg = msg.replace("{user}", "<a target='_blank' href='/member/" + userName + "'>" + userName + "</a>");
-                        msg = msg.replace("{article}", "<a target='_blank' href='/article/" + maybeExist.optString(Keys.OBJECT_ID)
-                                + "'>" + articleTitle + "</a>");
+                final long followerCnt = followQueryService.getFollowerCount(authorId, Follow.FOLLOWING_TYPE_C_USER);
+                int addition = (int) Math.round(Math.sqrt(followerCnt));
+                final long collectCnt = followQueryService.getFollowerCount(articleId, Follow.FOLLOWING_TYPE_C_ARTICLE);
+                final long watchCnt = followQueryService.getFollowerCount(articleId, Follow.FOLLOWING_TYPE_C_ARTICLE_WATCH);
+                addition += (collectCnt + watchCnt) * 2;
+                updatePointSum = Pointtransfer.TRANSFER_SUM_C_UPDATE_ARTICLE + addition;
+
+                articleAnonymous = articleToUpdate.optInt(Article.ARTICLE_ANONYMOUS);
+
+                if (Article.ARTICLE_ANONYMOUS_C_PUBLIC == articleAnonymous) {
+                    final int balance = author.optInt(UserExt.USER_POINT);
+                    if (balance - updatePointSum < 0) {
+                        throw new ServiceException(langPropsService.get("insufficientBalanceLabel"));
                     }
+                }
 
-                    throw new ServiceException(msg);
+                final JSONObject maybeExist = articleRepository.getByTitle(articleTitle);
+                if (null != maybeExist) {
+                    if (!articleToUpdate.optString(Article.ARTICLE_TITLE).equals(articleTitle)) {
+                        final String existArticleAuthorId = maybeExist.optString(Article.ARTICLE_AUTHOR_ID);
+                        String msg;
+                        if (existArticleAuthorId.equals(authorId)) {
+                            msg = langPropsService.get("duplicatedArticleTitleSelfLabel");
+                            msg = msg.replace("{article}", "<a target='_blank' href='/article/" + maybeExist.optString(Keys.OBJECT_ID)
+                                    + "'>" + articleTitle + "</a>");
+                        } else {
+                            final JSONObject existArticleAuthor = userRepository.get(existArticleAuthorId);
+                            final String userName = existArticleAuthor.optString(User.USER_NAME);
+                            msg = langPropsService.get("duplicatedArticleTitleLabel");
+                            msg = msg.replace("{user}", "<a target='_blank' href='/member/" + userName + "'>" + userName + "</a>");
+                            msg = msg.replace("{article}", "<a target='_blank' href='/article/" + maybeExist.optString(Keys.OBJECT_ID)
+                                    + "'>" + articleTitle + "</a>");
+                        }
+
+                        throw new ServiceException(msg);
+                    }
                 }
+            } catch (final RepositoryException e) {
+                throw new ServiceException(e);
             }
-        } catch (final RepositoryException e) {
-            throw new ServiceException(e);
-        }
-
-        final int qnaOfferPoint = requestJSONObject.optInt(Article.ARTICLE_QNA_OFFER_POINT, 0);
-        if (qnaOfferPoint < articleToUpdate.optInt(Article.ARTICLE_QNA_OFFER_POINT)) { // Increase only to prevent lowering points when adopting answer
-            throw new ServiceException(langPropsService.get("qnaOfferPointMustMoreThanOldLabel"));
-        }
-        articleToUpdate.put(Article.ARTICLE_QNA_OFFER_POINT, qnaOfferPoint);
 
-        final int articleType = requestJSONObject.optInt(Article.ARTICLE_TYPE, Article.ARTICLE_TYPE_C_NORMAL);
-
-        final Transaction transaction = articleRepository.beginTransaction();
-
-        try {
-            requestJSONObject.put(Article.ARTICLE_ANONYMOUS, articleAnonymous);
-            processTagsForArticleUpdate(articleToUpdate, requestJSONObject, author);
-            userRepository.update(author.optString(Keys.OBJECT_ID), author);
-
-            articleTitle = Emotions.toAliases(articleTitle);
-            articleTitle = Pangu.spacingText(articleTitle);
-
-            final String oldTitle = articleToUpdate.optString(Article.ARTICLE_TITLE);
-            articleToUpdate.put(Article.ARTICLE_TITLE, articleTitle);
-
-            articleToUpdate.put(Article.ARTICLE_TAGS, requestJSONObject.optString(Article.ARTICLE_TAGS));
-            articleToUpdate.put(Article.ARTICLE_COMMENTABLE, requestJSONObject.optBoolean(Article.ARTICLE_COMMENTABLE, true));
-            articleToUpdate.put(Article.ARTICLE_TYPE, articleType);
-            articleToUpdate.put(Article.ARTICLE_SHOW_IN_LIST, requestJSONObject.optInt(Article.ARTICLE_SHOW_IN_LIST, Article.ARTICLE_SHOW_IN_LIST_C_YES));
-            String articleContent = requestJSONObject.optString(Article.ARTICLE_CONTENT);
-            articleContent = Emotions.toAliases(articleContent);
-            //articleContent = StringUtils.trim(articleContent) + " "; https://github.com/b3log/symphony/issues/389
-            articleContent = articleContent.replace(langPropsService.get("uploadingLabel", Locale.SIMPLIFIED_CHINESE), "");
-            articleContent = articleContent.replace(langPropsService.get("uploadingLabel", Locale.US), "");
-            if (Article.ARTICLE_TYPE_C_THOUGHT != articleType) {
-                articleContent = Runes.removeControlChars(articleContent);
+            final int qnaOfferPoint = requestJSONObject.optInt(Article.ARTICLE_QNA_OFFER_POINT, 0);
+            if (qnaOfferPoint < articleToUpdate.optInt(Article.ARTICLE_QNA_OFFER_POINT)) { // Increase only to prevent lowering points when adopting answer
+                throw new ServiceException(langPropsService.get("qnaOfferPointMustMoreThanOldLabel"));
             }
+            articleToUpdate.put(Article.ARTICLE_QNA_OFFER_POINT, qnaOfferPoint);
 
-            final String oldContent = articleToUpdate.optString(Article.ARTICLE_CONTENT);
-            articleToUpdate.put(Article.ARTICLE_CONTENT, articleContent);
-
-            final long currentTimeMillis = System.currentTimeMillis();
-            final long createTime = articleToUpdate.optLong(Keys.OBJECT_ID);
-            final boolean notIn5m = currentTimeMillis - createTime > 1000 * 60 * 5;
+            final Set<String> tagTitles = new HashSet<>(Arrays.asList(articleToUpdate.optString(Article.ARTICLE_TAGS).split(",")));
+            tagTitles.addAll(Arrays.asList(articleTags.split(",")));
+            final List<Lock> tagLocks = Locks.lockTags(tagTitles);
+            final Transaction transaction = articleRepository.beginTransaction();
 
-            articleToUpdate.put(Article.ARTICLE_UPDATE_TIME, currentTimeMillis);
+            try {
+                requestJSONObject.put(Article.ARTICLE_ANONYMOUS, articleAnonymous);
+                requestJSONObject.put(Article.ARTICLE_TAGS, articleTags);
+                final List<String> tagIds = processTagsForArticleUpdate(articleToUpdate, requestJSONObject, author);
+                userRepository.update(author.optString(Keys.OBJECT_ID), author, UserExt.USER_TAG_COUNT);
+
+                articleTitle = Emotions.toAliases(articleTitle);
+                articleTitle = Pangu.spacingText(articleTitle);
+
+                final String oldTitle = articleToUpdate.optString(Article.ARTICLE_TITLE);
+                articleToUpdate.put(Article.ARTICLE_TITLE, articleTitle);
+
+                articleToUpdate.put(Article.ARTICLE_TAGS, requestJSONObject.optString(Article.ARTICLE_TAGS));
+                articleToUpdate.put(Article.ARTICLE_COMMENTABLE, requestJSONObject.optBoolean(Article.ARTICLE_COMMENTABLE, true));
+                articleToUpdate.put(Article.ARTICLE_TYPE, articleType);
+                articleToUpdate.put(Article.ARTICLE_SHOW_IN_LIST, requestJSONObject.optInt(Article.ARTICLE_SHOW_IN_LIST, Article.ARTICLE_SHOW_IN_LIST_C_YES));
+                final String oldContent = articleToUpdate.optString(Article.ARTICLE_CONTENT);
+                articleToUpdate.put(Article.ARTICLE_CONTENT, articleContent);
+
+                final long currentTimeMillis = System.currentTimeMillis();
+                final long createTime = articleToUpdate.optLong(Keys.OBJECT_ID);
+                final boolean notIn5m = currentTimeMillis - createTime > 1000 * 60 * 5;
+
+                articleToUpdate.put(Article.ARTICLE_UPDATE_TIME, currentTimeMillis);
+
+                final int rewardPoint = requestJSONObject.optInt(Article.ARTICLE_REWARD_POINT, 0);
+                boolean enableReward = false;
+                if (0 < rewardPoint) {
+                    if (1 > articleToUpdate.optInt(Article.ARTICLE_REWARD_POINT)) {
+                        enableReward = true;
+                    }
 
-            final int rewardPoint = requestJSONObject.optInt(Article.ARTICLE_REWARD_POINT, 0);
-            boolean enableReward = false;
-            if (0 < rewardPoint) {
-                if (1 > articleToUpdate.optInt(Article.ARTICLE_REWARD_POINT)) {
-                    enableReward = true;
+                    String rewardContent = requestJSONObject.optString(Article.ARTICLE_REWARD_CONTENT);
+                    rewardContent = Emotions.toAliases(rewardContent);
+                    rewardContent = Runes.removeControlChars(rewardContent);
+                    articleToUpdate.put(Article.ARTICLE_REWARD_CONTENT, rewardContent);
+                    articleToUpdate.put(Article.ARTICLE_REWARD_POINT, rewardPoint);
                 }
 
-                String rewardContent = requestJSONObject.optString(Article.ARTICLE_REWARD_CONTENT);
-                rewardContent = Emotions.toAliases(rewardContent);
-                rewardContent = Runes.removeControlChars(rewardContent);
-                articleToUpdate.put(Article.ARTICLE_REWARD_CONTENT, rewardContent);
-                articleToUpdate.put(Article.ARTICLE_REWARD_POINT, rewardPoint);
-            }
-
-            final String ip = requestJSONObject.optString(Article.ARTICLE_IP);
-            articleToUpdate.put(Article.ARTICLE_IP, ip);
+                final String ip = requestJSONObject.optString(Article.ARTICLE_IP);
+                articleToUpdate.put(Article.ARTICLE_IP, ip);
 
-            String ua = requestJSONObject.optString(Article.ARTICLE_UA);
-            if (StringUtils.length(ua) > Common.MAX_LENGTH_UA) {
-                ua = StringUtils.substring(ua, 0, Common.MAX_LENGTH_UA);
-            }
-            articleToUpdate.put(Article.ARTICLE_UA, ua);
-            articleToUpdate.put(Article.ARTICLE_AUDIO_URL, ""); // 小薇语音预览更新 https://github.com/b3log/symphony/issues/791
+                String ua = requestJSONObject.optString(Article.ARTICLE_UA);
+                if (StringUtils.length(ua) > Common.MAX_LENGTH_UA) {
+                    ua = StringUtils.substring(ua, 0, Common.MAX_LENGTH_UA);
+                }
+                articleToUpdate.put(Article.ARTICLE_UA, ua);
+                articleToUpdate.put(Article.ARTICLE_AUDIO_URL, ""); // 小薇语音预览更新 https://github.com/b3log/symphony/issues/791
+                putArticleDigest(articleToUpdate, digest);
+
+                articleRepository.update(articleId, articleToUpdate);
+
+                final boolean titleChanged = !oldTitle.replaceAll("\\s+", "").equals(articleTitle.replaceAll("\\s+", ""));
+                final boolean contentChanged = !oldContent.replaceAll("\\s+", "").equals(articleContent.replaceAll("\\s+", ""));
+                if (notIn5m && Article.ARTICLE_TYPE_C_THOUGHT != articleType
+                        && (titleChanged || contentChanged)) {
+                    final JSONObject revision = new JSONObject();
+                    revision.put(Revision.REVISION_AUTHOR_ID, authorId);
+                    final JSONObject revisionData = new JSONObject();
+                    revisionData.put(Article.ARTICLE_TITLE, articleTitle);
+                    revisionData.put(Article.ARTICLE_CONTENT, articleContent);
+                    revision.put(Revision.REVISION_DATA, revisionData.toString());
+                    revision.put(Revision.REVISION_DATA_ID, articleId);
+                    revision.put(Revision.REVISION_DATA_TYPE, Revision.DATA_TYPE_C_ARTICLE);
+                    revisionRepository.add(revision);
+                }
 
-            articleRepository.update(articleId, articleToUpdate);
+                transaction.commit();
+                Locks.unlock(tagLocks);
+                Locks.unlock(titleLocks);
 
-            final boolean titleChanged = !oldTitle.replaceAll("\\s+", "").equals(articleTitle.replaceAll("\\s+", ""));
-            final boolean contentChanged = !oldContent.replaceAll("\\s+", "").equals(articleContent.replaceAll("\\s+", ""));
-            if (notIn5m && Article.ARTICLE_TYPE_C_THOUGHT != articleType
-                    && (titleChanged || contentChanged)) {
-                final JSONObject revision = new JSONObject();
-                revision.put(Revision.REVISION_AUTHOR_ID, authorId);
-                final JSONObject revisionData = new JSONObject();
-                revisionData.put(Article.ARTICLE_TITLE, articleTitle);
-                revisionData.put(Article.ARTICLE_CONTENT, articleContent);
-                revision.put(Revision.REVISION_DATA, revisionData.toString());
-                revision.put(Revision.REVISION_DATA_ID, articleId);
-                revision.put(Revision.REVISION_DATA_TYPE, Revision.DATA_TYPE_C_ARTICLE);
-                revisionRepository.add(revision);
-            }
+                pushTagGraphArticle(tagIds, articleId);
 
-            transaction.commit();
+                try {
+                    Thread.sleep(50); // wait for db write to avoid article duplication
+                } catch (final Exception e) {
+                }
 
-            try {
-                Thread.sleep(50); // wait for db write to avoid article duplication
-            } catch (final Exception e) {
-            }
+                if (Article.ARTICLE_ANONYMOUS_C_PUBLIC == articleAnonymous) {
+                    if (notIn5m) {
+                        pointtransferMgmtService.transfer(authorId, Pointtransfer.ID_C_SYS,
+                                Pointtransfer.TRANSFER_TYPE_C_UPDATE_ARTICLE,
+                                updatePointSum, articleId, System.currentTimeMillis(), "");
+                    }
 
-            if (Article.ARTICLE_ANONYMOUS_C_PUBLIC == articleAnonymous) {
-                if (notIn5m) {
-                    pointtransferMgmtService.transfer(authorId, Pointtransfer.ID_C_SYS,
-                            Pointtransfer.TRANSFER_TYPE_C_UPDATE_ARTICLE,
-                            updatePointSum, articleId, System.currentTimeMillis(), "");
+                    if (enableReward) {
+                        pointtransferMgmtService.transfer(authorId, Pointtransfer.ID_C_SYS,
+                                Pointtransfer.TRANSFER_TYPE_C_ADD_ARTICLE_REWARD,
+                                Pointtransfer.TRANSFER_SUM_C_ADD_ARTICLE_REWARD, articleId, System.currentTimeMillis(), "");
+                    }
                 }
 
-                if (enableReward) {
-                    pointtransferMgmtService.transfer(authorId, Pointtransfer.ID_C_SYS,
-                            Pointtransfer.TRANSFER_TYPE_C_ADD_ARTICLE_REWARD,
-                            Pointtransfer.TRANSFER_SUM_C_ADD_ARTICLE_REWARD, articleId, System.currentTimeMillis(), "");
+                feedCache.invalidate();
+                articleCache.removeRenderedContent(articleId);
+
+                final JSONObject eventData = new JSONObject();
+                eventData.put(Article.ARTICLE, articleToUpdate);
+                eventData.put(Common.OLD_ARTICLE, oldArticle);
+                eventData.put(Article.ARTICLE_T_NOTIFY_FOLLOWERS, requestJSONObject.optBoolean(Article.ARTICLE_T_NOTIFY_FOLLOWERS));
+                eventManager.fireEventAsynchronously(new Event<>(EventTypes.UPDATE_ARTICLE, eventData));
+            } catch (final Exception e) {
+                if (transaction.isActive()) {
+                    transaction.rollback();
                 }
-            }
 
-            final JSONObject eventData = new JSONObject();
-            eventData.put(Article.ARTICLE, articleToUpdate);
-            eventData.put(Common.OLD_ARTICLE, oldArticle);
-            eventData.put(Article.ARTICLE_T_NOTIFY_FOLLOWERS, requestJSONObject.optBoolean(Article.ARTICLE_T_NOTIFY_FOLLOWERS));
-            eventManager.fireEventAsynchronously(new Event<>(EventTypes.UPDATE_ARTICLE, eventData));
-        } catch (final Exception e) {
-            if (transaction.isActive()) {
-                transaction.rollback();
+                LOGGER.log(Level.ERROR, "Updates an article failed", e);
+                throw new ServiceException(e);
+            } finally {
+                Locks.unlock(tagLocks);
             }
-
-            LOGGER.log(Level.ERROR, "Updates an article failed", e);
-            throw new ServiceException(e);
+        } finally {
+            Locks.unlock(titleLocks);
+            authorLock.unlock();
         }
     }
 
@@ -1007,10 +1151,21 @@ public class ArticleMgmtService {
      * @param article   the specified article
      */
     public void updateArticleByAdmin(final String articleId, final JSONObject article) {
+        final String authorId = article.optString(Article.ARTICLE_AUTHOR_ID);
+        final int articleType = article.optInt(Article.ARTICLE_TYPE);
+        String articleContent = article.optString(Article.ARTICLE_CONTENT);
+        if (Article.ARTICLE_TYPE_C_THOUGHT != articleType) {
+            articleContent = Emotions.toAliases(articleContent);
+            articleContent = Runes.removeControlChars(articleContent);
+        }
+        final JSONObject digest = genArticleDigest(articleType, articleContent); // The content of a thought is not digested
+
+        final Lock authorLock = AUTHOR_LOCKS.get(authorId);
+        authorLock.lock();
+        List<Lock> tagLocks = Collections.emptyList();
         final Transaction transaction = articleRepository.beginTransaction();
 
         try {
-            final String authorId = article.optString(Article.ARTICLE_AUTHOR_ID);
             final JSONObject author = userRepository.get(authorId);
 
             article.put(Article.ARTICLE_COMMENTABLE, Boolean.valueOf(article.optBoolean(Article.ARTICLE_COMMENTABLE)));
@@ -1021,18 +1176,19 @@ public class ArticleMgmtService {
                 article.put(Article.ARTICLE_TAGS, "回收站");
             }
 
-            processTagsForArticleUpdate(oldArticle, article, author);
+            final Set<String> tagTitles = new HashSet<>(Arrays.asList(oldArticle.optString(Article.ARTICLE_TAGS).split(",")));
+            tagTitles.addAll(Arrays.asList(formatArticleTags(article.optString(Article.ARTICLE_TAGS),
+                    article.optInt(Article.ARTICLE_TYPE)).split(",")));
+            tagLocks = Locks.lockTags(tagTitles);
+            final List<String> tagIds = processTagsForArticleUpdate(oldArticle, article, author);
 
             String articleTitle = article.optString(Article.ARTICLE_TITLE);
             articleTitle = Emotions.toAliases(articleTitle);
             article.put(Article.ARTICLE_TITLE, articleTitle);
 
-            if (Article.ARTICLE_TYPE_C_THOUGHT == article.optInt(Article.ARTICLE_TYPE)) {
+            if (Article.ARTICLE_TYPE_C_THOUGHT == articleType) {
                 article.put(Article.ARTICLE_CONTENT, oldArticle.optString(Article.ARTICLE_CONTENT));
             } else {
-                String articleContent = article.optString(Article.ARTICLE_CONTENT);
-                articleContent = Emotions.toAliases(articleContent);
-                articleContent = Runes.removeControlChars(articleContent);
                 article.put(Article.ARTICLE_CONTENT, articleContent);
             }
 
@@ -1051,12 +1207,18 @@ public class ArticleMgmtService {
             }
 
             article.put(Article.ARTICLE_AUDIO_URL, ""); // 小薇语音预览更新 https://github.com/b3log/symphony/issues/791
+            putArticleDigest(article, digest);
 
-            userRepository.update(authorId, author);
+            userRepository.update(authorId, author, UserExt.USER_TAG_COUNT);
             articleRepository.update(articleId, article);
 
             transaction.commit();
 
+            pushTagGraphArticle(tagIds, articleId);
+
+            feedCache.invalidate();
+            articleCache.removeRenderedContent(articleId);
+
             if (Article.ARTICLE_PERFECT_C_NOT_PERFECT == oldArticle.optInt(Article.ARTICLE_PERFECT)
                     && Article.ARTICLE_PERFECT_C_PERFECT == perfect) {
                 final JSONObject notification = new JSONObject();
@@ -1075,6 +1237,9 @@ public class ArticleMgmtService {
             }
 
             LOGGER.log(Level.ERROR, "Updates an article[id=" + articleId + "] failed", e);
+        } finally {
+            Locks.unlock(tagLocks);
+            authorLock.unlock();
         }
     }
 
@@ -1251,16 +1416,25 @@ public class ArticleMgmtService {
      * @param articleId the given article id
      * @throws ServiceException service exception
      */
-    public synchronized void stick(final String articleId) throws ServiceException {
+    public void stick(final String articleId) throws ServiceException {
+        final JSONObject article;
+        try {
+            article = articleRepository.get(articleId);
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Sticks an article[id=" + articleId + "] failed", e);
+
+            throw new ServiceException(langPropsService.get("stickFailedLabel"));
+        }
+        if (null == article) {
+            return;
+        }
+
+        final String authorId = article.optString(Article.ARTICLE_AUTHOR_ID);
+        final Lock authorLock = AUTHOR_LOCKS.get(authorId);
+        authorLock.lock();
         final Transaction transaction = articleRepository.beginTransaction();
 
         try {
-            final JSONObject article = articleRepository.get(articleId);
-            if (null == article) {
-                return;
-            }
-
-            final String authorId = article.optString(Article.ARTICLE_AUTHOR_ID);
             final JSONObject author = userRepository.get(authorId);
             final int balance = author.optInt(UserExt.USER_POINT);
 
@@ -1288,7 +1462,7 @@ public class ArticleMgmtService {
 
             transaction.commit();
 
-            final boolean succ = null != pointtransferMgmtService.transfer(article.optString(Article.ARTICLE_AUTHOR_ID),
+            final boolean succ = null != pointtransferMgmtService.transfer(authorId,
                     Pointtransfer.ID_C_SYS, Pointtransfer.TRANSFER_TYPE_C_STICK_ARTICLE,
                     Pointtransfer.TRANSFER_SUM_C_STICK_ARTICLE, articleId, System.currentTimeMillis(), "");
             if (!succ) {
@@ -1302,6 +1476,8 @@ public class ArticleMgmtService {
             LOGGER.log(Level.ERROR, "Sticks an article[id=" + articleId + "] failed", e);
 
             throw new ServiceException(langPropsService.get("stickFailedLabel"));
+        } finally {
+            authorLock.unlock();
         }
     }
 
@@ -1311,7 +1487,7 @@ public class ArticleMgmtService {
      * @param articleId the given article id
      */
     @Transactional
-    public synchronized void adminStick(final String articleId) {
+    public void adminStick(final String articleId) {
         try {
             final JSONObject article = articleRepository.get(articleId);
             if (null == article) {
@@ -1332,7 +1508,7 @@ public class ArticleMgmtService {
      * @param articleId the given article id
      */
     @Transactional
-    public synchronized void adminCancelStick(final String articleId) {
+    public void adminCancelStick(final String articleId) {
         try {
             final JSONObject article = articleRepository.get(articleId);
             if (null == article) {
@@ -1395,38 +1571,30 @@ public class ArticleMgmtService {
      * <li>Saves new article-tag relations with tag reference count</li>
      * </ul>
      * </p>
+     * <p>
+     * The caller should hold the locks of both the old and the new tags.
+     * </p>
      *
      * @param oldArticle the specified old article
      * @param newArticle the specified new article
      * @param author     the specified author
+     * @return ids of the tags newly related to the article, see {@link #tag(String[], JSONObject, JSONObject)}
      * @throws Exception exception
      */
-    private synchronized void processTagsForArticleUpdate(final JSONObject oldArticle, final JSONObject newArticle,
-                                                          final JSONObject author) throws Exception {
+    private List<String> processTagsForArticleUpdate(final JSONObject oldArticle, final JSONObject newArticle,
+                                             final JSONObject author) throws Exception {
         final String oldArticleId = oldArticle.getString(Keys.OBJECT_ID);
         final List<JSONObject> oldTags = tagRepository.getByArticleId(oldArticleId);
-        String tagsString = newArticle.getString(Article.ARTICLE_TAGS);
-        tagsString = Tag.formatTags(tagsString);
-        if (StringUtils.containsIgnoreCase(tagsString, Tag.TAG_TITLE_C_SANDBOX)) {
-            tagsString = Tag.TAG_TITLE_C_SANDBOX;
-        }
-        final int articleType = newArticle.optInt(Article.ARTICLE_TYPE);
-        if (StringUtils.isBlank(tagsString)) {
-            tagsString = "待分类";
-        }
-
-        tagsString = Tag.formatTags(tagsString);
-        if (Article.ARTICLE_TYPE_C_QNA == articleType && !StringUtils.contains(tagsString, "Q&A")) {
-            tagsString += ",Q&A";
-        }
+        final String tagsString = formatArticleTags(newArticle.getString(Article.ARTICLE_TAGS), newArticle.optInt(Article.ARTICLE_TYPE));
         newArticle.put(Article.ARTICLE_TAGS, tagsString);
         String[] tagStrings = tagsString.split(",");
 
         final List<JSONObject> newTags = new ArrayList<>();
 
+        final Map<String, JSONObject> existingTags = tagRepository.getByTitles(Arrays.asList(Strings.trimAll(tagStrings)));
         for (final String tagString : tagStrings) {
             final String tagTitle = tagString.trim();
-            JSONObject newTag = tagRepository.getByTitle(tagTitle);
+            JSONObject newTag = existingTags.get(tagTitle.toLowerCase());
             if (null == newTag) {
                 newTag = new JSONObject();
                 newTag.put(Tag.TAG_TITLE, tagTitle);
@@ -1492,7 +1660,8 @@ public class ArticleMgmtService {
         }
 
         newArticle.put(Article.ARTICLE_COMMENT_CNT, articleCmtCnt);
-        tag(tagStrings, newArticle, author);
+
+        return tag(tagStrings, newArticle, author);
     }
 
     /**
@@ -1540,20 +1709,27 @@ public class ArticleMgmtService {
     }
 
     /**
-     * Tags the specified article with the specified tag titles.
+     * Tags the specified article with the specified tag titles, the caller should hold the locks of the tags.
+     * <p>
+     * The tag graph is not touched here, the caller should push the article into it by
+     * {@link #pushTagGraphArticle(List, String)} with the returned tag ids after its transaction committed.
+     * </p>
      *
      * @param tagTitles the specified (new) tag titles
      * @param article   the specified article
      * @param author    the specified author
+     * @return ids of the tags
      * @throws RepositoryException repository exception
      */
-    private synchronized void tag(final String[] tagTitles, final JSONObject article, final JSONObject author)
+    private List<String> tag(final String[] tagTitles, final JSONObject article, final JSONObject author)
             throws RepositoryException {
         String articleTags = article.optString(Article.ARTICLE_TAGS);
+        final List<String> ret = new ArrayList<>();
 
+        final Map<String, JSONObject> existingTags = tagRepository.getByTitles(Arrays.asList(Strings.trimAll(tagTitles)));
         for (final String t : tagTitles) {
             final String tagTitle = t.trim();
-            JSONObject tag = tagRepository.getByTitle(tagTitle);
+            JSONObject tag = existingTags.get(tagTitle.toLowerCase());
             String tagId;
             int userTagType;
             final int articleCmtCnt = article.optInt(Article.ARTICLE_COMMENT_CNT);
@@ -1583,12 +1759,10 @@ public class ArticleMgmtService {
 
                 tagId = tagRepository.add(tag);
                 tag.put(Keys.OBJECT_ID, tagId);
+                existingTags.put(tagTitle.toLowerCase(), tag);
                 userTagType = Tag.TAG_TYPE_C_CREATOR;
 
-                final JSONObject tagCntOption = optionRepository.get(Option.ID_C_STATISTIC_TAG_COUNT);
-                final int tagCnt = tagCntOption.optInt(Option.OPTION_VALUE);
-                tagCntOption.put(Option.OPTION_VALUE, tagCnt + 1);
-                optionRepository.update(Option.ID_C_STATISTIC_TAG_COUNT, tagCntOption);
+                counterMgmtService.incTagCount();
 
                 author.put(UserExt.USER_TAG_COUNT, author.optInt(UserExt.USER_TAG_COUNT) + 1);
             } else {
@@ -1619,6 +1793,7 @@ public class ArticleMgmtService {
                 tagTmp.put(Tag.TAG_SHOW_SIDE_AD, tag.optInt(Tag.TAG_SHOW_SIDE_AD));
 
                 tagRepository.update(tagId, tagTmp);
+                existingTags.put(tagTitle.toLowerCase(), tagTmp);
 
                 userTagType = Tag.TAG_TYPE_C_ARTICLE;
             }
@@ -1632,6 +1807,7 @@ public class ArticleMgmtService {
             tagArticleRelation.put(Article.REDDIT_SCORE, article.optDouble(Article.REDDIT_SCORE, 0D));
             tagArticleRelation.put(Article.ARTICLE_PERFECT, article.optInt(Article.ARTICLE_PERFECT));
             tagArticleRepository.add(tagArticleRelation);
+            ret.add(tagId);
 
             final String authorId = article.optString(Article.ARTICLE_AUTHOR_ID);
 
@@ -1652,17 +1828,33 @@ public class ArticleMgmtService {
         }
 
         final String[] tags = articleTags.split(",");
+        final Map<String, JSONObject> articleTagObjs = tagRepository.getByTitles(Arrays.asList(tags));
         final StringBuilder builder = new StringBuilder();
         for (final String tagTitle : tags) {
-            final JSONObject tag = tagRepository.getByTitle(tagTitle);
+            final JSONObject tag = articleTagObjs.get(tagTitle.toLowerCase());
 
-            builder.append(tag.optString(Tag.TAG_TITLE)).append(",");
+            builder.append(null == tag ? tagTitle : tag.optString(Tag.TAG_TITLE)).append(",");
         }
         if (builder.length() > 0) {
             builder.deleteCharAt(builder.length() - 1);
         }
 
         article.put(Article.ARTICLE_TAGS, builder.toString());
+
+        return ret;
+    }
+
+    /**
+     * Pushes the specified article into the tag graph rings of the specified tags. Called after the transaction which
+     * related the article to the tags committed, so a rollback leaves no phantom article in the graph.
+     *
+     * @param tagIds    the specified tag ids
+     * @param articleId the specified article id
+     */
+    private void pushTagGraphArticle(final List<String> tagIds, final String articleId) {
+        for (final String tagId : tagIds) {
+            tagGraphCache.pushArticle(tagId, articleId);
+        }
     }
 
     /**
@@ -1706,30 +1898,41 @@ public class ArticleMgmtService {
      * @return generated article id
      * @throws ServiceException service exception
      */
-    public synchronized String addArticleByAdmin(final JSONObject requestJSONObject) throws ServiceException {
-        JSONObject author;
+    public String addArticleByAdmin(final JSONObject requestJSONObject) throws ServiceException {
+        String authorId;
 
         try {
-            author = userRepository.getByName(requestJSONObject.optString(User.USER_NAME));
+            final JSONObject author = userRepository.getByName(requestJSONObject.optString(User.USER_NAME));
             if (null == author) {
                 throw new ServiceException(langPropsService.get("notFoundUserLabel"));
             }
+
+            authorId = author.optString(Keys.OBJECT_ID);
         } catch (final RepositoryException e) {
             LOGGER.log(Level.DEBUG, "Admin adds article failed", e);
 
             throw new ServiceException(e.getMessage());
         }
 
+        final String articleTags = formatArticleTags(requestJSONObject.optString(Article.ARTICLE_TAGS), Article.ARTICLE_TYPE_C_NORMAL);
+        final String[] tagTitles = articleTags.split(",");
+        final String articleContent = Emotions.toAliases(requestJSONObject.optString(Article.ARTICLE_CONTENT));
+        final JSONObject digest = genArticleDigest(Article.ARTICLE_TYPE_C_NORMAL, articleContent);
+
+        final Lock authorLock = AUTHOR_LOCKS.get(authorId);
+        authorLock.lock();
+        final List<Lock> tagLocks = Locks.lockTags(Arrays.asList(tagTitles));
         final Transaction transaction = articleRepository.beginTransaction();
 
         try {
+            final JSONObject author = userRepository.get(authorId);
             final long time = requestJSONObject.optLong(Common.TIME);
             final String ret = String.valueOf(time);
             final JSONObject article = new JSONObject();
             article.put(Keys.OBJECT_ID, ret);
-            article.put(Article.ARTICLE_AUTHOR_ID, author.optString(Keys.OBJECT_ID));
+            article.put(Article.ARTICLE_AUTHOR_ID, authorId);
             article.put(Article.ARTICLE_TITLE, Emotions.toAliases(requestJSONObject.optString(Article.ARTICLE_TITLE)));
-            article.put(Article.ARTICLE_CONTENT, Emotions.toAliases(requestJSONObject.optString(Article.ARTICLE_CONTENT)));
+            article.put(Article.ARTICLE_CONTENT, articleContent);
             article.put(Article.ARTICLE_REWARD_CONTENT, requestJSONObject.optString(Article.ARTICLE_REWARD_CONTENT));
             article.put(Article.ARTICLE_EDITOR_TYPE, 0);
             article.put(Article.ARTICLE_COMMENT_CNT, 0);
@@ -1754,20 +1957,8 @@ public class ArticleMgmtService {
             article.put(Article.ARTICLE_PUSH_ORDER, 0);
             article.put(Article.ARTICLE_IMG1_URL, "");
             article.put(Article.ARTICLE_CITY, "");
-            String articleTags = requestJSONObject.optString(Article.ARTICLE_TAGS);
-            articleTags = Tag.formatTags(articleTags);
-            if (StringUtils.containsIgnoreCase(articleTags, Tag.TAG_TITLE_C_SANDBOX)) {
-                articleTags = Tag.TAG_TITLE_C_SANDBOX;
-            }
-            if (StringUtils.isBlank(articleTags)) {
-                articleTags = "待分类";
-            }
-
-            articleTags = Tag.formatTags(articleTags);
             article.put(Article.ARTICLE_TAGS, articleTags);
-            String[] tagTitles = articleTags.split(",");
-
-            tag(tagTitles, article, author);
+            final List<String> tagIds = tag(tagTitles, article, author);
 
             final String ip = requestJSONObject.optString(Article.ARTICLE_IP);
             article.put(Article.ARTICLE_IP, ip);
@@ -1784,23 +1975,25 @@ public class ArticleMgmtService {
             article.put(Article.ARTICLE_ANONYMOUS_VIEW, Article.ARTICLE_ANONYMOUS_VIEW_C_USE_GLOBAL);
             article.put(Article.ARTICLE_AUDIO_URL, "");
             article.put(Article.ARTICLE_SHOW_IN_LIST, requestJSONObject.optInt(Article.ARTICLE_SHOW_IN_LIST, Article.ARTICLE_SHOW_IN_LIST_C_YES));
-            final JSONObject articleCntOption = optionRepository.get(Option.ID_C_STATISTIC_ARTICLE_COUNT);
-            final int articleCnt = articleCntOption.optInt(Option.OPTION_VALUE);
-            articleCntOption.put(Option.OPTION_VALUE, articleCnt + 1);
-            optionRepository.update(Option.ID_C_STATISTIC_ARTICLE_COUNT, articleCntOption);
-
             author.put(UserExt.USER_ARTICLE_COUNT, author.optInt(UserExt.USER_ARTICLE_COUNT) + 1);
             author.put(UserExt.USER_LATEST_ARTICLE_TIME, time);
             // Updates user article count (and new tag count), latest article time
-            userRepository.update(author.optString(Keys.OBJECT_ID), author);
+            userRepository.update(author.optString(Keys.OBJECT_ID), author,
+                    UserExt.USER_ARTICLE_COUNT, UserExt.USER_LATEST_ARTICLE_TIME, UserExt.USER_TAG_COUNT);
 
+            putArticleDigest(article, digest);
             articleRepository.add(article);
 
             transaction.commit();
 
+            pushTagGraphArticle(tagIds, ret);
+            counterMgmtService.incArticleCount("");
+
             // Grows the tag graph
             tagMgmtService.relateTags(article.optString(Article.ARTICLE_TAGS));
 
+            feedCache.invalidate();
+
             final JSONObject eventData = new JSONObject();
             eventData.put(Article.ARTICLE, article);
             eventManager.fireEventAsynchronously(new Event<>(EventTypes.ADD_ARTICLE, eventData));
@@ -1813,6 +2006,62 @@ public class ArticleMgmtService {
 
             LOGGER.log(Level.ERROR, "Admin adds an article failed", e);
             throw new ServiceException(e.getMessage());
+        } finally {
+            Locks.unlock(tagLocks);
+            authorLock.unlock();
+        }
+    }
+
+    /**
+     * Generates the list digest of an article with the specified type and content. Called before taking any lock or
+     * opening any transaction since it renders the markdown content.
+     *
+     * @param articleType    the specified article type
+     * @param articleContent the specified article content
+     * @return digest, see {@link ArticleQueryService#genArticleDigest(JSONObject)} for more details
+     */
+    private JSONObject genArticleDigest(final int articleType, final String articleContent) {
+        final JSONObject ret = new JSONObject();
+        ret.put(Article.ARTICLE_TYPE, articleType);
+        ret.put(Article.ARTICLE_CONTENT, articleContent);
+        articleQueryService.genArticleDigest(ret);
+
+        return ret;
+    }
+
+    /**
+     * Puts the specified digest into the specified article.
+     *
+     * @param article the specified article
+     * @param digest  the specified digest, generated by {@link #genArticleDigest(int, String)}
+     */
+    private static void putArticleDigest(final JSONObject article, final JSONObject digest) {
+        article.put(Article.ARTICLE_ABSTRACT, digest.optString(Article.ARTICLE_ABSTRACT));
+        article.put(Article.ARTICLE_IMG1_URL, digest.optString(Article.ARTICLE_IMG1_URL));
+        article.put(Article.ARTICLE_IMG_CNT, digest.optInt(Article.ARTICLE_IMG_CNT));
+    }
+
+    /**
+     * Formats the specified article tags for the specified article type.
+     *
+     * @param articleTags the specified article tags
+     * @param articleType the specified article type
+     * @return formatted tags, for example "Java,Q&A"
+     */
+    private static String formatArticleTags(final String articleTags, final int articleType) {
+        String ret = Tag.formatTags(articleTags);
+        if (StringUtils.containsIgnoreCase(ret, Tag.TAG_TITLE_C_SANDBOX)) {
+            ret = Tag.TAG_TITLE_C_SANDBOX;
+        }
+        if (StringUtils.isBlank(ret)) {
+            ret = "待分类";
         }
+
+        ret = Tag.formatTags(ret);
+        if (Article.ARTICLE_TYPE_C_QNA == articleType && !StringUtils.contains(ret, "Q&A")) {
+            ret += ",Q&A";
+        }
+
+        return ret;
     }
 }
@@ -18,6 +18,7 @@
 package org.b3log.symphony.service;
 
 import com.vdurmont.emoji.EmojiParser;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.time.DateFormatUtils;
 import org.apache.commons.lang.time.DateUtils;
@@ -35,6 +36,8 @@ import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.latke.util.*;
 import org.b3log.symphony.cache.ArticleCache;
+import org.b3log.symphony.cache.TagGraphCache;
+import org.b3log.symphony.cache.TimelineCache;
 import org.b3log.symphony.model.*;
 import org.b3log.symphony.processor.advice.validate.UserRegisterValidation;
 import org.b3log.symphony.processor.channel.ArticleChannel;
@@ -60,7 +63,7 @@ import java.util.concurrent.TimeUnit;
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://vanessa.b3log.org">Liyuan Li</a>
  * @author <a href="https://qiankunpingtai.cn">qiankunpingtai</a>
- * @version 2.28.2.0, Sep 6, 2019
+ * @version 2.34.2.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Service
@@ -149,6 +152,18 @@ public class ArticleQueryService {
     @Inject
     private ArticleCache articleCache;
 
+    /**
+     * Timeline cache.
+     */
+    @Inject
+    private TimelineCache timelineCache;
+
+    /**
+     * Tag graph cache.
+     */
+    @Inject
+    private TagGraphCache tagGraphCache;
+
     /**
      * Reward query service.
      */
@@ -281,18 +296,17 @@ public class ArticleQueryService {
      * @return following tag articles, returns an empty list if not found
      */
     public List<JSONObject> getFollowingUserArticles(final String userId, final int currentPageNum, final int pageSize) {
-        final List<JSONObject> users = (List<JSONObject>) followQueryService.getFollowingUsers(userId, 1, Integer.MAX_VALUE).opt(Keys.RESULTS);
-        if (users.isEmpty()) {
+        if (1 == currentPageNum && TimelineCache.TIMELINE_SIZE >= pageSize) {
+            return getTimelineArticles(userId, Follow.FOLLOWING_TYPE_C_USER, pageSize);
+        }
+
+        final List<String> followingUserIds = followQueryService.getFollowingIds(userId, Follow.FOLLOWING_TYPE_C_USER);
+        if (followingUserIds.isEmpty()) {
             return Collections.emptyList();
         }
 
         final Query query = new Query().addSort(Keys.OBJECT_ID, SortDirection.DESCENDING).setPage(currentPageNum, pageSize);
 
-        final List<String> followingUserIds = new ArrayList<>();
-        for (final JSONObject user : users) {
-            followingUserIds.add(user.optString(Keys.OBJECT_ID));
-        }
-
         final List<Filter> filters = new ArrayList<>();
         filters.add(new PropertyFilter(Article.ARTICLE_STATUS, FilterOperator.NOT_EQUAL, Article.ARTICLE_STATUS_C_INVALID));
         filters.add(new PropertyFilter(Article.ARTICLE_TYPE, FilterOperator.NOT_EQUAL, Article.ARTICLE_TYPE_C_DISCUSSION));
@@ -329,34 +343,187 @@ public class ArticleQueryService {
      * @return following tag articles, returns an empty list if not found
      */
     public List<JSONObject> getFollowingTagArticles(final String userId, final int currentPageNum, final int pageSize) {
-        final List<JSONObject> tags = (List<JSONObject>) followQueryService.getFollowingTags(
-                userId, 1, Integer.MAX_VALUE).opt(Keys.RESULTS);
-        if (tags.isEmpty()) {
+        if (1 == currentPageNum && TimelineCache.TIMELINE_SIZE >= pageSize) {
+            return getTimelineArticles(userId, Follow.FOLLOWING_TYPE_C_TAG, pageSize);
+        }
+
+        final List<String> followingTagIds = followQueryService.getFollowingIds(userId, Follow.FOLLOWING_TYPE_C_TAG);
+        if (followingTagIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        try {
+            // Pages the distinct articles the timeline of the first page is built from, so pages line up
+            final List<String> articleIds = getTagArticleIds(followingTagIds, null, (currentPageNum - 1) * pageSize, pageSize);
+
+            return getListArticles(articleIds, Follow.FOLLOWING_TYPE_C_TAG);
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Gets following tag articles failed", e);
+
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Gets the latest articles of the specified user's following timeline. Builds the timeline from the followings of
+     * the user if it is not cached.
+     *
+     * @param userId        the specified user id
+     * @param followingType the specified following type, {@link Follow#FOLLOWING_TYPE_C_USER} or
+     *                      {@link Follow#FOLLOWING_TYPE_C_TAG}
+     * @param fetchSize     the specified fetch size
+     * @return articles, returns an empty list if not found
+     */
+    private List<JSONObject> getTimelineArticles(final String userId, final int followingType, final int fetchSize) {
+        List<String> articleIds = timelineCache.getArticleIds(userId, followingType, fetchSize);
+        try {
+            if (null == articleIds) {
+                Stopwatchs.start("Build timeline");
+                try {
+                    final List<String> followingIds = followQueryService.getFollowingIds(userId, followingType);
+                    articleIds = followingIds.isEmpty() ? Collections.emptyList() : getTimelineArticleIds(followingType, followingIds, null);
+                    timelineCache.putTimeline(userId, followingType, followingIds, articleIds);
+                    if (!followingIds.isEmpty()) {
+                        // Articles committed after the read above may have been pushed before the put, re-reads them
+                        final String sinceId = articleIds.isEmpty() ? null : articleIds.get(0);
+                        final List<String> newArticleIds = getTimelineArticleIds(followingType, followingIds, sinceId);
+                        if (!newArticleIds.isEmpty()) {
+                            for (int i = newArticleIds.size() - 1; i >= 0; i--) {
+                                timelineCache.push(userId, followingType, newArticleIds.get(i));
+                            }
+
+                            final List<String> mergedIds = new ArrayList<>(newArticleIds);
+                            for (final String articleId : articleIds) {
+                                if (!mergedIds.contains(articleId)) {
+                                    mergedIds.add(articleId);
+                                }
+                            }
+                            articleIds = mergedIds;
+                        }
+                    }
+                    articleIds = articleIds.subList(0, Math.min(fetchSize, articleIds.size()));
+                } finally {
+                    Stopwatchs.end();
+                }
+            }
+
+            return getListArticles(articleIds, followingType);
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Gets timeline articles [userId=" + userId + ", followingType=" + followingType + "] failed", e);
+
             return Collections.emptyList();
         }
+    }
+
+    /**
+     * Gets list articles of the specified following feed by the specified article ids.
+     *
+     * @param articleIds    the specified article ids
+     * @param followingType the specified following type, {@link Follow#FOLLOWING_TYPE_C_USER} or
+     *                      {@link Follow#FOLLOWING_TYPE_C_TAG}
+     * @return articles, newest first
+     * @throws RepositoryException repository exception
+     */
+    private List<JSONObject> getListArticles(final List<String> articleIds, final int followingType) throws RepositoryException {
+        if (articleIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final List<Filter> filters = new ArrayList<>();
+        filters.add(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.IN, articleIds));
+        if (Follow.FOLLOWING_TYPE_C_USER == followingType) {
+            filters.add(new PropertyFilter(Article.ARTICLE_STATUS, FilterOperator.NOT_EQUAL, Article.ARTICLE_STATUS_C_INVALID));
+            filters.add(new PropertyFilter(Article.ARTICLE_TYPE, FilterOperator.NOT_EQUAL, Article.ARTICLE_TYPE_C_DISCUSSION));
+        } else {
+            filters.add(new PropertyFilter(Article.ARTICLE_SHOW_IN_LIST, FilterOperator.NOT_EQUAL, Article.ARTICLE_SHOW_IN_LIST_C_NOT));
+        }
+        final Query query = new Query().setFilter(new CompositeFilter(CompositeFilterOperator.AND, filters)).
+                addSort(Keys.OBJECT_ID, SortDirection.DESCENDING).setPageCount(1);
+        addListProjections(query);
+
+        Stopwatchs.start("Query timeline articles");
+        try {
+            final List<JSONObject> ret = articleRepository.getList(query);
+            organizeArticles(ret);
+
+            return ret;
+        } finally {
+            Stopwatchs.end();
+        }
+    }
+
+    /**
+     * Gets the latest article ids of the specified followings for building a timeline.
+     *
+     * @param followingType the specified following type
+     * @param followingIds  the specified following ids
+     * @param sinceId       the specified article id, only gets articles newer than it, {@code null} for no limit
+     * @return article ids, newest first
+     * @throws RepositoryException repository exception
+     */
+    private List<String> getTimelineArticleIds(final int followingType, final List<String> followingIds, final String sinceId)
+            throws RepositoryException {
+        if (Follow.FOLLOWING_TYPE_C_USER == followingType) {
+            final List<Filter> filters = new ArrayList<>();
+            filters.add(new PropertyFilter(Article.ARTICLE_STATUS, FilterOperator.NOT_EQUAL, Article.ARTICLE_STATUS_C_INVALID));
+            filters.add(new PropertyFilter(Article.ARTICLE_TYPE, FilterOperator.NOT_EQUAL, Article.ARTICLE_TYPE_C_DISCUSSION));
+            filters.add(new PropertyFilter(Article.ARTICLE_AUTHOR_ID, FilterOperator.IN, followingIds));
+            if (null != sinceId) {
+                filters.add(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.GREATER_THAN, sinceId));
+            }
+            final Query query = new Query().setFilter(new CompositeFilter(CompositeFilterOperator.AND, filters)).
+                    select(Keys.OBJECT_ID).addSort(Keys.OBJECT_ID, SortDirection.DESCENDING).
+                    setPage(1, TimelineCache.TIMELINE_SIZE).setPageCount(1);
+            final List<JSONObject> articles = articleRepository.getList(query);
+            final List<String> ret = new ArrayList<>();
+            for (final JSONObject article : articles) {
+                ret.add(article.optString(Keys.OBJECT_ID));
+            }
+
+            return ret;
+        }
+
+        return getTagArticleIds(followingIds, sinceId, 0, TimelineCache.TIMELINE_SIZE);
+    }
+
+    /**
+     * Gets distinct ids of articles shown in lists of the specified tags.
+     *
+     * @param tagIds    the specified tag ids
+     * @param sinceId   the specified article id, only gets articles newer than it, {@code null} for no limit
+     * @param offset    the specified offset
+     * @param fetchSize the specified fetch size
+     * @return article ids, newest first
+     * @throws RepositoryException repository exception
+     */
+    private List<String> getTagArticleIds(final List<String> tagIds, final String sinceId, final int offset, final int fetchSize)
+            throws RepositoryException {
+        final StringBuilder sql = new StringBuilder("select distinct symphony_article.oId from ").
+                append(articleRepository.getName()).append(" symphony_article, ").
+                append(tagArticleRepository.getName()).append(" symphony_tag_article").
+                append(" where symphony_article.oId=symphony_tag_article.article_oId and symphony_article.articleShowInList != ?");
+        if (null != sinceId) {
+            sql.append(" and symphony_article.oId > ?");
+        }
+        sql.append(" and symphony_tag_article.tag_oId in (");
+        for (int i = 0; i < tagIds.size(); i++) {
+            sql.append(0 < i ? ",?" : "?");
+        }
+        sql.append(") order by symphony_article.oId desc limit ").append(offset).append(",").append(fetchSize);
 
-        final List<String> articleFields = new ArrayList<>();
-        articleFields.add(Keys.OBJECT_ID);
-        articleFields.add(Article.ARTICLE_STICK);
-        articleFields.add(Article.ARTICLE_CREATE_TIME);
-        articleFields.add(Article.ARTICLE_UPDATE_TIME);
-        articleFields.add(Article.ARTICLE_LATEST_CMT_TIME);
-        articleFields.add(Article.ARTICLE_AUTHOR_ID);
-        articleFields.add(Article.ARTICLE_TITLE);
-        articleFields.add(Article.ARTICLE_STATUS);
-        articleFields.add(Article.ARTICLE_VIEW_CNT);
-        articleFields.add(Article.ARTICLE_TYPE);
-        articleFields.add(Article.ARTICLE_PERMALINK);
-        articleFields.add(Article.ARTICLE_TAGS);
-        articleFields.add(Article.ARTICLE_LATEST_CMTER_NAME);
-        articleFields.add(Article.ARTICLE_COMMENT_CNT);
-        articleFields.add(Article.ARTICLE_ANONYMOUS);
-        articleFields.add(Article.ARTICLE_PERFECT);
-        articleFields.add(Article.ARTICLE_CONTENT);
-        articleFields.add(Article.ARTICLE_QNA_OFFER_POINT);
-        articleFields.add(Article.ARTICLE_SHOW_IN_LIST);
-
-        return getArticlesByTags(currentPageNum, pageSize, articleFields, tags.toArray(new JSONObject[0]));
+        final List<Object> params = new ArrayList<>();
+        params.add(Article.ARTICLE_SHOW_IN_LIST_C_NOT);
+        if (null != sinceId) {
+            params.add(sinceId);
+        }
+        params.addAll(tagIds);
+
+        final List<String> ret = new ArrayList<>();
+        for (final JSONObject article : articleRepository.select(sql.toString(), params.toArray())) {
+            ret.add(article.optString(Keys.OBJECT_ID));
+        }
+
+        return ret;
     }
 
     /**
@@ -649,7 +816,8 @@ public class ArticleQueryService {
     /**
      * Gets the relevant articles of the specified article with the specified fetch size.
      * <p>
-     * The relevant articles exist the same tag with the specified article.
+     * The relevant articles exist the same tag with the specified article, they are read from the latest article ids
+     * of each tag held in {@link TagGraphCache}.
      * </p>
      *
      * @param article   the specified article
@@ -669,44 +837,37 @@ public class ArticleQueryService {
             excludedB3logTitles.add("B3log");
         }
         tagTitles = excludedB3logTitles.toArray(new String[0]);
-        final Set<String> fetchedArticleIds = new HashSet<>();
         try {
-            List<JSONObject> ret = new ArrayList<>();
-            final List<JSONObject> tags = new ArrayList<>();
-            for (int i = 0; i < tagTitles.length; i++) {
-                final String tagTitle = tagTitles[i];
-                final JSONObject tag = tagRepository.getByTitle(tagTitle);
-                tags.add(tag);
-            }
-            Collections.sort(tags, Comparator.comparingInt(t -> t.optInt(Tag.TAG_REFERENCE_CNT)));
+            final List<JSONObject> tags = new ArrayList<>(tagRepository.getByTitles(Arrays.asList(tagTitles)).values());
+            tags.sort(Comparator.comparingInt(t -> t.optInt(Tag.TAG_REFERENCE_CNT)));
 
+            final Set<String> articleIds = new LinkedHashSet<>();
             for (final JSONObject tag : tags) {
-                final String tagId = tag.optString(Keys.OBJECT_ID);
-                JSONObject result = tagArticleRepository.getByTagId(tagId, 1, fetchSize);
-                final JSONArray tagArticleRelations = result.optJSONArray(Keys.RESULTS);
-                final Set<String> articleIds = new HashSet<>();
-                for (int j = 0; j < tagArticleRelations.length(); j++) {
-                    final String articleId = tagArticleRelations.optJSONObject(j).optString(Article.ARTICLE + '_' + Keys.OBJECT_ID);
-                    if (fetchedArticleIds.contains(articleId)) {
-                        continue;
-                    }
-
-                    articleIds.add(articleId);
-                    fetchedArticleIds.add(articleId);
-                }
-
+                articleIds.addAll(tagGraphCache.getArticleIds(tag.optString(Keys.OBJECT_ID), fetchSize + 1));
                 articleIds.remove(article.optString(Keys.OBJECT_ID));
-
-                final Query query = new Query().setFilter(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.IN, articleIds)).
-                        select(Article.ARTICLE_TITLE, Article.ARTICLE_PERMALINK, Article.ARTICLE_AUTHOR_ID);
-                ret.addAll(articleRepository.getList(query));
-                if (ret.size() >= fetchSize) {
+                if (articleIds.size() >= fetchSize) {
                     break;
                 }
             }
 
-            final int size = ret.size() > fetchSize ? fetchSize : ret.size();
-            ret = ret.subList(0, size);
+            final List<JSONObject> ret = new ArrayList<>();
+            if (!articleIds.isEmpty()) {
+                final List<String> ids = new ArrayList<>(articleIds).subList(0, Math.min(fetchSize, articleIds.size()));
+                final Query query = new Query().setFilter(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.IN, ids)).
+                        select(Keys.OBJECT_ID, Article.ARTICLE_TITLE, Article.ARTICLE_PERMALINK, Article.ARTICLE_AUTHOR_ID).
+                        setPageCount(1);
+                final Map<String, JSONObject> articles = new HashMap<>();
+                for (final JSONObject relevantArticle : articleRepository.getList(query)) {
+                    articles.put(relevantArticle.optString(Keys.OBJECT_ID), relevantArticle);
+                }
+                for (final String id : ids) {
+                    final JSONObject relevantArticle = articles.get(id);
+                    if (null != relevantArticle) {
+                        ret.add(relevantArticle);
+                    }
+                }
+            }
+
             if (ret.size() < fetchSize) {
                 final List<JSONObject> hotArticles = getHotArticles(fetchSize - ret.size());
                 ret.addAll(0, hotArticles);
@@ -1583,6 +1744,39 @@ public class ArticleQueryService {
         article.put(Article.ARTICLE_T_TAG_OBJS, (Object) tags);
     }
 
+    /**
+     * Generates the list digest (abstract, thumbnail URL and image count) of the specified article from its markdown
+     * content. The digest is persisted with the article so that list pages need not render markdown.
+     *
+     * @param article the specified article, the digest will be put into it
+     */
+    public void genArticleDigest(final JSONObject article) {
+        Stopwatchs.start("Gen digest");
+        try {
+            article.put(Article.ARTICLE_ABSTRACT, genArticleMetaDesc(article));
+
+            List<String> imgSrcs = Collections.emptyList();
+            if (Article.ARTICLE_TYPE_C_THOUGHT != article.optInt(Article.ARTICLE_TYPE)) {
+                imgSrcs = Images.getImgSrcs(article.optString(Article.ARTICLE_CONTENT));
+            }
+            article.put(Article.ARTICLE_IMG1_URL, getArticleThumbnail(imgSrcs));
+            article.put(Article.ARTICLE_IMG_CNT, imgSrcs.size());
+        } finally {
+            Stopwatchs.end();
+        }
+    }
+
+    /**
+     * Checks whether the list digest of the specified article has been generated.
+     *
+     * @param article the specified article
+     * @return {@code true} if generated, returns {@code false} otherwise
+     * @see #genArticleDigest(JSONObject)
+     */
+    private static boolean isArticleDigestGenerated(final JSONObject article) {
+        return 0 <= article.optInt(Article.ARTICLE_IMG_CNT, -1);
+    }
+
     /**
      * Gets the first image URL of the specified article.
      *
@@ -1590,29 +1784,32 @@ public class ArticleQueryService {
      * @return the first image URL, returns {@code ""} if not found
      */
     private String getArticleThumbnail(final JSONObject article) {
+        if (isArticleDigestGenerated(article)) {
+            return article.optString(Article.ARTICLE_IMG1_URL);
+        }
+
         final int articleType = article.optInt(Article.ARTICLE_TYPE);
         if (Article.ARTICLE_TYPE_C_THOUGHT == articleType) {
             return "";
         }
 
-        final String content = article.optString(Article.ARTICLE_CONTENT);
-        if (StringUtils.isBlank(content)) {
-            return "";
-        }
+        return getArticleThumbnail(Images.getImgSrcs(article.optString(Article.ARTICLE_CONTENT)));
+    }
 
-        final String html = Markdowns.toHTML(content);
-        final String[] imgs = StringUtils.substringsBetween(html, "<img", ">");
-        if (null == imgs || 0 == imgs.length) {
+    /**
+     * Gets the thumbnail URL from the specified image URLs.
+     *
+     * @param imgSrcs the specified image URLs, see {@link Images#getImgSrcs(String)}
+     * @return thumbnail URL, returns {@code ""} if not found
+     */
+    private String getArticleThumbnail(final List<String> imgSrcs) {
+        if (imgSrcs.isEmpty()) {
             return "";
         }
 
         String ret = null;
-        for (int i = 0; i < imgs.length; i++) {
-            ret = StringUtils.substringBetween(imgs[i], "data-src=\"", "\"");
-            if (StringUtils.isBlank(ret)) {
-                ret = StringUtils.substringBetween(imgs[i], "src=\"", "\"");
-            }
-
+        for (final String imgSrc : imgSrcs) {
+            ret = imgSrc;
             if (!StringUtils.containsIgnoreCase(ret, ".ico")) {
                 break;
             }
@@ -1799,6 +1996,8 @@ public class ArticleQueryService {
      * <li>Generates article abstract (preview content)</li>
      * <li>Generates article ToC</li>
      * </ul>
+     * The rendered results are cached per article revision, only the block and discussion visibility checks run for
+     * each view.
      *
      * @param article the specified article, for example,
      *                "articleTitle": "",
@@ -1865,13 +2064,30 @@ public class ArticleQueryService {
                 }
             }
 
+            // Rendered content depends only on the article revision, per-viewer checks above are applied on top of it
+            final String articleId = article.optString(Keys.OBJECT_ID);
+            final boolean rewardable = article.optInt(Article.ARTICLE_REWARD_POINT) > 0;
+            final String version = article.optLong(Article.ARTICLE_UPDATE_TIME) + "-" + articleType + "-"
+                    + DigestUtils.md5Hex(articleContent + (rewardable ? "\u0000" + article.optString(Article.ARTICLE_REWARD_CONTENT) : ""));
+            final JSONObject rendered = articleCache.getRenderedContent(articleId, version);
+            if (null != rendered) {
+                article.put(Article.ARTICLE_CONTENT, rendered.optString(Article.ARTICLE_CONTENT));
+                if (rewardable) {
+                    article.put(Article.ARTICLE_REWARD_CONTENT, rendered.optString(Article.ARTICLE_REWARD_CONTENT));
+                }
+                article.put(Article.ARTICLE_T_PREVIEW_CONTENT, rendered.optString(Article.ARTICLE_T_PREVIEW_CONTENT));
+                article.put(Article.ARTICLE_T_TOC, rendered.optString(Article.ARTICLE_T_TOC));
+
+                return;
+            }
+
             if (Article.ARTICLE_TYPE_C_THOUGHT != articleType) {
                 articleContent = shortLinkQueryService.linkArticle(articleContent);
                 articleContent = Emotions.convert(articleContent);
                 article.put(Article.ARTICLE_CONTENT, articleContent);
             }
 
-            if (article.optInt(Article.ARTICLE_REWARD_POINT) > 0) {
+            if (rewardable) {
                 String rewardContent = article.optString(Article.ARTICLE_REWARD_CONTENT);
                 rewardContent = shortLinkQueryService.linkArticle(rewardContent);
                 rewardContent = Emotions.convert(rewardContent);
@@ -1889,6 +2105,13 @@ public class ArticleQueryService {
             article.put(Article.ARTICLE_CONTENT, articleContent);
             article.put(Article.ARTICLE_T_PREVIEW_CONTENT, getArticleMetaDesc(article));
             article.put(Article.ARTICLE_T_TOC, getArticleToC(article));
+
+            final JSONObject renderedContent = new JSONObject();
+            renderedContent.put(Article.ARTICLE_CONTENT, article.optString(Article.ARTICLE_CONTENT));
+            renderedContent.put(Article.ARTICLE_REWARD_CONTENT, rewardable ? article.optString(Article.ARTICLE_REWARD_CONTENT) : "");
+            renderedContent.put(Article.ARTICLE_T_PREVIEW_CONTENT, article.optString(Article.ARTICLE_T_PREVIEW_CONTENT));
+            renderedContent.put(Article.ARTICLE_T_TOC, article.optString(Article.ARTICLE_T_TOC));
+            articleCache.putRenderedContent(articleId, version, renderedContent);
         } finally {
             Stopwatchs.end();
         }
@@ -2009,12 +2232,30 @@ public class ArticleQueryService {
      * @return meta description
      */
     String getArticleMetaDesc(final JSONObject article) {
+        if (isArticleDigestGenerated(article)) {
+            return article.optString(Article.ARTICLE_ABSTRACT);
+        }
+
         final String articleId = article.optString(Keys.OBJECT_ID);
         String articleAbstract = articleCache.getArticleAbstract(articleId);
         if (StringUtils.isNotBlank(articleAbstract)) {
             return articleAbstract;
         }
 
+        articleAbstract = genArticleMetaDesc(article);
+        articleCache.putArticleAbstract(articleId, articleAbstract);
+
+        return articleAbstract;
+    }
+
+    /**
+     * Generates meta description content of the specified article from its markdown content.
+     *
+     * @param article the specified article
+     * @return meta description
+     */
+    private String genArticleMetaDesc(final JSONObject article) {
+        final String articleId = article.optString(Keys.OBJECT_ID);
         Stopwatchs.start("Meta Desc");
         try {
             final int articleType = article.optInt(Article.ARTICLE_TYPE);
@@ -2102,11 +2343,7 @@ public class ArticleQueryService {
             String tmp = Jsoup.clean(Jsoup.parse(ret).text(), Whitelist.none());
             if (tmp.length() >= length && null != pics) {
                 tmp = StringUtils.substring(tmp, 0, length) + " ....";
-                ret = tmp.replaceAll("\"", "'");
-
-                articleCache.putArticleAbstract(articleId, ret);
-
-                return ret;
+                return tmp.replaceAll("\"", "'");
             }
 
             String[] urls = StringUtils.substringsBetween(ret, "<a", "</a>");
@@ -2129,11 +2366,7 @@ public class ArticleQueryService {
                 tmp = StringUtils.substring(tmp, 0, length) + " ....";
             }
 
-            ret = tmp.replaceAll("\"", "'");
-
-            articleCache.putArticleAbstract(articleId, ret);
-
-            return ret;
+            return tmp.replaceAll("\"", "'");
         } finally {
             Stopwatchs.end();
         }
@@ -2210,7 +2443,10 @@ public class ArticleQueryService {
                 Article.ARTICLE_UA,
                 Article.ARTICLE_CONTENT,
                 Article.ARTICLE_QNA_OFFER_POINT,
-                Article.ARTICLE_SHOW_IN_LIST
+                Article.ARTICLE_SHOW_IN_LIST,
+                Article.ARTICLE_ABSTRACT,
+                Article.ARTICLE_IMG1_URL,
+                Article.ARTICLE_IMG_CNT
         );
     }
 
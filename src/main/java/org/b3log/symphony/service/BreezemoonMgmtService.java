@@ -22,10 +22,11 @@ import org.b3log.latke.Keys;
 import org.b3log.latke.ioc.Inject;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
-import org.b3log.latke.repository.annotation.Transactional;
+import org.b3log.latke.repository.Transaction;
 import org.b3log.latke.service.LangPropsService;
 import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
+import org.b3log.symphony.cache.BreezemoonCache;
 import org.b3log.symphony.model.Breezemoon;
 import org.b3log.symphony.model.Common;
 import org.b3log.symphony.repository.BreezemoonRepository;
@@ -36,7 +37,7 @@ import org.json.JSONObject;
  * Breezemoon management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.3, Nov 22, 2018
+ * @version 1.1.0.0, Oct 19, 2026
  * @since 2.8.0
  */
 @Service
@@ -71,6 +72,12 @@ public class BreezemoonMgmtService {
     @Inject
     private LangPropsService langPropsService;
 
+    /**
+     * Breezemoon cache.
+     */
+    @Inject
+    private BreezemoonCache breezemoonCache;
+
     /**
      * Adds a breezemoon with the specified request json object.
      *
@@ -82,7 +89,6 @@ public class BreezemoonMgmtService {
      *                          "breezemoonCity": ""
      * @throws ServiceException service exception
      */
-    @Transactional
     public void addBreezemoon(final JSONObject requestJSONObject) throws ServiceException {
         final String content = requestJSONObject.optString(Breezemoon.BREEZEMOON_CONTENT);
         if (optionQueryService.containReservedWord(content)) {
@@ -103,9 +109,18 @@ public class BreezemoonMgmtService {
         bm.put(Breezemoon.BREEZEMOON_STATUS, Breezemoon.BREEZEMOON_STATUS_C_VALID);
         bm.put(Breezemoon.BREEZEMOON_CITY, requestJSONObject.optString(Breezemoon.BREEZEMOON_CITY));
 
+        final Transaction transaction = breezemoonRepository.beginTransaction();
         try {
             breezemoonRepository.add(bm);
+
+            transaction.commit();
+
+            breezemoonCache.loadSideBreezemoons();
         } catch (final Exception e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+
             LOGGER.log(Level.ERROR, "Adds a breezemoon failed", e);
 
             throw new ServiceException(langPropsService.get("systemErrLabel"));
@@ -124,7 +139,6 @@ public class BreezemoonMgmtService {
      *                          "breezemoonStatus": "" // optional, 0 as default
      * @throws ServiceException service exception
      */
-    @Transactional
     public void updateBreezemoon(final JSONObject requestJSONObject) throws ServiceException {
         final String content = requestJSONObject.optString(Breezemoon.BREEZEMOON_CONTENT);
         if (optionQueryService.containReservedWord(content)) {
@@ -157,9 +171,18 @@ public class BreezemoonMgmtService {
         final long now = System.currentTimeMillis();
         old.put(Breezemoon.BREEZEMOON_UPDATED, now);
 
+        final Transaction transaction = breezemoonRepository.beginTransaction();
         try {
             breezemoonRepository.update(id, old);
+
+            transaction.commit();
+
+            breezemoonCache.loadSideBreezemoons();
         } catch (final Exception e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+
             LOGGER.log(Level.ERROR, "Updates a breezemoon failed", e);
 
             throw new ServiceException(langPropsService.get("systemErrLabel"));
@@ -172,11 +195,19 @@ public class BreezemoonMgmtService {
      * @param id the specified id
      * @throws ServiceException service exception
      */
-    @Transactional
     public void removeBreezemoon(final String id) throws ServiceException {
+        final Transaction transaction = breezemoonRepository.beginTransaction();
         try {
             breezemoonRepository.remove(id);
+
+            transaction.commit();
+
+            breezemoonCache.loadSideBreezemoons();
         } catch (final Exception e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+
             LOGGER.log(Level.ERROR, "Removes a breezemoon [id=" + id + "] failed", e);
 
             throw new ServiceException(langPropsService.get("systemErrLabel"));
@@ -123,12 +123,6 @@ public class BreezemoonQueryService {
                 ret = ret.subList(0, Symphonys.SIDE_BREEZEMOON_CNT);
             }
 
-            if (UserExt.USER_AVATAR_VIEW_MODE_C_STATIC == avatarViewMode) {
-                for (final JSONObject breezemoon : ret) {
-                    breezemoon.put(Breezemoon.BREEZEMOON_T_AUTHOR_THUMBNAIL_URL + "48", breezemoon.optString(Breezemoon.BREEZEMOON_T_AUTHOR_THUMBNAIL_URL + "48Static"));
-                }
-            }
-
             return ret;
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "Get side breezemoons failed", e);
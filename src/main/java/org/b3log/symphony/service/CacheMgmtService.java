@@ -26,14 +26,19 @@ import org.b3log.latke.ioc.Inject;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.repository.jdbc.util.Connections;
 import org.b3log.latke.service.annotation.Service;
+import org.b3log.symphony.cache.ActivityCache;
 import org.b3log.symphony.cache.ArticleCache;
+import org.b3log.symphony.cache.BreezemoonCache;
 import org.b3log.symphony.cache.DomainCache;
+import org.b3log.symphony.cache.OptionCache;
 import org.b3log.symphony.cache.TagCache;
+import org.b3log.symphony.cache.TagGraphCache;
 import org.b3log.symphony.model.Common;
 import org.b3log.symphony.processor.StatisticProcessor;
 import org.b3log.symphony.processor.channel.ArticleChannel;
 import org.b3log.symphony.processor.channel.ArticleListChannel;
 import org.b3log.symphony.processor.channel.ChatroomChannel;
+import org.b3log.symphony.util.Sessions;
 import org.b3log.symphony.util.Symphonys;
 import org.json.JSONObject;
 
@@ -41,7 +46,7 @@ import org.json.JSONObject;
  * Cache management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.0, Dec 2, 2018
+ * @version 1.0.5.0, Oct 19, 2026
  * @since 3.4.5
  */
 @Service
@@ -63,6 +68,12 @@ public class CacheMgmtService {
     @Inject
     private TagCache tagCache;
 
+    /**
+     * Tag graph cache.
+     */
+    @Inject
+    private TagGraphCache tagGraphCache;
+
     /**
      * Domain cache.
      */
@@ -75,6 +86,24 @@ public class CacheMgmtService {
     @Inject
     private ArticleCache articleCache;
 
+    /**
+     * Breezemoon cache.
+     */
+    @Inject
+    private BreezemoonCache breezemoonCache;
+
+    /**
+     * Activity cache.
+     */
+    @Inject
+    private ActivityCache activityCache;
+
+    /**
+     * Option cache.
+     */
+    @Inject
+    private OptionCache optionCache;
+
     /**
      * User management service.
      */
@@ -104,10 +133,14 @@ public class CacheMgmtService {
         try {
             LOGGER.info("Refreshing cache");
             domainCache.loadDomains();
+            optionCache.loadMiscOptions();
             articleCache.loadPerfectArticles();
             articleCache.loadSideHotArticles();
             articleCache.loadSideRandomArticles();
+            breezemoonCache.loadSideBreezemoons();
             tagCache.loadTags();
+            tagGraphCache.loadTagGraph();
+            activityCache.removeExpiredStates();
             final StatisticProcessor statisticProcessor = BeanManager.getInstance().getReference(StatisticProcessor.class);
             statisticProcessor.loadStatData();
             userQueryService.loadUserNames();
@@ -126,6 +159,7 @@ public class CacheMgmtService {
         ret.put(Common.ARTICLE_CHANNEL_CNT, ArticleChannel.SESSIONS.size());
         ret.put(Common.ARTICLE_LIST_CHANNEL_CNT, ArticleListChannel.SESSIONS.size());
         ret.put(Common.THREAD_CNT, Symphonys.getActiveThreadCount() + "/" + Symphonys.getMaxThreadCount());
+        ret.put(Common.COOKIE_DECRYPT_CNT, Sessions.getTotalCookieDecrypts());
         ret.put(Common.DB_CONN_CNT, Connections.getActiveConnectionCount() + "/" + Connections.getTotalConnectionCount() + "/" + Connections.getMaxConnectionCount());
         ret.put(Keys.Runtime.RUNTIME_CACHE, Latkes.getRuntimeCache().name());
         ret.put(Keys.Runtime.RUNTIME_DATABASE, Latkes.getRuntimeDatabase().name());
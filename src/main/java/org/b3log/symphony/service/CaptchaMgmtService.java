@@ -0,0 +1,305 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-present, b3log.org
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.service;
+
+import com.google.common.cache.CacheBuilder;
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.service.annotation.Service;
+import org.b3log.latke.util.Strings;
+import org.b3log.symphony.model.Common;
+import org.json.JSONObject;
+import org.patchca.color.ColorFactory;
+import org.patchca.color.GradientColorFactory;
+import org.patchca.color.RandomColorFactory;
+import org.patchca.filter.predefined.CurvesRippleFilterFactory;
+import org.patchca.font.RandomFontFactory;
+import org.patchca.service.Captcha;
+import org.patchca.service.ConfigurableCaptchaService;
+import org.patchca.word.RandomWordFactory;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Captcha management service.
+ * <p>
+ * Captcha images are rendered and PNG-encoded in background into a pool, serving a captcha is a pool pop. Issued
+ * challenges are kept in a bounded store keyed by session and expire after {@link #CHALLENGE_EXPIRE}. When the store
+ * is full the oldest challenges are evicted. A session holds one challenge only, a new one replaces it. Each client IP
+ * keeps at most {@link #MAX_CLIENT_CHALLENGES} sessions with challenges, the oldest session of the client is evicted
+ * instead of refusing a new one. The cap is large since users behind one NAT or proxy share an IP, it only keeps a
+ * client hammering /captcha with new sessions from flushing out the challenges of other clients.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.1.1.0, Oct 19, 2026
+ * @since 3.6.0
+ */
+@Service
+public class CaptchaMgmtService {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(CaptchaMgmtService.class);
+
+    /**
+     * Key of captcha.
+     */
+    private static final String CAPTCHA = "captcha";
+
+    /**
+     * Key of expiration time.
+     */
+    private static final String EXPIRED = "expired";
+
+    /**
+     * Captcha length.
+     */
+    public static final int CAPTCHA_LENGTH = 4;
+
+    /**
+     * Captcha chars.
+     */
+    private static final String CHARS = "acdefhijklmnprstuvwxy234578";
+
+    /**
+     * Pool size.
+     */
+    private static final int POOL_SIZE = 256;
+
+    /**
+     * Maximum number of stored challenges.
+     */
+    private static final int MAX_CHALLENGES = 8192;
+
+    /**
+     * Maximum number of stored challenges of a client IP.
+     */
+    private static final int MAX_CLIENT_CHALLENGES = 512;
+
+    /**
+     * Challenge expiration time, 10 minutes.
+     */
+    private static final long CHALLENGE_EXPIRE = 10 * 60 * 1000;
+
+    /**
+     * Pre-rendered captchas, for example <pre>
+     * {
+     *     "captcha": "a2c4",
+     *     "data": byte[] // PNG
+     * }
+     * </pre>
+     */
+    private static final BlockingQueue<JSONObject> POOL = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    /**
+     * Issued challenges, &lt;sessionId, {captcha, expired}&gt;.
+     */
+    private static final com.google.common.cache.Cache<String, JSONObject> CHALLENGES = CacheBuilder.newBuilder().
+            maximumSize(MAX_CHALLENGES).
+            expireAfterWrite(CHALLENGE_EXPIRE, TimeUnit.MILLISECONDS).
+            build();
+
+    /**
+     * Sessions of challenges issued to clients, &lt;client IP, sessionIds&gt;, oldest first.
+     */
+    private static final com.google.common.cache.Cache<String, Deque<String>> CLIENT_SESSIONS = CacheBuilder.newBuilder().
+            maximumSize(MAX_CHALLENGES).
+            expireAfterAccess(CHALLENGE_EXPIRE, TimeUnit.MILLISECONDS).
+            build();
+
+    /**
+     * Available font names, resolved once.
+     */
+    private static volatile List<String> fonts;
+
+    /**
+     * Fills the captcha pool up.
+     */
+    public void fillPool() {
+        final ConfigurableCaptchaService gradient = newCaptchaService(new GradientColorFactory());
+        final ConfigurableCaptchaService random = newCaptchaService(new RandomColorFactory());
+        while (POOL.remainingCapacity() > 0) {
+            final JSONObject captcha = renderCaptcha(0.5 < Math.random() ? gradient : random);
+            if (null == captcha || !POOL.offer(captcha)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Pops a captcha from the pool, renders one on the caller thread if the pool is drained.
+     *
+     * @return captcha, for example <pre>
+     * {
+     *     "captcha": "a2c4",
+     *     "data": byte[] // PNG
+     * }
+     * </pre>, returns {@code null} if render failed
+     */
+    public JSONObject popCaptcha() {
+        final JSONObject ret = POOL.poll();
+        if (null != ret) {
+            return ret;
+        }
+
+        LOGGER.log(Level.DEBUG, "Captcha pool is drained");
+
+        return renderCaptcha(newCaptchaService(0.5 < Math.random() ? new GradientColorFactory() : new RandomColorFactory()));
+    }
+
+    /**
+     * Stores the specified challenge for the specified session of the specified client.
+     *
+     * @param sessionId the specified session id
+     * @param clientIP  the specified client IP
+     * @param challenge the specified challenge
+     */
+    public void putChallenge(final String sessionId, final String clientIP, final String challenge) {
+        try {
+            final Deque<String> sessionIds = CLIENT_SESSIONS.get(StringUtils.defaultString(clientIP), ArrayDeque::new);
+            synchronized (sessionIds) {
+                sessionIds.remove(sessionId);
+                sessionIds.addLast(sessionId);
+                while (MAX_CLIENT_CHALLENGES < sessionIds.size()) {
+                    CHALLENGES.invalidate(sessionIds.removeFirst());
+                }
+            }
+        } catch (final ExecutionException e) {
+            LOGGER.log(Level.ERROR, "Gets challenges of client [ip=" + clientIP + "] failed", e);
+        }
+
+        final JSONObject value = new JSONObject();
+        value.put(CAPTCHA, challenge);
+        value.put(EXPIRED, System.currentTimeMillis() + CHALLENGE_EXPIRE);
+        CHALLENGES.put(sessionId, value);
+    }
+
+    /**
+     * Checks the specified captcha against the challenge issued to the specified session. A challenge can be checked
+     * only once.
+     *
+     * @param sessionId the specified session id
+     * @param captcha   the specified captcha
+     * @return {@code true} if the captcha is valid, returns {@code false} otherwise
+     */
+    public boolean checkChallenge(final String sessionId, final String captcha) {
+        if (StringUtils.isBlank(sessionId) || StringUtils.isBlank(captcha) || CAPTCHA_LENGTH != captcha.length()) {
+            return false;
+        }
+
+        final JSONObject value = CHALLENGES.asMap().remove(sessionId);
+        if (null == value || System.currentTimeMillis() > value.optLong(EXPIRED)) {
+            return false;
+        }
+
+        return captcha.equals(value.optString(CAPTCHA));
+    }
+
+    /**
+     * Removes expired challenges.
+     */
+    public void removeExpiredChallenges() {
+        CHALLENGES.cleanUp();
+        CLIENT_SESSIONS.cleanUp();
+    }
+
+    /**
+     * Renders a captcha with the specified captcha service.
+     *
+     * @param captchaService the specified captcha service
+     * @return captcha, returns {@code null} if render failed
+     */
+    private static JSONObject renderCaptcha(final ConfigurableCaptchaService captchaService) {
+        try (final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            final Captcha captcha = captchaService.getCaptcha();
+            ImageIO.write(captcha.getImage(), "png", baos);
+
+            final JSONObject ret = new JSONObject();
+            ret.put(CAPTCHA, captcha.getChallenge());
+            ret.put(Common.DATA, baos.toByteArray());
+
+            return ret;
+        } catch (final IOException e) {
+            LOGGER.log(Level.ERROR, "Renders captcha failed", e);
+
+            return null;
+        }
+    }
+
+    /**
+     * Creates a captcha service with the specified color factory.
+     *
+     * @param colorFactory the specified color factory
+     * @return captcha service
+     */
+    private static ConfigurableCaptchaService newCaptchaService(final ColorFactory colorFactory) {
+        final ConfigurableCaptchaService ret = new ConfigurableCaptchaService();
+        ret.setColorFactory(colorFactory);
+        ret.setFilterFactory(new CurvesRippleFilterFactory(ret.getColorFactory()));
+        final RandomWordFactory randomWordFactory = new RandomWordFactory();
+        randomWordFactory.setCharacters(CHARS);
+        randomWordFactory.setMinLength(CAPTCHA_LENGTH);
+        randomWordFactory.setMaxLength(CAPTCHA_LENGTH);
+        ret.setWordFactory(randomWordFactory);
+        ret.setFontFactory(new RandomFontFactory(getAvailableFonts()));
+
+        return ret;
+    }
+
+    /**
+     * Gets available font names. Enumerating system fonts is expensive, so it is done only once.
+     *
+     * @return font names
+     */
+    private static List<String> getAvailableFonts() {
+        if (null != fonts) {
+            return fonts;
+        }
+
+        final List<String> ret = new ArrayList<>();
+        final GraphicsEnvironment e = GraphicsEnvironment.getLocalGraphicsEnvironment();
+        final Font[] allFonts = e.getAllFonts();
+        for (final Font f : allFonts) {
+            if (Strings.contains(f.getFontName(), new String[]{"Verdana", "DejaVu Sans Mono", "Tahoma"})) {
+                ret.add(f.getFontName());
+            }
+        }
+
+        final String defaultFontName = new JLabel().getFont().getFontName();
+        ret.add(defaultFontName);
+        fonts = Collections.unmodifiableList(ret);
+
+        return fonts;
+    }
+}
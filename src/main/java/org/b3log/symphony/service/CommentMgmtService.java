@@ -17,6 +17,7 @@
  */
 package org.b3log.symphony.service;
 
+import com.google.common.util.concurrent.Striped;
 import org.apache.commons.lang.StringUtils;
 import org.b3log.latke.Keys;
 import org.b3log.latke.event.Event;
@@ -32,10 +33,13 @@ import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.latke.util.CollectionUtils;
 import org.b3log.latke.util.Ids;
+import org.b3log.symphony.cache.CommentCache;
+import org.b3log.symphony.cache.OptionCache;
 import org.b3log.symphony.event.EventTypes;
 import org.b3log.symphony.model.*;
 import org.b3log.symphony.repository.*;
 import org.b3log.symphony.util.Emotions;
+import org.b3log.symphony.util.Locks;
 import org.b3log.symphony.util.Runes;
 import org.b3log.symphony.util.Symphonys;
 import org.json.JSONObject;
@@ -43,12 +47,13 @@ import org.json.JSONObject;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.locks.Lock;
 
 /**
  * Comment management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.15.0.5, Apr 1, 2019
+ * @version 2.16.2.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Service
@@ -60,40 +65,40 @@ public class CommentMgmtService {
     private static final Logger LOGGER = Logger.getLogger(CommentMgmtService.class);
 
     /**
-     * Revision repository.
+     * Comment locks, striped by article id and commenter id. Comments of the same article or by the same commenter are
+     * added one by one.
      */
-    @Inject
-    private RevisionRepository revisionRepository;
+    private static final Striped<Lock> COMMENT_LOCKS = Striped.lock(256);
 
     /**
-     * Comment repository.
+     * Counter management service.
      */
     @Inject
-    private CommentRepository commentRepository;
+    private CounterMgmtService counterMgmtService;
 
     /**
-     * Article repository.
+     * Revision repository.
      */
     @Inject
-    private ArticleRepository articleRepository;
+    private RevisionRepository revisionRepository;
 
     /**
-     * Option repository.
+     * Comment repository.
      */
     @Inject
-    private OptionRepository optionRepository;
+    private CommentRepository commentRepository;
 
     /**
-     * Tag repository.
+     * Article repository.
      */
     @Inject
-    private TagRepository tagRepository;
+    private ArticleRepository articleRepository;
 
     /**
-     * Tag-Article repository.
+     * Option cache.
      */
     @Inject
-    private TagArticleRepository tagArticleRepository;
+    private OptionCache optionCache;
 
     /**
      * User repository.
@@ -149,6 +154,12 @@ public class CommentMgmtService {
     @Inject
     private LivenessMgmtService livenessMgmtService;
 
+    /**
+     * Comment cache.
+     */
+    @Inject
+    private CommentCache commentCache;
+
     /**
      * Accepts a comment specified with the given comment id.
      *
@@ -378,7 +389,25 @@ public class CommentMgmtService {
      * @return generated comment id
      * @throws ServiceException service exception
      */
-    public synchronized String addComment(final JSONObject requestJSONObject) throws ServiceException {
+    public String addComment(final JSONObject requestJSONObject) throws ServiceException {
+        final List<Lock> locks = Locks.lock(COMMENT_LOCKS, Arrays.asList(requestJSONObject.optString(Comment.COMMENT_ON_ARTICLE_ID),
+                requestJSONObject.optString(Comment.COMMENT_AUTHOR_ID)));
+        try {
+            return addCommentLocked(requestJSONObject);
+        } finally {
+            Locks.unlock(locks);
+        }
+    }
+
+    /**
+     * Adds a comment with the specified request json object, the caller should hold the locks of the commented article
+     * and the commenter.
+     *
+     * @param requestJSONObject the specified request json object, see {@link #addComment(JSONObject)} for more details
+     * @return generated comment id
+     * @throws ServiceException service exception
+     */
+    private String addCommentLocked(final JSONObject requestJSONObject) throws ServiceException {
         final long currentTimeMillis = System.currentTimeMillis();
         final String commentAuthorId = requestJSONObject.optString(Comment.COMMENT_AUTHOR_ID);
         JSONObject commenter;
@@ -417,9 +446,7 @@ public class CommentMgmtService {
         JSONObject article;
         try {
             // check if admin allow to add comment
-            final JSONObject option = optionRepository.get(Option.ID_C_MISC_ALLOW_ADD_COMMENT);
-
-            if (!"0".equals(option.optString(Option.OPTION_VALUE))) {
+            if (!optionCache.isMiscAllowed(Option.ID_C_MISC_ALLOW_ADD_COMMENT)) {
                 throw new ServiceException(langPropsService.get("notAllowAddCommentLabel"));
             }
 
@@ -502,28 +529,12 @@ public class CommentMgmtService {
             comment.put(Comment.COMMENT_ANONYMOUS, commentAnonymous);
             comment.put(Comment.COMMENT_VISIBLE, commentVisible);
 
-            final JSONObject cmtCntOption = optionRepository.get(Option.ID_C_STATISTIC_CMT_COUNT);
-            final int cmtCnt = cmtCntOption.optInt(Option.OPTION_VALUE);
-            cmtCntOption.put(Option.OPTION_VALUE, String.valueOf(cmtCnt + 1));
-
             articleRepository.update(articleId, article); // Updates article comment count, latest commenter name and time
-            optionRepository.update(Option.ID_C_STATISTIC_CMT_COUNT, cmtCntOption); // Updates global comment count
-            // Updates tag comment count and User-Tag relation
-            final String tagsString = article.optString(Article.ARTICLE_TAGS);
-            final String[] tagStrings = tagsString.split(",");
-            for (int i = 0; i < tagStrings.length; i++) {
-                final String tagTitle = tagStrings[i].trim();
-                final JSONObject tag = tagRepository.getByTitle(tagTitle);
-                tag.put(Tag.TAG_COMMENT_CNT, tag.optInt(Tag.TAG_COMMENT_CNT) + 1);
-                tag.put(Tag.TAG_RANDOM_DOUBLE, Math.random());
-
-                tagRepository.update(tag.optString(Keys.OBJECT_ID), tag);
-            }
 
             // Updates user comment count, latest comment time
             commenter.put(UserExt.USER_COMMENT_COUNT, commenter.optInt(UserExt.USER_COMMENT_COUNT) + 1);
             commenter.put(UserExt.USER_LATEST_CMT_TIME, currentTimeMillis);
-            userRepository.update(commenter.optString(Keys.OBJECT_ID), commenter);
+            userRepository.update(commenter.optString(Keys.OBJECT_ID), commenter, UserExt.USER_COMMENT_COUNT, UserExt.USER_LATEST_CMT_TIME);
 
             comment.put(Comment.COMMENT_THANK_CNT, 0);
             comment.put(Comment.COMMENT_GOOD_CNT, 0);
@@ -536,15 +547,6 @@ public class CommentMgmtService {
             // Adds the comment
             final String commentId = commentRepository.add(comment);
 
-            // Updates tag-article relation stat.
-            final List<JSONObject> tagArticleRels = tagArticleRepository.getByArticleId(articleId);
-            for (final JSONObject tagArticleRel : tagArticleRels) {
-                tagArticleRel.put(Article.ARTICLE_LATEST_CMT_TIME, currentTimeMillis);
-                tagArticleRel.put(Article.ARTICLE_COMMENT_CNT, article.optInt(Article.ARTICLE_COMMENT_CNT));
-
-                tagArticleRepository.update(tagArticleRel.optString(Keys.OBJECT_ID), tagArticleRel);
-            }
-
             // Revision
             final JSONObject revision = new JSONObject();
             revision.put(Revision.REVISION_AUTHOR_ID, comment.optString(Comment.COMMENT_AUTHOR_ID));
@@ -557,6 +559,9 @@ public class CommentMgmtService {
 
             transaction.commit();
 
+            // Global comment count, tag comment count and tag-article relation stat are written behind
+            counterMgmtService.incCommentCount(article);
+
             if (Comment.COMMENT_ANONYMOUS_C_PUBLIC == commentAnonymous && Article.ARTICLE_ANONYMOUS_C_PUBLIC == articleAnonymous) {
                 final String articleAuthorId = article.optString(Article.ARTICLE_AUTHOR_ID);
                 if (articleAuthorId.equals(commentAuthorId)) {
@@ -637,6 +642,7 @@ public class CommentMgmtService {
             }
 
             transaction.commit();
+            commentCache.removeRenderedContent(commentId);
 
             final JSONObject article = articleRepository.get(comment.optString(Comment.COMMENT_ON_ARTICLE_ID));
             final int articleAnonymous = article.optInt(Article.ARTICLE_ANONYMOUS);
@@ -696,6 +702,7 @@ public class CommentMgmtService {
             commentRepository.update(commentId, comment);
 
             transaction.commit();
+            commentCache.removeRenderedContent(commentId);
         } catch (final RepositoryException e) {
             if (transaction.isActive()) {
                 transaction.rollback();
@@ -17,6 +17,7 @@
  */
 package org.b3log.symphony.service;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.time.DateFormatUtils;
 import org.b3log.latke.Keys;
@@ -30,6 +31,7 @@ import org.b3log.latke.repository.*;
 import org.b3log.latke.service.LangPropsService;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.latke.util.*;
+import org.b3log.symphony.cache.CommentCache;
 import org.b3log.symphony.model.*;
 import org.b3log.symphony.repository.ArticleRepository;
 import org.b3log.symphony.repository.CommentRepository;
@@ -46,7 +48,7 @@ import java.util.concurrent.TimeUnit;
  * Comment management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.12.2.7, May 12, 2019
+ * @version 2.14.0.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Service
@@ -105,6 +107,12 @@ public class CommentQueryService {
     @Inject
     private ShortLinkQueryService shortLinkQueryService;
 
+    /**
+     * Comment cache.
+     */
+    @Inject
+    private CommentCache commentCache;
+
 
     /**
      * Gets the URL of a comment.
@@ -221,6 +229,72 @@ public class CommentQueryService {
         }
     }
 
+    /**
+     * Gets the page number of a comment in the specified comment ids of an article.
+     *
+     * @param articleCmtIds the specified comment ids of an article, in ascending order
+     * @param commentId     the specified comment id
+     * @param sortMode      the specified sort mode
+     * @param pageSize      the specified comment page size
+     * @return page number
+     * @see #getCommentIds(String)
+     */
+    private static int getCommentPage(final List<String> articleCmtIds, final String commentId, final int sortMode, final int pageSize) {
+        final int index = Collections.binarySearch(articleCmtIds, commentId);
+        final int lessCnt = 0 <= index ? index : -index - 1;
+        final int num = UserExt.USER_COMMENT_VIEW_MODE_C_REALTIME == sortMode
+                ? articleCmtIds.size() - lessCnt - (0 <= index ? 1 : 0) : lessCnt;
+
+        return num / pageSize + 1;
+    }
+
+    /**
+     * Gets all comment ids of an article specified by the given article id.
+     *
+     * @param articleId the given article id
+     * @return comment ids in ascending order, returns an empty list if not found
+     */
+    private List<String> getCommentIds(final String articleId) {
+        Stopwatchs.start("Get comment ids");
+        try {
+            final Query query = new Query().setPageCount(1).select(Keys.OBJECT_ID).
+                    setFilter(new PropertyFilter(Comment.COMMENT_ON_ARTICLE_ID, FilterOperator.EQUAL, articleId)).
+                    addSort(Keys.OBJECT_ID, SortDirection.ASCENDING);
+            final List<String> ret = new ArrayList<>();
+            for (final JSONObject comment : commentRepository.getList(query)) {
+                ret.add(comment.optString(Keys.OBJECT_ID));
+            }
+
+            return ret;
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Gets comment ids of article [" + articleId + "] failed", e);
+
+            return Collections.emptyList();
+        } finally {
+            Stopwatchs.end();
+        }
+    }
+
+    /**
+     * Gets the author thumbnail URL of the specified comment without organizing the comment.
+     *
+     * @param comment the specified comment, at least contains author id and anonymous
+     * @return author thumbnail URL
+     * @throws RepositoryException repository exception
+     */
+    private String getCommentAuthorThumbnailURL(final JSONObject comment) throws RepositoryException {
+        if (Comment.COMMENT_ANONYMOUS_C_PUBLIC != comment.optInt(Comment.COMMENT_ANONYMOUS)) {
+            return avatarQueryService.getDefaultAvatarURL("48");
+        }
+
+        final JSONObject author = userRepository.get(comment.optString(Comment.COMMENT_AUTHOR_ID));
+        if (null == author) {
+            return avatarQueryService.getDefaultAvatarURL("48");
+        }
+
+        return avatarQueryService.getAvatarURLByUser(author, "48");
+    }
+
     /**
      * Gets original comment of a comment specified by the given comment id.
      *
@@ -643,15 +717,36 @@ public class CommentQueryService {
 
             Stopwatchs.start("Revision, paging, original");
             try {
+                final Set<String> validCmtIds = new HashSet<>();
+                final Set<String> originalCmtIds = new HashSet<>();
+                for (final JSONObject comment : ret) {
+                    if (Comment.COMMENT_STATUS_C_VALID == comment.optInt(Comment.COMMENT_STATUS)) {
+                        validCmtIds.add(comment.optString(Keys.OBJECT_ID));
+                    }
+
+                    final String originalCmtId = comment.optString(Comment.COMMENT_ORIGINAL_COMMENT_ID);
+                    if (StringUtils.isNotBlank(originalCmtId)) {
+                        originalCmtIds.add(originalCmtId);
+                    }
+                }
+
+                final Map<String, Integer> revisionCounts = revisionQueryService.count(validCmtIds, Revision.DATA_TYPE_C_COMMENT);
+                final List<String> articleCmtIds = originalCmtIds.isEmpty() ? Collections.emptyList() : getCommentIds(articleId);
+                final Map<String, JSONObject> originalCmts = new HashMap<>();
+                if (!originalCmtIds.isEmpty()) {
+                    final Query originalQuery = new Query().setPageCount(1).
+                            select(Keys.OBJECT_ID, Comment.COMMENT_AUTHOR_ID, Comment.COMMENT_ANONYMOUS).
+                            setFilter(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.IN, originalCmtIds));
+                    for (final JSONObject originalCmt : commentRepository.getList(originalQuery)) {
+                        originalCmts.put(originalCmt.optString(Keys.OBJECT_ID), originalCmt);
+                    }
+                }
+
                 for (final JSONObject comment : ret) {
                     final String commentId = comment.optString(Keys.OBJECT_ID);
 
                     // Fill revision count
-                    comment.put(Comment.COMMENT_REVISION_COUNT, 0);
-                    if (Comment.COMMENT_STATUS_C_VALID == comment.optInt(Comment.COMMENT_STATUS)) {
-                        comment.put(Comment.COMMENT_REVISION_COUNT,
-                                revisionQueryService.count(commentId, Revision.DATA_TYPE_C_COMMENT));
-                    }
+                    comment.put(Comment.COMMENT_REVISION_COUNT, revisionCounts.getOrDefault(commentId, 0));
 
                     final String originalCmtId = comment.optString(Comment.COMMENT_ORIGINAL_COMMENT_ID);
                     if (StringUtils.isBlank(originalCmtId)) {
@@ -660,14 +755,12 @@ public class CommentQueryService {
 
                     // Fill page number
                     comment.put(Pagination.PAGINATION_CURRENT_PAGE_NUM,
-                            getCommentPage(articleId, originalCmtId, sortMode, pageSize));
+                            getCommentPage(articleCmtIds, originalCmtId, sortMode, pageSize));
 
                     // Fill original comment
-                    final JSONObject originalCmt = commentRepository.get(originalCmtId);
+                    final JSONObject originalCmt = originalCmts.get(originalCmtId);
                     if (null != originalCmt) {
-                        organizeComment(originalCmt);
-                        comment.put(Comment.COMMENT_T_ORIGINAL_AUTHOR_THUMBNAIL_URL,
-                                originalCmt.optString(Comment.COMMENT_T_AUTHOR_THUMBNAIL_URL));
+                        comment.put(Comment.COMMENT_T_ORIGINAL_AUTHOR_THUMBNAIL_URL, getCommentAuthorThumbnailURL(originalCmt));
                     } else {
                         comment.put(Comment.COMMENT_ORIGINAL_COMMENT_ID, "");
                     }
@@ -875,7 +968,15 @@ public class CommentQueryService {
             return;
         }
 
+        final String commentId = comment.optString(Keys.OBJECT_ID);
         String commentContent = comment.optString(Comment.COMMENT_CONTENT);
+        final String contentHash = DigestUtils.md5Hex(commentContent);
+        final String renderedContent = commentCache.getRenderedContent(commentId, contentHash);
+        if (null != renderedContent) {
+            comment.put(Comment.COMMENT_CONTENT, renderedContent);
+
+            return;
+        }
 
         commentContent = shortLinkQueryService.linkArticle(commentContent);
         commentContent = Emotions.convert(commentContent);
@@ -884,5 +985,6 @@ public class CommentQueryService {
         commentContent = MP3Players.render(commentContent);
         commentContent = VideoPlayers.render(commentContent);
         comment.put(Comment.COMMENT_CONTENT, commentContent);
+        commentCache.putRenderedContent(commentId, contentHash, commentContent);
     }
 }
@@ -0,0 +1,237 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-present, b3log.org
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.service;
+
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.Inject;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.RepositoryException;
+import org.b3log.latke.repository.Transaction;
+import org.b3log.latke.service.annotation.Service;
+import org.b3log.symphony.model.Article;
+import org.b3log.symphony.model.Option;
+import org.b3log.symphony.model.Tag;
+import org.b3log.symphony.repository.OptionRepository;
+import org.b3log.symphony.repository.TagArticleRepository;
+import org.b3log.symphony.repository.TagRepository;
+import org.b3log.symphony.util.Locks;
+import org.json.JSONObject;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Counter management service.
+ * <p>
+ * Aggregates denormalized counters (statistic options, tag comment counts and tag-article relation stats) in memory
+ * and writes them behind in batches, so adding an article or a comment does not contend on the shared option and tag
+ * rows. Pending deltas are drained atomically per key, a failed flush puts them back for the next round.
+ * Only the counter columns of the rows are written, concurrent changes to other columns are kept.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.2.1.0, Oct 19, 2026
+ * @since 3.6.0
+ */
+@Service
+public class CounterMgmtService {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(CounterMgmtService.class);
+
+    /**
+     * Suffix of city article count option id.
+     */
+    private static final String CITY_ARTICLE_CNT_SUFFIX = "-ArticleCount";
+
+    /**
+     * Pending statistic option deltas, &lt;optionId, delta&gt;.
+     */
+    private static final Map<String, Integer> OPTION_CNTS = new ConcurrentHashMap<>();
+
+    /**
+     * Pending tag comment count deltas, &lt;tagTitle, delta&gt;.
+     */
+    private static final Map<String, Integer> TAG_CMT_CNTS = new ConcurrentHashMap<>();
+
+    /**
+     * Pending tag-article relation stats, &lt;articleId, {articleCommentCnt, articleLatestCmtTime}&gt;.
+     */
+    private static final Map<String, JSONObject> TAG_ARTICLE_STATS = new ConcurrentHashMap<>();
+
+    /**
+     * Option repository.
+     */
+    @Inject
+    private OptionRepository optionRepository;
+
+    /**
+     * Tag repository.
+     */
+    @Inject
+    private TagRepository tagRepository;
+
+    /**
+     * Tag-Article repository.
+     */
+    @Inject
+    private TagArticleRepository tagArticleRepository;
+
+    /**
+     * Records a comment added to the specified article. The specified article should hold its comment count and
+     * latest comment time after the comment added.
+     *
+     * @param article the specified article
+     */
+    public void incCommentCount(final JSONObject article) {
+        OPTION_CNTS.merge(Option.ID_C_STATISTIC_CMT_COUNT, 1, Integer::sum);
+
+        final String[] tagTitles = article.optString(Article.ARTICLE_TAGS).split(",");
+        for (final String tagTitle : tagTitles) {
+            final String title = tagTitle.trim();
+            if (StringUtils.isNotBlank(title)) {
+                TAG_CMT_CNTS.merge(title, 1, Integer::sum);
+            }
+        }
+
+        final JSONObject stat = new JSONObject();
+        stat.put(Article.ARTICLE_COMMENT_CNT, article.optInt(Article.ARTICLE_COMMENT_CNT));
+        stat.put(Article.ARTICLE_LATEST_CMT_TIME, article.optLong(Article.ARTICLE_LATEST_CMT_TIME));
+        TAG_ARTICLE_STATS.put(article.optString(Keys.OBJECT_ID), stat);
+    }
+
+    /**
+     * Records an article added in the specified city.
+     *
+     * @param city the specified city, may be blank
+     */
+    public void incArticleCount(final String city) {
+        OPTION_CNTS.merge(Option.ID_C_STATISTIC_ARTICLE_COUNT, 1, Integer::sum);
+        if (StringUtils.isNotBlank(city)) {
+            OPTION_CNTS.merge(city + CITY_ARTICLE_CNT_SUFFIX, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Records a tag added.
+     */
+    public void incTagCount() {
+        OPTION_CNTS.merge(Option.ID_C_STATISTIC_TAG_COUNT, 1, Integer::sum);
+    }
+
+    /**
+     * Writes pending counters to the repositories.
+     */
+    public synchronized void flush() {
+        final Map<String, Integer> optionCnts = drain(OPTION_CNTS);
+        final Map<String, Integer> tagCmtCnts = drain(TAG_CMT_CNTS);
+        final Map<String, JSONObject> tagArticleStats = drain(TAG_ARTICLE_STATS);
+        if (optionCnts.isEmpty() && tagCmtCnts.isEmpty() && tagArticleStats.isEmpty()) {
+            return;
+        }
+
+        final List<Lock> tagLocks = Locks.lockTags(tagCmtCnts.keySet());
+        final Transaction transaction = optionRepository.beginTransaction();
+        try {
+            for (final Map.Entry<String, Integer> optionCnt : optionCnts.entrySet()) {
+                final String optionId = optionCnt.getKey();
+                final JSONObject option = optionRepository.get(optionId);
+                if (null == option) {
+                    if (!optionId.endsWith(CITY_ARTICLE_CNT_SUFFIX)) {
+                        continue;
+                    }
+
+                    final String city = StringUtils.substringBeforeLast(optionId, CITY_ARTICLE_CNT_SUFFIX);
+                    final JSONObject cityArticleCntOption = new JSONObject();
+                    cityArticleCntOption.put(Keys.OBJECT_ID, optionId);
+                    cityArticleCntOption.put(Option.OPTION_VALUE, String.valueOf(optionCnt.getValue()));
+                    cityArticleCntOption.put(Option.OPTION_CATEGORY, city + "-statistic");
+                    optionRepository.add(cityArticleCntOption);
+
+                    continue;
+                }
+
+                option.put(Option.OPTION_VALUE, String.valueOf(option.optInt(Option.OPTION_VALUE) + optionCnt.getValue()));
+                optionRepository.update(optionId, option, Option.OPTION_VALUE);
+            }
+
+            final Map<String, JSONObject> tags = tagRepository.getByTitles(tagCmtCnts.keySet());
+            for (final Map.Entry<String, Integer> tagCmtCnt : tagCmtCnts.entrySet()) {
+                final JSONObject tag = tags.get(tagCmtCnt.getKey().toLowerCase());
+                if (null == tag) {
+                    continue;
+                }
+
+                tag.put(Tag.TAG_COMMENT_CNT, tag.optInt(Tag.TAG_COMMENT_CNT) + tagCmtCnt.getValue());
+                tag.put(Tag.TAG_RANDOM_DOUBLE, Math.random());
+                tagRepository.update(tag.optString(Keys.OBJECT_ID), tag, Tag.TAG_COMMENT_CNT, Tag.TAG_RANDOM_DOUBLE);
+            }
+
+            for (final Map.Entry<String, JSONObject> tagArticleStat : tagArticleStats.entrySet()) {
+                final JSONObject stat = tagArticleStat.getValue();
+                final List<JSONObject> tagArticleRels = tagArticleRepository.getByArticleId(tagArticleStat.getKey());
+                for (final JSONObject tagArticleRel : tagArticleRels) {
+                    tagArticleRel.put(Article.ARTICLE_LATEST_CMT_TIME, stat.optLong(Article.ARTICLE_LATEST_CMT_TIME));
+                    tagArticleRel.put(Article.ARTICLE_COMMENT_CNT, stat.optInt(Article.ARTICLE_COMMENT_CNT));
+                    tagArticleRepository.update(tagArticleRel.optString(Keys.OBJECT_ID), tagArticleRel,
+                            Article.ARTICLE_LATEST_CMT_TIME, Article.ARTICLE_COMMENT_CNT);
+                }
+            }
+
+            transaction.commit();
+        } catch (final RepositoryException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+
+            LOGGER.log(Level.ERROR, "Flushes counters failed", e);
+
+            optionCnts.forEach((optionId, delta) -> OPTION_CNTS.merge(optionId, delta, Integer::sum));
+            tagCmtCnts.forEach((tagTitle, delta) -> TAG_CMT_CNTS.merge(tagTitle, delta, Integer::sum));
+            tagArticleStats.forEach(TAG_ARTICLE_STATS::putIfAbsent);
+        } finally {
+            Locks.unlock(tagLocks);
+        }
+    }
+
+    /**
+     * Removes all pending entries from the specified map.
+     *
+     * @param pending the specified map
+     * @param <V>     the type of pending values
+     * @return removed entries
+     */
+    private static <V> Map<String, V> drain(final Map<String, V> pending) {
+        final Map<String, V> ret = new HashMap<>();
+        for (final String key : pending.keySet()) {
+            final V value = pending.remove(key);
+            if (null != value) {
+                ret.put(key, value);
+            }
+        }
+
+        return ret;
+    }
+}
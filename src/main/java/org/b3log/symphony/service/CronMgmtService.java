@@ -30,7 +30,7 @@ import java.util.concurrent.TimeUnit;
  * Cron management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.2, Nov 5, 2019
+ * @version 1.4.1.0, Oct 19, 2026
  * @since 3.4.5
  */
 @Service
@@ -101,6 +101,30 @@ public class CronMgmtService {
     @Inject
     private CacheMgmtService cacheMgmtService;
 
+    /**
+     * Captcha management service.
+     */
+    @Inject
+    private CaptchaMgmtService captchaMgmtService;
+
+    /**
+     * Sitemap management service.
+     */
+    @Inject
+    private SitemapMgmtService sitemapMgmtService;
+
+    /**
+     * Counter management service.
+     */
+    @Inject
+    private CounterMgmtService counterMgmtService;
+
+    /**
+     * Follow management service.
+     */
+    @Inject
+    private FollowMgmtService followMgmtService;
+
     /**
      * Start all cron tasks.
      */
@@ -130,6 +154,50 @@ public class CronMgmtService {
         }, delay, 5 * 1000, TimeUnit.MILLISECONDS);
         delay += 2000;
 
+        Symphonys.SCHEDULED_EXECUTOR_SERVICE.scheduleWithFixedDelay(() -> {
+            try {
+                captchaMgmtService.fillPool();
+                captchaMgmtService.removeExpiredChallenges();
+            } catch (final Exception e) {
+                LOGGER.log(Level.ERROR, "Executes cron failed", e);
+            } finally {
+                Stopwatchs.release();
+            }
+        }, 0, 1000, TimeUnit.MILLISECONDS);
+
+        Symphonys.SCHEDULED_EXECUTOR_SERVICE.scheduleWithFixedDelay(() -> {
+            try {
+                counterMgmtService.flush();
+            } catch (final Exception e) {
+                LOGGER.log(Level.ERROR, "Executes cron failed", e);
+            } finally {
+                Stopwatchs.release();
+            }
+        }, delay, 5 * 1000, TimeUnit.MILLISECONDS);
+        delay += 2000;
+
+        Symphonys.SCHEDULED_EXECUTOR_SERVICE.scheduleWithFixedDelay(() -> {
+            try {
+                articleMgmtService.genArticleDigests();
+            } catch (final Exception e) {
+                LOGGER.log(Level.ERROR, "Executes cron failed", e);
+            } finally {
+                Stopwatchs.release();
+            }
+        }, delay, 5 * 1000, TimeUnit.MILLISECONDS);
+        delay += 2000;
+
+        Symphonys.SCHEDULED_EXECUTOR_SERVICE.scheduleWithFixedDelay(() -> {
+            try {
+                followMgmtService.reconcileUserFollowCounts();
+            } catch (final Exception e) {
+                LOGGER.log(Level.ERROR, "Executes cron failed", e);
+            } finally {
+                Stopwatchs.release();
+            }
+        }, delay, 5 * 1000, TimeUnit.MILLISECONDS);
+        delay += 2000;
+
         Symphonys.SCHEDULED_EXECUTOR_SERVICE.scheduleAtFixedRate(() -> {
             try {
                 cacheMgmtService.refreshCache();
@@ -163,12 +231,35 @@ public class CronMgmtService {
             }
         }, delay, 2 * 60 * 60 * 1000, TimeUnit.MILLISECONDS);
         delay += 2000;
+
+        Symphonys.SCHEDULED_EXECUTOR_SERVICE.scheduleAtFixedRate(() -> {
+            try {
+                sitemapMgmtService.genSitemap();
+            } catch (final Exception e) {
+                LOGGER.log(Level.ERROR, "Executes cron failed", e);
+            } finally {
+                Stopwatchs.release();
+            }
+        }, delay, 24 * 60 * 60 * 1000, TimeUnit.MILLISECONDS);
+        delay += 2000;
+
+        Symphonys.SCHEDULED_EXECUTOR_SERVICE.scheduleWithFixedDelay(() -> {
+            try {
+                sitemapMgmtService.flushAppends();
+            } catch (final Exception e) {
+                LOGGER.log(Level.ERROR, "Executes cron failed", e);
+            } finally {
+                Stopwatchs.release();
+            }
+        }, delay, 5 * 60 * 1000, TimeUnit.MILLISECONDS);
+        delay += 2000;
     }
 
     /**
-     * Stop all cron tasks.
+     * Stop all cron tasks and flushes pending counters.
      */
     public void stop() {
         Symphonys.SCHEDULED_EXECUTOR_SERVICE.shutdown();
+        counterMgmtService.flush();
     }
 }
@@ -31,7 +31,9 @@ import org.b3log.latke.service.annotation.Service;
 import org.b3log.latke.util.Locales;
 import org.b3log.latke.util.Stopwatchs;
 import org.b3log.symphony.Server;
+import org.b3log.symphony.cache.BreezemoonCache;
 import org.b3log.symphony.cache.DomainCache;
+import org.b3log.symphony.cache.HeaderCache;
 import org.b3log.symphony.model.*;
 import org.b3log.symphony.util.Markdowns;
 import org.b3log.symphony.util.Sessions;
@@ -39,13 +41,14 @@ import org.b3log.symphony.util.Symphonys;
 import org.json.JSONObject;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
  * Data model service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.12.2.41, Sep 16, 2019
+ * @version 1.13.1.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Service
@@ -56,6 +59,11 @@ public class DataModelService {
      */
     private static final Logger LOGGER = Logger.getLogger(DataModelService.class);
 
+    /**
+     * Shared immutable language labels, &lt;locale, labels&gt;.
+     */
+    private static final Map<Locale, Map<String, String>> LANGS = new ConcurrentHashMap<>();
+
     /**
      * Language service.
      */
@@ -129,10 +137,16 @@ public class DataModelService {
     private DomainCache domainCache;
 
     /**
-     * Breezemoon query service.
+     * Header cache.
      */
     @Inject
-    private BreezemoonQueryService breezemoonQueryService;
+    private HeaderCache headerCache;
+
+    /**
+     * Breezemoon cache.
+     */
+    @Inject
+    private BreezemoonCache breezemoonCache;
 
     /**
      * Fills relevant articles.
@@ -352,13 +366,19 @@ public class DataModelService {
             avatarQueryService.fillUserAvatarURL(curUser);
             final String userId = curUser.optString(Keys.OBJECT_ID);
 
-            final long followingArticleCnt = followQueryService.getFollowingCount(userId, Follow.FOLLOWING_TYPE_C_ARTICLE);
-            final long followingTagCnt = followQueryService.getFollowingCount(userId, Follow.FOLLOWING_TYPE_C_TAG);
-            final long followingUserCnt = followQueryService.getFollowingCount(userId, Follow.FOLLOWING_TYPE_C_USER);
+            JSONObject state = headerCache.getState(userId);
+            if (null == state) {
+                state = new JSONObject();
+                state.put(Common.FOLLOWING_ARTICLE_CNT, followQueryService.getFollowingCount(userId, Follow.FOLLOWING_TYPE_C_ARTICLE));
+                state.put(Common.FOLLOWING_TAG_CNT, followQueryService.getFollowingCount(userId, Follow.FOLLOWING_TYPE_C_TAG));
+                state.put(Common.FOLLOWING_USER_CNT, followQueryService.getFollowingCount(userId, Follow.FOLLOWING_TYPE_C_USER));
+                state.put(Liveness.LIVENESS, livenessQueryService.getCurrentLivenessPoint(userId));
+                headerCache.putState(userId, state);
+            }
 
-            curUser.put(Common.FOLLOWING_ARTICLE_CNT, followingArticleCnt);
-            curUser.put(Common.FOLLOWING_TAG_CNT, followingTagCnt);
-            curUser.put(Common.FOLLOWING_USER_CNT, followingUserCnt);
+            curUser.put(Common.FOLLOWING_ARTICLE_CNT, state.optLong(Common.FOLLOWING_ARTICLE_CNT));
+            curUser.put(Common.FOLLOWING_TAG_CNT, state.optLong(Common.FOLLOWING_TAG_CNT));
+            curUser.put(Common.FOLLOWING_USER_CNT, state.optLong(Common.FOLLOWING_USER_CNT));
             final int point = curUser.optInt(UserExt.USER_POINT);
             final int appRole = curUser.optInt(UserExt.USER_APP_ROLE);
             if (UserExt.USER_APP_ROLE_C_HACKER == appRole) {
@@ -369,8 +389,14 @@ public class DataModelService {
 
             dataModel.put(Common.CURRENT_USER, curUser);
 
-            final JSONObject role = roleQueryService.getRole(userRole);
-            curUser.put(Role.ROLE_NAME, role.optString(Role.ROLE_NAME));
+            final Locale locale = Locales.getLocale();
+            String roleName = headerCache.getRoleName(userRole, locale);
+            if (null == roleName) {
+                final JSONObject role = roleQueryService.getRole(userRole);
+                roleName = role.optString(Role.ROLE_NAME);
+                headerCache.putRoleName(userRole, locale, roleName);
+            }
+            curUser.put(Role.ROLE_NAME, roleName);
 
             // final int unreadNotificationCount = notificationQueryService.getUnreadNotificationCount(curUser.optString(Keys.OBJECT_ID));
             dataModel.put(Notification.NOTIFICATION_T_UNREAD_COUNT, 0); // AJAX polling 
@@ -378,7 +404,7 @@ public class DataModelService {
             dataModel.put(Common.IS_DAILY_CHECKIN, activityQueryService.isCheckedinToday(userId));
 
             final int livenessMax = Symphonys.ACTIVITY_YESTERDAY_REWARD_MAX;
-            final int currentLiveness = livenessQueryService.getCurrentLivenessPoint(userId);
+            final int currentLiveness = state.optInt(Liveness.LIVENESS);
             dataModel.put(Liveness.LIVENESS, (float) (Math.round((float) currentLiveness / livenessMax * 100 * 100)) / 100);
         } finally {
             Stopwatchs.end();
@@ -412,7 +438,7 @@ public class DataModelService {
         Stopwatchs.start("Fills breezemoons");
         try {
             final int avatarViewMode = Sessions.getAvatarViewMode();
-            final List<JSONObject> sideBreezemoons = breezemoonQueryService.getSideBreezemoons(avatarViewMode);
+            final List<JSONObject> sideBreezemoons = breezemoonCache.getSideBreezemoons(avatarViewMode);
 
             dataModel.put(Common.SIDE_BREEZEMOONS, sideBreezemoons);
         } catch (final Exception e) {
@@ -423,14 +449,17 @@ public class DataModelService {
     }
 
     /**
-     * Fills the all language labels.
+     * Fills the all language labels. The labels are shared by all requests of the same locale rather than copied into
+     * each data model, {@link org.b3log.symphony.processor.SkinRenderer} resolves them as fallback of the data model.
      *
      * @param dataModel the specified data model
      */
     private void fillLangs(final Map<String, Object> dataModel) {
         Stopwatchs.start("Fills lang");
         try {
-            dataModel.putAll(langPropsService.getAll(Locales.getLocale()));
+            final Map<String, String> langs = LANGS.computeIfAbsent(Locales.getLocale(),
+                    locale -> Collections.unmodifiableMap(new HashMap<>(langPropsService.getAll(locale))));
+            dataModel.put(Common.LANGS, langs);
         } finally {
             Stopwatchs.end();
         }
@@ -27,25 +27,22 @@ import org.b3log.latke.repository.*;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.latke.util.CollectionUtils;
 import org.b3log.latke.util.Paginator;
+import org.b3log.symphony.cache.DomainCache;
 import org.b3log.symphony.model.Domain;
-import org.b3log.symphony.model.Tag;
 import org.b3log.symphony.repository.DomainRepository;
-import org.b3log.symphony.repository.DomainTagRepository;
 import org.b3log.symphony.repository.TagRepository;
 import org.b3log.symphony.util.Markdowns;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.jsoup.Jsoup;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 /**
  * Domain query service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.1, May 12, 2019
+ * @version 1.2.1.0, Oct 19, 2026
  * @since 1.4.0
  */
 @Service
@@ -69,10 +66,10 @@ public class DomainQueryService {
     private TagRepository tagRepository;
 
     /**
-     * Domain tag repository.
+     * Domain cache.
      */
     @Inject
-    private DomainTagRepository domainTagRepository;
+    private DomainCache domainCache;
 
     /**
      * Short link query service.
@@ -86,25 +83,7 @@ public class DomainQueryService {
      * @return domains, returns an empty list if not found
      */
     public List<JSONObject> getAllDomains() {
-        final Query query = new Query().
-                addSort(Domain.DOMAIN_SORT, SortDirection.ASCENDING).
-                addSort(Domain.DOMAIN_TAG_COUNT, SortDirection.DESCENDING).
-                addSort(Keys.OBJECT_ID, SortDirection.DESCENDING).
-                setPage(1, Integer.MAX_VALUE).setPageCount(1);
-        try {
-            final List<JSONObject> ret = CollectionUtils.jsonArrayToList(domainRepository.get(query).optJSONArray(Keys.RESULTS));
-            for (final JSONObject domain : ret) {
-                final List<JSONObject> tags = getTags(domain.optString(Keys.OBJECT_ID));
-
-                domain.put(Domain.DOMAIN_T_TAGS, (Object) tags);
-            }
-
-            return ret;
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Gets all domains failed", e);
-
-            return Collections.emptyList();
-        }
+        return domainCache.getAllDomains();
     }
 
     /**
@@ -114,26 +93,7 @@ public class DomainQueryService {
      * @return domains, returns an empty list if not found
      */
     public List<JSONObject> getMostTagNaviDomains(final int fetchSize) {
-        final Query query = new Query().
-                setFilter(new PropertyFilter(Domain.DOMAIN_NAV, FilterOperator.EQUAL, Domain.DOMAIN_NAV_C_ENABLED)).
-                addSort(Domain.DOMAIN_SORT, SortDirection.ASCENDING).
-                addSort(Domain.DOMAIN_TAG_COUNT, SortDirection.DESCENDING).
-                addSort(Keys.OBJECT_ID, SortDirection.DESCENDING).
-                setPage(1, fetchSize).setPageCount(1);
-        try {
-            final List<JSONObject> ret = CollectionUtils.jsonArrayToList(domainRepository.get(query).optJSONArray(Keys.RESULTS));
-            for (final JSONObject domain : ret) {
-                final List<JSONObject> tags = getTags(domain.optString(Keys.OBJECT_ID));
-
-                domain.put(Domain.DOMAIN_T_TAGS, (Object) tags);
-            }
-
-            return ret;
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Gets most tag navigation domains failed", e);
-
-            return Collections.emptyList();
-        }
+        return domainCache.getDomains(fetchSize);
     }
 
     /**
@@ -143,25 +103,7 @@ public class DomainQueryService {
      * @return tags, returns an empty list if not found
      */
     public List<JSONObject> getTags(final String domainId) {
-        final List<JSONObject> ret = new ArrayList<>();
-
-        final Query query = new Query().
-                setFilter(new PropertyFilter(Domain.DOMAIN + "_" + Keys.OBJECT_ID, FilterOperator.EQUAL, domainId));
-        try {
-            final List<JSONObject> relations = CollectionUtils.jsonArrayToList(
-                    domainTagRepository.get(query).optJSONArray(Keys.RESULTS));
-
-            for (final JSONObject relation : relations) {
-                final String tagId = relation.optString(Tag.TAG + "_" + Keys.OBJECT_ID);
-                final JSONObject tag = tagRepository.get(tagId);
-
-                ret.add(tag);
-            }
-        } catch (final RepositoryException e) {
-            LOGGER.log(Level.ERROR, "Gets domain [id=" + domainId + "] tags error", e);
-        }
-
-        return ret;
+        return domainCache.getTags(domainId);
     }
 
     /**
@@ -171,45 +113,39 @@ public class DomainQueryService {
      * @return domain, returns {@code null} if not null
      */
     public JSONObject getByURI(final String domainURI) {
-        try {
-            final JSONObject ret = domainRepository.getByURI(domainURI);
-            if (null == ret) {
-                return null;
-            }
-
-            if (Domain.DOMAIN_STATUS_C_VALID != ret.optInt(Domain.DOMAIN_STATUS)) {
-                return null;
-            }
-
-            String description = ret.optString(Domain.DOMAIN_DESCRIPTION);
-            String descriptionText = ret.optString(Domain.DOMAIN_TITLE);
-            if (StringUtils.isNotBlank(description)) {
-                description = Markdowns.toHTML(description);
+        final JSONObject ret = domainCache.getDomainByURI(domainURI);
+        if (null == ret) {
+            return null;
+        }
 
-                ret.put(Domain.DOMAIN_DESCRIPTION, description);
-                descriptionText = Jsoup.parse(description).text();
-            }
+        if (Domain.DOMAIN_STATUS_C_VALID != ret.optInt(Domain.DOMAIN_STATUS)) {
+            return null;
+        }
 
-            final String domainTitle = ret.optString(Domain.DOMAIN_TITLE);
+        String description = ret.optString(Domain.DOMAIN_DESCRIPTION);
+        String descriptionText = ret.optString(Domain.DOMAIN_TITLE);
+        if (StringUtils.isNotBlank(description)) {
+            description = Markdowns.toHTML(description);
 
-            if (StringUtils.isBlank(ret.optString(Domain.DOMAIN_SEO_TITLE))) {
-                ret.put(Domain.DOMAIN_SEO_TITLE, domainTitle);
-            }
+            ret.put(Domain.DOMAIN_DESCRIPTION, description);
+            descriptionText = Jsoup.parse(description).text();
+        }
 
-            if (StringUtils.isBlank(ret.optString(Domain.DOMAIN_SEO_DESC))) {
-                ret.put(Domain.DOMAIN_SEO_DESC, descriptionText);
-            }
+        final String domainTitle = ret.optString(Domain.DOMAIN_TITLE);
 
-            if (StringUtils.isBlank(ret.optString(Domain.DOMAIN_SEO_KEYWORDS))) {
-                ret.put(Domain.DOMAIN_SEO_KEYWORDS, domainTitle);
-            }
+        if (StringUtils.isBlank(ret.optString(Domain.DOMAIN_SEO_TITLE))) {
+            ret.put(Domain.DOMAIN_SEO_TITLE, domainTitle);
+        }
 
-            return ret;
-        } catch (final RepositoryException e) {
-            LOGGER.log(Level.ERROR, "Gets domain [URI=" + domainURI + "] failed", e);
+        if (StringUtils.isBlank(ret.optString(Domain.DOMAIN_SEO_DESC))) {
+            ret.put(Domain.DOMAIN_SEO_DESC, descriptionText);
+        }
 
-            return null;
+        if (StringUtils.isBlank(ret.optString(Domain.DOMAIN_SEO_KEYWORDS))) {
+            ret.put(Domain.DOMAIN_SEO_KEYWORDS, domainTitle);
         }
+
+        return ret;
     }
 
     /**
@@ -356,24 +292,15 @@ public class DomainQueryService {
      * @return {@code true} if the tag in the domain, returns {@code false} otherwise
      */
     public boolean containTag(final String tagTitle, final String domainId) {
-        try {
-            final JSONObject domain = domainRepository.get(domainId);
-            if (null == domain) {
-                return true;
-            }
+        if (null == domainCache.getDomain(domainId)) {
+            return true;
+        }
 
+        try {
             final JSONObject tag = tagRepository.getByTitle(tagTitle);
-            if (null == tag) {
-                return true;
-            }
 
-            final Query query = new Query().setFilter(
-                    CompositeFilterOperator.and(
-                            new PropertyFilter(Domain.DOMAIN + "_" + Keys.OBJECT_ID, FilterOperator.EQUAL, domainId),
-                            new PropertyFilter(Tag.TAG + "_" + Keys.OBJECT_ID, FilterOperator.EQUAL, tag.optString(Keys.OBJECT_ID))));
-
-            return domainTagRepository.count(query) > 0;
-        } catch (final Exception e) {
+            return null == tag || domainCache.containTag(tag.optString(Keys.OBJECT_ID), domainId);
+        } catch (final RepositoryException e) {
             LOGGER.log(Level.ERROR, "Check domain tag [tagTitle=" + tagTitle + ", domainId=" + domainId + "] failed", e);
 
             return true;
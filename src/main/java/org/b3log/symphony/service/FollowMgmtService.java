@@ -17,25 +17,43 @@
  */
 package org.b3log.symphony.service;
 
+import com.google.common.util.concurrent.Striped;
+import org.b3log.latke.Keys;
 import org.b3log.latke.ioc.Inject;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
-import org.b3log.latke.repository.RepositoryException;
-import org.b3log.latke.repository.annotation.Transactional;
+import org.b3log.latke.repository.*;
 import org.b3log.latke.service.annotation.Service;
+import org.b3log.symphony.cache.HeaderCache;
+import org.b3log.symphony.cache.ProfileCache;
+import org.b3log.symphony.cache.TimelineCache;
 import org.b3log.symphony.model.Article;
 import org.b3log.symphony.model.Follow;
 import org.b3log.symphony.model.Tag;
+import org.b3log.symphony.model.UserExt;
 import org.b3log.symphony.repository.ArticleRepository;
 import org.b3log.symphony.repository.FollowRepository;
 import org.b3log.symphony.repository.TagRepository;
+import org.b3log.symphony.repository.UserRepository;
+import org.b3log.symphony.util.Locks;
 import org.json.JSONObject;
 
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
 /**
  * Follow management service.
+ * <p>
+ * Follow and unfollow lock the follower and the following entity (striped by id) and update the follow relation and
+ * the denormalized counters (user follow counts, tag follower count, article collect/watch count) in one transaction.
+ * The locks are released once that transaction is committed, so follow and unfollow must not be called inside an outer
+ * transaction.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.3.1.3, Jun 6, 2019
+ * @version 1.6.2.0, Oct 19, 2026
  * @since 0.2.5
  */
 @Service
@@ -46,6 +64,21 @@ public class FollowMgmtService {
      */
     private static final Logger LOGGER = Logger.getLogger(FollowMgmtService.class);
 
+    /**
+     * Follow locks, striped by follower id and following entity id.
+     */
+    private static final Striped<Lock> FOLLOW_LOCKS = Striped.lock(256);
+
+    /**
+     * Id of the last user processed by {@link #reconcileUserFollowCounts()}.
+     */
+    private volatile String reconcileCursor = "0";
+
+    /**
+     * Whether all users have got follow counts.
+     */
+    private volatile boolean followCountsReconciled;
+
     /**
      * Follow repository.
      */
@@ -64,13 +97,36 @@ public class FollowMgmtService {
     @Inject
     private ArticleRepository articleRepository;
 
+    /**
+     * User repository.
+     */
+    @Inject
+    private UserRepository userRepository;
+
+    /**
+     * Header cache.
+     */
+    @Inject
+    private HeaderCache headerCache;
+
+    /**
+     * Profile cache.
+     */
+    @Inject
+    private ProfileCache profileCache;
+
+    /**
+     * Timeline cache.
+     */
+    @Inject
+    private TimelineCache timelineCache;
+
     /**
      * The specified follower follows the specified following tag.
      *
      * @param followerId     the specified follower id
      * @param followingTagId the specified following tag id
      */
-    @Transactional
     public void followTag(final String followerId, final String followingTagId) {
         try {
             follow(followerId, followingTagId, Follow.FOLLOWING_TYPE_C_TAG);
@@ -86,7 +142,6 @@ public class FollowMgmtService {
      * @param followerId      the specified follower id
      * @param followingUserId the specified following user id
      */
-    @Transactional
     public void followUser(final String followerId, final String followingUserId) {
         try {
             follow(followerId, followingUserId, Follow.FOLLOWING_TYPE_C_USER);
@@ -102,7 +157,6 @@ public class FollowMgmtService {
      * @param followerId         the specified follower id
      * @param followingArticleId the specified following article id
      */
-    @Transactional
     public void followArticle(final String followerId, final String followingArticleId) {
         try {
             follow(followerId, followingArticleId, Follow.FOLLOWING_TYPE_C_ARTICLE);
@@ -118,7 +172,6 @@ public class FollowMgmtService {
      * @param followerId         the specified follower id
      * @param followingArticleId the specified following article id
      */
-    @Transactional
     public void watchArticle(final String followerId, final String followingArticleId) {
         try {
             follow(followerId, followingArticleId, Follow.FOLLOWING_TYPE_C_ARTICLE_WATCH);
@@ -134,7 +187,6 @@ public class FollowMgmtService {
      * @param followerId     the specified follower id
      * @param followingTagId the specified following tag id
      */
-    @Transactional
     public void unfollowTag(final String followerId, final String followingTagId) {
         try {
             unfollow(followerId, followingTagId, Follow.FOLLOWING_TYPE_C_TAG);
@@ -150,7 +202,6 @@ public class FollowMgmtService {
      * @param followerId      the specified follower id
      * @param followingUserId the specified following user id
      */
-    @Transactional
     public void unfollowUser(final String followerId, final String followingUserId) {
         try {
             unfollow(followerId, followingUserId, Follow.FOLLOWING_TYPE_C_USER);
@@ -166,7 +217,6 @@ public class FollowMgmtService {
      * @param followerId         the specified follower id
      * @param followingArticleId the specified following article id
      */
-    @Transactional
     public void unfollowArticle(final String followerId, final String followingArticleId) {
         try {
             unfollow(followerId, followingArticleId, Follow.FOLLOWING_TYPE_C_ARTICLE);
@@ -183,7 +233,6 @@ public class FollowMgmtService {
      * @param followerId         the specified follower id
      * @param followingArticleId the specified following article id
      */
-    @Transactional
     public void unwatchArticle(final String followerId, final String followingArticleId) {
         try {
             unfollow(followerId, followingArticleId, Follow.FOLLOWING_TYPE_C_ARTICLE_WATCH);
@@ -201,7 +250,152 @@ public class FollowMgmtService {
      * @param followingType the specified following type
      * @throws RepositoryException repository exception
      */
-    private synchronized void follow(final String followerId, final String followingId, final int followingType) throws RepositoryException {
+    private void follow(final String followerId, final String followingId, final int followingType) throws RepositoryException {
+        final List<Lock> locks = Locks.lock(FOLLOW_LOCKS, Arrays.asList(followerId, followingId));
+        final Transaction transaction = followRepository.beginTransaction();
+        try {
+            addFollow(followerId, followingId, followingType);
+
+            transaction.commit();
+        } catch (final RepositoryException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+
+            throw e;
+        } finally {
+            Locks.unlock(locks);
+        }
+
+        removeFollowCaches(followerId, followingId, followingType);
+    }
+
+    /**
+     * Removes a follow relationship.
+     *
+     * @param followerId    the specified follower id
+     * @param followingId   the specified following entity id
+     * @param followingType the specified following type
+     * @throws RepositoryException repository exception
+     */
+    public void unfollow(final String followerId, final String followingId, final int followingType) throws RepositoryException {
+        final List<Lock> locks = Locks.lock(FOLLOW_LOCKS, Arrays.asList(followerId, followingId));
+        final Transaction transaction = followRepository.beginTransaction();
+        try {
+            removeFollow(followerId, followingId, followingType);
+
+            transaction.commit();
+        } catch (final RepositoryException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+
+            throw e;
+        } finally {
+            Locks.unlock(locks);
+        }
+
+        removeFollowCaches(followerId, followingId, followingType);
+    }
+
+    /**
+     * Removes the cached states of the specified follow relationship.
+     *
+     * @param followerId    the specified follower id
+     * @param followingId   the specified following entity id
+     * @param followingType the specified following type
+     */
+    private void removeFollowCaches(final String followerId, final String followingId, final int followingType) {
+        headerCache.removeState(followerId);
+        timelineCache.removeTimeline(followerId, followingType);
+        if (Follow.FOLLOWING_TYPE_C_USER == followingType) {
+            profileCache.removeFollowingUserIds(followerId);
+            profileCache.removeProfile(followingId);
+        }
+    }
+
+    /**
+     * Reconciles follow counts for a batch of users which have not got them yet, that is, users added before follow
+     * counts were introduced. Follow counts of these users are counted from the follow relations, and are maintained by
+     * follow and unfollow since then. Users failed to reconcile are retried by the next scan, which starts over once
+     * the current one reaches the end.
+     *
+     * @return {@code true} if there are users remaining, returns {@code false} otherwise
+     */
+    public boolean reconcileUserFollowCounts() {
+        if (followCountsReconciled) {
+            return false;
+        }
+
+        final int batchSize = 64;
+        final String cursor = reconcileCursor;
+        try {
+            final List<JSONObject> users = userRepository.select("SELECT\n"
+                    + "	oId\n"
+                    + "FROM\n"
+                    + "	" + userRepository.getName() + "\n"
+                    + "WHERE\n"
+                    + "	oId > ?\n"
+                    + "AND " + UserExt.USER_FOLLOWER_COUNT + " IS NULL\n"
+                    + "ORDER BY\n"
+                    + "	oId\n"
+                    + "LIMIT ?", cursor, batchSize);
+            for (final JSONObject user : users) {
+                final String userId = user.optString(Keys.OBJECT_ID);
+                reconcileCursor = userId;
+
+                final List<Lock> locks = Locks.lock(FOLLOW_LOCKS, Arrays.asList(userId));
+                final Transaction transaction = userRepository.beginTransaction();
+                try {
+                    final JSONObject toUpdate = userRepository.get(userId);
+                    for (final int followingType : new int[]{Follow.FOLLOWING_TYPE_C_USER, Follow.FOLLOWING_TYPE_C_TAG,
+                            Follow.FOLLOWING_TYPE_C_ARTICLE, Follow.FOLLOWING_TYPE_C_ARTICLE_WATCH}) {
+                        toUpdate.put(UserExt.getFollowingCountKey(followingType), followRepository.count(queryByFollower(userId, followingType)));
+                    }
+                    toUpdate.put(UserExt.USER_FOLLOWER_COUNT, followRepository.count(queryByFollowing(userId, Follow.FOLLOWING_TYPE_C_USER)));
+
+                    userRepository.update(userId, toUpdate, UserExt.USER_FOLLOWER_COUNT, UserExt.USER_FOLLOWING_USER_COUNT,
+                            UserExt.USER_FOLLOWING_TAG_COUNT, UserExt.USER_FOLLOWING_ARTICLE_COUNT, UserExt.USER_WATCHING_ARTICLE_COUNT);
+                    transaction.commit();
+                } catch (final RepositoryException e) {
+                    if (transaction.isActive()) {
+                        transaction.rollback();
+                    }
+
+                    LOGGER.log(Level.ERROR, "Reconciles follow counts of user [id=" + userId + "] failed", e);
+                } finally {
+                    Locks.unlock(locks);
+                }
+            }
+
+            if (users.isEmpty() && "0".equals(cursor)) {
+                followCountsReconciled = true;
+                LOGGER.info("Reconciled follow counts of all users");
+            } else if (users.size() < batchSize) {
+                reconcileCursor = "0";
+            }
+        } catch (final Exception e) {
+            if (isColumnNotFound(e)) {
+                LOGGER.log(Level.ERROR, "Reconciles user follow counts failed, will retry after restart", e);
+
+                followCountsReconciled = true; // Stops retrying, the count columns have not been added to the table
+            } else {
+                LOGGER.log(Level.ERROR, "Reconciles user follow counts failed, will retry on next run", e);
+            }
+        }
+
+        return !followCountsReconciled;
+    }
+
+    /**
+     * Adds a follow relationship and increments the relevant counters.
+     *
+     * @param followerId    the specified follower id
+     * @param followingId   the specified following entity id
+     * @param followingType the specified following type
+     * @throws RepositoryException repository exception
+     */
+    private void addFollow(final String followerId, final String followingId, final int followingType) throws RepositoryException {
         if (followRepository.exists(followerId, followingId, followingType)) {
             return;
         }
@@ -248,19 +442,33 @@ public class FollowMgmtService {
         follow.put(Follow.FOLLOWING_TYPE, followingType);
 
         followRepository.add(follow);
+
+        incUserFollowCount(followerId, UserExt.getFollowingCountKey(followingType), 1);
+        if (Follow.FOLLOWING_TYPE_C_USER == followingType) {
+            incUserFollowCount(followingId, UserExt.USER_FOLLOWER_COUNT, 1);
+        }
     }
 
     /**
-     * Removes a follow relationship.
+     * Removes a follow relationship and decrements the relevant counters.
      *
      * @param followerId    the specified follower id
      * @param followingId   the specified following entity id
      * @param followingType the specified following type
      * @throws RepositoryException repository exception
      */
-    public synchronized void unfollow(final String followerId, final String followingId, final int followingType) throws RepositoryException {
+    private void removeFollow(final String followerId, final String followingId, final int followingType) throws RepositoryException {
+        if (!followRepository.exists(followerId, followingId, followingType)) {
+            return;
+        }
+
         followRepository.removeByFollowerIdAndFollowingId(followerId, followingId, followingType);
 
+        incUserFollowCount(followerId, UserExt.getFollowingCountKey(followingType), -1);
+        if (Follow.FOLLOWING_TYPE_C_USER == followingType) {
+            incUserFollowCount(followingId, UserExt.USER_FOLLOWER_COUNT, -1);
+        }
+
         if (Follow.FOLLOWING_TYPE_C_TAG == followingType) {
             final JSONObject tag = tagRepository.get(followingId);
             if (null == tag) {
@@ -307,4 +515,65 @@ public class FollowMgmtService {
             articleRepository.update(followingId, article, Article.ARTICLE_WATCH_CNT);
         }
     }
+
+    /**
+     * Increments a follow count of the specified user by the specified delta. Skips users which have not got follow
+     * counts yet, see {@link #reconcileUserFollowCounts()}.
+     *
+     * @param userId the specified user id
+     * @param key    the specified follow count key
+     * @param delta  the specified delta
+     * @throws RepositoryException repository exception
+     */
+    private void incUserFollowCount(final String userId, final String key, final int delta) throws RepositoryException {
+        final JSONObject user = userRepository.get(userId);
+        if (null == user || !user.has(key)) {
+            return;
+        }
+
+        user.put(key, Math.max(0, user.optInt(key) + delta));
+        userRepository.update(userId, user, key);
+    }
+
+    /**
+     * Checks whether the specified exception is caused by a column not found.
+     *
+     * @param e the specified exception
+     * @return {@code true} if it is, returns {@code false} otherwise
+     */
+    private static boolean isColumnNotFound(final Throwable e) {
+        for (Throwable cause = e; null != cause; cause = cause.getCause()) {
+            if (cause instanceof SQLException && "42S22".equals(((SQLException) cause).getSQLState())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Builds a query of follow relations of the specified follower and following type.
+     *
+     * @param followerId    the specified follower id
+     * @param followingType the specified following type
+     * @return query
+     */
+    private static Query queryByFollower(final String followerId, final int followingType) {
+        return new Query().setFilter(CompositeFilterOperator.and(
+                new PropertyFilter(Follow.FOLLOWER_ID, FilterOperator.EQUAL, followerId),
+                new PropertyFilter(Follow.FOLLOWING_TYPE, FilterOperator.EQUAL, followingType)));
+    }
+
+    /**
+     * Builds a query of follow relations of the specified following entity and following type.
+     *
+     * @param followingId   the specified following entity id
+     * @param followingType the specified following type
+     * @return query
+     */
+    private static Query queryByFollowing(final String followingId, final int followingType) {
+        return new Query().setFilter(CompositeFilterOperator.and(
+                new PropertyFilter(Follow.FOLLOWING_ID, FilterOperator.EQUAL, followingId),
+                new PropertyFilter(Follow.FOLLOWING_TYPE, FilterOperator.EQUAL, followingType)));
+    }
 }
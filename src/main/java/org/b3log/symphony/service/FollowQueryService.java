@@ -28,21 +28,24 @@ import org.b3log.latke.repository.*;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.latke.util.CollectionUtils;
 import org.b3log.latke.util.Stopwatchs;
+import org.b3log.symphony.cache.ProfileCache;
+import org.b3log.symphony.model.Article;
 import org.b3log.symphony.model.Follow;
+import org.b3log.symphony.model.Tag;
+import org.b3log.symphony.model.UserExt;
 import org.b3log.symphony.repository.ArticleRepository;
 import org.b3log.symphony.repository.FollowRepository;
 import org.b3log.symphony.repository.TagRepository;
 import org.b3log.symphony.repository.UserRepository;
 import org.json.JSONObject;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 /**
  * Follow query service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.4.0.8, Nov 6, 2018
+ * @version 1.7.1.0, Oct 19, 2026
  * @since 0.2.5
  */
 @Service
@@ -83,8 +86,17 @@ public class FollowQueryService {
     @Inject
     private AvatarQueryService avatarQueryService;
 
+    /**
+     * Profile cache.
+     */
+    @Inject
+    private ProfileCache profileCache;
+
     /**
      * Determines whether exists a follow relationship for the specified follower and the specified following entity.
+     * <p>
+     * Following users are looked up in the following user ids of the follower held by {@link ProfileCache}.
+     * </p>
      *
      * @param followerId    the specified follower id
      * @param followingId   the specified following entity id
@@ -94,6 +106,17 @@ public class FollowQueryService {
     public boolean isFollowing(final String followerId, final String followingId, final int followingType) {
         Stopwatchs.start("Is following");
         try {
+            if (Follow.FOLLOWING_TYPE_C_USER == followingType) {
+                Set<String> followingUserIds = profileCache.getFollowingUserIds(followerId);
+                if (null == followingUserIds) {
+                    followingUserIds = Collections.unmodifiableSet(new HashSet<>(
+                            getFollowIds(queryByFollower(followerId, Follow.FOLLOWING_TYPE_C_USER), Follow.FOLLOWING_ID)));
+                    profileCache.putFollowingUserIds(followerId, followingUserIds);
+                }
+
+                return followingUserIds.contains(followingId);
+            }
+
             return followRepository.exists(followerId, followingId, followingType);
         } catch (final RepositoryException e) {
             LOGGER.log(Level.ERROR, "Determines following failed [followerId=" + followerId + ", followingId=" + followingId + "]", e);
@@ -393,8 +416,51 @@ public class FollowQueryService {
         return ret;
     }
 
+    /**
+     * Gets the following ids of a follower specified by the given follower id and following type.
+     *
+     * @param followerId    the given follower id
+     * @param followingType the given following type
+     * @return following ids, returns an empty list if not found
+     */
+    public List<String> getFollowingIds(final String followerId, final int followingType) {
+        try {
+            return getFollowIds(queryByFollower(followerId, followingType), Follow.FOLLOWING_ID);
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Gets following ids of follower [id=" + followerId + "] failed", e);
+
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Gets the follower ids of a following specified by the given following id and following type.
+     *
+     * @param followingId   the given following id
+     * @param followingType the given following type
+     * @param fetchSize     the specified fetch size
+     * @return follower ids, returns an empty list if not found
+     */
+    public List<String> getFollowerIds(final String followingId, final int followingType, final int fetchSize) {
+        final Query query = new Query().setFilter(CompositeFilterOperator.and(
+                new PropertyFilter(Follow.FOLLOWING_ID, FilterOperator.EQUAL, followingId),
+                new PropertyFilter(Follow.FOLLOWING_TYPE, FilterOperator.EQUAL, followingType))).
+                select(Follow.FOLLOWER_ID).setPage(1, fetchSize).setPageCount(1);
+
+        try {
+            return getFollowIds(query, Follow.FOLLOWER_ID);
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Gets follower ids of following [id=" + followingId + "] failed", e);
+
+            return Collections.emptyList();
+        }
+    }
+
     /**
      * Gets the following count of a follower specified by the given follower id and following type.
+     * <p>
+     * Reads the count maintained on the follower, counts follow relations if the follower has not got one yet.
+     * </p>
      *
      * @param followerId    the given follower id
      * @param followingType the given following type
@@ -403,6 +469,16 @@ public class FollowQueryService {
     public long getFollowingCount(final String followerId, final int followingType) {
         Stopwatchs.start("Gets following count [" + followingType + "]");
         try {
+            try {
+                final JSONObject follower = userRepository.get(followerId);
+                final String countKey = UserExt.getFollowingCountKey(followingType);
+                if (null != follower && follower.has(countKey)) {
+                    return follower.optLong(countKey);
+                }
+            } catch (final RepositoryException e) {
+                LOGGER.log(Level.ERROR, "Gets follower [id=" + followerId + "] failed", e);
+            }
+
             final List<Filter> filters = new ArrayList<>();
             filters.add(new PropertyFilter(Follow.FOLLOWER_ID, FilterOperator.EQUAL, followerId));
             filters.add(new PropertyFilter(Follow.FOLLOWING_TYPE, FilterOperator.EQUAL, followingType));
@@ -423,12 +499,45 @@ public class FollowQueryService {
 
     /**
      * Gets the follower count of a following specified by the given following id and following type.
+     * <p>
+     * Reads the count maintained on the following entity, counts follow relations if the entity has not got one.
+     * </p>
      *
      * @param followingId   the given following id
      * @param followingType the given following type
      * @return count
      */
     public long getFollowerCount(final String followingId, final int followingType) {
+        try {
+            JSONObject following = null;
+            String countKey = null;
+            switch (followingType) {
+                case Follow.FOLLOWING_TYPE_C_USER:
+                    following = userRepository.get(followingId);
+                    countKey = UserExt.USER_FOLLOWER_COUNT;
+                    break;
+                case Follow.FOLLOWING_TYPE_C_TAG:
+                    following = tagRepository.get(followingId);
+                    countKey = Tag.TAG_FOLLOWER_CNT;
+                    break;
+                case Follow.FOLLOWING_TYPE_C_ARTICLE:
+                    following = articleRepository.get(followingId);
+                    countKey = Article.ARTICLE_COLLECT_CNT;
+                    break;
+                case Follow.FOLLOWING_TYPE_C_ARTICLE_WATCH:
+                    following = articleRepository.get(followingId);
+                    countKey = Article.ARTICLE_WATCH_CNT;
+                    break;
+                default:
+                    break;
+            }
+            if (null != following && following.has(countKey)) {
+                return following.optLong(countKey);
+            }
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Gets following [id=" + followingId + "] failed", e);
+        }
+
         final List<Filter> filters = new ArrayList<>();
         filters.add(new PropertyFilter(Follow.FOLLOWING_ID, FilterOperator.EQUAL, followingId));
         filters.add(new PropertyFilter(Follow.FOLLOWING_TYPE, FilterOperator.EQUAL, followingType));
@@ -526,4 +635,35 @@ public class FollowQueryService {
 
         return ret;
     }
+
+    /**
+     * Builds a query of the following ids of the specified follower and following type.
+     *
+     * @param followerId    the specified follower id
+     * @param followingType the specified following type
+     * @return query
+     */
+    private static Query queryByFollower(final String followerId, final int followingType) {
+        return new Query().setFilter(CompositeFilterOperator.and(
+                new PropertyFilter(Follow.FOLLOWER_ID, FilterOperator.EQUAL, followerId),
+                new PropertyFilter(Follow.FOLLOWING_TYPE, FilterOperator.EQUAL, followingType))).
+                select(Follow.FOLLOWING_ID);
+    }
+
+    /**
+     * Gets follow ids by the specified query.
+     *
+     * @param query  the specified query
+     * @param idName the specified name of the id property to return
+     * @return ids
+     * @throws RepositoryException repository exception
+     */
+    private List<String> getFollowIds(final Query query, final String idName) throws RepositoryException {
+        final List<String> ret = new ArrayList<>();
+        for (final JSONObject follow : followRepository.getList(query)) {
+            ret.add(follow.optString(idName));
+        }
+
+        return ret;
+    }
 }
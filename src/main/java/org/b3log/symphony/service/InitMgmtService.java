@@ -25,6 +25,7 @@ import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.model.User;
 import org.b3log.latke.repository.Transaction;
+import org.b3log.latke.repository.jdbc.util.Connections;
 import org.b3log.latke.repository.jdbc.util.JdbcRepositories;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.latke.util.Ids;
@@ -33,6 +34,11 @@ import org.b3log.symphony.repository.*;
 import org.b3log.symphony.util.Symphonys;
 import org.json.JSONObject;
 
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
@@ -42,7 +48,7 @@ import java.util.Set;
  * Initialization management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.2.2.3, Jul 11, 2019
+ * @version 1.2.4.0, Oct 19, 2026
  * @since 1.8.0
  */
 @Service
@@ -224,6 +230,8 @@ public class InitMgmtService {
             if (userTableExist && optionTableExist) {
                 final List<JSONObject> admins = userQueryService.getAdmins();
                 if (!admins.isEmpty() && 0 < optionRepository.count()) { // Initialized already
+                    upgradeTables(tablePrefix);
+
                     return;
                 }
             }
@@ -679,4 +687,52 @@ public class InitMgmtService {
             System.exit(0);
         }
     }
+
+    /**
+     * Adds the columns introduced after the tables were created.
+     *
+     * @param tablePrefix the specified table prefix
+     * @throws SQLException sql exception
+     */
+    private void upgradeTables(final String tablePrefix) throws SQLException {
+        final String articleTable = tablePrefix + Article.ARTICLE;
+        try (final Connection connection = Connections.getConnection()) {
+            // Article list digests, filled in by ArticleMgmtService#genArticleDigests
+            addColumn(connection, articleTable, Article.ARTICLE_ABSTRACT, "VARCHAR(255)");
+            addColumn(connection, articleTable, Article.ARTICLE_IMG_CNT, "INT");
+
+            // User follow counts, filled in by FollowMgmtService#reconcileUserFollowCounts
+            final String userTable = tablePrefix + User.USER;
+            for (final String followCountKey : new String[]{UserExt.USER_FOLLOWER_COUNT, UserExt.USER_FOLLOWING_USER_COUNT,
+                    UserExt.USER_FOLLOWING_TAG_COUNT, UserExt.USER_FOLLOWING_ARTICLE_COUNT, UserExt.USER_WATCHING_ARTICLE_COUNT}) {
+                addColumn(connection, userTable, followCountKey, "INT");
+            }
+        }
+    }
+
+    /**
+     * Adds a nullable column to the specified table if it does not exist.
+     *
+     * @param connection the specified connection
+     * @param table      the specified table
+     * @param column     the specified column
+     * @param type       the specified column type
+     * @throws SQLException sql exception
+     */
+    private static void addColumn(final Connection connection, final String table, final String column, final String type) throws SQLException {
+        final DatabaseMetaData metaData = connection.getMetaData();
+        try (final ResultSet columns = metaData.getColumns(connection.getCatalog(), null,
+                metaData.storesUpperCaseIdentifiers() ? table.toUpperCase() : table,
+                metaData.storesUpperCaseIdentifiers() ? column.toUpperCase() : column)) {
+            if (columns.next()) {
+                return;
+            }
+        }
+
+        try (final Statement statement = connection.createStatement()) {
+            statement.executeUpdate("ALTER TABLE " + table + " ADD " + column + " " + type + " DEFAULT NULL");
+        }
+
+        LOGGER.log(Level.INFO, "Added column [table={0}, column={1}]", table, column);
+    }
 }
@@ -23,14 +23,18 @@ import org.b3log.latke.logging.Logger;
 import org.b3log.latke.repository.RepositoryException;
 import org.b3log.latke.repository.Transaction;
 import org.b3log.latke.service.annotation.Service;
+import org.b3log.symphony.cache.OptionCache;
 import org.b3log.symphony.repository.OptionRepository;
 import org.json.JSONObject;
 
 /**
  * Option management service.
+ * <p>
+ * Every write reloads the misc options snapshot of {@link OptionCache}.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.0, Apr 5, 2016
+ * @version 1.2.0.0, Oct 19, 2026
  * @since 1.1.0
  */
 @Service
@@ -47,6 +51,12 @@ public class OptionMgmtService {
     @Inject
     private OptionRepository optionRepository;
 
+    /**
+     * Option cache.
+     */
+    @Inject
+    private OptionCache optionCache;
+
     /**
      * Removes an option.
      *
@@ -59,6 +69,8 @@ public class OptionMgmtService {
             optionRepository.remove(id);
 
             transaction.commit();
+
+            optionCache.loadMiscOptions();
         } catch (final RepositoryException e) {
             if (transaction.isActive()) {
                 transaction.rollback();
@@ -80,6 +92,8 @@ public class OptionMgmtService {
             optionRepository.add(option);
 
             transaction.commit();
+
+            optionCache.loadMiscOptions();
         } catch (final RepositoryException e) {
             if (transaction.isActive()) {
                 transaction.rollback();
@@ -102,6 +116,8 @@ public class OptionMgmtService {
             optionRepository.update(optionId, option);
 
             transaction.commit();
+
+            optionCache.loadMiscOptions();
         } catch (final RepositoryException e) {
             if (transaction.isActive()) {
                 transaction.rollback();
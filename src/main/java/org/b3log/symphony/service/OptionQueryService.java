@@ -27,6 +27,7 @@ import org.b3log.latke.repository.*;
 import org.b3log.latke.service.LangPropsService;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.latke.util.CollectionUtils;
+import org.b3log.symphony.cache.OptionCache;
 import org.b3log.symphony.model.Option;
 import org.b3log.symphony.processor.channel.ArticleChannel;
 import org.b3log.symphony.processor.channel.ArticleListChannel;
@@ -44,7 +45,7 @@ import java.util.Set;
  * Option query service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.4.0.12, Jan 30, 2018
+ * @version 1.5.0.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Service
@@ -61,6 +62,12 @@ public class OptionQueryService {
     @Inject
     private OptionRepository optionRepository;
 
+    /**
+     * Option cache.
+     */
+    @Inject
+    private OptionCache optionCache;
+
     /**
      * Language service.
      */
@@ -219,15 +226,7 @@ public class OptionQueryService {
      * @return allow register option value, return {@code null} if not found
      */
     public String getAllowRegister() {
-        try {
-            final JSONObject result = optionRepository.get(Option.ID_C_MISC_ALLOW_REGISTER);
-
-            return result.optString(Option.OPTION_VALUE);
-        } catch (final RepositoryException e) {
-            LOGGER.log(Level.ERROR, "Gets option [allow register] value failed", e);
-
-            return null;
-        }
+        return optionCache.getMisc(Option.ID_C_MISC_ALLOW_REGISTER);
     }
 
     /**
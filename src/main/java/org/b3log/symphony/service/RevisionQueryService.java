@@ -34,15 +34,13 @@ import org.b3log.symphony.util.Escapes;
 import org.b3log.symphony.util.Markdowns;
 import org.json.JSONObject;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
 
 /**
  * Revision query service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.1.3, Jan 12, 2019
+ * @version 1.1.0.0, Oct 19, 2026
  * @since 2.1.0
  */
 @Service
@@ -233,4 +231,43 @@ public class RevisionQueryService {
             Stopwatchs.end();
         }
     }
+
+    /**
+     * Counts revisions of the specified data ids with one grouped query.
+     *
+     * @param dataIds  the specified data ids
+     * @param dataType the specified data type
+     * @return revision counts, &lt;dataId, count&gt;, data without revisions are not contained
+     */
+    public Map<String, Integer> count(final Collection<String> dataIds, final int dataType) {
+        if (dataIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, Integer> ret = new HashMap<>();
+        final List<Object> params = new ArrayList<>();
+        params.add(dataType);
+        params.addAll(dataIds);
+        Stopwatchs.start("Revision counts");
+        try {
+            final List<JSONObject> counts = revisionRepository.select("SELECT\n"
+                    + "	" + Revision.REVISION_DATA_ID + ", COUNT(*) AS c\n"
+                    + "FROM\n"
+                    + "	" + revisionRepository.getName() + "\n"
+                    + "WHERE\n"
+                    + "	" + Revision.REVISION_DATA_TYPE + " = ?\n"
+                    + "AND " + Revision.REVISION_DATA_ID + " IN (" + String.join(",", Collections.nCopies(dataIds.size(), "?")) + ")\n"
+                    + "GROUP BY\n"
+                    + "	" + Revision.REVISION_DATA_ID, params.toArray());
+            for (final JSONObject count : counts) {
+                ret.put(count.optString(Revision.REVISION_DATA_ID), count.optInt("c"));
+            }
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Counts revisions failed", e);
+        } finally {
+            Stopwatchs.end();
+        }
+
+        return ret;
+    }
 }
@@ -27,6 +27,8 @@ import org.b3log.latke.repository.Query;
 import org.b3log.latke.repository.RepositoryException;
 import org.b3log.latke.repository.annotation.Transactional;
 import org.b3log.latke.service.annotation.Service;
+import org.b3log.symphony.cache.HeaderCache;
+import org.b3log.symphony.cache.ProfileCache;
 import org.b3log.symphony.model.Permission;
 import org.b3log.symphony.model.Role;
 import org.b3log.symphony.repository.RolePermissionRepository;
@@ -40,7 +42,7 @@ import java.util.Set;
  * Role management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.0.0, Jun 23, 2018
+ * @version 1.1.2.0, Oct 19, 2026
  * @since 1.8.0
  */
 @Service
@@ -69,6 +71,18 @@ public class RoleMgmtService {
     @Inject
     private UserRepository userRepository;
 
+    /**
+     * Header cache.
+     */
+    @Inject
+    private HeaderCache headerCache;
+
+    /**
+     * Profile cache.
+     */
+    @Inject
+    private ProfileCache profileCache;
+
     /**
      * Removes the specified role.
      *
@@ -85,6 +99,8 @@ public class RoleMgmtService {
 
             rolePermissionRepository.removeByRoleId(roleId);
             roleRepository.remove(roleId);
+            headerCache.clearRoleNames();
+            profileCache.clearProfiles();
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "Removes a role [id=" + roleId + "] failed", e);
         }
@@ -107,6 +123,8 @@ public class RoleMgmtService {
             }
 
             roleRepository.add(role);
+            headerCache.clearRoleNames();
+            profileCache.clearProfiles();
         } catch (final RepositoryException e) {
             LOGGER.log(Level.ERROR, "Adds role failed", e);
         }
@@ -29,11 +29,12 @@ import org.b3log.latke.repository.Query;
 import org.b3log.latke.repository.RepositoryException;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.latke.util.Stopwatchs;
+import org.b3log.symphony.cache.ArticleCache;
 import org.b3log.symphony.model.Article;
 import org.b3log.symphony.repository.ArticleRepository;
-import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -42,7 +43,7 @@ import java.util.regex.Pattern;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="http://vanessa.b3log.org">Liyuan Li</a>
- * @version 1.2.3.3, Nov 1, 2019
+ * @version 1.3.0.0, Oct 19, 2026
  * @since 1.3.0
  */
 @Service
@@ -58,85 +59,169 @@ public class ShortLinkQueryService {
      */
     private static final Pattern ARTICLE_PATTERN_FULL = Pattern.compile(Latkes.getServePath() + "/article/\\d{13,15}[?\\w&-_=#%:]*(\\b|$)");
 
+    /**
+     * Key of link start index.
+     */
+    private static final String LINK_START = "start";
+
+    /**
+     * Key of link end index.
+     */
+    private static final String LINK_END = "end";
+
+    /**
+     * Key of link query string.
+     */
+    private static final String LINK_QUERY = "query";
+
+    /**
+     * Key of link anchor.
+     */
+    private static final String LINK_ANCHOR = "anchor";
+
     /**
      * Article repository.
      */
     @Inject
     private ArticleRepository articleRepository;
 
+    /**
+     * Article cache.
+     */
+    @Inject
+    private ArticleCache articleCache;
+
     /**
      * Processes article short link (article id).
+     * <p>
+     * Linked article ids are collected first, then titles are resolved in one batch through the article title cache,
+     * articles missed in the cache are fetched with one query.
+     * </p>
      *
      * @param content the specified content
      * @return processed content
      */
     public String linkArticle(final String content) {
         Stopwatchs.start("Link article");
-
-        StringBuffer contentBuilder = new StringBuffer();
         try {
-            Matcher matcher = ARTICLE_PATTERN_FULL.matcher(content);
+            final Matcher matcher = ARTICLE_PATTERN_FULL.matcher(content);
             final String[] codeBlocks = StringUtils.substringsBetween(content, "```", "```");
             String codes = "";
             if (null != codeBlocks) {
                 codes = String.join("", codeBlocks);
             }
-            try {
-                while (matcher.find()) {
-                    final String url = StringUtils.trim(matcher.group());
-                    if (0 < matcher.start()) {
-                        final char c = content.charAt(matcher.start() - 1); // look back one char
-                        if ('(' == c || ']' == c || '\'' == c || '"' == c || '`' == c) {
-                            continue;
-                        }
-                    }
 
-                    if (StringUtils.containsIgnoreCase(codes, url)) {
+            final List<JSONObject> links = new ArrayList<>();
+            final Set<String> linkIds = new HashSet<>();
+            while (matcher.find()) {
+                final String url = StringUtils.trim(matcher.group());
+                if (0 < matcher.start()) {
+                    final char c = content.charAt(matcher.start() - 1); // look back one char
+                    if ('(' == c || ']' == c || '\'' == c || '"' == c || '`' == c) {
                         continue;
                     }
-                    String linkId;
-                    String queryStr = null;
-                    String anchor = null;
-                    if (StringUtils.contains(url, "?")) {
-                        linkId = StringUtils.substringBetween(url, "/article/", "?");
-                        queryStr = StringUtils.substringAfter(url, "?");
-                    } else {
-                        linkId = StringUtils.substringAfter(url, "/article/");
-                    }
-                    if (StringUtils.contains(url, "#")) {
-                        linkId = StringUtils.substringBefore(linkId, "#");
-                        anchor = StringUtils.substringAfter(url, "#");
-                    }
+                }
 
-                    final Query query = new Query().select(Article.ARTICLE_TITLE).
-                            setFilter(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.EQUAL, linkId));
-                    final JSONArray results = articleRepository.get(query).optJSONArray(Keys.RESULTS);
-                    if (0 == results.length()) {
-                        continue;
-                    }
+                if (StringUtils.containsIgnoreCase(codes, url)) {
+                    continue;
+                }
+                String linkId;
+                String queryStr = null;
+                String anchor = null;
+                if (StringUtils.contains(url, "?")) {
+                    linkId = StringUtils.substringBetween(url, "/article/", "?");
+                    queryStr = StringUtils.substringAfter(url, "?");
+                } else {
+                    linkId = StringUtils.substringAfter(url, "/article/");
+                }
+                if (StringUtils.contains(url, "#")) {
+                    linkId = StringUtils.substringBefore(linkId, "#");
+                    anchor = StringUtils.substringAfter(url, "#");
+                }
 
-                    final JSONObject linkArticle = results.optJSONObject(0);
-                    final String linkTitle = linkArticle.optString(Article.ARTICLE_TITLE);
-                    String link = " [" + linkTitle + "](" + Latkes.getServePath() + "/article/" + linkId;
-                    if (StringUtils.isNotBlank(queryStr)) {
-                        link += "?" + queryStr;
-                    }
-                    if (StringUtils.isNotBlank(anchor)) {
-                        link += "#" + anchor;
-                    }
-                    link += ") ";
+                final JSONObject link = new JSONObject();
+                link.put(LINK_START, matcher.start());
+                link.put(LINK_END, matcher.end());
+                link.put(Article.ARTICLE_T_ID, linkId);
+                link.put(LINK_QUERY, queryStr);
+                link.put(LINK_ANCHOR, anchor);
+                links.add(link);
+                linkIds.add(linkId);
+            }
 
-                    matcher.appendReplacement(contentBuilder, link);
+            if (links.isEmpty()) {
+                return content;
+            }
+
+            final Map<String, String> titles = getArticleTitles(linkIds);
+            final StringBuilder contentBuilder = new StringBuilder(content.length() + links.size() * 64);
+            int copied = 0;
+            for (final JSONObject link : links) {
+                final String linkId = link.optString(Article.ARTICLE_T_ID);
+                final String linkTitle = titles.get(linkId);
+                if (null == linkTitle) {
+                    continue;
                 }
 
-                matcher.appendTail(contentBuilder);
-            } catch (final RepositoryException e) {
-                LOGGER.log(Level.ERROR, "Generates article link error", e);
+                final int start = link.optInt(LINK_START);
+                contentBuilder.append(content, copied, start);
+                contentBuilder.append(" [").append(linkTitle).append("](").append(Latkes.getServePath()).append("/article/").append(linkId);
+                final String queryStr = link.optString(LINK_QUERY);
+                if (StringUtils.isNotBlank(queryStr)) {
+                    contentBuilder.append('?').append(queryStr);
+                }
+                final String anchor = link.optString(LINK_ANCHOR);
+                if (StringUtils.isNotBlank(anchor)) {
+                    contentBuilder.append('#').append(anchor);
+                }
+                contentBuilder.append(") ");
+                copied = link.optInt(LINK_END);
             }
+            contentBuilder.append(content, copied, content.length());
 
             return contentBuilder.toString();
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Generates article link error", e);
+
+            return content;
         } finally {
             Stopwatchs.end();
         }
     }
+
+    /**
+     * Gets article titles by the specified article ids.
+     *
+     * @param articleIds the specified article ids
+     * @return titles, &lt;articleId, articleTitle&gt;, articles not found are not contained
+     * @throws RepositoryException repository exception
+     */
+    private Map<String, String> getArticleTitles(final Set<String> articleIds) throws RepositoryException {
+        final Map<String, String> ret = new HashMap<>();
+        final Set<String> missIds = new HashSet<>();
+        for (final String articleId : articleIds) {
+            final String title = articleCache.getArticleTitle(articleId);
+            if (null == title) {
+                missIds.add(articleId);
+            } else {
+                ret.put(articleId, title);
+            }
+        }
+
+        if (missIds.isEmpty()) {
+            return ret;
+        }
+
+        final Query query = new Query().select(Keys.OBJECT_ID, Article.ARTICLE_TITLE).
+                setFilter(new PropertyFilter(Keys.OBJECT_ID, FilterOperator.IN, missIds)).setPageCount(1);
+        final List<JSONObject> articles = articleRepository.getList(query);
+        for (final JSONObject article : articles) {
+            final String articleId = article.optString(Keys.OBJECT_ID);
+            final String title = article.optString(Article.ARTICLE_TITLE);
+            articleCache.putArticleTitle(articleId, title);
+            ret.put(articleId, title);
+        }
+
+        return ret;
+    }
 }
@@ -0,0 +1,343 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-present, b3log.org
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.service;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.lang.time.DateFormatUtils;
+import org.b3log.latke.Keys;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.ioc.Inject;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.service.annotation.Service;
+import org.b3log.latke.util.Stopwatchs;
+import org.b3log.symphony.model.Article;
+import org.b3log.symphony.model.sitemap.Sitemap;
+import org.b3log.symphony.model.sitemap.SitemapIndex;
+import org.b3log.symphony.util.Symphonys;
+import org.json.JSONObject;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Sitemap management service.
+ * <p>
+ * Sitemap is written to {@link Symphonys#SITEMAP_DIR} as an index file ({@value #INDEX_FILE}) and gzipped shards, each
+ * shard holds at most {@link Sitemap#MAX_URLS} URLs. Shards are served from the root path, a sitemap may only list URLs
+ * under its own directory. Shards are fully regenerated in background by cron, articles added since then are appended
+ * to the last articles shard in memory and written by {@link #flushAppends()} periodically, so serving a sitemap
+ * request is just reading a file.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.1.0.0, Oct 19, 2026
+ * @since 3.6.0
+ */
+@Service
+public class SitemapMgmtService {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(SitemapMgmtService.class);
+
+    /**
+     * Sitemap index file name.
+     */
+    public static final String INDEX_FILE = "sitemap.xml";
+
+    /**
+     * Misc (index page, domains) shard file name.
+     */
+    private static final String MISC_SHARD = "sitemap-misc.xml.gz";
+
+    /**
+     * Articles shard file name prefix.
+     */
+    private static final String ARTICLES_SHARD_PREFIX = "sitemap-articles-";
+
+    /**
+     * Shard file name suffix.
+     */
+    private static final String SHARD_SUFFIX = ".xml.gz";
+
+    /**
+     * Shard file name pattern.
+     */
+    private static final Pattern SHARD_PATTERN = Pattern.compile("sitemap-(misc|articles-\\d+)\\.xml\\.gz");
+
+    /**
+     * Article fetch size of a query.
+     */
+    private static final int FETCH_SIZE = 1000;
+
+    /**
+     * Sitemap query service.
+     */
+    @Inject
+    private SitemapQueryService sitemapQueryService;
+
+    /**
+     * Article ids of the last articles shard, new articles will be appended to it.
+     */
+    private List<Long> lastShardArticleIds = new ArrayList<>();
+
+    /**
+     * Articles shard count.
+     */
+    private int articlesShardCount;
+
+    /**
+     * Whether there are appended articles not written yet.
+     */
+    private boolean appendsPending;
+
+    /**
+     * Whether the sitemap has been generated.
+     */
+    private volatile boolean generated;
+
+    /**
+     * Checks whether the sitemap has been generated.
+     *
+     * @return {@code true} if generated, returns {@code false} otherwise
+     */
+    public boolean isGenerated() {
+        return generated;
+    }
+
+    /**
+     * Gets a sitemap file (index or shard) by the specified file name.
+     *
+     * @param fileName the specified file name
+     * @return sitemap file, returns {@code null} if the specified file name is not a sitemap file name
+     */
+    public File getFile(final String fileName) {
+        if (!INDEX_FILE.equals(fileName) && !SHARD_PATTERN.matcher(fileName).matches()) {
+            return null;
+        }
+
+        return new File(Symphonys.SITEMAP_DIR, fileName);
+    }
+
+    /**
+     * Generates the whole sitemap (index and all shards).
+     */
+    public synchronized void genSitemap() {
+        Stopwatchs.start("Gen sitemap");
+        try {
+            LOGGER.log(Level.INFO, "Generating sitemap....");
+
+            final File dir = new File(Symphonys.SITEMAP_DIR);
+            if (!dir.exists() && !dir.mkdirs()) {
+                LOGGER.log(Level.ERROR, "Creates sitemap dir [" + dir.getAbsolutePath() + "] failed");
+
+                return;
+            }
+
+            final Sitemap misc = new Sitemap();
+            sitemapQueryService.genIndex(misc);
+            sitemapQueryService.genDomains(misc);
+            writeShard(MISC_SHARD, misc);
+
+            // Builds into locals, the state appends rely on changes only if the whole generation succeeds
+            List<Long> shardArticleIds = new ArrayList<>();
+            int shardCount = 0;
+            long lastId = 0;
+            while (true) {
+                final List<Long> articleIds = sitemapQueryService.getArticleIds(lastId, FETCH_SIZE);
+                if (articleIds.isEmpty()) {
+                    break;
+                }
+
+                for (final long articleId : articleIds) {
+                    if (Sitemap.MAX_URLS <= shardArticleIds.size()) {
+                        writeArticlesShard(shardCount, shardArticleIds);
+                        shardArticleIds = new ArrayList<>();
+                    }
+                    if (shardArticleIds.isEmpty()) {
+                        shardCount++;
+                    }
+
+                    shardArticleIds.add(articleId);
+                }
+
+                lastId = articleIds.get(articleIds.size() - 1);
+            }
+
+            if (!shardArticleIds.isEmpty()) {
+                writeArticlesShard(shardCount, shardArticleIds);
+            }
+
+            writeIndex(shardCount);
+
+            lastShardArticleIds = shardArticleIds;
+            articlesShardCount = shardCount;
+            appendsPending = false;
+            removeStaleShards();
+            generated = true;
+
+            LOGGER.log(Level.INFO, "Generated sitemap [articlesShards=" + articlesShardCount + "]");
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Generates sitemap failed", e);
+        } finally {
+            Stopwatchs.end();
+        }
+    }
+
+    /**
+     * Appends the specified article to the last articles shard in memory, {@link #flushAppends()} writes it.
+     *
+     * @param article the specified article
+     */
+    public synchronized void appendArticle(final JSONObject article) {
+        if (!generated) {
+            return; // The pending full generation will include it
+        }
+
+        if (Article.ARTICLE_STATUS_C_INVALID == article.optInt(Article.ARTICLE_STATUS)) {
+            return;
+        }
+
+        final long articleId = article.optLong(Keys.OBJECT_ID);
+        if (!lastShardArticleIds.isEmpty() && articleId <= lastShardArticleIds.get(lastShardArticleIds.size() - 1)) {
+            return;
+        }
+
+        if (0 == articlesShardCount || Sitemap.MAX_URLS <= lastShardArticleIds.size()) {
+            if (appendsPending) {
+                flushAppends(); // Completes the full shard before starting a new one
+            }
+
+            articlesShardCount++;
+            lastShardArticleIds = new ArrayList<>();
+        }
+        lastShardArticleIds.add(articleId);
+        appendsPending = true;
+    }
+
+    /**
+     * Writes the last articles shard and the index if articles have been appended since the last write.
+     */
+    public synchronized void flushAppends() {
+        if (!appendsPending) {
+            return;
+        }
+
+        Stopwatchs.start("Flush sitemap appends");
+        try {
+            writeArticlesShard(articlesShardCount, lastShardArticleIds);
+            writeIndex(articlesShardCount);
+            appendsPending = false;
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Writes appended articles to sitemap failed", e);
+        } finally {
+            Stopwatchs.end();
+        }
+    }
+
+    /**
+     * Writes an articles shard specified by the given shard number with the specified article ids.
+     *
+     * @param shardNum   the given shard number
+     * @param articleIds the specified article ids
+     * @throws IOException io exception
+     */
+    private void writeArticlesShard(final int shardNum, final List<Long> articleIds) throws IOException {
+        final Sitemap sitemap = new Sitemap();
+        sitemapQueryService.genArticles(sitemap, articleIds);
+        writeShard(ARTICLES_SHARD_PREFIX + shardNum + SHARD_SUFFIX, sitemap);
+    }
+
+    /**
+     * Writes the specified sitemap to a gzipped shard file specified by the given file name.
+     *
+     * @param fileName the given file name
+     * @param sitemap  the specified sitemap
+     * @throws IOException io exception
+     */
+    private void writeShard(final String fileName, final Sitemap sitemap) throws IOException {
+        final File tmp = new File(Symphonys.SITEMAP_DIR, fileName + ".tmp");
+        try (final Writer writer = new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(new FileOutputStream(tmp)), StandardCharsets.UTF_8))) {
+            sitemap.write(writer);
+        }
+
+        Files.move(tmp.toPath(), new File(Symphonys.SITEMAP_DIR, fileName).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes the sitemap index file with the specified articles shard count.
+     *
+     * @param shardCount the specified articles shard count
+     * @throws IOException io exception
+     */
+    private void writeIndex(final int shardCount) throws IOException {
+        final SitemapIndex sitemapIndex = new SitemapIndex();
+        addToIndex(sitemapIndex, MISC_SHARD);
+        for (int i = 1; i <= shardCount; i++) {
+            addToIndex(sitemapIndex, ARTICLES_SHARD_PREFIX + i + SHARD_SUFFIX);
+        }
+
+        final File tmp = new File(Symphonys.SITEMAP_DIR, INDEX_FILE + ".tmp");
+        Files.write(tmp.toPath(), sitemapIndex.toString().getBytes(StandardCharsets.UTF_8));
+        Files.move(tmp.toPath(), new File(Symphonys.SITEMAP_DIR, INDEX_FILE).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Adds a shard specified by the given file name to the specified sitemap index.
+     *
+     * @param sitemapIndex the specified sitemap index
+     * @param fileName     the given file name
+     */
+    private void addToIndex(final SitemapIndex sitemapIndex, final String fileName) {
+        final File shard = new File(Symphonys.SITEMAP_DIR, fileName);
+        final String lastMod = DateFormatUtils.ISO_DATETIME_TIME_ZONE_FORMAT.format(new Date(shard.lastModified()));
+        sitemapIndex.addSitemap(Latkes.getServePath() + "/" + fileName, lastMod);
+    }
+
+    /**
+     * Removes articles shards beyond the current shard count, they may be left by a previous generation before some
+     * articles became invalid.
+     */
+    private void removeStaleShards() {
+        final File[] files = new File(Symphonys.SITEMAP_DIR).listFiles();
+        if (null == files) {
+            return;
+        }
+
+        for (final File file : files) {
+            final String name = file.getName();
+            if (!name.startsWith(ARTICLES_SHARD_PREFIX) || !name.endsWith(SHARD_SUFFIX)) {
+                continue;
+            }
+
+            final String num = StringUtils.substringBetween(name, ARTICLES_SHARD_PREFIX, SHARD_SUFFIX);
+            if (StringUtils.isNumeric(num) && Integer.parseInt(num) > articlesShardCount && !file.delete()) {
+                LOGGER.log(Level.WARN, "Removes stale sitemap shard [" + name + "] failed");
+            }
+        }
+    }
+}
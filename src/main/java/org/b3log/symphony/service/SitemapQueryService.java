@@ -23,6 +23,7 @@ import org.b3log.latke.Latkes;
 import org.b3log.latke.ioc.Inject;
 import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.CompositeFilterOperator;
 import org.b3log.latke.repository.FilterOperator;
 import org.b3log.latke.repository.PropertyFilter;
 import org.b3log.latke.repository.Query;
@@ -36,6 +37,7 @@ import org.b3log.symphony.repository.ArticleRepository;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -43,7 +45,7 @@ import java.util.List;
  * Sitemap query service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.1, Mar 31, 2018
+ * @version 1.1.0.0, Oct 19, 2026
  * @since 1.6.0
  */
 @Service
@@ -101,34 +103,50 @@ public class SitemapQueryService {
     }
 
     /**
-     * Generates articles for the specified sitemap.
+     * Gets ids of valid articles whose id is greater than the specified id, in ascending order.
      *
-     * @param sitemap the specified sitemap
+     * @param greaterThanId the specified id, pass {@code 0} to start from the first article
+     * @param fetchSize     the specified fetch size
+     * @return article ids, returns an empty list if not found
      */
-    public void genArticles(final Sitemap sitemap) {
-        final Query query = new Query().setPage(1, Integer.MAX_VALUE).setPageCount(Integer.MAX_VALUE).
-                select(Keys.OBJECT_ID, Article.ARTICLE_UPDATE_TIME).
-                setFilter(new PropertyFilter(Article.ARTICLE_STATUS, FilterOperator.NOT_EQUAL, Article.ARTICLE_STATUS_C_INVALID)).
-                addSort(Keys.OBJECT_ID, SortDirection.DESCENDING);
+    public List<Long> getArticleIds(final long greaterThanId, final int fetchSize) {
+        final List<Long> ret = new ArrayList<>();
+        final Query query = new Query().setPage(1, fetchSize).setPageCount(1).
+                select(Keys.OBJECT_ID).
+                setFilter(CompositeFilterOperator.and(
+                        new PropertyFilter(Keys.OBJECT_ID, FilterOperator.GREATER_THAN, String.valueOf(greaterThanId)),
+                        new PropertyFilter(Article.ARTICLE_STATUS, FilterOperator.NOT_EQUAL, Article.ARTICLE_STATUS_C_INVALID))).
+                addSort(Keys.OBJECT_ID, SortDirection.ASCENDING);
 
         try {
             final JSONArray articles = articleRepository.get(query).getJSONArray(Keys.RESULTS);
-
             for (int i = 0; i < articles.length(); i++) {
-                final JSONObject article = articles.getJSONObject(i);
-                final long id = article.getLong(Keys.OBJECT_ID);
-                final String permalink = Latkes.getServePath() + "/article/" + id;
-
-                final Sitemap.URL url = new Sitemap.URL();
-                url.setLoc(permalink);
-                final Date updateDate = new Date(id);
-                final String lastMod = DateFormatUtils.ISO_DATETIME_TIME_ZONE_FORMAT.format(updateDate);
-                url.setLastMod(lastMod);
-
-                sitemap.addURL(url);
+                ret.add(articles.getJSONObject(i).getLong(Keys.OBJECT_ID));
             }
         } catch (final Exception e) {
             LOGGER.log(Level.ERROR, "Gets sitemap articles failed", e);
         }
+
+        return ret;
+    }
+
+    /**
+     * Generates articles specified by the given article ids for the specified sitemap.
+     *
+     * @param sitemap    the specified sitemap
+     * @param articleIds the given article ids
+     */
+    public void genArticles(final Sitemap sitemap, final List<Long> articleIds) {
+        for (final long id : articleIds) {
+            final String permalink = Latkes.getServePath() + "/article/" + id;
+
+            final Sitemap.URL url = new Sitemap.URL();
+            url.setLoc(permalink);
+            final Date updateDate = new Date(id);
+            final String lastMod = DateFormatUtils.ISO_DATETIME_TIME_ZONE_FORMAT.format(updateDate);
+            url.setLastMod(lastMod);
+
+            sitemap.addURL(url);
+        }
     }
 }
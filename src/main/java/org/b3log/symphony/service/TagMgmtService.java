@@ -24,26 +24,29 @@ import org.b3log.latke.logging.Level;
 import org.b3log.latke.logging.Logger;
 import org.b3log.latke.model.User;
 import org.b3log.latke.repository.*;
-import org.b3log.latke.repository.annotation.Transactional;
 import org.b3log.latke.service.LangPropsService;
 import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
+import org.b3log.latke.util.Strings;
 import org.b3log.latke.util.URLs;
 import org.b3log.symphony.cache.DomainCache;
 import org.b3log.symphony.cache.TagCache;
+import org.b3log.symphony.cache.TagGraphCache;
 import org.b3log.symphony.model.*;
 import org.b3log.symphony.repository.*;
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Tag management service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.3.1.9, Jun 6, 2019
+ * @version 1.5.3.0, Oct 19, 2026
  * @since 1.1.0
  */
 @Service
@@ -120,26 +123,34 @@ public class TagMgmtService {
     @Inject
     private TagCache tagCache;
 
+    /**
+     * Tag graph cache.
+     */
+    @Inject
+    private TagGraphCache tagGraphCache;
+
     /**
      * Removes unused tags.
+     * <p>
+     * Followers of an unused tag unfollow it first, each in its own transaction under the follow locks, then the unused
+     * tags are removed in one transaction.
+     * </p>
      */
-    @Transactional
     public synchronized void removeUnusedTags() {
         LOGGER.info("Starting remove unused tags....");
 
-        int removedCnt = 0;
+        final List<String> unusedTagIds = new ArrayList<>();
         try {
             final JSONArray tags = tagRepository.get(new Query().setFilter(new PropertyFilter(Tag.TAG_REFERENCE_CNT, FilterOperator.EQUAL, 0))).optJSONArray(Keys.RESULTS);
 
             for (int i = 0; i < tags.length(); i++) {
-                JSONObject tag = tags.optJSONObject(i);
-                final String tagId = tag.optString(Keys.OBJECT_ID);
-
-                if (0 < tag.optInt(Tag.TAG_REFERENCE_CNT) ||
-                        0 < domainTagRepository.getByTagId(tagId, 1, Integer.MAX_VALUE).optJSONArray(Keys.RESULTS).length()) {
+                final String tagId = tags.optJSONObject(i).optString(Keys.OBJECT_ID);
+                if (!isUnusedTag(tagId)) {
                     continue;
                 }
 
+                unusedTagIds.add(tagId);
+
                 // 优化清理未使用标签 https://github.com/b3log/symphony/issues/826
                 final JSONArray userFollowTags = followRepository.getByFollowingId(tagId, Follow.FOLLOWING_TYPE_C_TAG, 1, Integer.MAX_VALUE).optJSONArray(Keys.RESULTS);
                 for (int j = 0; j < userFollowTags.length(); j++) {
@@ -149,9 +160,24 @@ public class TagMgmtService {
                         followMgmtService.unfollowTag(followerId, tagId);
                     }
                 }
+            }
+        } catch (final Exception e) {
+            LOGGER.log(Level.ERROR, "Removes unused tags failed", e);
+
+            return;
+        }
+
+        int removedCnt = 0;
+        final Transaction transaction = tagRepository.beginTransaction();
+        try {
+            for (final String tagId : unusedTagIds) {
+                if (!isUnusedTag(tagId)) { // Used again while unfollowing
+                    continue;
+                }
 
                 final JSONArray userTagRels = userTagRepository.getByTagId(tagId, 1, Integer.MAX_VALUE).optJSONArray(Keys.RESULTS);
                 if (1 == userTagRels.length() && Tag.TAG_TYPE_C_CREATOR == userTagRels.optJSONObject(0).optInt(Common.TYPE)) {
+                    final JSONObject tag = tagRepository.get(tagId);
                     final String tagTitle = tag.optString(Tag.TAG_TITLE);
 
                     if (StringUtils.isBlank(tag.optString(Tag.TAG_ICON_PATH)) && StringUtils.isBlank(tag.optString(Tag.TAG_DESCRIPTION))) {
@@ -171,12 +197,33 @@ public class TagMgmtService {
             tagCntOption.put(Option.OPTION_VALUE, tagCnt - removedCnt);
             optionRepository.update(Option.ID_C_STATISTIC_TAG_COUNT, tagCntOption);
 
+            transaction.commit();
+
             LOGGER.info("Removed [" + removedCnt + "] unused tags");
         } catch (final Exception e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+
             LOGGER.log(Level.ERROR, "Removes unused tags failed", e);
         }
     }
 
+    /**
+     * Checks whether the tag specified by the given tag id is unused, that is, referenced by no article and in no
+     * domain.
+     *
+     * @param tagId the given tag id
+     * @return {@code true} if it is unused, returns {@code false} otherwise
+     * @throws RepositoryException repository exception
+     */
+    private boolean isUnusedTag(final String tagId) throws RepositoryException {
+        final JSONObject tag = tagRepository.get(tagId);
+
+        return null != tag && 0 == tag.optInt(Tag.TAG_REFERENCE_CNT)
+                && 0 == domainTagRepository.getByTagId(tagId, 1, Integer.MAX_VALUE).optJSONArray(Keys.RESULTS).length();
+    }
+
     /**
      * Adds a tag.
      * <p>
@@ -337,18 +384,22 @@ public class TagMgmtService {
     }
 
     /**
-     * Relates the specified tag string.
+     * Relates the specified tag string. The relations are written in one transaction and applied to the tag graph
+     * after it committed.
      *
      * @param tagString the specified tag string
      * @throws ServiceException service exception
      */
     public void relateTags(final String tagString) throws ServiceException {
         final List<JSONObject> tags = new ArrayList<>();
+        final List<JSONObject> relations = new ArrayList<>();
+        final Transaction transaction = tagTagRepository.beginTransaction();
 
         try {
-            final String[] tagTitles = tagString.split(",");
+            final String[] tagTitles = Strings.trimAll(tagString.split(","));
+            final Map<String, JSONObject> existingTags = tagRepository.getByTitles(Arrays.asList(tagTitles));
             for (final String tagTitle : tagTitles) {
-                final JSONObject tag = tagRepository.getByTitle(tagTitle.trim());
+                final JSONObject tag = existingTags.get(tagTitle.toLowerCase());
 
                 if (null != tag) {
                     tags.add(tag);
@@ -364,34 +415,38 @@ public class TagMgmtService {
                     final String tag2Id = tag2.optString(Keys.OBJECT_ID);
 
                     JSONObject relation = tagTagRepository.getByTag1IdAndTag2Id(tag1Id, tag2Id);
-                    if (null != relation) {
-                        relation.put(Common.WEIGHT, relation.optInt(Common.WEIGHT) + 1);
-
-                        updateTagRelation(relation.optString(Keys.OBJECT_ID), relation);
-
-                        continue;
+                    if (null == relation) {
+                        relation = tagTagRepository.getByTag1IdAndTag2Id(tag2Id, tag1Id);
                     }
-
-                    relation = tagTagRepository.getByTag1IdAndTag2Id(tag2Id, tag1Id);
                     if (null != relation) {
                         relation.put(Common.WEIGHT, relation.optInt(Common.WEIGHT) + 1);
-
-                        updateTagRelation(relation.optString(Keys.OBJECT_ID), relation);
-
-                        continue;
+                        tagTagRepository.update(relation.optString(Keys.OBJECT_ID), relation);
+                    } else {
+                        relation = new JSONObject();
+                        relation.put(Tag.TAG + "1_" + Keys.OBJECT_ID, tag1Id);
+                        relation.put(Tag.TAG + "2_" + Keys.OBJECT_ID, tag2Id);
+                        relation.put(Common.WEIGHT, 1);
+                        tagTagRepository.add(relation);
                     }
 
-                    relation = new JSONObject();
-                    relation.put(Tag.TAG + "1_" + Keys.OBJECT_ID, tag1Id);
-                    relation.put(Tag.TAG + "2_" + Keys.OBJECT_ID, tag2Id);
-                    relation.put(Common.WEIGHT, 1);
-
-                    addTagRelation(relation);
+                    relations.add(new JSONObject().put(Tag.TAG + "1_" + Keys.OBJECT_ID, tag1Id).
+                            put(Tag.TAG + "2_" + Keys.OBJECT_ID, tag2Id).put(Common.WEIGHT, relation.optInt(Common.WEIGHT)));
                 }
             }
+
+            transaction.commit();
         } catch (final RepositoryException e) {
+            if (transaction.isActive()) {
+                transaction.rollback();
+            }
+
             LOGGER.log(Level.ERROR, "Relates tag and tag [" + tagString + "] failed", e);
             throw new ServiceException(e);
         }
+
+        for (final JSONObject relation : relations) {
+            tagGraphCache.relate(relation.optString(Tag.TAG + "1_" + Keys.OBJECT_ID),
+                    relation.optString(Tag.TAG + "2_" + Keys.OBJECT_ID), relation.optInt(Common.WEIGHT));
+        }
     }
 }
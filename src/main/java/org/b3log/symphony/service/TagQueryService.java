@@ -29,9 +29,10 @@ import org.b3log.latke.repository.*;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.latke.util.CollectionUtils;
 import org.b3log.latke.util.Paginator;
+import org.b3log.symphony.cache.DomainCache;
 import org.b3log.symphony.cache.TagCache;
+import org.b3log.symphony.cache.TagGraphCache;
 import org.b3log.symphony.model.Common;
-import org.b3log.symphony.model.Domain;
 import org.b3log.symphony.model.Tag;
 import org.b3log.symphony.model.UserExt;
 import org.b3log.symphony.repository.*;
@@ -46,7 +47,7 @@ import java.util.stream.Collectors;
  * Tag query service.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.9.0.6, May 12, 2019
+ * @version 1.12.0.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Service
@@ -69,12 +70,6 @@ public class TagQueryService {
     @Inject
     private UserTagRepository userTagRepository;
 
-    /**
-     * Tag-Tag repository.
-     */
-    @Inject
-    private TagTagRepository tagTagRepository;
-
     /**
      * User repository.
      */
@@ -82,58 +77,57 @@ public class TagQueryService {
     private UserRepository userRepository;
 
     /**
-     * Domain repository.
+     * Avatar query service.
      */
     @Inject
-    private DomainRepository domainRepository;
+    private AvatarQueryService avatarQueryService;
 
     /**
-     * Domain tag repository.
+     * Short link query service.
      */
     @Inject
-    private DomainTagRepository domainTagRepository;
+    private ShortLinkQueryService shortLinkQueryService;
 
     /**
-     * Avatar query service.
+     * Tag cache.
      */
     @Inject
-    private AvatarQueryService avatarQueryService;
+    private TagCache tagCache;
 
     /**
-     * Short link query service.
+     * Domain cache.
      */
     @Inject
-    private ShortLinkQueryService shortLinkQueryService;
+    private DomainCache domainCache;
 
     /**
-     * Tag cache.
+     * Tag graph cache.
      */
     @Inject
-    private TagCache tagCache;
+    private TagGraphCache tagGraphCache;
 
     /**
      * Builds tag objects with the specified tags string.
+     * <p>
+     * Tag objects of known tags are shared by reference, see {@link TagCache#getTagObj(String)}, callers should not
+     * modify them.
+     * </p>
      *
      * @param tagsStr the specified tags string
      * @return tag objects
      */
     public List<JSONObject> buildTagObjs(final String tagsStr) {
-        final List<JSONObject> ret = new ArrayList<>();
-
         final String[] tagTitles = tagsStr.split(",");
+        final List<JSONObject> ret = new ArrayList<>(tagTitles.length);
         for (final String tagTitle : tagTitles) {
-            final JSONObject tag = new JSONObject();
-            tag.put(Tag.TAG_TITLE, tagTitle);
-
-            final String uri = tagRepository.getURIByTitle(tagTitle);
-            if (null != uri) {
-                tag.put(Tag.TAG_URI, uri);
-            } else {
+            JSONObject tag = tagCache.getTagObj(tagTitle);
+            if (null == tag) {
+                tag = new JSONObject();
+                tag.put(Tag.TAG_TITLE, tagTitle);
                 tag.put(Tag.TAG_URI, tagTitle);
+                Tag.fillDescription(tag);
             }
 
-            Tag.fillDescription(tag);
-
             ret.add(tag);
         }
 
@@ -147,41 +141,11 @@ public class TagQueryService {
      * @return domains, returns an empty list if not found
      */
     public List<JSONObject> getDomains(final String tagTitle) {
-        final List<JSONObject> ret = new ArrayList<>();
-
-        try {
-            final JSONObject tag = tagRepository.getByTitle(tagTitle);
-            if (null == tag) {
-                return ret;
-            }
-
-            final String tagId = tag.optString(Keys.OBJECT_ID);
-            final JSONArray relations = domainTagRepository.getByTagId(tagId, 1, Integer.MAX_VALUE).optJSONArray(Keys.RESULTS);
-            if (1 > relations.length()) {
-                return ret;
-            }
-
-            final List<String> domainIds = new ArrayList<>();
-            for (int i = 0; i < relations.length(); i++) {
-                final JSONObject relation = relations.optJSONObject(i);
-                final String domainId = relation.optString(Domain.DOMAIN + "_" + Keys.OBJECT_ID);
-                domainIds.add(domainId);
-            }
-
-            Collections.sort(domainIds);
-            for (final String domainId : domainIds) {
-                final JSONObject domain = domainRepository.get(domainId);
-                ret.add(domain);
-            }
-        } catch (final Exception e) {
-            LOGGER.log(Level.ERROR, "Gets domains of tag [title=" + tagTitle + "] failed", e);
-        }
-
-        return ret;
+        return domainCache.getDomainsByTag(tagTitle);
     }
 
     /**
-     * Gets tags by the specified title prefix.
+     * Gets tags by the specified title prefix, ordered by reference count.
      *
      * @param titlePrefix the specified title prefix
      * @param fetchSize   the specified fetch size
@@ -195,53 +159,7 @@ public class TagQueryService {
      * </pre>
      */
     public List<JSONObject> getTagsByPrefix(final String titlePrefix, final int fetchSize) {
-        final JSONObject titleToSearch = new JSONObject();
-        titleToSearch.put(Tag.TAG_T_TITLE_LOWER_CASE, titlePrefix.toLowerCase());
-
-        final List<JSONObject> tags = tagCache.getTags();
-
-        int index = Collections.binarySearch(tags, titleToSearch, (t1, t2) -> {
-            String u1Title = t1.optString(Tag.TAG_T_TITLE_LOWER_CASE);
-            final String inputTitle = t2.optString(Tag.TAG_T_TITLE_LOWER_CASE);
-
-            if (u1Title.length() < inputTitle.length()) {
-                return u1Title.compareTo(inputTitle);
-            }
-
-            u1Title = u1Title.substring(0, inputTitle.length());
-
-            return u1Title.compareTo(inputTitle);
-        });
-
-        final List<JSONObject> ret = new ArrayList<>();
-
-        if (index < 0) {
-            return ret;
-        }
-
-        int start = index;
-        int end = index;
-
-        while (start > -1
-                && tags.get(start).optString(Tag.TAG_T_TITLE_LOWER_CASE).startsWith(titlePrefix.toLowerCase())) {
-            start--;
-        }
-
-        start++;
-
-        while (end < tags.size()
-                && tags.get(end).optString(Tag.TAG_T_TITLE_LOWER_CASE).startsWith(titlePrefix.toLowerCase())) {
-            end++;
-        }
-
-        List<JSONObject> subList = tags.subList(start, end);
-        if (64 <= tags.size()) {
-            // 标签自动完成进行过滤 https://github.com/b3log/symphony/issues/778
-            subList = subList.stream().filter(tag -> tag.optInt(Tag.TAG_REFERENCE_CNT) > 3).collect(Collectors.toList());
-        }
-        Collections.sort(subList, (t1, t2) -> t2.optInt(Tag.TAG_REFERENCE_CNT) - t1.optInt(Tag.TAG_REFERENCE_CNT));
-
-        return subList.subList(0, subList.size() > fetchSize ? fetchSize : subList.size());
+        return tagCache.getTagsByPrefix(titlePrefix, fetchSize);
     }
 
     /**
@@ -545,7 +463,7 @@ public class TagQueryService {
     }
 
     /**
-     * Gets the related tags of the specified tag of the given tag id.
+     * Gets the related tags of the specified tag of the given tag id, ordered by co-occurrence weight descending.
      *
      * @param tagId     the given tag id
      * @param fetchSize the specified fetch size
@@ -560,40 +478,12 @@ public class TagQueryService {
      */
     public List<JSONObject> getRelatedTags(final String tagId, final int fetchSize) {
         final List<JSONObject> ret = new ArrayList<>();
-
-        final Set<String> tagIds = new HashSet<>();
-
         try {
-            JSONObject result = tagTagRepository.getByTag1Id(tagId, 1, fetchSize);
-            JSONArray relations = result.optJSONArray(Keys.RESULTS);
-
-            boolean full = false;
-
-            for (int i = 0; i < relations.length(); i++) {
-                tagIds.add(relations.optJSONObject(i).optString(Tag.TAG + "2_" + Keys.OBJECT_ID));
-
-                if (tagIds.size() >= fetchSize) {
-                    full = true;
-
-                    break;
-                }
-            }
-
-            if (!full) {
-                result = tagTagRepository.getByTag2Id(tagId, 1, fetchSize);
-                relations = result.optJSONArray(Keys.RESULTS);
-
-                for (int i = 0; i < relations.length(); i++) {
-                    tagIds.add(relations.optJSONObject(i).optString(Tag.TAG + "1_" + Keys.OBJECT_ID));
-
-                    if (tagIds.size() >= fetchSize) {
-                        break;
-                    }
+            for (final String relatedTagId : tagGraphCache.getRelatedTagIds(tagId, fetchSize)) {
+                JSONObject tag = tagCache.getTag(relatedTagId);
+                if (null == tag) {
+                    tag = tagRepository.get(relatedTagId);
                 }
-            }
-
-            for (final String tId : tagIds) {
-                final JSONObject tag = tagRepository.get(tId);
                 if (null != tag) {
                     Tag.fillDescription(tag);
                     ret.add(tag);
@@ -0,0 +1,127 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-present, b3log.org
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.service;
+
+import org.apache.commons.lang.StringUtils;
+import org.b3log.latke.Keys;
+import org.b3log.latke.ioc.Inject;
+import org.b3log.latke.logging.Level;
+import org.b3log.latke.logging.Logger;
+import org.b3log.latke.repository.RepositoryException;
+import org.b3log.latke.service.annotation.Service;
+import org.b3log.latke.util.Stopwatchs;
+import org.b3log.latke.util.Strings;
+import org.b3log.symphony.cache.TimelineCache;
+import org.b3log.symphony.model.Article;
+import org.b3log.symphony.model.Follow;
+import org.b3log.symphony.repository.TagRepository;
+import org.json.JSONObject;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Timeline management service.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.1.1.0, Oct 19, 2026
+ * @since 3.6.0
+ */
+@Service
+public class TimelineMgmtService {
+
+    /**
+     * Logger.
+     */
+    private static final Logger LOGGER = Logger.getLogger(TimelineMgmtService.class);
+
+    /**
+     * Tag repository.
+     */
+    @Inject
+    private TagRepository tagRepository;
+
+    /**
+     * Follow query service.
+     */
+    @Inject
+    private FollowQueryService followQueryService;
+
+    /**
+     * Timeline cache.
+     */
+    @Inject
+    private TimelineCache timelineCache;
+
+    /**
+     * Pushes the specified article into the timelines of the followers of its author and tags.
+     *
+     * @param article the specified article
+     */
+    public void pushArticle(final JSONObject article) {
+        final String articleId = article.optString(Keys.OBJECT_ID);
+        Stopwatchs.start("Push article to timelines");
+        try {
+            if (Article.ARTICLE_TYPE_C_DISCUSSION != article.optInt(Article.ARTICLE_TYPE)
+                    && Article.ARTICLE_STATUS_C_INVALID != article.optInt(Article.ARTICLE_STATUS)) {
+                fanOut(Follow.FOLLOWING_TYPE_C_USER, article.optString(Article.ARTICLE_AUTHOR_ID), articleId);
+            }
+
+            if (Article.ARTICLE_SHOW_IN_LIST_C_NOT == article.optInt(Article.ARTICLE_SHOW_IN_LIST)) {
+                // Following tag feeds list shown articles only, following user feeds list all
+                return;
+            }
+
+            final String[] tagTitles = Strings.trimAll(StringUtils.split(article.optString(Article.ARTICLE_TAGS), ','));
+            for (final JSONObject tag : tagRepository.getByTitles(Arrays.asList(tagTitles)).values()) {
+                fanOut(Follow.FOLLOWING_TYPE_C_TAG, tag.optString(Keys.OBJECT_ID), articleId);
+            }
+        } catch (final RepositoryException e) {
+            LOGGER.log(Level.ERROR, "Pushes article [id=" + articleId + "] to timelines failed", e);
+        } finally {
+            Stopwatchs.end();
+        }
+    }
+
+    /**
+     * Pushes the specified article into the timelines of the followers of the specified source. Articles of a source
+     * with too many followers are pushed into the ring of the source instead.
+     *
+     * @param followingType the specified following type
+     * @param sourceId      the specified source id
+     * @param articleId     the specified article id
+     */
+    private void fanOut(final int followingType, final String sourceId, final String articleId) {
+        if (timelineCache.isHotSource(followingType, sourceId)) {
+            timelineCache.pushHotSource(followingType, sourceId, articleId);
+
+            return;
+        }
+
+        final List<String> followerIds = followQueryService.getFollowerIds(sourceId, followingType, TimelineCache.FAN_OUT_MAX + 1);
+        if (TimelineCache.FAN_OUT_MAX < followerIds.size()) {
+            timelineCache.pushHotSource(followingType, sourceId, articleId);
+
+            return;
+        }
+
+        for (final String followerId : followerIds) {
+            timelineCache.push(followerId, followingType, articleId);
+        }
+    }
+}
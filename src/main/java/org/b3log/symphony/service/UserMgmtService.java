@@ -38,6 +38,8 @@ import org.b3log.latke.service.ServiceException;
 import org.b3log.latke.service.annotation.Service;
 import org.b3log.latke.util.Ids;
 import org.b3log.latke.util.URLs;
+import org.b3log.symphony.cache.BreezemoonCache;
+import org.b3log.symphony.cache.OptionCache;
 import org.b3log.symphony.model.*;
 import org.b3log.symphony.processor.FileUploadProcessor;
 import org.b3log.symphony.processor.advice.validate.UserRegisterValidation;
@@ -59,7 +61,7 @@ import java.util.regex.Pattern;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author Bill Ho
- * @version 1.16.0.8, Jun 6, 2019
+ * @version 1.16.4.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Service
@@ -94,6 +96,18 @@ public class UserMgmtService {
     @Inject
     private OptionRepository optionRepository;
 
+    /**
+     * Option cache.
+     */
+    @Inject
+    private OptionCache optionCache;
+
+    /**
+     * Breezemoon cache.
+     */
+    @Inject
+    private BreezemoonCache breezemoonCache;
+
     /**
      * Notification repository.
      */
@@ -400,6 +414,11 @@ public class UserMgmtService {
             user.put(UserExt.USER_ARTICLE_COUNT, 0);
             user.put(UserExt.USER_COMMENT_COUNT, 0);
             user.put(UserExt.USER_TAG_COUNT, 0);
+            user.put(UserExt.USER_FOLLOWER_COUNT, 0);
+            user.put(UserExt.USER_FOLLOWING_USER_COUNT, 0);
+            user.put(UserExt.USER_FOLLOWING_TAG_COUNT, 0);
+            user.put(UserExt.USER_FOLLOWING_ARTICLE_COUNT, 0);
+            user.put(UserExt.USER_WATCHING_ARTICLE_COUNT, 0);
             user.put(UserExt.USER_INTRO, "");
             user.put(UserExt.USER_NICKNAME, "");
             user.put(UserExt.USER_AVATAR_TYPE, UserExt.USER_AVATAR_TYPE_C_UPLOAD);
@@ -453,8 +472,7 @@ public class UserMgmtService {
             user.put(UserExt.USER_FORWARD_PAGE_STATUS, UserExt.USER_XXX_STATUS_C_ENABLED);
             user.put(UserExt.USER_INDEX_REDIRECT_URL, "");
 
-            final JSONObject optionLanguage = optionRepository.get(Option.ID_C_MISC_LANGUAGE);
-            final String adminSpecifiedLang = optionLanguage.optString(Option.OPTION_VALUE);
+            final String adminSpecifiedLang = optionCache.getMiscLanguage();
             if ("0".equals(adminSpecifiedLang)) {
                 user.put(UserExt.USER_LANGUAGE, requestJSONObject.optString(UserExt.USER_LANGUAGE, "zh_CN"));
             } else {
@@ -587,18 +605,8 @@ public class UserMgmtService {
                 notificationMgmtService.addSysAnnounceNewUserNotification(notification);
 
                 // Refresh usernames
-                final JSONObject u = new JSONObject();
-                u.put(User.USER_NAME, user.optString(User.USER_NAME));
-                u.put(UserExt.USER_T_NAME_LOWER_CASE, user.optString(User.USER_NAME).toLowerCase());
                 final String avatar = avatarQueryService.getAvatarURLByUser(user, "20");
-                u.put(UserExt.USER_AVATAR_URL, avatar);
-                UserQueryService.USER_NAMES.add(u);
-                Collections.sort(UserQueryService.USER_NAMES, (u1, u2) -> {
-                    final String u1Name = u1.optString(UserExt.USER_T_NAME_LOWER_CASE);
-                    final String u2Name = u2.optString(UserExt.USER_T_NAME_LOWER_CASE);
-
-                    return u1Name.compareTo(u2Name);
-                });
+                UserQueryService.addUserName(user.optString(User.USER_NAME), avatar);
             }
 
             return ret;
@@ -649,11 +657,17 @@ public class UserMgmtService {
             final JSONObject old = userRepository.get(userId);
             final String oldRoleId = old.optString(User.USER_ROLE);
             final String newRoleId = user.optString(User.USER_ROLE);
+            final int oldBreezemoonStatus = old.optInt(UserExt.USER_BREEZEMOON_STATUS);
 
             userRepository.update(userId, user);
 
             transaction.commit();
 
+            if (oldBreezemoonStatus != user.optInt(UserExt.USER_BREEZEMOON_STATUS, oldBreezemoonStatus)) {
+                // Hides or shows the user's breezemoons in the side panel right away
+                breezemoonCache.loadSideBreezemoons();
+            }
+
             if (!oldRoleId.equals(newRoleId)) {
                 final JSONObject notification = new JSONObject();
                 notification.put(Notification.NOTIFICATION_USER_ID, userId);
@@ -721,9 +735,12 @@ public class UserMgmtService {
                 throw new ServiceException(langPropsService.get("duplicatedUserNameLabel") + " [" + newUserName + "]");
             }
 
+            final String oldUserName = userRepository.get(userId).optString(User.USER_NAME);
             userRepository.update(userId, user, User.USER_NAME);
 
             transaction.commit();
+
+            UserQueryService.renameUserName(oldUserName, newUserName);
         } catch (final RepositoryException e) {
             if (transaction.isActive()) {
                 transaction.rollback();
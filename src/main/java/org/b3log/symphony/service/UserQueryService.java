@@ -38,6 +38,7 @@ import org.b3log.symphony.repository.FollowRepository;
 import org.b3log.symphony.repository.PointtransferRepository;
 import org.b3log.symphony.repository.UserRepository;
 import org.b3log.symphony.util.Sessions;
+import org.b3log.symphony.util.UserNameIndex;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -49,7 +50,7 @@ import java.util.*;
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="https://hacpai.com/member/ZephyrJung">Zephyr</a>
- * @version 1.8.7.2, Nov 6, 2018
+ * @version 1.9.1.0, Oct 19, 2026
  * @since 0.2.0
  */
 @Service
@@ -61,9 +62,9 @@ public class UserQueryService {
     private static final Logger LOGGER = Logger.getLogger(UserQueryService.class);
 
     /**
-     * All usernames.
+     * Username index, replaced as a whole on updates.
      */
-    public static final List<JSONObject> USER_NAMES = Collections.synchronizedList(new ArrayList<>());
+    private static volatile UserNameIndex userNameIndex;
 
     /**
      * User repository.
@@ -275,35 +276,59 @@ public class UserQueryService {
 
     /**
      * Loads all usernames from database.
+     * <p>
+     * The load holds the same lock as {@link #addUserName(String, String)} and {@link #renameUserName(String, String)},
+     * so a user added or renamed while the index is being built is not lost by swapping in the new index.
+     * </p>
      */
     public void loadUserNames() {
-        USER_NAMES.clear();
-
         final Query query = new Query().setPageCount(1).
-                setFilter(new PropertyFilter(UserExt.USER_STATUS, FilterOperator.EQUAL, UserExt.USER_STATUS_C_VALID)).
-                select(User.USER_NAME, UserExt.USER_AVATAR_URL);
-        try {
-            final JSONObject result = userRepository.get(query);
-            final JSONArray array = result.optJSONArray(Keys.RESULTS);
-            for (int i = 0; i < array.length(); i++) {
-                final JSONObject user = array.optJSONObject(i);
-
-                final JSONObject u = new JSONObject();
-                u.put(User.USER_NAME, user.optString(User.USER_NAME));
-                u.put(UserExt.USER_T_NAME_LOWER_CASE, user.optString(User.USER_NAME).toLowerCase());
-                final String avatar = avatarQueryService.getAvatarURLByUser(user, "20");
-                u.put(UserExt.USER_AVATAR_URL, avatar);
-                USER_NAMES.add(u);
+                select(User.USER_NAME, UserExt.USER_AVATAR_URL, UserExt.USER_STATUS);
+        synchronized (UserQueryService.class) {
+            try {
+                final JSONObject result = userRepository.get(query);
+                final JSONArray array = result.optJSONArray(Keys.RESULTS);
+                final List<JSONObject> users = new ArrayList<>();
+                for (int i = 0; i < array.length(); i++) {
+                    final JSONObject user = array.optJSONObject(i);
+
+                    final JSONObject u = new JSONObject();
+                    u.put(User.USER_NAME, user.optString(User.USER_NAME));
+                    u.put(UserExt.USER_STATUS, user.optInt(UserExt.USER_STATUS));
+                    if (UserExt.USER_STATUS_C_VALID == user.optInt(UserExt.USER_STATUS)) {
+                        u.put(UserExt.USER_AVATAR_URL, avatarQueryService.getAvatarURLByUser(user, "20"));
+                    }
+                    users.add(u);
+                }
+
+                userNameIndex = UserNameIndex.build(users);
+            } catch (final RepositoryException e) {
+                LOGGER.log(Level.ERROR, "Loads usernames error", e);
             }
+        }
+    }
 
-            Collections.sort(USER_NAMES, (u1, u2) -> {
-                final String u1Name = u1.optString(UserExt.USER_T_NAME_LOWER_CASE);
-                final String u2Name = u2.optString(UserExt.USER_T_NAME_LOWER_CASE);
+    /**
+     * Adds the specified user into the username index.
+     *
+     * @param userName the specified username
+     * @param avatar   the specified avatar URL
+     */
+    public static synchronized void addUserName(final String userName, final String avatar) {
+        if (null != userNameIndex) {
+            userNameIndex = userNameIndex.add(userName, avatar);
+        }
+    }
 
-                return u1Name.compareTo(u2Name);
-            });
-        } catch (final RepositoryException e) {
-            LOGGER.log(Level.ERROR, "Loads usernames error", e);
+    /**
+     * Renames the specified user in the username index.
+     *
+     * @param oldUserName the specified old username
+     * @param newUserName the specified new username
+     */
+    public static synchronized void renameUserName(final String oldUserName, final String newUserName) {
+        if (null != userNameIndex) {
+            userNameIndex = userNameIndex.rename(oldUserName, newUserName);
         }
     }
 
@@ -321,65 +346,30 @@ public class UserQueryService {
      * </pre>
      */
     public List<JSONObject> getUserNamesByPrefix(final String namePrefix) {
-        final JSONObject nameToSearch = new JSONObject();
-        nameToSearch.put(UserExt.USER_T_NAME_LOWER_CASE, namePrefix.toLowerCase());
-
-        int index = Collections.binarySearch(USER_NAMES, nameToSearch, (u1, u2) -> {
-            String u1Name = u1.optString(UserExt.USER_T_NAME_LOWER_CASE);
-            final String inputName = u2.optString(UserExt.USER_T_NAME_LOWER_CASE);
-
-            if (u1Name.length() < inputName.length()) {
-                return u1Name.compareTo(inputName);
-            }
-
-            u1Name = u1Name.substring(0, inputName.length());
-
-            return u1Name.compareTo(inputName);
-        });
-
-        final List<JSONObject> ret = new ArrayList<>();
-
-        if (index < 0) {
-            return ret;
-        }
-
-        int start = index;
-        int end = index;
-
-        while (start > -1 && USER_NAMES.get(start).optString(UserExt.USER_T_NAME_LOWER_CASE).startsWith(namePrefix.toLowerCase())) {
-            start--;
-        }
-
-        start++;
-
-        if (start < index - 5) {
-            end = start + 5;
-        } else {
-            while (end < USER_NAMES.size() && end < index + 5 && USER_NAMES.get(end).optString(UserExt.USER_T_NAME_LOWER_CASE).startsWith(namePrefix.toLowerCase())) {
-                end++;
-
-                if (end >= start + 5) {
-                    break;
-                }
-            }
+        final UserNameIndex index = userNameIndex;
+        if (null == index) {
+            return Collections.emptyList();
         }
 
-        return USER_NAMES.subList(start, end);
+        return index.getByPrefix(namePrefix, 5);
     }
 
     /**
-     * Gets the current user.
+     * Gets the current user. Returns the user resolved for this request if any, resolves from the session cookie
+     * otherwise.
      *
      * @param request the specified request
      * @return the current user, {@code null} if not found
      */
     public JSONObject getCurrentUser(final Request request) {
-        final JSONObject currentUser = Sessions.currentUser(request);
-        if (null == currentUser) {
-            return null;
+        if (Sessions.isUserResolved()) {
+            return Sessions.getUser();
         }
 
-        final String id = currentUser.optString(Keys.OBJECT_ID);
+        final String id = Sessions.currentUserId(request);
+        if (StringUtils.isBlank(id)) {
+            return null;
+        }
 
         return getUser(id);
     }
@@ -492,9 +482,11 @@ public class UserQueryService {
             }
         }
 
+        final UserNameIndex index = userNameIndex;
         for (String maybeUserName : maybeUserNameSet) {
             maybeUserName = maybeUserName.trim();
-            if (null != getUserByName(maybeUserName)) { // Found a user
+            final boolean found = null != index ? index.contains(maybeUserName) : null != getUserByName(maybeUserName);
+            if (found) {
                 ret.add(maybeUserName);
             }
         }
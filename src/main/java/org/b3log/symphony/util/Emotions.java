@@ -20,6 +20,9 @@ package org.b3log.symphony.util;
 import com.vdurmont.emoji.EmojiParser;
 import org.b3log.latke.Latkes;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 /**
@@ -28,7 +31,7 @@ import java.util.regex.Pattern;
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
  * @author <a href="https://hacpai.com/member/ZephyrJung">Zephyr</a>
  * @author <a href="http://vanessa.b3log.org">Vanessa</a>
- * @version 1.3.0.5, Jun 22, 2019
+ * @version 1.4.0.0, Oct 19, 2026
  * @since 0.2.0
  */
 public final class Emotions {
@@ -45,13 +48,7 @@ public final class Emotions {
      * @return {@code true} if it is a emoji, returns {@code false} otherwise
      */
     public static boolean isEmoji(final String string) {
-        for (final String emoji : EMOJIS) {
-            if (emoji.equals(string)) {
-                return true;
-            }
-        }
-
-        return false;
+        return EMOJI_SET.contains(string);
     }
 
     /**
@@ -85,13 +82,9 @@ public final class Emotions {
      * @return cleared content
      */
     public static String clear(final String content) {
-        String ret = content.replaceAll("\\[em\\d+]", "");
-        for (final String emojiCode : EMOJIS) {
-            final String emoji = ":" + emojiCode + ":";
-            ret = ret.replace(emoji, "");
-        }
+        final String ret = content.replaceAll("\\[em\\d+]", "");
 
-        return ret;
+        return replaceEmojis(ret, false);
     }
 
     /**
@@ -107,15 +100,67 @@ public final class Emotions {
         }
 
         ret = toUnicode(ret);
-        for (final String emojiCode : EMOJIS) {
-            String repl = "<img alt=\"" + emojiCode + "\" class=\"emoji\" width=\"18\" src=\""
-                    + Latkes.getStaticServePath() + "/emoji/graphics/" + emojiCode;
-            final String suffix = "huaji".equals(emojiCode) ? ".gif" : ".png";
-            repl += suffix + "\" title=\"" + emojiCode + "\" />";
-            ret = ret.replace(":" + emojiCode + ":", repl);
+
+        return replaceEmojis(ret, true);
+    }
+
+    /**
+     * Replaces emoji codes ({@literal :heart:}) in the specified content in a single pass. Each colon is looked ahead
+     * at most {@link #MAX_EMOJI_LEN} chars for the closing colon, and the code between is looked up in the emoji set.
+     *
+     * @param content the specified content
+     * @param toImg   {@code true} to replace with image tags, {@code false} to remove
+     * @return replaced content
+     */
+    private static String replaceEmojis(final String content, final boolean toImg) {
+        int start = content.indexOf(':');
+        if (0 > start) {
+            return content;
         }
 
-        return ret;
+        final StringBuilder ret = new StringBuilder(content.length() + (toImg ? 128 : 0));
+        int copied = 0;
+        final int length = content.length();
+        while (0 <= start) {
+            final int limit = Math.min(length, start + MAX_EMOJI_LEN + 2);
+            int end = -1;
+            for (int i = start + 1; i < limit; i++) {
+                if (':' == content.charAt(i)) {
+                    end = i;
+
+                    break;
+                }
+            }
+            if (0 > end) {
+                start = content.indexOf(':', start + 1);
+
+                continue;
+            }
+
+            final String emojiCode = content.substring(start + 1, end);
+            if (!EMOJI_SET.contains(emojiCode)) {
+                start = end; // The closing colon may open the next code
+
+                continue;
+            }
+
+            ret.append(content, copied, start);
+            if (toImg) {
+                ret.append("<img alt=\"").append(emojiCode).append("\" class=\"emoji\" width=\"18\" src=\"")
+                        .append(Latkes.getStaticServePath()).append("/emoji/graphics/").append(emojiCode)
+                        .append("huaji".equals(emojiCode) ? ".gif" : ".png")
+                        .append("\" title=\"").append(emojiCode).append("\" />");
+            }
+            copied = end + 1;
+            start = content.indexOf(':', copied);
+        }
+
+        if (0 == copied) {
+            return content;
+        }
+        ret.append(content, copied, length);
+
+        return ret.toString();
     }
 
     public static void main(String[] args) {
@@ -1001,6 +1046,16 @@ public final class Emotions {
             "zzz"
     };
 
+    /**
+     * Emoji set.
+     */
+    private static final Set<String> EMOJI_SET = new HashSet<>(Arrays.asList(EMOJIS));
+
+    /**
+     * Maximum length of emoji codes.
+     */
+    private static final int MAX_EMOJI_LEN = EMOJI_SET.stream().mapToInt(String::length).max().orElse(0);
+
     /**
      * Private constructor.
      */
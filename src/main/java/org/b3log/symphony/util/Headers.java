@@ -21,12 +21,18 @@ import jodd.net.MimeTypes;
 import org.apache.commons.lang.StringUtils;
 import org.b3log.latke.http.FileUpload;
 import org.b3log.latke.http.Request;
+import org.b3log.latke.http.RequestContext;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 
 /**
  * HTTP header utilities.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.1.1.1, Nov 5, 2019
+ * @version 1.2.0.0, Oct 19, 2026
  * @since 2.8.0
  */
 public final class Headers {
@@ -84,6 +90,51 @@ public final class Headers {
         return Escapes.escapeHTML(value);
     }
 
+    /**
+     * Sets validators (ETag and Last-Modified) on the response of the specified context and checks whether the client
+     * cached copy is still fresh.
+     * <p>
+     * If-None-Match takes precedence over If-Modified-Since as RFC 7232 requires.
+     * </p>
+     *
+     * @param context      the specified context
+     * @param etag         the specified entity tag, for example {@code "\"5d8f-1a2b\""}
+     * @param lastModified the specified last modified time in milliseconds
+     * @return {@code true} if the client cached copy is fresh and a 304 should be sent, returns {@code false} otherwise
+     */
+    public static boolean isNotModified(final RequestContext context, final String etag, final long lastModified) {
+        context.setHeader("ETag", etag);
+        context.setHeader("Last-Modified", formatHttpDate(lastModified));
+
+        final String ifNoneMatch = context.header("If-None-Match");
+        if (StringUtils.isNotBlank(ifNoneMatch)) {
+            return "*".equals(ifNoneMatch.trim()) || StringUtils.contains(ifNoneMatch, etag);
+        }
+
+        final String ifModifiedSince = context.header("If-Modified-Since");
+        if (StringUtils.isBlank(ifModifiedSince)) {
+            return false;
+        }
+
+        try {
+            final long since = ZonedDateTime.parse(ifModifiedSince.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+
+            return lastModified / 1000 <= since / 1000;
+        } catch (final Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Formats the specified time as a HTTP-date (RFC 1123), for example {@code Tue, 3 Jun 2008 11:05:30 GMT}.
+     *
+     * @param time the specified time in milliseconds
+     * @return HTTP-date
+     */
+    public static String formatHttpDate(final long time) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneOffset.UTC));
+    }
+
     /**
      * Private constructor.
      */
@@ -0,0 +1,128 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-present, b3log.org
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import java.util.*;
+
+/**
+ * Bounded ring of ids.
+ * <p>
+ * Holds the latest pushed ids up to the capacity, a push over capacity overwrites the oldest id. Ids are time based
+ * object ids, so reads return them newest (greatest) first.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.6.0
+ */
+public final class IdRing {
+
+    /**
+     * Ids.
+     */
+    private final long[] ids;
+
+    /**
+     * Index of the next push.
+     */
+    private int next;
+
+    /**
+     * Count of ids.
+     */
+    private int size;
+
+    /**
+     * Constructs a ring with the specified capacity.
+     *
+     * @param capacity the specified capacity
+     */
+    public IdRing(final int capacity) {
+        ids = new long[capacity];
+    }
+
+    /**
+     * Pushes the specified id.
+     *
+     * @param id the specified id
+     * @return {@code true} if pushed, returns {@code false} if the ring holds the id already
+     */
+    public synchronized boolean push(final long id) {
+        for (int i = 0; i < size; i++) {
+            if (id == ids[i]) {
+                return false;
+            }
+        }
+
+        ids[next] = id;
+        next = (next + 1) % ids.length;
+        if (size < ids.length) {
+            size++;
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the latest ids.
+     *
+     * @param fetchSize the specified fetch size
+     * @return ids, newest first
+     */
+    public List<Long> latest(final int fetchSize) {
+        return merge(Collections.singletonList(this), fetchSize);
+    }
+
+    /**
+     * Gets the count of ids.
+     *
+     * @return count of ids
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Merges the latest ids of the specified rings.
+     *
+     * @param rings     the specified rings
+     * @param fetchSize the specified fetch size
+     * @return distinct ids, newest first
+     */
+    public static List<Long> merge(final Collection<IdRing> rings, final int fetchSize) {
+        final TreeSet<Long> merged = new TreeSet<>(Comparator.reverseOrder());
+        for (final IdRing ring : rings) {
+            synchronized (ring) {
+                for (int i = 0; i < ring.size; i++) {
+                    merged.add(ring.ids[i]);
+                }
+            }
+        }
+
+        final List<Long> ret = new ArrayList<>(Math.min(fetchSize, merged.size()));
+        for (final Long id : merged) {
+            if (ret.size() >= fetchSize) {
+                break;
+            }
+
+            ret.add(id);
+        }
+
+        return ret;
+    }
+}
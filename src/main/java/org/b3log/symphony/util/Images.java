@@ -17,14 +17,22 @@
  */
 package org.b3log.symphony.util;
 
-
 import org.apache.commons.lang.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
 /**
  * Image utilities.
+ * <p>
+ * Image references are found by a linear scanner over the raw markdown/HTML content instead of rendering it: markdown
+ * inline images {@code ![alt](src "title")} and HTML {@code <img>} tags ({@code src} and {@code data-src}). Fenced
+ * code blocks and code spans are skipped like the markdown renderer does.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.0.0.2, Feb 10, 2019
+ * @version 1.1.1.0, Oct 19, 2026
  * @since 3.2.0
  */
 public final class Images {
@@ -36,32 +44,354 @@ public final class Images {
      * @return processed content
      */
     public static String qiniuImgProcessing(final String content) {
-        String ret = content;
-
         if (!Symphonys.QN_ENABLED) {
-            return ret;
+            return content;
         }
 
-        final String qiniuDomain = Symphonys.UPLOAD_QINIU_DOMAIN;
-        final String html = Markdowns.toHTML(content);
+        return qiniuImgProcessing(content, Symphonys.UPLOAD_QINIU_DOMAIN);
+    }
 
-        final String[] imgSrcs = StringUtils.substringsBetween(html, "<img src=\"", "\"");
-        if (null == imgSrcs) {
-            return ret;
+    /**
+     * Appends Qiniu image processing parameters to the images of the specified content which are served from the
+     * specified Qiniu domain. GIF images and images with a query string (already processed or signed) are kept as is.
+     *
+     * @param content     the specified article content
+     * @param qiniuDomain the specified Qiniu domain
+     * @return processed content
+     */
+    static String qiniuImgProcessing(final String content, final String qiniuDomain) {
+        if (StringUtils.isBlank(content)) {
+            return content;
+        }
+
+        final List<int[]> srcs = scanImgSrcs(content);
+        if (srcs.isEmpty()) {
+            return content;
         }
+        srcs.sort(Comparator.comparingInt(src -> src[0]));
 
-        for (final String imgSrc : imgSrcs) {
+        final StringBuilder retBuilder = new StringBuilder(content.length() + srcs.size() * 48);
+        int last = 0;
+        for (final int[] src : srcs) {
+            final String imgSrc = content.substring(src[0], src[1]);
             if (!StringUtils.startsWith(imgSrc, qiniuDomain) || StringUtils.contains(imgSrc, ".gif")
-                    || StringUtils.containsIgnoreCase(imgSrc, "?imageView2")) {
+                    || StringUtils.contains(imgSrc, '?')) {
                 continue;
             }
 
-            ret = StringUtils.replace(ret, imgSrc, imgSrc + "?imageView2/2/w/768/format/webp/interlace/1");
+            retBuilder.append(content, last, src[1]).append("?imageView2/2/w/768/format/webp/interlace/1");
+            last = src[1];
+        }
+        retBuilder.append(content, last, content.length());
+
+        return retBuilder.toString();
+    }
+
+    /**
+     * Gets image URLs of the specified content in order of appearance. For an HTML {@code <img>} tag, {@code data-src}
+     * is preferred over {@code src}.
+     *
+     * @param content the specified markdown/HTML content
+     * @return image URLs, returns an empty list if not found
+     */
+    public static List<String> getImgSrcs(final String content) {
+        final List<String> ret = new ArrayList<>();
+        if (StringUtils.isBlank(content)) {
+            return ret;
+        }
+
+        int lastImg = -1;
+        for (final int[] src : scanImgSrcs(content)) {
+            if (src[2] == lastImg) {
+                continue;
+            }
+
+            ret.add(content.substring(src[0], src[1]));
+            lastImg = src[2];
         }
 
         return ret;
     }
 
+    /**
+     * Scans image sources of the specified content.
+     *
+     * @param content the specified content
+     * @return image source spans in order of appearance, each is {start, end, image index}, {@code data-src} of an
+     * image comes before its {@code src}
+     */
+    private static List<int[]> scanImgSrcs(final String content) {
+        final List<int[]> ret = new ArrayList<>();
+        final int length = content.length();
+        int img = 0;
+        int i = 0;
+        while (i < length) {
+            if (0 == i || '\n' == content.charAt(i - 1)) {
+                final int fenceEnd = skipFencedCode(content, i);
+                if (fenceEnd > i) {
+                    i = fenceEnd;
+
+                    continue;
+                }
+            }
+
+            final char c = content.charAt(i);
+            if ('`' == c) {
+                i = skipCodeSpan(content, i);
+            } else if ('!' == c && i + 1 < length && '[' == content.charAt(i + 1)) {
+                i = scanMarkdownImg(content, i, img++, ret);
+            } else if ('<' == c && content.regionMatches(true, i + 1, "img", 0, 3)
+                    && i + 4 < length && (Character.isWhitespace(content.charAt(i + 4)) || '/' == content.charAt(i + 4))) {
+                i = scanHTMLImg(content, i + 4, img++, ret);
+            } else {
+                i++;
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Skips a fenced code block starts at the specified line start.
+     *
+     * @param content   the specified content
+     * @param lineStart the specified line start
+     * @return index after the code block, returns the specified line start if there is no code block
+     */
+    private static int skipFencedCode(final String content, final int lineStart) {
+        final int length = content.length();
+        int i = lineStart;
+        while (i < length && i - lineStart < 3 && ' ' == content.charAt(i)) {
+            i++;
+        }
+        if (i >= length || ('`' != content.charAt(i) && '~' != content.charAt(i))) {
+            return lineStart;
+        }
+
+        final char fence = content.charAt(i);
+        int fenceLen = 0;
+        while (i < length && fence == content.charAt(i)) {
+            fenceLen++;
+            i++;
+        }
+        if (fenceLen < 3) {
+            return lineStart;
+        }
+
+        int lineEnd = content.indexOf('\n', i);
+        while (-1 < lineEnd) {
+            int j = lineEnd + 1;
+            while (j < length && j - lineEnd - 1 < 3 && ' ' == content.charAt(j)) {
+                j++;
+            }
+            int closeLen = 0;
+            while (j < length && fence == content.charAt(j)) {
+                closeLen++;
+                j++;
+            }
+            lineEnd = content.indexOf('\n', j);
+            if (closeLen >= fenceLen && StringUtils.isBlank(content.substring(j, -1 == lineEnd ? length : lineEnd))) {
+                return -1 == lineEnd ? length : lineEnd + 1;
+            }
+        }
+
+        return length;
+    }
+
+    /**
+     * Skips a code span starts at the specified backtick.
+     *
+     * @param content the specified content
+     * @param start   the specified backtick index
+     * @return index after the code span, or after the backticks if the span is not closed
+     */
+    private static int skipCodeSpan(final String content, final int start) {
+        final int length = content.length();
+        int i = start;
+        while (i < length && '`' == content.charAt(i)) {
+            i++;
+        }
+        final int ticks = i - start;
+
+        while (i < length) {
+            if ('`' != content.charAt(i)) {
+                i++;
+
+                continue;
+            }
+
+            final int closeStart = i;
+            while (i < length && '`' == content.charAt(i)) {
+                i++;
+            }
+            if (i - closeStart == ticks) {
+                return i;
+            }
+        }
+
+        return start + ticks;
+    }
+
+    /**
+     * Scans a markdown inline image {@code ![alt](src "title")} starts at the specified index.
+     *
+     * @param content the specified content
+     * @param start   the specified index of {@code !}
+     * @param img     the specified image index
+     * @param srcs    the specified image source spans
+     * @return index to continue scanning
+     */
+    private static int scanMarkdownImg(final String content, final int start, final int img, final List<int[]> srcs) {
+        final int length = content.length();
+        int i = start + 2;
+        int depth = 1;
+        while (i < length && 0 < depth) {
+            final char c = content.charAt(i);
+            if ('\\' == c) {
+                i++;
+            } else if ('[' == c) {
+                depth++;
+            } else if (']' == c) {
+                depth--;
+            }
+            i++;
+        }
+        if (0 < depth || i >= length || '(' != content.charAt(i)) {
+            return start + 1;
+        }
+
+        i++;
+        while (i < length && (' ' == content.charAt(i) || '\t' == content.charAt(i))) {
+            i++;
+        }
+
+        final int srcStart;
+        int srcEnd;
+        if (i < length && '<' == content.charAt(i)) {
+            srcStart = i + 1;
+            srcEnd = content.indexOf('>', srcStart);
+            if (-1 == srcEnd) {
+                return start + 1;
+            }
+        } else {
+            srcStart = i;
+            srcEnd = i;
+            int parens = 0;
+            while (srcEnd < length) {
+                final char c = content.charAt(srcEnd);
+                if (Character.isWhitespace(c) || (')' == c && 0 == parens)) {
+                    break;
+                }
+                if ('(' == c) {
+                    parens++;
+                } else if (')' == c) {
+                    parens--;
+                }
+                srcEnd++;
+            }
+        }
+
+        final int close = content.indexOf(')', srcEnd);
+        final int lineEnd = content.indexOf('\n', srcEnd);
+        if (-1 == close || (-1 < lineEnd && lineEnd < close)) {
+            return start + 1;
+        }
+
+        if (srcEnd > srcStart) {
+            srcs.add(new int[]{srcStart, srcEnd, img});
+        }
+
+        return srcEnd;
+    }
+
+    /**
+     * Scans an HTML {@code <img>} tag, collects its {@code data-src} and {@code src} values.
+     *
+     * @param content the specified content
+     * @param start   the specified index after {@code <img}
+     * @param img     the specified image index
+     * @param srcs    the specified image source spans
+     * @return index after the tag
+     */
+    private static int scanHTMLImg(final String content, final int start, final int img, final List<int[]> srcs) {
+        final int length = content.length();
+        int[] src = null;
+        int[] dataSrc = null;
+        int i = start;
+        while (i < length) {
+            char c = content.charAt(i);
+            if ('>' == c) {
+                i++;
+
+                break;
+            }
+            if (Character.isWhitespace(c) || '/' == c) {
+                i++;
+
+                continue;
+            }
+
+            final int nameStart = i;
+            while (i < length) {
+                c = content.charAt(i);
+                if ('=' == c || '>' == c || Character.isWhitespace(c)) {
+                    break;
+                }
+                i++;
+            }
+            final String name = content.substring(nameStart, i);
+            while (i < length && Character.isWhitespace(content.charAt(i))) {
+                i++;
+            }
+            if (i >= length || '=' != content.charAt(i)) {
+                continue;
+            }
+
+            i++;
+            while (i < length && Character.isWhitespace(content.charAt(i))) {
+                i++;
+            }
+            if (i >= length) {
+                break;
+            }
+
+            int valueStart = i;
+            int valueEnd;
+            final char quote = content.charAt(i);
+            if ('"' == quote || '\'' == quote) {
+                valueStart++;
+                valueEnd = content.indexOf(quote, valueStart);
+                if (-1 == valueEnd) {
+                    valueEnd = length;
+                }
+                i = Math.min(valueEnd + 1, length);
+            } else {
+                valueEnd = i;
+                while (valueEnd < length && !Character.isWhitespace(content.charAt(valueEnd)) && '>' != content.charAt(valueEnd)) {
+                    valueEnd++;
+                }
+                i = valueEnd;
+            }
+
+            if (valueEnd > valueStart) {
+                if ("src".equalsIgnoreCase(name)) {
+                    src = new int[]{valueStart, valueEnd, img};
+                } else if ("data-src".equalsIgnoreCase(name)) {
+                    dataSrc = new int[]{valueStart, valueEnd, img};
+                }
+            }
+        }
+
+        if (null != dataSrc) {
+            srcs.add(dataSrc);
+        }
+        if (null != src) {
+            srcs.add(src);
+        }
+
+        return i;
+    }
+
     /**
      * Private constructor.
      */
@@ -0,0 +1,237 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-present, b3log.org
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Immutable prefix index.
+ * <p>
+ * Keys are kept in a sorted array with a parallel weight array, so all keys starting with a prefix form a contiguous
+ * range. Every prefix (trie node) matching more than K keys holds its precomputed top K entries by weight, prefixes
+ * matching at most K keys are ranked at query time over at most K entries. A lookup costs O(prefix length + K).
+ * </p>
+ *
+ * @param <T> the type of indexed values
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.6.0
+ */
+public final class PrefixIndex<T> {
+
+    /**
+     * Sorted keys.
+     */
+    private final String[] keys;
+
+    /**
+     * Weights, parallel to {@link #keys}.
+     */
+    private final int[] weights;
+
+    /**
+     * Values, parallel to {@link #keys}.
+     */
+    private final Object[] values;
+
+    /**
+     * K.
+     */
+    private final int k;
+
+    /**
+     * Top K entry indexes of prefixes matching more than K keys, &lt;prefix, indexes&gt;.
+     */
+    private final Map<String, int[]> topKs = new HashMap<>();
+
+    /**
+     * Ranks entry indexes by weight descending, then by key ascending.
+     */
+    private final Comparator<Integer> ranking;
+
+    /**
+     * Constructs a prefix index with the specified values.
+     *
+     * @param values     the specified values
+     * @param keyFunc    the specified key function
+     * @param weightFunc the specified weight function
+     * @param k          the specified K, count of precomputed top entries per prefix
+     */
+    public PrefixIndex(final Collection<T> values, final Function<T, String> keyFunc, final ToIntFunction<T> weightFunc,
+                       final int k) {
+        final List<T> sorted = new ArrayList<>(values);
+        sorted.sort(Comparator.comparing(keyFunc));
+
+        final int size = sorted.size();
+        this.keys = new String[size];
+        this.weights = new int[size];
+        this.values = new Object[size];
+        for (int i = 0; i < size; i++) {
+            final T value = sorted.get(i);
+            this.keys[i] = keyFunc.apply(value);
+            this.weights[i] = weightFunc.applyAsInt(value);
+            this.values[i] = value;
+        }
+        this.k = k;
+        this.ranking = (i1, i2) -> {
+            final int ret = Integer.compare(weights[i2], weights[i1]);
+
+            return 0 != ret ? ret : Integer.compare(i1, i2);
+        };
+
+        if (0 < size) {
+            build(0, size, 0);
+        }
+    }
+
+    /**
+     * Gets the top values by weight of which keys start with the specified prefix.
+     *
+     * @param prefix    the specified prefix
+     * @param fetchSize the specified fetch size
+     * @return values, returns an empty list if not found
+     */
+    public List<T> get(final String prefix, final int fetchSize) {
+        if (1 > fetchSize) {
+            return Collections.emptyList();
+        }
+
+        final int[] top = topKs.get(prefix);
+        if (null != top && fetchSize <= top.length) {
+            return toValues(top, fetchSize);
+        }
+
+        final List<Integer> candidates = new ArrayList<>();
+        int i = lowerBound(prefix);
+        while (i < keys.length && keys[i].startsWith(prefix)) {
+            candidates.add(i++);
+        }
+
+        return toValues(top(candidates, fetchSize), fetchSize);
+    }
+
+    /**
+     * Gets the count of indexed values.
+     *
+     * @return count of indexed values
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Builds top K of the specified range of which keys share a prefix of the specified length.
+     *
+     * @param lo    the specified range start (inclusive)
+     * @param hi    the specified range end (exclusive)
+     * @param depth the specified prefix length
+     * @return top K entry indexes of the range
+     */
+    private int[] build(final int lo, final int hi, final int depth) {
+        final List<Integer> candidates = new ArrayList<>();
+        if (hi - lo <= k) {
+            for (int i = lo; i < hi; i++) {
+                candidates.add(i);
+            }
+
+            return top(candidates, k);
+        }
+
+        int i = lo;
+        while (i < hi && keys[i].length() == depth) { // Shorter keys sort first
+            candidates.add(i++);
+        }
+        while (i < hi) {
+            final char c = keys[i].charAt(depth);
+            int j = i + 1;
+            while (j < hi && keys[j].charAt(depth) == c) {
+                j++;
+            }
+
+            for (final int index : build(i, j, depth + 1)) {
+                candidates.add(index);
+            }
+            i = j;
+        }
+
+        final int[] ret = top(candidates, k);
+        topKs.put(keys[lo].substring(0, depth), ret);
+
+        return ret;
+    }
+
+    /**
+     * Gets the top entry indexes of the specified candidates.
+     *
+     * @param candidates the specified candidates
+     * @param limit      the specified limit
+     * @return top entry indexes
+     */
+    private int[] top(final List<Integer> candidates, final int limit) {
+        candidates.sort(ranking);
+
+        final int size = Math.min(limit, candidates.size());
+        final int[] ret = new int[size];
+        for (int i = 0; i < size; i++) {
+            ret[i] = candidates.get(i);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Gets the index of the first key not less than the specified key.
+     *
+     * @param key the specified key
+     * @return index
+     */
+    private int lowerBound(final String key) {
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+
+        return lo;
+    }
+
+    /**
+     * Gets values of the specified entry indexes.
+     *
+     * @param indexes   the specified entry indexes
+     * @param fetchSize the specified fetch size
+     * @return values
+     */
+    @SuppressWarnings("unchecked")
+    private List<T> toValues(final int[] indexes, final int fetchSize) {
+        final int size = Math.min(fetchSize, indexes.length);
+        final List<T> ret = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ret.add((T) values[indexes[i]]);
+        }
+
+        return ret;
+    }
+}
@@ -40,12 +40,18 @@ import org.b3log.symphony.service.UserMgmtService;
 import org.json.JSONObject;
 
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Session utilities.
+ * <p>
+ * The current user is resolved from the session cookie once per request by the before request handler, later
+ * lookups in the same request ({@link #currentUser(Request)}, {@link #getUser()}) share that result. Cookie decrypts
+ * are counted per request and in total, see {@link #getCookieDecrypts()} and {@link #getTotalCookieDecrypts()}.
+ * </p>
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 2.1.1.0, Jan 22, 2019
+ * @version 2.2.0.0, Oct 19, 2026
  */
 public final class Sessions {
 
@@ -79,6 +85,21 @@ public final class Sessions {
      */
     private static final ThreadLocal<JSONObject> THREAD_LOCAL_DATA = new ThreadLocal<>();
 
+    /**
+     * Thread local data key of user resolved flag.
+     */
+    private static final String USER_RESOLVED = "userResolved";
+
+    /**
+     * Thread local data key of cookie decrypts count.
+     */
+    private static final String COOKIE_DECRYPTS = "cookieDecrypts";
+
+    /**
+     * Total cookie decrypts count.
+     */
+    private static final AtomicLong TOTAL_COOKIE_DECRYPTS = new AtomicLong();
+
     /**
      * Checks whether is bot.
      *
@@ -234,6 +255,59 @@ public final class Sessions {
         data.put(User.USER, user);
     }
 
+    /**
+     * Checks whether the current user of this request has been resolved.
+     *
+     * @return {@code true} if resolved, returns {@code false} otherwise
+     */
+    public static boolean isUserResolved() {
+        final JSONObject data = THREAD_LOCAL_DATA.get();
+        if (null == data) {
+            return false;
+        }
+
+        return data.optBoolean(USER_RESOLVED);
+    }
+
+    /**
+     * Marks the current user of this request resolved, the current user ({@code null} for anonymous) should have been
+     * set by {@link #setUser(JSONObject)}.
+     */
+    public static void setUserResolved() {
+        JSONObject data = THREAD_LOCAL_DATA.get();
+        if (null == data) {
+            data = new JSONObject().put(USER_RESOLVED, true);
+            THREAD_LOCAL_DATA.set(data);
+
+            return;
+        }
+
+        data.put(USER_RESOLVED, true);
+    }
+
+    /**
+     * Gets the count of session cookie decrypts in this request.
+     *
+     * @return count of cookie decrypts
+     */
+    public static int getCookieDecrypts() {
+        final JSONObject data = THREAD_LOCAL_DATA.get();
+        if (null == data) {
+            return 0;
+        }
+
+        return data.optInt(COOKIE_DECRYPTS);
+    }
+
+    /**
+     * Gets the total count of session cookie decrypts since startup.
+     *
+     * @return total count of cookie decrypts
+     */
+    public static long getTotalCookieDecrypts() {
+        return TOTAL_COOKIE_DECRYPTS.get();
+    }
+
     /**
      * Gets the current template dir from thread local data.
      *
@@ -371,12 +445,48 @@ public final class Sessions {
     }
 
     /**
-     * Gets the current user with the specified request.
+     * Gets the current user with the specified request. Returns the user resolved for this request if any, the
+     * session cookie is decrypted otherwise.
      *
      * @param request the specified request
      * @return the current user, returns {@code null} if not logged in
      */
     public static JSONObject currentUser(final Request request) {
+        if (isUserResolved()) {
+            return getUser();
+        }
+
+        final JSONObject ret = resolveUser(request);
+        if (null == ret) {
+            return null;
+        }
+
+        return JSONs.clone(ret);
+    }
+
+    /**
+     * Gets the current user id with the specified request. Returns the id of the user resolved for this request if
+     * any, the session cookie is decrypted otherwise.
+     *
+     * @param request the specified request
+     * @return the current user id, returns {@code null} if not logged in
+     */
+    public static String currentUserId(final Request request) {
+        final JSONObject ret = isUserResolved() ? getUser() : resolveUser(request);
+        if (null == ret) {
+            return null;
+        }
+
+        return ret.optString(Keys.OBJECT_ID);
+    }
+
+    /**
+     * Resolves the current user from the session cookie of the specified request.
+     *
+     * @param request the specified request
+     * @return the session cached user (should not be modified), returns {@code null} if not logged in
+     */
+    private static JSONObject resolveUser(final Request request) {
         final Set<Cookie> cookies = request.getCookies();
         if (cookies.isEmpty()) {
             return null;
@@ -388,6 +498,7 @@ public final class Sessions {
                     continue;
                 }
 
+                countCookieDecrypt();
                 final String value = Crypts.decryptByAES(cookie.getValue(), Symphonys.COOKIE_SECRET);
                 final JSONObject cookieJSONObject = new JSONObject(value);
 
@@ -425,7 +536,7 @@ public final class Sessions {
                     SESSION_CACHE.put(userId, ret);
                 }
 
-                return JSONs.clone(ret);
+                return ret;
             }
         } catch (final Exception e) {
             LOGGER.log(Level.WARN, "Parses cookie failed, clears cookie");
@@ -434,6 +545,18 @@ public final class Sessions {
         return null;
     }
 
+    /**
+     * Counts a session cookie decrypt.
+     */
+    private static void countCookieDecrypt() {
+        TOTAL_COOKIE_DECRYPTS.incrementAndGet();
+
+        final JSONObject data = THREAD_LOCAL_DATA.get();
+        if (null != data) { // No thread local data out of a request (websocket, cron, etc.)
+            data.put(COOKIE_DECRYPTS, data.optInt(COOKIE_DECRYPTS) + 1);
+        }
+    }
+
     /**
      * Tries to login with cookie.
      *
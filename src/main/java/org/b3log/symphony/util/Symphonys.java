@@ -50,7 +50,7 @@ import java.util.concurrent.ThreadPoolExecutor;
  * Symphony utilities.
  *
  * @author <a href="http://88250.b3log.org">Liang Ding</a>
- * @version 1.9.0.6, May 9, 2019
+ * @version 1.10.0.0, Oct 19, 2026
  * @since 0.1.0
  */
 public final class Symphonys {
@@ -349,6 +349,16 @@ public final class Symphonys {
         }
     }
 
+    /**
+     * 站点地图文件目录. 站点地图索引和分片文件在后台生成并随新帖增量追加，请求时直接读取文件.
+     */
+    public static String SITEMAP_DIR = get("sitemap.dir");
+
+    static {
+        final String userHome = System.getProperty("user.home");
+        SITEMAP_DIR = StringUtils.replace(SITEMAP_DIR, "~", userHome);
+    }
+
     /**
      * 上传七牛云 AK.
      */
@@ -0,0 +1,271 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-present, b3log.org
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import org.b3log.latke.model.User;
+import org.b3log.symphony.model.UserExt;
+import org.json.JSONObject;
+
+import java.util.*;
+
+/**
+ * Immutable username index.
+ * <p>
+ * Listed (valid) users are kept in a sorted array of interned lower case names with parallel name and avatar arrays
+ * for @-mention autocomplete. Lower case names of all users are kept in a hash set for exact name membership checks.
+ * Updates return a new index, the holder swaps the reference atomically.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.6.0
+ */
+public final class UserNameIndex {
+
+    /**
+     * Empty index.
+     */
+    public static final UserNameIndex EMPTY = new UserNameIndex(new String[0], new String[0], new String[0], Collections.emptySet());
+
+    /**
+     * Sorted lower case names of listed users.
+     */
+    private final String[] lowerNames;
+
+    /**
+     * Names of listed users, parallel to {@link #lowerNames}.
+     */
+    private final String[] names;
+
+    /**
+     * Avatar URLs of listed users, parallel to {@link #lowerNames}.
+     */
+    private final String[] avatars;
+
+    /**
+     * Lower case names of all users.
+     */
+    private final Set<String> allLowerNames;
+
+    /**
+     * Constructs an index with the specified arrays and names.
+     *
+     * @param lowerNames    the specified sorted lower case names
+     * @param names         the specified names
+     * @param avatars       the specified avatar URLs
+     * @param allLowerNames the specified lower case names of all users
+     */
+    private UserNameIndex(final String[] lowerNames, final String[] names, final String[] avatars, final Set<String> allLowerNames) {
+        this.lowerNames = lowerNames;
+        this.names = names;
+        this.avatars = avatars;
+        this.allLowerNames = allLowerNames;
+    }
+
+    /**
+     * Builds an index with the specified users.
+     *
+     * @param users the specified users, for example      <pre>
+     *              {
+     *                  "userName": "",
+     *                  "userAvatarURL": "",
+     *                  "userStatus": int
+     *              }
+     *              </pre>, only valid users are listed in autocomplete
+     * @return index
+     */
+    public static UserNameIndex build(final List<JSONObject> users) {
+        final List<JSONObject> listed = new ArrayList<>();
+        final Set<String> allLowerNames = new HashSet<>();
+        for (final JSONObject user : users) {
+            final String lowerName = user.optString(User.USER_NAME).toLowerCase().intern();
+            allLowerNames.add(lowerName);
+            if (UserExt.USER_STATUS_C_VALID == user.optInt(UserExt.USER_STATUS)) {
+                listed.add(user);
+            }
+        }
+        listed.sort(Comparator.comparing(user -> user.optString(User.USER_NAME).toLowerCase()));
+
+        final int size = listed.size();
+        final String[] lowerNames = new String[size];
+        final String[] names = new String[size];
+        final String[] avatars = new String[size];
+        for (int i = 0; i < size; i++) {
+            final JSONObject user = listed.get(i);
+            names[i] = user.optString(User.USER_NAME);
+            lowerNames[i] = names[i].toLowerCase().intern();
+            avatars[i] = user.optString(UserExt.USER_AVATAR_URL);
+        }
+
+        return new UserNameIndex(lowerNames, names, avatars, allLowerNames);
+    }
+
+    /**
+     * Checks whether a user with the specified name exists, case insensitive.
+     *
+     * @param name the specified name
+     * @return {@code true} if exists, returns {@code false} otherwise
+     */
+    public boolean contains(final String name) {
+        return allLowerNames.contains(name.toLowerCase());
+    }
+
+    /**
+     * Gets listed users by the specified name prefix, in name order.
+     *
+     * @param namePrefix the specified name prefix, case insensitive
+     * @param fetchSize  the specified fetch size
+     * @return a list of users, for example      <pre>
+     * [
+     *     {
+     *         "userName": "",
+     *         "userAvatarURL": "",
+     *     }, ....
+     * ]
+     * </pre>
+     */
+    public List<JSONObject> getByPrefix(final String namePrefix, final int fetchSize) {
+        final String prefix = namePrefix.toLowerCase();
+        final List<JSONObject> ret = new ArrayList<>();
+        for (int i = lowerBound(prefix); i < lowerNames.length && ret.size() < fetchSize && lowerNames[i].startsWith(prefix); i++) {
+            final JSONObject user = new JSONObject();
+            user.put(User.USER_NAME, names[i]);
+            user.put(UserExt.USER_AVATAR_URL, avatars[i]);
+            ret.add(user);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Gets the count of listed users.
+     *
+     * @return count of listed users
+     */
+    public int size() {
+        return lowerNames.length;
+    }
+
+    /**
+     * Returns a new index with the specified listed user added.
+     *
+     * @param name   the specified name
+     * @param avatar the specified avatar URL
+     * @return new index
+     */
+    public UserNameIndex add(final String name, final String avatar) {
+        final String lowerName = name.toLowerCase().intern();
+        final int index = lowerBound(lowerName);
+        final int size = lowerNames.length;
+
+        final String[] newLowerNames = new String[size + 1];
+        final String[] newNames = new String[size + 1];
+        final String[] newAvatars = new String[size + 1];
+        insert(lowerNames, newLowerNames, index, lowerName);
+        insert(names, newNames, index, name);
+        insert(avatars, newAvatars, index, avatar);
+
+        final Set<String> newAllLowerNames = new HashSet<>(allLowerNames);
+        newAllLowerNames.add(lowerName);
+
+        return new UserNameIndex(newLowerNames, newNames, newAvatars, newAllLowerNames);
+    }
+
+    /**
+     * Returns a new index with the specified user renamed. The user keeps its avatar, and is listed only if it was
+     * listed before.
+     *
+     * @param oldName the specified old name
+     * @param newName the specified new name
+     * @return new index
+     */
+    public UserNameIndex rename(final String oldName, final String newName) {
+        final String oldLowerName = oldName.toLowerCase();
+        final Set<String> newAllLowerNames = new HashSet<>(allLowerNames);
+        newAllLowerNames.remove(oldLowerName);
+        newAllLowerNames.add(newName.toLowerCase().intern());
+
+        int index = lowerBound(oldLowerName);
+        while (index < lowerNames.length && oldLowerName.equals(lowerNames[index]) && !oldName.equals(names[index])) {
+            index++;
+        }
+        if (index >= lowerNames.length || !oldName.equals(names[index])) {
+            return new UserNameIndex(lowerNames, names, avatars, newAllLowerNames);
+        }
+
+        final String avatar = avatars[index];
+        final int size = lowerNames.length - 1;
+        final String[] newLowerNames = new String[size];
+        final String[] newNames = new String[size];
+        final String[] newAvatars = new String[size];
+        remove(lowerNames, newLowerNames, index);
+        remove(names, newNames, index);
+        remove(avatars, newAvatars, index);
+
+        return new UserNameIndex(newLowerNames, newNames, newAvatars, newAllLowerNames).add(newName, avatar);
+    }
+
+    /**
+     * Gets the index of the first lower case name not less than the specified lower case name.
+     *
+     * @param lowerName the specified lower case name
+     * @return index
+     */
+    private int lowerBound(final String lowerName) {
+        int lo = 0;
+        int hi = lowerNames.length;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (lowerNames[mid].compareTo(lowerName) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+
+        return lo;
+    }
+
+    /**
+     * Copies the specified source array into the specified destination array with the specified value inserted at
+     * the specified index.
+     *
+     * @param src   the specified source array
+     * @param dest  the specified destination array
+     * @param index the specified index
+     * @param value the specified value
+     */
+    private static void insert(final String[] src, final String[] dest, final int index, final String value) {
+        System.arraycopy(src, 0, dest, 0, index);
+        dest[index] = value;
+        System.arraycopy(src, index, dest, index + 1, src.length - index);
+    }
+
+    /**
+     * Copies the specified source array into the specified destination array without the element at the specified
+     * index.
+     *
+     * @param src   the specified source array
+     * @param dest  the specified destination array
+     * @param index the specified index
+     */
+    private static void remove(final String[] src, final String[] dest, final int index) {
+        System.arraycopy(src, 0, dest, 0, index);
+        System.arraycopy(src, index + 1, dest, index, src.length - index - 1);
+    }
+}
@@ -0,0 +1,428 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-present, b3log.org
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.service;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.event.Event;
+import org.b3log.latke.event.EventManager;
+import org.b3log.latke.model.User;
+import org.b3log.latke.repository.Transaction;
+import org.b3log.latke.service.LangPropsService;
+import org.b3log.latke.service.ServiceException;
+import org.b3log.symphony.cache.FeedCache;
+import org.b3log.symphony.cache.OptionCache;
+import org.b3log.symphony.cache.TagGraphCache;
+import org.b3log.symphony.model.Article;
+import org.b3log.symphony.model.Role;
+import org.b3log.symphony.model.Tag;
+import org.b3log.symphony.model.UserExt;
+import org.b3log.symphony.repository.*;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ArticleMgmtService} test case.
+ * <p>
+ * Runs N simultaneous posters against {@link ArticleMgmtService#addArticle(JSONObject)} with in-memory repositories,
+ * lost counter updates and duplicated titles show up if the author, title and tag locks do not exclude each other.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.6.0
+ */
+public class ArticleMgmtServiceTestCase {
+
+    /**
+     * Posters count.
+     */
+    private static final int POSTERS = 8;
+
+    /**
+     * Posts per poster.
+     */
+    private static final int POSTS = 5;
+
+    /**
+     * Tag titles.
+     */
+    private static final String[] TAGS = {"Java", "Sym", "B3log", "Latke", "Solo"};
+
+    private MemoryArticleRepository articleRepository;
+    private MemoryUserRepository userRepository;
+    private MemoryTagRepository tagRepository;
+    private ArticleMgmtService articleMgmtService;
+
+    /**
+     * Initializes Latke configurations for repositories.
+     */
+    @BeforeClass
+    public void beforeClass() {
+        Latkes.init();
+    }
+
+    /**
+     * Creates the service with empty repositories.
+     *
+     * @throws Exception exception
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        articleRepository = new MemoryArticleRepository();
+        userRepository = new MemoryUserRepository();
+        tagRepository = new MemoryTagRepository();
+
+        articleMgmtService = new ArticleMgmtService();
+        inject(articleMgmtService, "articleRepository", articleRepository);
+        inject(articleMgmtService, "userRepository", userRepository);
+        inject(articleMgmtService, "tagRepository", tagRepository);
+        inject(articleMgmtService, "tagArticleRepository", new TagArticleRepository() {
+            @Override
+            public String add(final JSONObject tagArticle) {
+                return null;
+            }
+        });
+        inject(articleMgmtService, "userTagRepository", new UserTagRepository() {
+            @Override
+            public String add(final JSONObject userTag) {
+                return null;
+            }
+
+            @Override
+            public void removeByUserIdAndTagId(final String userId, final String tagId, final int type) {
+            }
+        });
+        inject(articleMgmtService, "revisionRepository", new RevisionRepository() {
+            @Override
+            public String add(final JSONObject revision) {
+                return null;
+            }
+        });
+        inject(articleMgmtService, "optionCache", new OptionCache() {
+            @Override
+            public boolean isMiscAllowed(final String id) {
+                return true;
+            }
+        });
+        inject(articleMgmtService, "langPropsService", new LangPropsService() {
+            @Override
+            public String get(final String key) {
+                return key;
+            }
+
+            @Override
+            public String get(final String key, final Locale locale) {
+                return key;
+            }
+        });
+        inject(articleMgmtService, "followQueryService", new FollowQueryService() {
+            @Override
+            public long getFollowerCount(final String followingId, final int followingType) {
+                return 0;
+            }
+        });
+        inject(articleMgmtService, "articleQueryService", new ArticleQueryService() {
+            @Override
+            public void genArticleDigest(final JSONObject article) {
+            }
+        });
+        inject(articleMgmtService, "tagMgmtService", new TagMgmtService() {
+            @Override
+            public void relateTags(final String tagString) {
+            }
+        });
+        inject(articleMgmtService, "pointtransferMgmtService", new PointtransferMgmtService() {
+            @Override
+            public synchronized String transfer(final String fromId, final String toId, final int type, final int sum,
+                                                final String dataId, final long time, final String memo) {
+                return null;
+            }
+        });
+        inject(articleMgmtService, "livenessMgmtService", new LivenessMgmtService() {
+            @Override
+            public void incLiveness(final String userId, final String field) {
+            }
+        });
+        inject(articleMgmtService, "eventManager", new EventManager() {
+            @Override
+            public <T> Future<T> fireEventAsynchronously(final Event<?> event) {
+                return null;
+            }
+        });
+        inject(articleMgmtService, "counterMgmtService", new CounterMgmtService());
+        inject(articleMgmtService, "feedCache", new FeedCache());
+        inject(articleMgmtService, "tagGraphCache", new TagGraphCache());
+    }
+
+    /**
+     * Concurrent posters do not lose author or tag counter updates.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void concurrentPosters() throws Exception {
+        for (int i = 1; i <= POSTERS; i++) {
+            userRepository.addUser(String.valueOf(i));
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(POSTERS);
+        final List<Future<?>> futures = new ArrayList<>();
+        final Map<String, AtomicInteger> tagRefs = new ConcurrentHashMap<>();
+        for (int i = 1; i <= POSTERS; i++) {
+            final String authorId = String.valueOf(i);
+            final Random random = new Random(i);
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < POSTS; j++) {
+                    final Set<String> tags = new HashSet<>();
+                    while (tags.size() < 3) {
+                        tags.add(TAGS[random.nextInt(TAGS.length)]);
+                    }
+                    tags.forEach(tag -> tagRefs.computeIfAbsent(tag.toLowerCase(), k -> new AtomicInteger()).incrementAndGet());
+
+                    articleMgmtService.addArticle(article(authorId, "Post " + authorId + "-" + j, tags));
+                }
+
+                return null;
+            }));
+        }
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        Assert.assertEquals(articleRepository.articles.size(), POSTERS * POSTS);
+        for (int i = 1; i <= POSTERS; i++) {
+            Assert.assertEquals(userRepository.users.get(String.valueOf(i)).optInt(UserExt.USER_ARTICLE_COUNT), POSTS);
+        }
+        Assert.assertEquals(tagRepository.tags.size(), tagRefs.size());
+        for (final JSONObject tag : tagRepository.tags.values()) {
+            Assert.assertEquals(tag.optInt(Tag.TAG_REFERENCE_CNT), tagRefs.get(tag.optString(Tag.TAG_TITLE).toLowerCase()).get());
+        }
+    }
+
+    /**
+     * Concurrent posters of one title from different authors publish it only once.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void concurrentDuplicatedTitle() throws Exception {
+        for (int i = 1; i <= POSTERS; i++) {
+            userRepository.addUser(String.valueOf(i));
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(POSTERS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 1; i <= POSTERS; i++) {
+            final String authorId = String.valueOf(i);
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    articleMgmtService.addArticle(article(authorId, "Same title", Collections.singleton("Java")));
+
+                    return true;
+                } catch (final ServiceException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int published = 0;
+        for (final Future<Boolean> future : futures) {
+            if (future.get()) {
+                published++;
+            }
+        }
+        executor.shutdown();
+
+        Assert.assertEquals(published, 1);
+        Assert.assertEquals(articleRepository.articles.size(), 1);
+    }
+
+    /**
+     * Builds an add article request.
+     *
+     * @param authorId the specified author id
+     * @param title    the specified title
+     * @param tags     the specified tags
+     * @return request json object
+     */
+    private static JSONObject article(final String authorId, final String title, final Collection<String> tags) {
+        final JSONObject ret = new JSONObject();
+        ret.put(Article.ARTICLE_AUTHOR_ID, authorId);
+        ret.put(Article.ARTICLE_TITLE, title);
+        ret.put(Article.ARTICLE_TAGS, String.join(",", tags));
+        ret.put(Article.ARTICLE_CONTENT, "Content of " + title);
+
+        return ret;
+    }
+
+    /**
+     * Injects the specified value into the specified field of the specified service.
+     *
+     * @param service the specified service
+     * @param name    the specified field name
+     * @param value   the specified value
+     * @throws Exception exception
+     */
+    private static void inject(final Object service, final String name, final Object value) throws Exception {
+        final Field field = service.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(service, value);
+    }
+
+    /**
+     * In-memory transaction, writes of the memory repositories apply immediately.
+     */
+    private static final class MemoryTransaction implements Transaction {
+
+        private boolean active = true;
+
+        @Override
+        public void commit() {
+            active = false;
+        }
+
+        @Override
+        public void rollback() {
+            active = false;
+        }
+
+        @Override
+        public boolean isActive() {
+            return active;
+        }
+    }
+
+    /**
+     * In-memory article repository.
+     */
+    private static final class MemoryArticleRepository extends ArticleRepository {
+
+        private final Map<String, JSONObject> articles = new ConcurrentHashMap<>();
+
+        @Override
+        public JSONObject getByTitle(final String articleTitle) {
+            Thread.yield();
+
+            return articles.values().stream()
+                    .filter(article -> articleTitle.equals(article.optString(Article.ARTICLE_TITLE)))
+                    .findFirst().orElse(null);
+        }
+
+        @Override
+        public String add(final JSONObject article) {
+            final String ret = article.optString(Keys.OBJECT_ID);
+            articles.put(ret, article);
+
+            return ret;
+        }
+
+        @Override
+        public Transaction beginTransaction() {
+            return new MemoryTransaction();
+        }
+    }
+
+    /**
+     * In-memory user repository.
+     */
+    private static final class MemoryUserRepository extends UserRepository {
+
+        private final Map<String, JSONObject> users = new ConcurrentHashMap<>();
+
+        private void addUser(final String userId) {
+            final JSONObject user = new JSONObject().put(Keys.OBJECT_ID, userId);
+            user.put(User.USER_NAME, "user" + userId);
+            user.put(User.USER_ROLE, Role.ROLE_ID_C_ADMIN);
+            user.put(UserExt.USER_STATUS, UserExt.USER_STATUS_C_VALID);
+            user.put(UserExt.USER_POINT, Integer.MAX_VALUE / 2);
+            user.put(UserExt.USER_ARTICLE_COUNT, 0);
+            user.put(UserExt.USER_TAG_COUNT, 0);
+            users.put(userId, user);
+        }
+
+        @Override
+        public JSONObject get(final String id) {
+            final JSONObject user = users.get(id);
+
+            return null == user ? null : new JSONObject(user, JSONObject.getNames(user));
+        }
+
+        @Override
+        public void update(final String id, final JSONObject user, final String... propertyNames) {
+            Assert.assertTrue(0 < propertyNames.length, "Updates the full row of user");
+
+            final JSONObject stored = users.get(id);
+            for (final String name : propertyNames) {
+                stored.put(name, user.opt(name));
+            }
+        }
+    }
+
+    /**
+     * In-memory tag repository.
+     */
+    private static final class MemoryTagRepository extends TagRepository {
+
+        private final Map<String, JSONObject> tags = new ConcurrentHashMap<>();
+
+        private final AtomicInteger ids = new AtomicInteger();
+
+        @Override
+        public Map<String, JSONObject> getByTitles(final Collection<String> tagTitles) {
+            final Map<String, JSONObject> ret = new HashMap<>();
+            for (final JSONObject tag : tags.values()) {
+                final String title = tag.optString(Tag.TAG_TITLE).toLowerCase();
+                if (tagTitles.stream().anyMatch(title::equalsIgnoreCase)) {
+                    ret.put(title, new JSONObject(tag, JSONObject.getNames(tag)));
+                }
+            }
+
+            return ret;
+        }
+
+        @Override
+        public String add(final JSONObject tag) {
+            final String ret = String.valueOf(ids.incrementAndGet());
+            tags.put(ret, new JSONObject(tag, JSONObject.getNames(tag)).put(Keys.OBJECT_ID, ret));
+
+            return ret;
+        }
+
+        @Override
+        public void update(final String id, final JSONObject tag, final String... propertyNames) {
+            final JSONObject stored = tags.get(id);
+            Thread.yield();
+            for (final String name : 0 < propertyNames.length ? propertyNames : JSONObject.getNames(tag)) {
+                stored.put(name, tag.opt(name));
+            }
+        }
+    }
+}
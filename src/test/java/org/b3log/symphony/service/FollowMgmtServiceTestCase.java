@@ -0,0 +1,434 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-present, b3log.org
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.service;
+
+import org.b3log.latke.Keys;
+import org.b3log.latke.Latkes;
+import org.b3log.latke.repository.*;
+import org.b3log.symphony.cache.HeaderCache;
+import org.b3log.symphony.cache.ProfileCache;
+import org.b3log.symphony.cache.TimelineCache;
+import org.b3log.symphony.model.Follow;
+import org.b3log.symphony.model.Tag;
+import org.b3log.symphony.model.UserExt;
+import org.b3log.symphony.repository.ArticleRepository;
+import org.b3log.symphony.repository.FollowRepository;
+import org.b3log.symphony.repository.TagRepository;
+import org.b3log.symphony.repository.UserRepository;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Field;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * {@link FollowMgmtService} test case.
+ * <p>
+ * Runs follow, unfollow and follow count reconciliation against in-memory repositories.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.6.0
+ */
+public class FollowMgmtServiceTestCase {
+
+    /**
+     * Follow count keys of users.
+     */
+    private static final String[] FOLLOW_COUNT_KEYS = {UserExt.USER_FOLLOWER_COUNT, UserExt.USER_FOLLOWING_USER_COUNT,
+            UserExt.USER_FOLLOWING_TAG_COUNT, UserExt.USER_FOLLOWING_ARTICLE_COUNT, UserExt.USER_WATCHING_ARTICLE_COUNT};
+
+    private MemoryFollowRepository followRepository;
+    private MemoryUserRepository userRepository;
+    private MemoryTagRepository tagRepository;
+    private FollowMgmtService followMgmtService;
+
+    /**
+     * Initializes Latke configurations for repositories.
+     */
+    @BeforeClass
+    public void beforeClass() {
+        Latkes.init();
+    }
+
+    /**
+     * Creates the service with empty repositories.
+     *
+     * @throws Exception exception
+     */
+    @BeforeMethod
+    public void setUp() throws Exception {
+        followRepository = new MemoryFollowRepository();
+        userRepository = new MemoryUserRepository();
+        tagRepository = new MemoryTagRepository();
+
+        followMgmtService = new FollowMgmtService();
+        inject(followMgmtService, "followRepository", followRepository);
+        inject(followMgmtService, "userRepository", userRepository);
+        inject(followMgmtService, "tagRepository", tagRepository);
+        inject(followMgmtService, "articleRepository", new MemoryArticleRepository());
+        inject(followMgmtService, "headerCache", new HeaderCache());
+        inject(followMgmtService, "profileCache", new ProfileCache());
+        inject(followMgmtService, "timelineCache", new TimelineCache());
+    }
+
+    /**
+     * Follow and unfollow of users.
+     */
+    @Test
+    public void followUser() {
+        userRepository.addUser("1", true);
+        userRepository.addUser("2", true);
+
+        followMgmtService.followUser("1", "2");
+        followMgmtService.followUser("1", "2");
+        Assert.assertEquals(userRepository.count("1", UserExt.USER_FOLLOWING_USER_COUNT), 1);
+        Assert.assertEquals(userRepository.count("2", UserExt.USER_FOLLOWER_COUNT), 1);
+        Assert.assertEquals(userRepository.count("2", UserExt.USER_FOLLOWING_USER_COUNT), 0);
+
+        followMgmtService.unfollowUser("1", "2");
+        followMgmtService.unfollowUser("1", "2");
+        Assert.assertEquals(userRepository.count("1", UserExt.USER_FOLLOWING_USER_COUNT), 0);
+        Assert.assertEquals(userRepository.count("2", UserExt.USER_FOLLOWER_COUNT), 0);
+        Assert.assertEquals(followRepository.follows.size(), 0);
+    }
+
+    /**
+     * Follow and unfollow of tags.
+     */
+    @Test
+    public void followTag() {
+        userRepository.addUser("1", true);
+        userRepository.addUser("2", true);
+        tagRepository.addTag("10");
+
+        followMgmtService.followTag("1", "10");
+        followMgmtService.followTag("2", "10");
+        Assert.assertEquals(userRepository.count("1", UserExt.USER_FOLLOWING_TAG_COUNT), 1);
+        Assert.assertEquals(tagRepository.tags.get("10").optInt(Tag.TAG_FOLLOWER_CNT), 2);
+
+        followMgmtService.unfollowTag("1", "10");
+        followMgmtService.unfollowTag("1", "10");
+        Assert.assertEquals(userRepository.count("1", UserExt.USER_FOLLOWING_TAG_COUNT), 0);
+        Assert.assertEquals(tagRepository.tags.get("10").optInt(Tag.TAG_FOLLOWER_CNT), 1);
+    }
+
+    /**
+     * Follows of users which have not got follow counts leave the counts to reconciliation.
+     */
+    @Test
+    public void followUnreconciledUser() {
+        userRepository.addUser("1", false);
+        userRepository.addUser("2", true);
+
+        followMgmtService.followUser("1", "2");
+        Assert.assertFalse(userRepository.users.get("1").has(UserExt.USER_FOLLOWING_USER_COUNT));
+        Assert.assertEquals(userRepository.count("2", UserExt.USER_FOLLOWER_COUNT), 1);
+    }
+
+    /**
+     * Concurrent followers of one user do not lose follower count updates.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void concurrentFollowers() throws Exception {
+        final int followers = 32;
+        userRepository.addUser("0", true);
+        for (int i = 1; i <= followers; i++) {
+            userRepository.addUser(String.valueOf(i), true);
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int i = 1; i <= followers; i++) {
+            final String followerId = String.valueOf(i);
+            futures.add(executor.submit(() -> followMgmtService.followUser(followerId, "0")));
+        }
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        Assert.assertEquals(userRepository.count("0", UserExt.USER_FOLLOWER_COUNT), followers);
+    }
+
+    /**
+     * Reconciliation counts follow relations of users which have not got follow counts.
+     */
+    @Test
+    public void reconcileUserFollowCounts() {
+        userRepository.addUser("1", false);
+        userRepository.addUser("2", false);
+        tagRepository.addTag("10");
+        followMgmtService.followUser("1", "2");
+        followMgmtService.followTag("1", "10");
+
+        Assert.assertTrue(followMgmtService.reconcileUserFollowCounts());
+        Assert.assertEquals(userRepository.count("1", UserExt.USER_FOLLOWING_USER_COUNT), 1);
+        Assert.assertEquals(userRepository.count("1", UserExt.USER_FOLLOWING_TAG_COUNT), 1);
+        Assert.assertEquals(userRepository.count("1", UserExt.USER_FOLLOWER_COUNT), 0);
+        Assert.assertEquals(userRepository.count("2", UserExt.USER_FOLLOWER_COUNT), 1);
+
+        Assert.assertFalse(followMgmtService.reconcileUserFollowCounts());
+        Assert.assertFalse(followMgmtService.reconcileUserFollowCounts());
+    }
+
+    /**
+     * Reconciliation retries after a transient failure.
+     */
+    @Test
+    public void reconcileAfterFailure() {
+        userRepository.addUser("1", false);
+
+        userRepository.selectFailure = new RepositoryException(new SQLException("Connection reset", "08S01"));
+        Assert.assertTrue(followMgmtService.reconcileUserFollowCounts());
+
+        userRepository.selectFailure = null;
+        followMgmtService.reconcileUserFollowCounts();
+        Assert.assertEquals(userRepository.count("1", UserExt.USER_FOLLOWER_COUNT), 0);
+    }
+
+    /**
+     * Reconciliation stops if the count columns do not exist.
+     */
+    @Test
+    public void reconcileWithoutColumns() {
+        userRepository.addUser("1", false);
+
+        userRepository.selectFailure = new RepositoryException(new SQLException("Unknown column", "42S22"));
+        Assert.assertFalse(followMgmtService.reconcileUserFollowCounts());
+
+        userRepository.selectFailure = null;
+        Assert.assertFalse(followMgmtService.reconcileUserFollowCounts());
+        Assert.assertFalse(userRepository.users.get("1").has(UserExt.USER_FOLLOWER_COUNT));
+    }
+
+    private static void inject(final Object target, final String fieldName, final Object value) throws Exception {
+        final Field field = target.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    /**
+     * Gets the value of the specified property filter of the specified query.
+     *
+     * @param query the specified query
+     * @param key   the specified property key
+     * @return value, returns {@code null} if not found
+     */
+    private static Object filterValue(final Query query, final String key) {
+        for (final Filter filter : ((CompositeFilter) query.getFilter()).getSubFilters()) {
+            final PropertyFilter propertyFilter = (PropertyFilter) filter;
+            if (key.equals(propertyFilter.getKey())) {
+                return propertyFilter.getValue();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * In-memory transaction, writes of the memory repositories apply immediately.
+     */
+    private static final class MemoryTransaction implements Transaction {
+
+        private boolean active = true;
+
+        @Override
+        public void commit() {
+            active = false;
+        }
+
+        @Override
+        public void rollback() {
+            active = false;
+        }
+
+        @Override
+        public boolean isActive() {
+            return active;
+        }
+    }
+
+    /**
+     * In-memory follow repository.
+     */
+    private static final class MemoryFollowRepository extends FollowRepository {
+
+        private final List<JSONObject> follows = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public boolean exists(final String followerId, final String followingId, final int followingType) {
+            synchronized (follows) {
+                return follows.stream().anyMatch(follow -> followerId.equals(follow.optString(Follow.FOLLOWER_ID))
+                        && followingId.equals(follow.optString(Follow.FOLLOWING_ID))
+                        && followingType == follow.optInt(Follow.FOLLOWING_TYPE));
+            }
+        }
+
+        @Override
+        public String add(final JSONObject follow) {
+            follows.add(follow);
+
+            return follow.optString(Keys.OBJECT_ID);
+        }
+
+        @Override
+        public void removeByFollowerIdAndFollowingId(final String followerId, final String followingId, final int followingType) {
+            synchronized (follows) {
+                follows.removeIf(follow -> followerId.equals(follow.optString(Follow.FOLLOWER_ID))
+                        && followingId.equals(follow.optString(Follow.FOLLOWING_ID))
+                        && followingType == follow.optInt(Follow.FOLLOWING_TYPE));
+            }
+        }
+
+        @Override
+        public long count(final Query query) {
+            final Object followerId = filterValue(query, Follow.FOLLOWER_ID);
+            final Object followingId = filterValue(query, Follow.FOLLOWING_ID);
+            final Object followingType = filterValue(query, Follow.FOLLOWING_TYPE);
+            synchronized (follows) {
+                return follows.stream().filter(follow -> (null == followerId || followerId.equals(follow.optString(Follow.FOLLOWER_ID)))
+                        && (null == followingId || followingId.equals(follow.optString(Follow.FOLLOWING_ID)))
+                        && followingType.equals(follow.optInt(Follow.FOLLOWING_TYPE))).count();
+            }
+        }
+
+        @Override
+        public Transaction beginTransaction() {
+            return new MemoryTransaction();
+        }
+
+        @Override
+        public boolean hasTransactionBegun() {
+            return false;
+        }
+    }
+
+    /**
+     * In-memory user repository.
+     */
+    private static final class MemoryUserRepository extends UserRepository {
+
+        private final Map<String, JSONObject> users = new ConcurrentHashMap<>();
+
+        private volatile RepositoryException selectFailure;
+
+        private void addUser(final String userId, final boolean reconciled) {
+            final JSONObject user = new JSONObject().put(Keys.OBJECT_ID, userId);
+            if (reconciled) {
+                for (final String key : FOLLOW_COUNT_KEYS) {
+                    user.put(key, 0);
+                }
+            }
+            users.put(userId, user);
+        }
+
+        private int count(final String userId, final String key) {
+            return users.get(userId).optInt(key);
+        }
+
+        @Override
+        public JSONObject get(final String id) {
+            final JSONObject user = users.get(id);
+
+            return null == user ? null : new JSONObject(user, JSONObject.getNames(user));
+        }
+
+        @Override
+        public void update(final String id, final JSONObject user, final String... propertyNames) {
+            final JSONObject stored = users.get(id);
+            for (final String name : 0 < propertyNames.length ? propertyNames : JSONObject.getNames(user)) {
+                stored.put(name, user.opt(name));
+            }
+        }
+
+        @Override
+        public List<JSONObject> select(final String statement, final Object... params) throws RepositoryException {
+            if (null != selectFailure) {
+                throw selectFailure;
+            }
+
+            final String cursor = (String) params[0];
+            final int limit = (Integer) params[1];
+            final List<JSONObject> ret = new ArrayList<>();
+            new TreeMap<>(users).forEach((userId, user) -> {
+                if (ret.size() < limit && userId.compareTo(cursor) > 0 && !user.has(UserExt.USER_FOLLOWER_COUNT)) {
+                    ret.add(new JSONObject().put(Keys.OBJECT_ID, userId));
+                }
+            });
+
+            return ret;
+        }
+
+        @Override
+        public String getName() {
+            return "symphony_user";
+        }
+
+        @Override
+        public Transaction beginTransaction() {
+            return new MemoryTransaction();
+        }
+    }
+
+    /**
+     * In-memory tag repository.
+     */
+    private static final class MemoryTagRepository extends TagRepository {
+
+        private final Map<String, JSONObject> tags = new ConcurrentHashMap<>();
+
+        private void addTag(final String tagId) {
+            tags.put(tagId, new JSONObject().put(Keys.OBJECT_ID, tagId).put(Tag.TAG_FOLLOWER_CNT, 0));
+        }
+
+        @Override
+        public JSONObject get(final String id) {
+            final JSONObject tag = tags.get(id);
+
+            return null == tag ? null : new JSONObject(tag, JSONObject.getNames(tag));
+        }
+
+        @Override
+        public void update(final String id, final JSONObject tag, final String... propertyNames) {
+            tags.put(id, tag);
+        }
+    }
+
+    /**
+     * In-memory article repository without articles.
+     */
+    private static final class MemoryArticleRepository extends ArticleRepository {
+
+        @Override
+        public JSONObject get(final String id) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-present, b3log.org
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import org.b3log.latke.Latkes;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Field;
+
+/**
+ * {@link Emotions} test case.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.1.0, Oct 19, 2026
+ * @since 3.6.0
+ */
+public class EmotionsTestCase {
+
+    /**
+     * Short title sample.
+     */
+    private static final String TITLE = "Sym 发布了 :tada: 欢迎体验 :huaji: :+1:";
+
+    /**
+     * Initializes Latke configurations for static serve path.
+     */
+    @BeforeClass
+    public void beforeClass() {
+        Latkes.init();
+    }
+
+    /**
+     * Test method for {@linkplain Emotions#convert(String)}.
+     */
+    @Test
+    public void convert() {
+        final String html = Emotions.convert(":huaji: a:b :doge::doge: :not_an_emoji: 12:30:00 :");
+        final String staticPath = Latkes.getStaticServePath();
+
+        Assert.assertEquals(html, "<img alt=\"huaji\" class=\"emoji\" width=\"18\" src=\"" + staticPath
+                + "/emoji/graphics/huaji.gif\" title=\"huaji\" /> a:b "
+                + "<img alt=\"doge\" class=\"emoji\" width=\"18\" src=\"" + staticPath + "/emoji/graphics/doge.png\" title=\"doge\" />"
+                + "<img alt=\"doge\" class=\"emoji\" width=\"18\" src=\"" + staticPath + "/emoji/graphics/doge.png\" title=\"doge\" />"
+                + " :not_an_emoji: 12:30:00 :");
+        Assert.assertEquals(Emotions.convert("no emoji here"), "no emoji here");
+    }
+
+    /**
+     * Test method for {@linkplain Emotions#clear(String)}.
+     */
+    @Test
+    public void clear() {
+        Assert.assertEquals(Emotions.clear("[em00]Hi :huaji: :doge:: 12:30"), "Hi  : 12:30");
+    }
+
+    /**
+     * Compares with the legacy per-code replace loop, checks the results of short titles and long articles are the
+     * same.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void compareWithLegacy() throws Exception {
+        final Field field = Emotions.class.getDeclaredField("EMOJIS");
+        field.setAccessible(true);
+        final String[] emojis = (String[]) field.get(null);
+
+        final StringBuilder articleBuilder = new StringBuilder();
+        for (int i = 0; i < 400; i++) {
+            articleBuilder.append("第 ").append(i).append(" 段：Sym 是一个现代化的社区平台 :doge: 时间 12:30:00，")
+                    .append("参考 https://b3log.org :+1:\n");
+        }
+        final String article = articleBuilder.toString();
+
+        Assert.assertEquals(Emotions.convert(TITLE), legacyConvert(emojis, TITLE));
+        Assert.assertEquals(Emotions.convert(article), legacyConvert(emojis, article));
+        Assert.assertEquals(Emotions.clear(article), legacyClear(emojis, article));
+    }
+
+    private static String legacyConvert(final String[] emojis, final String content) {
+        String ret = Emotions.toUnicode(content);
+        for (final String emojiCode : emojis) {
+            String repl = "<img alt=\"" + emojiCode + "\" class=\"emoji\" width=\"18\" src=\""
+                    + Latkes.getStaticServePath() + "/emoji/graphics/" + emojiCode;
+            final String suffix = "huaji".equals(emojiCode) ? ".gif" : ".png";
+            repl += suffix + "\" title=\"" + emojiCode + "\" />";
+            ret = ret.replace(":" + emojiCode + ":", repl);
+        }
+
+        return ret;
+    }
+
+    private static String legacyClear(final String[] emojis, final String content) {
+        String ret = content.replaceAll("\\[em\\d+]", "");
+        for (final String emojiCode : emojis) {
+            ret = ret.replace(":" + emojiCode + ":", "");
+        }
+
+        return ret;
+    }
+}
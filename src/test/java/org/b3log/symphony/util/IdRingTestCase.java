@@ -0,0 +1,71 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-present, b3log.org
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+/**
+ * {@link IdRing} test case.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.6.0
+ */
+public class IdRingTestCase {
+
+    /**
+     * Test method for {@linkplain IdRing#push(long)} and {@linkplain IdRing#latest(int)}.
+     */
+    @Test
+    public void push() {
+        final IdRing ring = new IdRing(3);
+        Assert.assertTrue(ring.latest(5).isEmpty());
+
+        Assert.assertTrue(ring.push(2));
+        Assert.assertTrue(ring.push(1));
+        Assert.assertFalse(ring.push(2));
+        Assert.assertEquals(ring.size(), 2);
+        Assert.assertEquals(ring.latest(5), Arrays.asList(2L, 1L));
+
+        Assert.assertTrue(ring.push(3));
+        Assert.assertTrue(ring.push(4));
+        Assert.assertEquals(ring.size(), 3);
+        Assert.assertEquals(ring.latest(5), Arrays.asList(4L, 3L, 1L));
+        Assert.assertEquals(ring.latest(2), Arrays.asList(4L, 3L));
+    }
+
+    /**
+     * Test method for {@linkplain IdRing#merge(java.util.Collection, int)}.
+     */
+    @Test
+    public void merge() {
+        final IdRing ring1 = new IdRing(4);
+        ring1.push(1);
+        ring1.push(5);
+        ring1.push(3);
+        final IdRing ring2 = new IdRing(4);
+        ring2.push(4);
+        ring2.push(5);
+
+        Assert.assertEquals(IdRing.merge(Arrays.asList(ring1, ring2), 10), Arrays.asList(5L, 4L, 3L, 1L));
+        Assert.assertEquals(IdRing.merge(Arrays.asList(ring1, ring2), 2), Arrays.asList(5L, 4L));
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-present, b3log.org
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * {@link Images} test case.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.1.0.0, Oct 19, 2026
+ * @since 3.6.0
+ */
+public class ImagesTestCase {
+
+    /**
+     * Test method for {@linkplain Images#getImgSrcs(String)}.
+     */
+    @Test
+    public void getImgSrcs() {
+        final String content = "![logo](https://b3log.org/a.png \"Logo\") text ![a [b]](<https://b3log.org/b c.png>)\n"
+                + "`![code](https://b3log.org/code.png)` and ``<img src=\"https://b3log.org/code2.png\">``\n"
+                + "```java\n"
+                + "String img = \"![fenced](https://b3log.org/fenced.png)\";\n"
+                + "```\n"
+                + "<p><IMG class='x' src=https://b3log.org/c.png data-src=\"https://b3log.org/lazy.png\"/></p>\n"
+                + "![wiki](https://b3log.org/w_(1).png) ![broken](no-close";
+
+        Assert.assertEquals(Images.getImgSrcs(content), Arrays.asList("https://b3log.org/a.png",
+                "https://b3log.org/b c.png", "https://b3log.org/lazy.png", "https://b3log.org/w_(1).png"));
+        Assert.assertEquals(Images.getImgSrcs("No image <image> ! [x](y)"), Collections.emptyList());
+        Assert.assertEquals(Images.getImgSrcs("~~~\n![x](y)\n~~~~\n![z](w)"), Collections.singletonList("w"));
+    }
+
+    /**
+     * Test method for {@linkplain Images#qiniuImgProcessing(String, String)}.
+     */
+    @Test
+    public void qiniuImgProcessing() {
+        final String domain = "https://img.b3log.org";
+        final String processing = "?imageView2/2/w/768/format/webp/interlace/1";
+
+        final String content = "![a](https://img.b3log.org/a.png) ![b](https://img.b3log.org/b.jpg \"B\")\n"
+                + "<img src=\"https://img.b3log.org/c.png\"> ![ext](https://b3log.org/d.png) "
+                + "![gif](https://img.b3log.org/e.gif) ![a again](https://img.b3log.org/a.png)";
+        Assert.assertEquals(Images.qiniuImgProcessing(content, domain),
+                "![a](https://img.b3log.org/a.png" + processing + ") ![b](https://img.b3log.org/b.jpg" + processing + " \"B\")\n"
+                        + "<img src=\"https://img.b3log.org/c.png" + processing + "\"> ![ext](https://b3log.org/d.png) "
+                        + "![gif](https://img.b3log.org/e.gif) ![a again](https://img.b3log.org/a.png" + processing + ")");
+
+        final String code = "`![inline](https://img.b3log.org/inline.png)` ![a](https://img.b3log.org/a.png)\n"
+                + "```\n"
+                + "![fenced](https://img.b3log.org/fenced.png)\n"
+                + "```\n";
+        Assert.assertEquals(Images.qiniuImgProcessing(code, domain),
+                "`![inline](https://img.b3log.org/inline.png)` ![a](https://img.b3log.org/a.png" + processing + ")\n"
+                        + "```\n"
+                        + "![fenced](https://img.b3log.org/fenced.png)\n"
+                        + "```\n");
+
+        final String query = "![processed](https://img.b3log.org/a.png?imageView2/2/w/300) "
+                + "![signed](https://img.b3log.org/b.png?e=1&token=x) <img src='https://img.b3log.org/c.png?v=2'>";
+        Assert.assertEquals(Images.qiniuImgProcessing(query, domain), query);
+
+        Assert.assertEquals(Images.qiniuImgProcessing("No image", domain), "No image");
+        Assert.assertEquals(Images.qiniuImgProcessing("", domain), "");
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-present, b3log.org
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import com.google.common.util.concurrent.Striped;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * {@link Locks} test case.
+ * <p>
+ * Simulates N simultaneous posters, each post does a read-modify-write of its author and tags counters under per
+ * author and per tag locks, lost updates show up if the locks do not exclude each other.
+ * </p>
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.1.0.0, Oct 19, 2026
+ * @since 3.6.0
+ */
+public class LocksTestCase {
+
+    /**
+     * Posters count.
+     */
+    private static final int POSTERS = 16;
+
+    /**
+     * Posts per poster.
+     */
+    private static final int POSTS = 20;
+
+    /**
+     * Tag titles.
+     */
+    private static final String[] TAGS = {"Java", "Sym", "B3log", "Q&A", "Latke", "Solo", "Pipe", "Wide"};
+
+    /**
+     * Test method for {@linkplain Locks#lockTags(Collection)}.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void lockTags() throws Exception {
+        final List<Lock> locks = Locks.lockTags(Arrays.asList("Java", "java ", "Sym"));
+        Assert.assertFalse(locks.isEmpty());
+        Assert.assertTrue(locks.size() <= 2);
+
+        final CountDownLatch acquired = new CountDownLatch(1);
+        final Thread thread = new Thread(() -> {
+            final List<Lock> sameLocks = Locks.lockTags(Arrays.asList("Sym", "JAVA"));
+            acquired.countDown();
+            Locks.unlock(sameLocks);
+        });
+        thread.start();
+        Assert.assertFalse(acquired.await(100, TimeUnit.MILLISECONDS));
+
+        Locks.unlock(locks);
+        Assert.assertTrue(locks.isEmpty());
+        Locks.unlock(locks); // Releasing again is a no-op
+
+        Assert.assertTrue(acquired.await(10, TimeUnit.SECONDS));
+        thread.join();
+    }
+
+    /**
+     * Test method for {@linkplain Locks#lockTags(Collection)} with concurrent posters.
+     *
+     * @throws Exception exception
+     */
+    @Test
+    public void concurrentPosters() throws Exception {
+        final Map<String, int[]> counters = new HashMap<>();
+        for (int i = 0; i < POSTERS; i++) {
+            counters.put("author" + i, new int[1]);
+        }
+        for (final String tag : TAGS) {
+            counters.put(tag.toLowerCase(), new int[1]);
+        }
+
+        final Striped<Lock> authorLocks = Striped.lock(256);
+        final ExecutorService executorService = Executors.newFixedThreadPool(POSTERS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(POSTERS);
+        final List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < POSTERS; i++) {
+            final String authorId = "author" + i;
+            final Random random = new Random(i);
+            executorService.execute(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < POSTS; j++) {
+                        final Set<String> tags = new HashSet<>();
+                        while (tags.size() < 3) {
+                            tags.add(TAGS[random.nextInt(TAGS.length)]);
+                        }
+
+                        final Lock authorLock = authorLocks.get(authorId);
+                        authorLock.lock();
+                        try {
+                            final List<Lock> tagLocks = Locks.lockTags(tags);
+                            try {
+                                mutate(authorId, tags, counters);
+                            } finally {
+                                Locks.unlock(tagLocks);
+                            }
+                        } finally {
+                            authorLock.unlock();
+                        }
+                    }
+                } catch (final Throwable e) {
+                    errors.add(e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        start.countDown();
+        Assert.assertTrue(done.await(60, TimeUnit.SECONDS));
+        executorService.shutdown();
+        Assert.assertTrue(errors.isEmpty(), String.valueOf(errors));
+
+        for (int i = 0; i < POSTERS; i++) {
+            Assert.assertEquals(counters.get("author" + i)[0], POSTS);
+        }
+        int tagRefs = 0;
+        for (final String tag : TAGS) {
+            tagRefs += counters.get(tag.toLowerCase())[0];
+        }
+        Assert.assertEquals(tagRefs, POSTERS * POSTS * 3);
+    }
+
+    /**
+     * Increments author and tags counters without any synchronization of its own, lost updates show up if the caller
+     * does not lock properly.
+     *
+     * @param authorId the specified author id
+     * @param tags     the specified tags
+     * @param counters the specified counters
+     */
+    private static void mutate(final String authorId, final Collection<String> tags, final Map<String, int[]> counters) {
+        final int[] authorCounter = counters.get(authorId);
+        final int authorCnt = authorCounter[0];
+        Thread.yield();
+        authorCounter[0] = authorCnt + 1;
+
+        for (final String tag : tags) {
+            final int[] tagCounter = counters.get(tag.toLowerCase());
+            final int tagCnt = tagCounter[0];
+            Thread.yield();
+            tagCounter[0] = tagCnt + 1;
+        }
+    }
+}
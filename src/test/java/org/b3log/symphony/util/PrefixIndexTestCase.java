@@ -0,0 +1,94 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-present, b3log.org
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * {@link PrefixIndex} test case.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.6.0
+ */
+public class PrefixIndexTestCase {
+
+    /**
+     * Test method for {@linkplain PrefixIndex#get(String, int)}.
+     */
+    @Test
+    public void get() {
+        final List<String[]> tags = Arrays.asList(
+                new String[]{"java", "10"}, new String[]{"javascript", "20"}, new String[]{"jvm", "5"},
+                new String[]{"go", "7"}, new String[]{"j", "1"});
+        final PrefixIndex<String[]> index = new PrefixIndex<>(tags, tag -> tag[0], tag -> Integer.parseInt(tag[1]), 2);
+
+        Assert.assertEquals(titles(index.get("j", 3)), Arrays.asList("javascript", "java", "jvm"));
+        Assert.assertEquals(titles(index.get("java", 7)), Arrays.asList("javascript", "java"));
+        Assert.assertEquals(titles(index.get("", 1)), Collections.singletonList("javascript"));
+        Assert.assertTrue(index.get("python", 7).isEmpty());
+        Assert.assertTrue(index.get("j", 0).isEmpty());
+    }
+
+    /**
+     * Compares with a brute force scan over random keys.
+     */
+    @Test
+    public void bruteForce() {
+        final Random random = new Random(0);
+        final List<String[]> tags = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            final StringBuilder title = new StringBuilder();
+            final int len = 1 + random.nextInt(6);
+            for (int j = 0; j < len; j++) {
+                title.append((char) ('a' + random.nextInt(4)));
+            }
+            tags.add(new String[]{title.toString(), String.valueOf(random.nextInt(100))});
+        }
+
+        final PrefixIndex<String[]> index = new PrefixIndex<>(tags, tag -> tag[0], tag -> Integer.parseInt(tag[1]), 8);
+        Assert.assertEquals(index.size(), tags.size());
+        for (final String prefix : Arrays.asList("", "a", "ab", "abc", "dddd", "cab", "bbbbbb", "e")) {
+            for (final int fetchSize : new int[]{1, 7, 8, 20}) {
+                final List<Integer> expected = tags.stream().filter(tag -> tag[0].startsWith(prefix)).
+                        map(tag -> Integer.parseInt(tag[1])).sorted(Comparator.reverseOrder()).
+                        limit(fetchSize).collect(Collectors.toList());
+                final List<Integer> actual = index.get(prefix, fetchSize).stream().
+                        map(tag -> Integer.parseInt(tag[1])).collect(Collectors.toList());
+                Assert.assertEquals(actual, expected, prefix + "/" + fetchSize);
+                for (final String[] tag : index.get(prefix, fetchSize)) {
+                    Assert.assertTrue(tag[0].startsWith(prefix));
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets titles of the specified tags.
+     *
+     * @param tags the specified tags
+     * @return titles
+     */
+    private static List<String> titles(final List<String[]> tags) {
+        return tags.stream().map(tag -> tag[0]).collect(Collectors.toList());
+    }
+}
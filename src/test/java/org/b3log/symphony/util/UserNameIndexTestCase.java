@@ -0,0 +1,100 @@
+/*
+ * Symphony - A modern community (forum/BBS/SNS/blog) platform written in Java.
+ * Copyright (C) 2012-present, b3log.org
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package org.b3log.symphony.util;
+
+import org.b3log.latke.model.User;
+import org.b3log.symphony.model.UserExt;
+import org.json.JSONObject;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * {@link UserNameIndex} test case.
+ *
+ * @author <a href="http://88250.b3log.org">Liang Ding</a>
+ * @version 1.0.0.0, Oct 19, 2026
+ * @since 3.6.0
+ */
+public class UserNameIndexTestCase {
+
+    /**
+     * Test method for {@linkplain UserNameIndex#getByPrefix(String, int)} and
+     * {@linkplain UserNameIndex#contains(String)}.
+     */
+    @Test
+    public void build() {
+        final UserNameIndex index = UserNameIndex.build(Arrays.asList(
+                user("Vanessa", UserExt.USER_STATUS_C_VALID), user("88250", UserExt.USER_STATUS_C_VALID),
+                user("vanilla", UserExt.USER_STATUS_C_VALID), user("Valid", UserExt.USER_STATUS_C_DEACTIVATED)));
+
+        Assert.assertEquals(index.size(), 3);
+        Assert.assertEquals(names(index.getByPrefix("va", 5)), Arrays.asList("vanessa", "vanilla"));
+        Assert.assertEquals(names(index.getByPrefix("VAN", 1)), Arrays.asList("vanessa"));
+        Assert.assertTrue(index.getByPrefix("x", 5).isEmpty());
+        Assert.assertEquals(index.getByPrefix("8", 5).get(0).optString(UserExt.USER_AVATAR_URL), "88250.png");
+
+        Assert.assertTrue(index.contains("Vanessa"));
+        Assert.assertTrue(index.contains("vanessa"));
+        Assert.assertTrue(index.contains("Valid"));
+        Assert.assertFalse(index.contains("Vane"));
+    }
+
+    /**
+     * Test method for {@linkplain UserNameIndex#add(String, String)} and
+     * {@linkplain UserNameIndex#rename(String, String)}.
+     */
+    @Test
+    public void update() {
+        final UserNameIndex index = UserNameIndex.EMPTY.add("b3log", "b3log.png").add("Adam", "adam.png").add("Zoe", "zoe.png");
+        Assert.assertEquals(names(index.getByPrefix("", 5)), Arrays.asList("adam", "b3log", "zoe"));
+        Assert.assertFalse(UserNameIndex.EMPTY.contains("Adam"));
+
+        final UserNameIndex renamed = index.rename("Adam", "Yuri");
+        Assert.assertEquals(names(renamed.getByPrefix("", 5)), Arrays.asList("b3log", "yuri", "zoe"));
+        Assert.assertEquals(renamed.getByPrefix("yu", 5).get(0).optString(UserExt.USER_AVATAR_URL), "adam.png");
+        Assert.assertFalse(renamed.contains("Adam"));
+        Assert.assertTrue(renamed.contains("Yuri"));
+        Assert.assertTrue(index.contains("Adam"));
+    }
+
+    /**
+     * Creates a user with the specified name and status.
+     *
+     * @param name   the specified name
+     * @param status the specified status
+     * @return user
+     */
+    private static JSONObject user(final String name, final int status) {
+        return new JSONObject().put(User.USER_NAME, name).put(UserExt.USER_STATUS, status).
+                put(UserExt.USER_AVATAR_URL, name + ".png");
+    }
+
+    /**
+     * Gets lower case names of the specified users.
+     *
+     * @param users the specified users
+     * @return lower case names
+     */
+    private static List<String> names(final List<JSONObject> users) {
+        return users.stream().map(user -> user.optString(User.USER_NAME).toLowerCase()).collect(Collectors.toList());
+    }
+}